@@ -0,0 +1,76 @@
+package com.github.b3kt.aviation.application.command;
+
+import com.github.b3kt.aviation.application.dto.AirportDistancesResponse;
+import com.github.b3kt.aviation.domain.exception.InvalidQueryException;
+
+import java.util.List;
+
+/**
+ * Command for computing route metrics between airports, either for every
+ * airport in from against every airport in to, or for a list of pairs.
+ * Immutable record with validation; ICAO codes are normalized to uppercase
+ * and the from and to lists are deduplicated.
+ *
+ * @param from      origin airports of a matrix, null when pairs are given
+ * @param to        destination airports of a matrix, null when pairs are given
+ * @param pairs     origin and destination pairs, null when a matrix is requested
+ * @param ellipsoid also compute distances on the WGS-84 ellipsoid
+ */
+public record ComputeDistancesCommand(
+        List<String> from,
+        List<String> to,
+        List<Pair> pairs,
+        boolean ellipsoid) implements Command<AirportDistancesResponse> {
+
+    public static final int MAX_MATRIX_SIDE = 1000;
+    public static final int MAX_PAIRS = 10_000;
+
+    /**
+     * An origin and destination airport.
+     */
+    public record Pair(String from, String to) {
+    }
+
+    /**
+     * Validates the query upon construction.
+     */
+    public ComputeDistancesCommand {
+        if ((from != null || to != null) == (pairs != null)) {
+            throw new InvalidQueryException("Provide either from and to, or pairs");
+        }
+        if (pairs == null) {
+            from = normalize(from, "from");
+            to = normalize(to, "to");
+        } else {
+            if (pairs.isEmpty() || pairs.size() > MAX_PAIRS) {
+                throw new InvalidQueryException("pairs must list between 1 and " + MAX_PAIRS + " pairs");
+            }
+            pairs = pairs.stream()
+                    .map(pair -> {
+                        if (pair == null) {
+                            throw new InvalidQueryException("pairs must not contain null entries");
+                        }
+                        return new Pair(GetAirportByIcaoCommand.normalize(pair.from()),
+                                GetAirportByIcaoCommand.normalize(pair.to()));
+                    })
+                    .toList();
+        }
+    }
+
+    /**
+     * Whether every origin is paired with every destination.
+     */
+    public boolean isMatrix() {
+        return pairs == null;
+    }
+
+    private static List<String> normalize(List<String> icaoCodes, String name) {
+        if (icaoCodes == null || icaoCodes.isEmpty() || icaoCodes.size() > MAX_MATRIX_SIDE) {
+            throw new InvalidQueryException(name + " must list between 1 and " + MAX_MATRIX_SIDE + " airports");
+        }
+        return icaoCodes.stream()
+                .map(GetAirportByIcaoCommand::normalize)
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.b3kt.aviation.application.command;
+
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import reactor.core.publisher.Flux;
+
+/**
+ * Command for streaming every airport known to the service.
+ * The response is the stream itself, so the caller controls demand.
+ */
+public record ExportAirportsCommand() implements Command<Flux<AirportResponse>> {
+}
@@ -0,0 +1,40 @@
+package com.github.b3kt.aviation.application.command;
+
+import com.github.b3kt.aviation.application.dto.NearbyAirportsResponse;
+import com.github.b3kt.aviation.application.helper.GreatCircle;
+import com.github.b3kt.aviation.domain.exception.InvalidQueryException;
+
+/**
+ * Command for finding the airports nearest to a position.
+ * Immutable record with validation.
+ *
+ * @param radiusNm search radius in nautical miles, null for the nearest
+ *                 airports at any distance
+ */
+public record FindNearbyAirportsCommand(
+        double latitude,
+        double longitude,
+        Double radiusNm,
+        int limit) implements Command<NearbyAirportsResponse> {
+
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Validates the query upon construction.
+     */
+    public FindNearbyAirportsCommand {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new InvalidQueryException("Latitude must be between -90 and 90");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new InvalidQueryException("Longitude must be between -180 and 180");
+        }
+        if (radiusNm != null && !(radiusNm > 0 && radiusNm <= GreatCircle.MAX_DISTANCE_NM)) {
+            throw new InvalidQueryException(
+                    String.format("Radius must be greater than 0 and at most %.0f nm", GreatCircle.MAX_DISTANCE_NM));
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidQueryException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
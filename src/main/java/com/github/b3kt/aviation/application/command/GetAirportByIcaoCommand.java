@@ -6,23 +6,40 @@ import com.github.b3kt.aviation.domain.exception.InvalidIcaoCodeException;
 /**
  * Command for retrieving airport information by ICAO code.
  * Immutable record with validation.
+ *
+ * @param icaoCode        the 4-character ICAO code
+ * @param latencyCritical trade extra upstream calls for a faster answer on a cache miss
  */
-public record GetAirportByIcaoCommand(String icaoCode) implements Command<AirportResponse> {
+public record GetAirportByIcaoCommand(String icaoCode, boolean latencyCritical) implements Command<AirportResponse> {
+
+    public GetAirportByIcaoCommand(String icaoCode) {
+        this(icaoCode, false);
+    }
 
     /**
      * Validates ICAO code format upon construction.
      */
     public GetAirportByIcaoCommand {
+        icaoCode = normalize(icaoCode);
+    }
+
+    /**
+     * Normalizes an ICAO code to uppercase and validates its format.
+     *
+     * @throws InvalidIcaoCodeException if the code is not 4 alphanumeric characters
+     */
+    public static String normalize(String icaoCode) {
         if (icaoCode == null || icaoCode.isBlank()) {
             throw new InvalidIcaoCodeException(icaoCode);
         }
 
         // Normalize to uppercase
-        icaoCode = icaoCode.trim().toUpperCase();
+        String normalized = icaoCode.trim().toUpperCase();
 
         // Validate format: 4 alphanumeric characters
-        if (!icaoCode.matches("^[A-Z0-9]{4}$")) {
-            throw new InvalidIcaoCodeException(icaoCode);
+        if (!normalized.matches("^[A-Z0-9]{4}$")) {
+            throw new InvalidIcaoCodeException(normalized);
         }
+        return normalized;
     }
 }
@@ -0,0 +1,35 @@
+package com.github.b3kt.aviation.application.command;
+
+import com.github.b3kt.aviation.application.dto.AirportSearchResponse;
+import com.github.b3kt.aviation.domain.exception.InvalidQueryException;
+
+import java.util.Locale;
+
+/**
+ * Command for searching airports by identifier, name or city.
+ * Immutable record with validation.
+ */
+public record SearchAirportsCommand(String query, int limit) implements Command<AirportSearchResponse> {
+
+    public static final int MAX_QUERY_LENGTH = 64;
+    public static final int MAX_LIMIT = 50;
+
+    /**
+     * Validates and normalizes the query upon construction.
+     */
+    public SearchAirportsCommand {
+        if (query == null || query.isBlank()) {
+            throw new InvalidQueryException("Query must not be empty");
+        }
+
+        // Normalize so equivalent queries share a cache entry
+        query = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidQueryException("Query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidQueryException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
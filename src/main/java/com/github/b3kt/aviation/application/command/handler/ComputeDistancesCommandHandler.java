@@ -0,0 +1,249 @@
+package com.github.b3kt.aviation.application.command.handler;
+
+import com.github.b3kt.aviation.application.command.CommandHandler;
+import com.github.b3kt.aviation.application.command.ComputeDistancesCommand;
+import com.github.b3kt.aviation.application.dto.AirportDistancesResponse;
+import com.github.b3kt.aviation.application.helper.RouteMetrics;
+import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.domain.port.AirportCatalogPort;
+import com.github.b3kt.aviation.domain.port.AviationDataPort;
+import com.github.b3kt.aviation.domain.service.TimezoneResolver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Handler for ComputeDistancesCommand.
+ * Resolves each distinct airport once, from the local catalog where it is
+ * known and otherwise through the cached data port, for at most
+ * {@link #MAX_DATA_PORT_LOOKUPS} airports per request so one large query
+ * cannot spend the upstream quota of the node. Airports that are not
+ * resolved, beyond that limit or because their lookup failed, are reported
+ * as unresolved. The route metrics are then computed over primitive arrays
+ * on the parallel scheduler, keeping large matrices off the event loop. A
+ * matrix is filled in blocks of rows spread over the scheduler's workers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ComputeDistancesCommandHandler implements CommandHandler<ComputeDistancesCommand, AirportDistancesResponse> {
+
+    static final int MAX_DATA_PORT_LOOKUPS = 20;
+    private static final int LOOKUP_CONCURRENCY = 16;
+    private static final int ROWS_PER_BLOCK = 32;
+
+    private final AirportCatalogPort airportCatalogPort;
+    private final AviationDataPort aviationDataPort;
+    private final TimezoneResolver timezoneResolver;
+
+    @Override
+    public Mono<AirportDistancesResponse> handle(ComputeDistancesCommand command) {
+        log.debug("Handling ComputeDistancesCommand: matrix={}, ellipsoid={}", command.isMatrix(), command.ellipsoid());
+
+        Set<String> icaoCodes = new LinkedHashSet<>();
+        if (command.isMatrix()) {
+            icaoCodes.addAll(command.from());
+            icaoCodes.addAll(command.to());
+        } else {
+            command.pairs().forEach(pair -> {
+                icaoCodes.add(pair.from());
+                icaoCodes.add(pair.to());
+            });
+        }
+        return Flux.fromIterable(icaoCodes)
+                .flatMap(icaoCode -> airportCatalogPort.findByIcao(icaoCode)
+                        .map(airport -> Map.entry(icaoCode, airport)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, HashMap::new)
+                .flatMap(airports -> Flux.fromIterable(icaoCodes)
+                        .filter(icaoCode -> !airports.containsKey(icaoCode))
+                        .take(MAX_DATA_PORT_LOOKUPS)
+                        .flatMap(this::lookUp, LOOKUP_CONCURRENCY)
+                        .doOnNext(entry -> airports.put(entry.getKey(), entry.getValue()))
+                        .then(Mono.fromSupplier(() -> {
+                            airports.values().removeIf(
+                                    airport -> airport.latitude() == null || airport.longitude() == null);
+                            return airports;
+                        })))
+                .publishOn(Schedulers.parallel())
+                .flatMap(airports -> {
+                    List<String> unresolved = icaoCodes.stream()
+                            .filter(icaoCode -> !airports.containsKey(icaoCode))
+                            .toList();
+                    return command.isMatrix()
+                            ? matrix(command, airports, unresolved)
+                            : Mono.just(pairs(command, airports, unresolved));
+                });
+    }
+
+    /**
+     * Looks an airport up through the data port, leaving it unresolved when
+     * it is unknown or its lookup fails, as when the rate limiter or circuit
+     * breaker rejects it or it times out.
+     */
+    private Mono<Map.Entry<String, Airport>> lookUp(String icaoCode) {
+        return aviationDataPort.getAirportByIcao(icaoCode)
+                .map(airport -> Map.entry(icaoCode, airport))
+                .onErrorResume(error -> {
+                    if (!(error instanceof AirportNotFoundException)) {
+                        log.debug("Leaving {} unresolved: {}", icaoCode, error.toString());
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<AirportDistancesResponse> matrix(ComputeDistancesCommand command, Map<String, Airport> airports,
+            List<String> unresolved) {
+        List<String> from = command.from().stream().filter(airports::containsKey).toList();
+        List<String> to = command.to().stream().filter(airports::containsKey).toList();
+        RouteMatrix matrix = new RouteMatrix(positions(from, airports), positions(to, airports),
+                utcOffsetHours(from, airports), utcOffsetHours(to, airports), command.ellipsoid());
+        int blocks = (from.size() + ROWS_PER_BLOCK - 1) / ROWS_PER_BLOCK;
+        return Flux.range(0, blocks)
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .doOnNext(block -> matrix.fillRows(block * ROWS_PER_BLOCK,
+                        Math.min(from.size(), (block + 1) * ROWS_PER_BLOCK)))
+                .sequential()
+                .then(Mono.fromSupplier(() -> AirportDistancesResponse.matrix(from, to, matrix.distanceNm,
+                        matrix.ellipsoidDistanceNm, matrix.initialBearingDeg, matrix.timezoneDifferenceHours,
+                        unresolved)));
+    }
+
+    private AirportDistancesResponse pairs(ComputeDistancesCommand command, Map<String, Airport> airports,
+            List<String> unresolved) {
+        List<String> icaoCodes = new ArrayList<>(airports.keySet());
+        RouteMetrics.Positions positions = positions(icaoCodes, airports);
+        double[] offsets = utcOffsetHours(icaoCodes, airports);
+        Map<String, Integer> index = new HashMap<>();
+        for (int k = 0; k < icaoCodes.size(); k++) {
+            index.put(icaoCodes.get(k), k);
+        }
+
+        List<AirportDistancesResponse.Pair> pairs = new ArrayList<>(command.pairs().size());
+        for (ComputeDistancesCommand.Pair pair : command.pairs()) {
+            Integer i = index.get(pair.from());
+            Integer j = index.get(pair.to());
+            if (i == null || j == null) {
+                continue;
+            }
+            pairs.add(new AirportDistancesResponse.Pair(
+                    pair.from(),
+                    pair.to(),
+                    round(RouteMetrics.greatCircleNm(positions, i, positions, j)),
+                    command.ellipsoid() ? round(RouteMetrics.ellipsoidNm(positions, i, positions, j)) : null,
+                    round(RouteMetrics.initialBearingDeg(positions, i, positions, j)),
+                    offsets[j] - offsets[i]));
+        }
+        return AirportDistancesResponse.pairs(pairs, unresolved);
+    }
+
+    private static RouteMetrics.Positions positions(List<String> icaoCodes, Map<String, Airport> airports) {
+        double[] latitudes = new double[icaoCodes.size()];
+        double[] longitudes = new double[icaoCodes.size()];
+        for (int k = 0; k < icaoCodes.size(); k++) {
+            Airport airport = airports.get(icaoCodes.get(k));
+            latitudes[k] = airport.latitude().doubleValue();
+            longitudes[k] = airport.longitude().doubleValue();
+        }
+        return RouteMetrics.Positions.of(latitudes, longitudes);
+    }
+
+    /**
+     * Current UTC offset of each airport, from its timezone or, when it has
+     * none that parses, from its position.
+     */
+    private double[] utcOffsetHours(List<String> icaoCodes, Map<String, Airport> airports) {
+        Instant now = Instant.now();
+        double[] offsets = new double[icaoCodes.size()];
+        for (int k = 0; k < icaoCodes.size(); k++) {
+            Airport airport = airports.get(icaoCodes.get(k));
+            offsets[k] = zone(airport).getRules().getOffset(now).getTotalSeconds() / 3600.0;
+        }
+        return offsets;
+    }
+
+    private ZoneId zone(Airport airport) {
+        if (airport.timezone() != null) {
+            try {
+                return ZoneId.of(airport.timezone());
+            } catch (DateTimeException e) {
+                log.debug("Unparseable timezone {} for {}", airport.timezone(), airport.icaoCode());
+            }
+        }
+        return ZoneId.of(timezoneResolver.resolve(airport.latitude(), airport.longitude()));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    /**
+     * Matrices of a from × to query, filled a block of rows at a time.
+     */
+    private static final class RouteMatrix {
+
+        private final RouteMetrics.Positions origins;
+        private final RouteMetrics.Positions destinations;
+        private final double[] originOffsets;
+        private final double[] destinationOffsets;
+        private final double[][] distanceNm;
+        private final double[][] ellipsoidDistanceNm;
+        private final double[][] initialBearingDeg;
+        private final double[][] timezoneDifferenceHours;
+
+        private RouteMatrix(RouteMetrics.Positions origins, RouteMetrics.Positions destinations,
+                double[] originOffsets, double[] destinationOffsets, boolean ellipsoid) {
+            this.origins = origins;
+            this.destinations = destinations;
+            this.originOffsets = originOffsets;
+            this.destinationOffsets = destinationOffsets;
+            this.distanceNm = new double[origins.size()][];
+            this.ellipsoidDistanceNm = ellipsoid ? new double[origins.size()][] : null;
+            this.initialBearingDeg = new double[origins.size()][];
+            this.timezoneDifferenceHours = new double[origins.size()][];
+        }
+
+        private void fillRows(int start, int end) {
+            int columns = destinations.size();
+            for (int i = start; i < end; i++) {
+                double[] distances = new double[columns];
+                double[] bearings = new double[columns];
+                double[] timezoneDifferences = new double[columns];
+                for (int j = 0; j < columns; j++) {
+                    distances[j] = round(RouteMetrics.greatCircleNm(origins, i, destinations, j));
+                    bearings[j] = round(RouteMetrics.initialBearingDeg(origins, i, destinations, j));
+                    timezoneDifferences[j] = destinationOffsets[j] - originOffsets[i];
+                }
+                distanceNm[i] = distances;
+                initialBearingDeg[i] = bearings;
+                timezoneDifferenceHours[i] = timezoneDifferences;
+                if (ellipsoidDistanceNm != null) {
+                    double[] ellipsoidDistances = new double[columns];
+                    for (int j = 0; j < columns; j++) {
+                        ellipsoidDistances[j] = round(RouteMetrics.ellipsoidNm(origins, i, destinations, j));
+                    }
+                    ellipsoidDistanceNm[i] = ellipsoidDistances;
+                }
+            }
+        }
+    }
+
+    @Override
+    public Class<ComputeDistancesCommand> getCommandType() {
+        return ComputeDistancesCommand.class;
+    }
+}
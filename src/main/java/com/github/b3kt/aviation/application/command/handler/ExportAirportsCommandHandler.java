@@ -0,0 +1,36 @@
+package com.github.b3kt.aviation.application.command.handler;
+
+import com.github.b3kt.aviation.application.command.CommandHandler;
+import com.github.b3kt.aviation.application.command.ExportAirportsCommand;
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import com.github.b3kt.aviation.domain.port.AirportCatalogPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handler for ExportAirportsCommand.
+ * Streams the airport catalog without calling the upstream API.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExportAirportsCommandHandler implements CommandHandler<ExportAirportsCommand, Flux<AirportResponse>> {
+
+    private final AirportCatalogPort airportCatalogPort;
+
+    @Override
+    public Mono<Flux<AirportResponse>> handle(ExportAirportsCommand command) {
+        log.debug("Handling ExportAirportsCommand");
+
+        return Mono.just(airportCatalogPort.all()
+                .map(AirportResponse::fromDomain));
+    }
+
+    @Override
+    public Class<ExportAirportsCommand> getCommandType() {
+        return ExportAirportsCommand.class;
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.b3kt.aviation.application.command.handler;
+
+import com.github.b3kt.aviation.application.command.CommandHandler;
+import com.github.b3kt.aviation.application.command.FindNearbyAirportsCommand;
+import com.github.b3kt.aviation.application.dto.NearbyAirportsResponse;
+import com.github.b3kt.aviation.domain.port.AirportCatalogPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handler for FindNearbyAirportsCommand.
+ * Orchestrates the use case of finding the airports nearest to a position.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FindNearbyAirportsCommandHandler implements CommandHandler<FindNearbyAirportsCommand, NearbyAirportsResponse> {
+
+    private final AirportCatalogPort airportCatalogPort;
+
+    @Override
+    public Mono<NearbyAirportsResponse> handle(FindNearbyAirportsCommand command) {
+        log.debug("Handling FindNearbyAirportsCommand: {}", command);
+
+        return airportCatalogPort
+                .findNearby(command.latitude(), command.longitude(), command.radiusNm(), command.limit())
+                .map(NearbyAirportsResponse.Item::fromDomain)
+                .collectList()
+                .map(items -> new NearbyAirportsResponse(
+                        command.latitude(), command.longitude(), command.radiusNm(), items.size(), items));
+    }
+
+    @Override
+    public Class<FindNearbyAirportsCommand> getCommandType() {
+        return FindNearbyAirportsCommand.class;
+    }
+}
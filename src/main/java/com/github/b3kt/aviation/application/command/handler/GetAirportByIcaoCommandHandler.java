@@ -3,6 +3,9 @@ package com.github.b3kt.aviation.application.command.handler;
 import com.github.b3kt.aviation.application.command.CommandHandler;
 import com.github.b3kt.aviation.application.command.GetAirportByIcaoCommand;
 import com.github.b3kt.aviation.application.dto.AirportResponse;
+import com.github.b3kt.aviation.application.diagnostics.CacheLookupEvent;
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+import com.github.b3kt.aviation.domain.model.Airport;
 import com.github.b3kt.aviation.domain.port.AviationDataPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +14,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Handler for GetAirportByIcaoCommand.
  * Orchestrates the use case of retrieving airport information.
@@ -24,16 +29,66 @@ public class GetAirportByIcaoCommandHandler implements CommandHandler<GetAirport
 
     @Override
     public Mono<AirportResponse> handle(GetAirportByIcaoCommand command) {
-        log.info("Handling GetAirportByIcaoCommand for ICAO: {}", command.icaoCode());
+        log.debug("Handling GetAirportByIcaoCommand for ICAO: {}", command.icaoCode());
 
-        return aviationDataPort.getAirportByIcao(command.icaoCode())
+        // The cache lookup runs inside the call, so the access event is made current for it
+        Mono<Airport> airport = Mono.deferContextual(context -> AccessEvent.from(context)
+                .map(event -> {
+                    event.icaoCode(command.icaoCode());
+                    return recorded(command, event, event.during(() -> lookup(command)));
+                })
+                .orElseGet(() -> recordedWithoutAccessEvent(command)));
+        return airport
                 .map(AirportResponse::fromDomain)
-                .doOnSuccess(response -> log.info("Successfully retrieved airport: {}", response))
                 .doOnError(error -> log.error("Error retrieving airport with ICAO {}: {}",
                         command.icaoCode(), error.getMessage()))
                 .onErrorResume(Mono::error);
     }
 
+    /**
+     * Outside an API request there is no access event to learn the tier
+     * from, so one is started for the lookup while a recording is running.
+     */
+    private Mono<Airport> recordedWithoutAccessEvent(GetAirportByIcaoCommand command) {
+        if (!new CacheLookupEvent().isEnabled()) {
+            return lookup(command);
+        }
+        AccessEvent event = new AccessEvent();
+        event.icaoCode(command.icaoCode());
+        return recorded(command, event, event.during(() -> lookup(command)))
+                .contextWrite(context -> context.put(AccessEvent.class, event));
+    }
+
+    /**
+     * Records the lookup as a flight recorder event with the tier the access
+     * event ends up with.
+     */
+    private static Mono<Airport> recorded(GetAirportByIcaoCommand command, AccessEvent accessEvent,
+            Mono<Airport> lookup) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (!event.isEnabled()) {
+            return lookup;
+        }
+        event.begin();
+        AtomicBoolean found = new AtomicBoolean();
+        return lookup
+                .doOnNext(value -> found.set(true))
+                .doFinally(signal -> {
+                    AccessEvent.CacheTier tier = accessEvent.answeredFrom(found.get());
+                    event.icaoCode = command.icaoCode();
+                    event.tier = tier == null ? "" : tier.name();
+                    event.found = found.get();
+                    event.latencyCritical = command.latencyCritical();
+                    event.commit();
+                });
+    }
+
+    private Mono<Airport> lookup(GetAirportByIcaoCommand command) {
+        return command.latencyCritical()
+                ? aviationDataPort.raceAirportByIcao(command.icaoCode())
+                : aviationDataPort.getAirportByIcao(command.icaoCode());
+    }
+
     @Override
     public Class<GetAirportByIcaoCommand> getCommandType() {
         return GetAirportByIcaoCommand.class;
@@ -0,0 +1,38 @@
+package com.github.b3kt.aviation.application.command.handler;
+
+import com.github.b3kt.aviation.application.command.CommandHandler;
+import com.github.b3kt.aviation.application.command.SearchAirportsCommand;
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import com.github.b3kt.aviation.application.dto.AirportSearchResponse;
+import com.github.b3kt.aviation.domain.port.AirportCatalogPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handler for SearchAirportsCommand.
+ * Orchestrates the use case of searching airports for autocomplete.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchAirportsCommandHandler implements CommandHandler<SearchAirportsCommand, AirportSearchResponse> {
+
+    private final AirportCatalogPort airportCatalogPort;
+
+    @Override
+    public Mono<AirportSearchResponse> handle(SearchAirportsCommand command) {
+        log.debug("Handling SearchAirportsCommand: {}", command);
+
+        return airportCatalogPort.search(command.query(), command.limit())
+                .map(AirportResponse::fromDomain)
+                .collectList()
+                .map(airports -> new AirportSearchResponse(command.query(), airports.size(), airports));
+    }
+
+    @Override
+    public Class<SearchAirportsCommand> getCommandType() {
+        return SearchAirportsCommand.class;
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.b3kt.aviation.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one airport lookup through the cache tiers,
+ * with the tier that answered it.
+ */
+@Name("aviation.CacheLookup")
+@Label("Airport Cache Lookup")
+@Category({"Aviation API", "Cache"})
+@Description("An airport lookup by ICAO code through the local, peer and upstream tiers")
+@StackTrace(false)
+public class CacheLookupEvent extends jdk.jfr.Event {
+
+    @Label("ICAO Code")
+    public String icaoCode;
+
+    @Label("Tier")
+    @Description("LOCAL, PEER or UPSTREAM, empty when the lookup failed before reaching a tier")
+    public String tier;
+
+    @Label("Found")
+    public boolean found;
+
+    @Label("Latency Critical")
+    public boolean latencyCritical;
+}
@@ -0,0 +1,26 @@
+package com.github.b3kt.aviation.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one command, from subscription until its
+ * handler completes.
+ */
+@Name("aviation.CommandExecution")
+@Label("Command Execution")
+@Category({"Aviation API", "Commands"})
+@Description("A command routed through the command executor")
+@StackTrace(false)
+public class CommandExecutionEvent extends jdk.jfr.Event {
+
+    @Label("Command")
+    public String command;
+
+    @Label("Outcome")
+    @Description("SUCCESS, ERROR or CANCEL")
+    public String outcome;
+}
@@ -0,0 +1,26 @@
+package com.github.b3kt.aviation.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a timezone resolved from coordinates, on a
+ * timezone cache miss.
+ */
+@Name("aviation.TimezoneResolution")
+@Label("Timezone Resolution")
+@Category({"Aviation API", "Enrichment"})
+@StackTrace(false)
+public class TimezoneResolutionEvent extends jdk.jfr.Event {
+
+    @Label("Latitude")
+    public double latitude;
+
+    @Label("Longitude")
+    public double longitude;
+
+    @Label("Zone")
+    public String zone;
+}
@@ -0,0 +1,33 @@
+package com.github.b3kt.aviation.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one attempt of an upstream airport request,
+ * retries included.
+ */
+@Name("aviation.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Aviation API", "Upstream"})
+@Description("One attempt of an airport request to an upstream provider")
+@StackTrace(false)
+public class UpstreamCallEvent extends jdk.jfr.Event {
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("ICAO Code")
+    public String icaoCode;
+
+    @Label("Attempt")
+    @Description("1 for the first attempt, counting up with each retry")
+    public int attempt;
+
+    @Label("Status")
+    @Description("HTTP status, 0 when no response was received")
+    public int status;
+}
@@ -0,0 +1,49 @@
+package com.github.b3kt.aviation.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Output DTO for a route metrics query. A matrix query fills from, to and
+ * the matrices, indexed [from][to]; a pairs query fills pairs. Airports that
+ * could not be resolved, or have no position, are left out and listed in
+ * unresolved. Distances are in nautical miles and bearings in degrees,
+ * rounded to one decimal; the timezone difference is the destination's
+ * current UTC offset minus the origin's, in hours.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record AirportDistancesResponse(
+        List<String> from,
+        List<String> to,
+        double[][] distanceNm,
+        double[][] ellipsoidDistanceNm,
+        double[][] initialBearingDeg,
+        double[][] timezoneDifferenceHours,
+        List<Pair> pairs,
+        List<String> unresolved) {
+
+    /**
+     * Route metrics between two airports.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Pair(
+            String from,
+            String to,
+            double distanceNm,
+            Double ellipsoidDistanceNm,
+            double initialBearingDeg,
+            double timezoneDifferenceHours) {
+    }
+
+    public static AirportDistancesResponse matrix(List<String> from, List<String> to, double[][] distanceNm,
+            double[][] ellipsoidDistanceNm, double[][] initialBearingDeg, double[][] timezoneDifferenceHours,
+            List<String> unresolved) {
+        return new AirportDistancesResponse(from, to, distanceNm, ellipsoidDistanceNm, initialBearingDeg,
+                timezoneDifferenceHours, null, unresolved);
+    }
+
+    public static AirportDistancesResponse pairs(List<Pair> pairs, List<String> unresolved) {
+        return new AirportDistancesResponse(null, null, null, null, null, null, pairs, unresolved);
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.b3kt.aviation.application.dto;
+
+import java.util.List;
+
+/**
+ * Output DTO for an airport search, best match first.
+ */
+public record AirportSearchResponse(
+        String query,
+        int count,
+        List<AirportResponse> airports) {
+}
@@ -0,0 +1,32 @@
+package com.github.b3kt.aviation.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.b3kt.aviation.domain.model.AirportDistance;
+
+import java.util.List;
+
+/**
+ * Output DTO for a nearby-airports query, nearest airport first.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NearbyAirportsResponse(
+        double latitude,
+        double longitude,
+        Double radiusNm,
+        int count,
+        List<Item> airports) {
+
+    /**
+     * A single result with its great-circle distance from the query position.
+     */
+    public record Item(
+            double distanceNm,
+            AirportResponse airport) {
+
+        public static Item fromDomain(AirportDistance airportDistance) {
+            return new Item(
+                    Math.round(airportDistance.distanceNm() * 10) / 10.0,
+                    AirportResponse.fromDomain(airportDistance.airport()));
+        }
+    }
+}
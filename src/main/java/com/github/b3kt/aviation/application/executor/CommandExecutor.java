@@ -2,6 +2,7 @@ package com.github.b3kt.aviation.application.executor;
 
 import com.github.b3kt.aviation.application.command.Command;
 import com.github.b3kt.aviation.application.command.CommandHandler;
+import com.github.b3kt.aviation.application.diagnostics.CommandExecutionEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
@@ -40,13 +41,36 @@ public class CommandExecutor {
 
         CommandHandler<Command<R>, R> handler = (CommandHandler<Command<R>, R>) findHandler(command);
 
-        return handler.handle(command)
+        return recorded(command, handler.handle(command))
                 .doOnSuccess(
                         result -> log.debug("Command executed successfully: {}", command.getClass().getSimpleName()))
                 .doOnError(
                         error -> log.error("Command execution failed: {}", command.getClass().getSimpleName(), error));
     }
 
+    /**
+     * Wraps the handler's Mono in a flight recorder event while a recording
+     * is running; otherwise returns it unchanged.
+     */
+    private static <R> Mono<R> recorded(Command<R> command, Mono<R> execution) {
+        if (!new CommandExecutionEvent().isEnabled()) {
+            return execution;
+        }
+        return Mono.defer(() -> {
+            CommandExecutionEvent event = new CommandExecutionEvent();
+            event.begin();
+            return execution.doFinally(signal -> {
+                event.command = command.getClass().getSimpleName();
+                event.outcome = switch (signal) {
+                    case ON_ERROR -> "ERROR";
+                    case CANCEL -> "CANCEL";
+                    default -> "SUCCESS";
+                };
+                event.commit();
+            });
+        });
+    }
+
     /**
      * Finds the appropriate handler for a command.
      * Uses caching to avoid repeated Spring context lookups.
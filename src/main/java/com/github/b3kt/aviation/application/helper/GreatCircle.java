@@ -0,0 +1,29 @@
+package com.github.b3kt.aviation.application.helper;
+
+/**
+ * Great-circle distance on a spherical Earth, in nautical miles.
+ */
+public class GreatCircle {
+
+    /** Mean Earth radius in nautical miles. */
+    public static final double EARTH_RADIUS_NM = 3440.065;
+
+    /** Half the Earth's circumference, the largest possible distance. */
+    public static final double MAX_DISTANCE_NM = Math.PI * EARTH_RADIUS_NM;
+
+    /** Private constructor to prevent instantiation. */
+    private GreatCircle() {}
+
+    /**
+     * Computes the haversine distance between two positions given in decimal degrees.
+     * @return distance in nautical miles
+     */
+    public static double haversineNm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double phi1 = Math.toRadians(latitude1);
+        double phi2 = Math.toRadians(latitude2);
+        double sinDeltaPhi = Math.sin((phi2 - phi1) / 2);
+        double sinDeltaLambda = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = sinDeltaPhi * sinDeltaPhi + Math.cos(phi1) * Math.cos(phi2) * sinDeltaLambda * sinDeltaLambda;
+        return 2 * EARTH_RADIUS_NM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
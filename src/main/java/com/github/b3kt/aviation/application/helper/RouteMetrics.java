@@ -0,0 +1,152 @@
+package com.github.b3kt.aviation.application.helper;
+
+/**
+ * Distance and initial bearing between many positions at once. The
+ * trigonometry of each position is evaluated once, into primitive arrays,
+ * so that a pair costs a square root and an arcsine for the great-circle
+ * distance and an arctangent for the bearing.
+ */
+public final class RouteMetrics {
+
+    /** WGS-84 semi-major axis in metres. */
+    private static final double WGS84_A = 6378137.0;
+
+    /** WGS-84 flattening. */
+    private static final double WGS84_F = 1 / 298.257223563;
+
+    /** WGS-84 semi-minor axis in metres. */
+    private static final double WGS84_B = (1 - WGS84_F) * WGS84_A;
+
+    private static final double METRES_PER_NM = 1852.0;
+    private static final int VINCENTY_MAX_ITERATIONS = 200;
+
+    /** Private constructor to prevent instantiation. */
+    private RouteMetrics() {}
+
+    /**
+     * Positions with the trigonometric terms the metrics need, one array
+     * element per position.
+     */
+    public static final class Positions {
+
+        private final double[] longitude;
+        private final double[] sinLatitude;
+        private final double[] cosLatitude;
+        private final double[] sinLongitude;
+        private final double[] cosLongitude;
+        private final double[] sinReducedLatitude;
+        private final double[] cosReducedLatitude;
+
+        private Positions(int size) {
+            longitude = new double[size];
+            sinLatitude = new double[size];
+            cosLatitude = new double[size];
+            sinLongitude = new double[size];
+            cosLongitude = new double[size];
+            sinReducedLatitude = new double[size];
+            cosReducedLatitude = new double[size];
+        }
+
+        /**
+         * Prepares positions given in decimal degrees.
+         */
+        public static Positions of(double[] latitudes, double[] longitudes) {
+            Positions positions = new Positions(latitudes.length);
+            for (int i = 0; i < latitudes.length; i++) {
+                double phi = Math.toRadians(latitudes[i]);
+                double lambda = Math.toRadians(longitudes[i]);
+                double reduced = Math.atan((1 - WGS84_F) * Math.tan(phi));
+                positions.longitude[i] = lambda;
+                positions.sinLatitude[i] = Math.sin(phi);
+                positions.cosLatitude[i] = Math.cos(phi);
+                positions.sinLongitude[i] = Math.sin(lambda);
+                positions.cosLongitude[i] = Math.cos(lambda);
+                positions.sinReducedLatitude[i] = Math.sin(reduced);
+                positions.cosReducedLatitude[i] = Math.cos(reduced);
+            }
+            return positions;
+        }
+
+        public int size() {
+            return longitude.length;
+        }
+    }
+
+    /**
+     * Great-circle distance on a spherical Earth, equal to
+     * {@link GreatCircle#haversineNm} but from the chord between the two
+     * positions on the unit sphere.
+     * @return distance in nautical miles
+     */
+    public static double greatCircleNm(Positions from, int i, Positions to, int j) {
+        double x1 = from.cosLatitude[i] * from.cosLongitude[i];
+        double y1 = from.cosLatitude[i] * from.sinLongitude[i];
+        double x2 = to.cosLatitude[j] * to.cosLongitude[j];
+        double y2 = to.cosLatitude[j] * to.sinLongitude[j];
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        double dz = from.sinLatitude[i] - to.sinLatitude[j];
+        double halfChord = Math.sqrt(dx * dx + dy * dy + dz * dz) / 2;
+        return 2 * GreatCircle.EARTH_RADIUS_NM * Math.asin(Math.min(1.0, halfChord));
+    }
+
+    /**
+     * Initial great-circle bearing from one position towards the other.
+     * @return bearing in degrees clockwise from true north, in [0, 360)
+     */
+    public static double initialBearingDeg(Positions from, int i, Positions to, int j) {
+        double sinDeltaLambda = to.sinLongitude[j] * from.cosLongitude[i] - to.cosLongitude[j] * from.sinLongitude[i];
+        double cosDeltaLambda = to.cosLongitude[j] * from.cosLongitude[i] + to.sinLongitude[j] * from.sinLongitude[i];
+        double y = sinDeltaLambda * to.cosLatitude[j];
+        double x = from.cosLatitude[i] * to.sinLatitude[j]
+                - from.sinLatitude[i] * to.cosLatitude[j] * cosDeltaLambda;
+        double bearing = Math.toDegrees(Math.atan2(y, x));
+        return bearing < 0 ? bearing + 360 : bearing;
+    }
+
+    /**
+     * Distance on the WGS-84 ellipsoid by Vincenty's inverse formula, accurate
+     * to well under a metre. For nearly antipodal positions, where the
+     * formula does not converge, the great-circle distance is returned.
+     * @return distance in nautical miles
+     */
+    public static double ellipsoidNm(Positions from, int i, Positions to, int j) {
+        double sinU1 = from.sinReducedLatitude[i];
+        double cosU1 = from.cosReducedLatitude[i];
+        double sinU2 = to.sinReducedLatitude[j];
+        double cosU2 = to.cosReducedLatitude[j];
+        double l = to.longitude[j] - from.longitude[i];
+        double lambda = l;
+        for (int iteration = 0; iteration < VINCENTY_MAX_ITERATIONS; iteration++) {
+            double sinLambda = Math.sin(lambda);
+            double cosLambda = Math.cos(lambda);
+            double a = cosU2 * sinLambda;
+            double b = cosU1 * sinU2 - sinU1 * cosU2 * cosLambda;
+            double sinSigma = Math.sqrt(a * a + b * b);
+            if (sinSigma == 0) {
+                return 0;
+            }
+            double cosSigma = sinU1 * sinU2 + cosU1 * cosU2 * cosLambda;
+            double sigma = Math.atan2(sinSigma, cosSigma);
+            double sinAlpha = cosU1 * cosU2 * sinLambda / sinSigma;
+            double cosSqAlpha = 1 - sinAlpha * sinAlpha;
+            // On the equator cos²α is 0 and the term vanishes
+            double cos2SigmaM = cosSqAlpha != 0 ? cosSigma - 2 * sinU1 * sinU2 / cosSqAlpha : 0;
+            double c = WGS84_F / 16 * cosSqAlpha * (4 + WGS84_F * (4 - 3 * cosSqAlpha));
+            double previous = lambda;
+            lambda = l + (1 - c) * WGS84_F * sinAlpha
+                    * (sigma + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+            if (Math.abs(lambda - previous) < 1e-12) {
+                double uSq = cosSqAlpha * (WGS84_A * WGS84_A - WGS84_B * WGS84_B) / (WGS84_B * WGS84_B);
+                double bigA = 1 + uSq / 16384 * (4096 + uSq * (-768 + uSq * (320 - 175 * uSq)));
+                double bigB = uSq / 1024 * (256 + uSq * (-128 + uSq * (74 - 47 * uSq)));
+                double deltaSigma = bigB * sinSigma * (cos2SigmaM + bigB / 4
+                        * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)
+                        - bigB / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma)
+                        * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+                return WGS84_B * bigA * (sigma - deltaSigma) / METRES_PER_NM;
+            }
+        }
+        return greatCircleNm(from, i, to, j);
+    }
+}
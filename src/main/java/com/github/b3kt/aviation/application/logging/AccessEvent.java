@@ -0,0 +1,140 @@
+package com.github.b3kt.aviation.application.logging;
+
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * What one request did on its way through the layers, written as a single
+ * access log line, and captured for replay, once it completes. Travels in
+ * the Reactor context; the cache decorators, which are called synchronously
+ * and outside any reactive chain, see it as {@link #current()} while a
+ * lookup runs {@link #during(Supplier)}.
+ */
+public final class AccessEvent {
+
+    private static final ThreadLocal<AccessEvent> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Where an airport lookup was answered from.
+     */
+    public enum CacheTier {
+        /** This node's cache. */
+        LOCAL,
+        /** The key's owner in the cluster cache tier. */
+        PEER,
+        /** A data provider, after a miss in every cache tier. */
+        UPSTREAM
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicInteger upstreamAttempts = new AtomicInteger();
+    private final AtomicLong enrichmentNanos = new AtomicLong();
+    private volatile String icaoCode;
+    private volatile CacheTier cacheTier;
+    private volatile String provider;
+    private volatile long upstreamNanos;
+
+    /**
+     * Returns the event of the request the context belongs to, if any.
+     */
+    public static Optional<AccessEvent> from(ContextView context) {
+        return context.getOrEmpty(AccessEvent.class);
+    }
+
+    /**
+     * Returns the event of the lookup running on this thread, or null.
+     */
+    public static AccessEvent current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the call with this event as {@link #current()}.
+     */
+    public <T> T during(Supplier<T> call) {
+        AccessEvent previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public void icaoCode(String icaoCode) {
+        this.icaoCode = icaoCode;
+    }
+
+    public void cacheTier(CacheTier cacheTier) {
+        this.cacheTier = cacheTier;
+    }
+
+    /**
+     * Records the provider whose answer was used, keeping the first one when
+     * several are raced.
+     */
+    public void answeredBy(String provider, long elapsedNanos) {
+        if (this.provider == null) {
+            this.provider = provider;
+            this.upstreamNanos = elapsedNanos;
+        }
+    }
+
+    /**
+     * Counts one request sent to an upstream API, retries included.
+     */
+    public void upstreamAttempt() {
+        upstreamAttempts.incrementAndGet();
+    }
+
+    public void enrichment(long elapsedNanos) {
+        enrichmentNanos.addAndGet(elapsedNanos);
+    }
+
+    public String icaoCode() {
+        return icaoCode;
+    }
+
+    public CacheTier cacheTier() {
+        return cacheTier;
+    }
+
+    /**
+     * Returns the recorded tier, or LOCAL for a successful lookup answered
+     * without leaving this node, which no layer records.
+     */
+    public CacheTier answeredFrom(boolean successful) {
+        if (cacheTier != null || icaoCode == null) {
+            return cacheTier;
+        }
+        return successful ? CacheTier.LOCAL : null;
+    }
+
+    public String provider() {
+        return provider;
+    }
+
+    public int upstreamAttempts() {
+        return upstreamAttempts.get();
+    }
+
+    public long upstreamNanos() {
+        return upstreamNanos;
+    }
+
+    public long enrichmentNanos() {
+        return enrichmentNanos.get();
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
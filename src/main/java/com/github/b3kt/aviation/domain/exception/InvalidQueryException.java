@@ -0,0 +1,13 @@
+package com.github.b3kt.aviation.domain.exception;
+
+/**
+ * Exception thrown when query parameters such as coordinates, radius or
+ * result limit are out of range.
+ * This is a domain-level validation exception that will be mapped to HTTP 400.
+ */
+public class InvalidQueryException extends RuntimeException {
+
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+}
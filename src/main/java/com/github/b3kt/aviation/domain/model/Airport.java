@@ -1,13 +1,15 @@
 package com.github.b3kt.aviation.domain.model;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
 import com.github.b3kt.aviation.domain.exception.InvalidIcaoCodeException;
 
 /**
  * Domain entity representing an airport.
- * Immutable record ensuring data consistency.
+ * Immutable record ensuring data consistency. The effective date is the
+ * publication date of the source data, when the provider reports one.
  */
 public record Airport(
         String icaoCode,
@@ -18,7 +20,8 @@ public record Airport(
         BigDecimal latitude,
         BigDecimal longitude,
         String timezone,
-        Integer elevation) {
+        Integer elevation,
+        LocalDate effectiveDate) {
     /**
      * Validates the airport data upon creation.
      */
@@ -34,11 +37,27 @@ public record Airport(
         }
     }
 
+    /**
+     * Creates an airport whose source data has no effective date.
+     */
+    public Airport(
+            String icaoCode,
+            String faaCode,
+            String name,
+            String city,
+            String country,
+            BigDecimal latitude,
+            BigDecimal longitude,
+            String timezone,
+            Integer elevation) {
+        this(icaoCode, faaCode, name, city, country, latitude, longitude, timezone, elevation, null);
+    }
+
     /**
      * Creates a copy with updated fields (for builder pattern if needed).
      */
     public Airport withIataCode(String iataCode) {
         return new Airport(this.icaoCode, iataCode, this.name, this.city, this.country,
-                this.latitude, this.longitude, this.timezone, this.elevation);
+                this.latitude, this.longitude, this.timezone, this.elevation, this.effectiveDate);
     }
 }
@@ -0,0 +1,9 @@
+package com.github.b3kt.aviation.domain.model;
+
+/**
+ * An airport together with its great-circle distance from a query position.
+ */
+public record AirportDistance(
+        Airport airport,
+        double distanceNm) {
+}
@@ -0,0 +1,52 @@
+package com.github.b3kt.aviation.domain.port;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.domain.model.AirportDistance;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Port (interface) for queries over all airports known to the service.
+ * Unlike {@link AviationDataPort}, a catalog answers from local data only and
+ * never calls the upstream API.
+ */
+public interface AirportCatalogPort {
+
+    /**
+     * Finds an airport by ICAO code.
+     *
+     * @param icaoCode normalized (trimmed, uppercase) ICAO code
+     * @return Mono emitting the airport, or empty when the catalog does not know it
+     */
+    Mono<Airport> findByIcao(String icaoCode);
+
+    /**
+     * Finds the airports closest to a position.
+     *
+     * @param latitude  decimal latitude of the position
+     * @param longitude decimal longitude of the position
+     * @param radiusNm  search radius in nautical miles, or null for no limit
+     * @param limit     maximum number of airports to return
+     * @return Flux emitting airports by increasing great-circle distance
+     */
+    Flux<AirportDistance> findNearby(double latitude, double longitude, Double radiusNm, int limit);
+
+    /**
+     * Finds airports whose identifiers, name or city match a free-text query,
+     * for autocomplete. Every word of the query must match the start of a
+     * word of the airport, or resemble it closely enough to allow for typos.
+     *
+     * @param query normalized (trimmed, lowercase) query text
+     * @param limit maximum number of airports to return
+     * @return Flux emitting matching airports, best match first
+     */
+    Flux<Airport> search(String query, int limit);
+
+    /**
+     * Streams every airport in the catalog, in no particular order. Airports
+     * added while the stream is consumed may or may not be included.
+     *
+     * @return Flux emitting each catalog airport once, honouring demand
+     */
+    Flux<Airport> all();
+}
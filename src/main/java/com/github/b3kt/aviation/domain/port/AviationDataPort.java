@@ -22,4 +22,16 @@ public interface AviationDataPort {
      * @return Mono emitting the Airport or error if not found
      */
     Mono<Airport> getAirportByIcao(String icaoCode);
+
+    /**
+     * Retrieves airport information for a latency-critical caller, which
+     * implementations may serve by asking several sources at once and taking
+     * the first answer. Defaults to {@link #getAirportByIcao(String)}.
+     *
+     * @param icaoCode the 4-character ICAO code
+     * @return Mono emitting the Airport or error if not found
+     */
+    default Mono<Airport> raceAirportByIcao(String icaoCode) {
+        return getAirportByIcao(icaoCode);
+    }
 }
@@ -0,0 +1,211 @@
+package com.github.b3kt.aviation.infrastructure.admission;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.infrastructure.cache.CaffeineCaches;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.LoadSheddingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for API requests. Each request is classified as a
+ * health check, servable from this node (a cached airport or the in-memory
+ * catalog) or needing upstream. When the API requests in flight exceed
+ * max-in-flight, or the oldest upstream call has waited longer than
+ * max-queue-wait for the rate limiter and connection pool without being
+ * sent, new requests needing upstream are answered at once with a 503 and a
+ * Retry-After header. Health checks and cache-servable requests are always
+ * admitted, so they keep their throughput while upstream is slow.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LoadSheddingWebFilter implements WebFilter {
+
+    static final String DECISIONS_METRIC = "aviation.admission.decisions";
+    private static final String ACTUATOR_PATH = "/actuator";
+    private static final String AIRPORTS_PATH = "/api/v1/airports/";
+    private static final String DISTANCES_ENDPOINT = "distances";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    /**
+     * Request classes, highest priority first.
+     */
+    enum RequestClass {
+        HEALTH, CACHED, UPSTREAM
+    }
+
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final long maxQueueWaitNanos;
+    private final long retryAfterSeconds;
+    private final CacheManager cacheManager;
+    private final UpstreamQueue upstreamQueue;
+    private final ObjectMapper objectMapper;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestClass, Counter> admitted = new EnumMap<>(RequestClass.class);
+    private final Counter shedInFlight;
+    private final Counter shedQueueWait;
+
+    public LoadSheddingWebFilter(LoadSheddingProperties properties, CacheManager cacheManager,
+            UpstreamQueue upstreamQueue, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.maxInFlight = properties.maxInFlight();
+        this.maxQueueWaitNanos = properties.maxQueueWait().toNanos();
+        this.retryAfterSeconds = Math.max(1, properties.retryAfter().toSeconds());
+        this.cacheManager = cacheManager;
+        this.upstreamQueue = upstreamQueue;
+        this.objectMapper = objectMapper;
+        for (RequestClass requestClass : RequestClass.values()) {
+            admitted.put(requestClass, decisionCounter(meterRegistry, requestClass, "admitted"));
+        }
+        this.shedInFlight = decisionCounter(meterRegistry, RequestClass.UPSTREAM, "shed_in_flight");
+        this.shedQueueWait = decisionCounter(meterRegistry, RequestClass.UPSTREAM, "shed_queue_wait");
+        Gauge.builder("aviation.admission.in.flight", inFlight, AtomicInteger::get)
+                .description("API requests in flight")
+                .register(meterRegistry);
+        TimeGauge.builder("aviation.admission.queue.wait", upstreamQueue, TimeUnit.NANOSECONDS,
+                        queue -> queue.oldestWait().toNanos())
+                .description("Time the oldest upstream call has been waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, RequestClass requestClass,
+            String decision) {
+        return Counter.builder(DECISIONS_METRIC)
+                .description("Admission decisions for API requests")
+                .tag("class", requestClass.name().toLowerCase(Locale.ROOT))
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled) {
+            // API requests are still counted for the saturation metrics
+            return exchange.getRequest().getPath().value().startsWith(ACTUATOR_PATH)
+                    ? chain.filter(exchange)
+                    : tracked(exchange, chain);
+        }
+        RequestClass requestClass = classify(exchange.getRequest());
+        if (requestClass == RequestClass.HEALTH) {
+            admitted.get(requestClass).increment();
+            return chain.filter(exchange);
+        }
+        if (requestClass == RequestClass.UPSTREAM) {
+            if (inFlight.get() >= maxInFlight) {
+                shedInFlight.increment();
+                return shed(exchange);
+            }
+            if (upstreamQueue.oldestWait().toNanos() >= maxQueueWaitNanos) {
+                shedQueueWait.increment();
+                return shed(exchange);
+            }
+        }
+        admitted.get(requestClass).increment();
+        return tracked(exchange, chain);
+    }
+
+    private Mono<Void> tracked(ServerWebExchange exchange, WebFilterChain chain) {
+        inFlight.incrementAndGet();
+        return chain.filter(exchange)
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    /**
+     * Classifies a request by whether it can be answered without leaving
+     * this node. Only airport lookups by ICAO code and route metrics between
+     * airports may need upstream; the nearby, search and export endpoints
+     * read the in-memory catalog.
+     */
+    RequestClass classify(ServerHttpRequest request) {
+        String path = request.getPath().value();
+        if (path.startsWith(ACTUATOR_PATH)) {
+            return RequestClass.HEALTH;
+        }
+        if (!path.startsWith(AIRPORTS_PATH)) {
+            return RequestClass.CACHED;
+        }
+        String icao = path.substring(AIRPORTS_PATH.length());
+        if (icao.isEmpty() || icao.indexOf('/') >= 0 || isCatalogEndpoint(icao)) {
+            return RequestClass.CACHED;
+        }
+        if (icao.equals(DISTANCES_ENDPOINT)) {
+            return RequestClass.UPSTREAM;
+        }
+        String key = icao.trim().toUpperCase(Locale.ROOT);
+        boolean cached = CaffeineCaches.nativeCache(cacheManager, CacheConfiguration.AIRPORT_CACHE)
+                .map(cache -> cache.asMap().containsKey(key))
+                .orElse(false);
+        return cached ? RequestClass.CACHED : RequestClass.UPSTREAM;
+    }
+
+    private static boolean isCatalogEndpoint(String segment) {
+        return segment.equals("nearby") || segment.equals("search") || segment.equals("export");
+    }
+
+    /**
+     * API requests in flight, counted whether or not shedding is enabled.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Time the oldest upstream call has been waiting to be sent.
+     */
+    public Duration oldestQueueWait() {
+        return upstreamQueue.oldestWait();
+    }
+
+    public Duration maxQueueWait() {
+        return Duration.ofNanos(maxQueueWaitNanos);
+    }
+
+    private Mono<Void> shed(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("timestamp", LocalDateTime.now().format(TIMESTAMP));
+        error.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        error.put("error", "Service Unavailable");
+        error.put("message", "Service is overloaded. Please try again later.");
+        error.put("path", exchange.getRequest().getPath().value());
+        try {
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(objectMapper.writeValueAsBytes(error))));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+    }
+}
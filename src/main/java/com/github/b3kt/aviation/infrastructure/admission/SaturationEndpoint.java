@@ -0,0 +1,24 @@
+package com.github.b3kt.aviation.infrastructure.admission;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint showing how saturated the service is at
+ * {@code /actuator/saturation}: the score an autoscaler can scale on, the
+ * resource that drives it and the state of each resource behind it.
+ */
+@Component
+@Endpoint(id = "saturation")
+@RequiredArgsConstructor
+public class SaturationEndpoint {
+
+    private final SaturationMonitor monitor;
+
+    @ReadOperation
+    public SaturationMonitor.Snapshot saturation() {
+        return monitor.snapshot();
+    }
+}
@@ -0,0 +1,264 @@
+package com.github.b3kt.aviation.infrastructure.admission;
+
+import com.github.b3kt.aviation.infrastructure.client.ConnectionPoolTracker;
+import com.github.b3kt.aviation.infrastructure.config.WebClientConfiguration;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.internal.AtomicRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Saturation of the resources this service runs out of long before CPU:
+ * API requests in flight, the time upstream calls wait to be sent, the
+ * upstream rate limiter and the upstream connection pool. Each is
+ * normalized to 0 (idle) to 1 (exhausted) and the score is the highest of
+ * them, so an autoscaler can scale on whichever is scarce. Everything is
+ * exported as gauges under {@code aviation.saturation} and shown by the
+ * {@code saturation} actuator endpoint. The score and resource gauges of
+ * one scrape share a snapshot, reused for {@link #SCRAPE_SNAPSHOT_REUSE}.
+ * <p>
+ * Circuit breaker states are reported but left out of the score: an open
+ * breaker means upstream is failing, which more instances would not fix.
+ * <p>
+ * The rate limiter wait time is read from resilience4j's
+ * {@code internal.AtomicRateLimiter} metrics, which are not part of its
+ * public API and may change in any release. Any other rate limiter is
+ * assumed to wait a full refresh period once its permits run out.
+ */
+@Component
+public class SaturationMonitor {
+
+    /**
+     * Resources that make up the saturation score.
+     */
+    enum Resource {
+        IN_FLIGHT, QUEUE_WAIT, RATE_LIMITER, CONNECTION_POOL;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Saturation at one point in time.
+     *
+     * @param score           highest saturation of any resource, between 0 and 1
+     * @param bottleneck      resource with that saturation, none when all are idle
+     * @param resources       saturation of each resource, between 0 and 1
+     * @param requests        API requests in flight and the time upstream calls wait to be sent
+     * @param rateLimiters    state of each rate limiter by name
+     * @param connectionPools usage of each upstream connection pool by name
+     * @param circuitBreakers state of each circuit breaker by name
+     */
+    public record Snapshot(double score, String bottleneck, Map<String, Double> resources, Requests requests,
+            Map<String, RateLimiterState> rateLimiters, Map<String, ConnectionPoolTracker.Usage> connectionPools,
+            Map<String, String> circuitBreakers) {
+    }
+
+    /**
+     * @param inFlight     API requests in flight
+     * @param maxInFlight  requests in flight at which requests needing upstream are shed
+     * @param queueWait    time the oldest upstream call has been waiting to be sent
+     * @param maxQueueWait wait at which requests needing upstream are shed
+     */
+    public record Requests(int inFlight, int maxInFlight, Duration queueWait, Duration maxQueueWait) {
+    }
+
+    /**
+     * @param availablePermits permits left in the current period, negative when calls are
+     *                         waiting for the next one
+     * @param limitForPeriod   permits per period
+     * @param waitTime         time a call asking for a permit now would wait
+     */
+    public record RateLimiterState(int availablePermits, int limitForPeriod, Duration waitTime) {
+
+        double saturation() {
+            return clamp(1.0 - (double) availablePermits / Math.max(limitForPeriod, 1));
+        }
+    }
+
+    /**
+     * Time the gauges reuse a snapshot for: long enough to cover the gauges
+     * read by one scrape, short against the interval between scrapes.
+     */
+    static final Duration SCRAPE_SNAPSHOT_REUSE = Duration.ofSeconds(1);
+
+    /**
+     * Snapshot shared by the gauges and when it was taken.
+     */
+    private record Scrape(Snapshot snapshot, long takenNanos) {
+    }
+
+    private final LoadSheddingWebFilter admission;
+    private final ConnectionPoolTracker connectionPools;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final LongSupplier nanoTime;
+    private volatile Scrape lastScrape;
+
+    @Autowired
+    public SaturationMonitor(LoadSheddingWebFilter admission, ConnectionPoolTracker connectionPools,
+            RateLimiterRegistry rateLimiterRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
+        this(admission, connectionPools, rateLimiterRegistry, circuitBreakerRegistry, meterRegistry,
+                System::nanoTime);
+    }
+
+    SaturationMonitor(LoadSheddingWebFilter admission, ConnectionPoolTracker connectionPools,
+            RateLimiterRegistry rateLimiterRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.admission = admission;
+        this.connectionPools = connectionPools;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.nanoTime = nanoTime;
+
+        Gauge.builder("aviation.saturation.score", this, monitor -> monitor.scrapeSnapshot().score())
+                .description("Highest saturation of any resource, between 0 and 1")
+                .register(meterRegistry);
+        for (Resource resource : Resource.values()) {
+            Gauge.builder("aviation.saturation", this, monitor -> monitor.scrapeSnapshot().resources().get(resource.tag()))
+                    .description("Saturation of a resource, between 0 and 1")
+                    .tag("resource", resource.tag())
+                    .register(meterRegistry);
+        }
+
+        String pool = WebClientConfiguration.POOL_NAME;
+        poolGauge(meterRegistry, pool, "active", ConnectionPoolTracker.Usage::active);
+        poolGauge(meterRegistry, pool, "idle", ConnectionPoolTracker.Usage::idle);
+        poolGauge(meterRegistry, pool, "pending", ConnectionPoolTracker.Usage::pending);
+
+        rateLimiterRegistry.getAllRateLimiters().forEach(rateLimiter -> rateLimiterGauges(meterRegistry, rateLimiter));
+        rateLimiterRegistry.getEventPublisher()
+                .onEntryAdded(event -> rateLimiterGauges(meterRegistry, event.getAddedEntry()));
+        circuitBreakerRegistry.getAllCircuitBreakers()
+                .forEach(circuitBreaker -> circuitBreakerGauge(meterRegistry, circuitBreaker));
+        circuitBreakerRegistry.getEventPublisher()
+                .onEntryAdded(event -> circuitBreakerGauge(meterRegistry, event.getAddedEntry()));
+    }
+
+    private void poolGauge(MeterRegistry meterRegistry, String pool, String state,
+            ToIntFunction<ConnectionPoolTracker.Usage> connections) {
+        Gauge.builder("aviation.saturation.pool.connections", connectionPools,
+                        tracker -> connections.applyAsInt(tracker.usage(pool)))
+                .description("Upstream connections by state; pending are requests waiting for one")
+                .tag("pool", pool)
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    private static void rateLimiterGauges(MeterRegistry meterRegistry, RateLimiter rateLimiter) {
+        Gauge.builder("aviation.saturation.rate.limiter.permits", rateLimiter,
+                        limiter -> limiter.getMetrics().getAvailablePermissions())
+                .description("Rate limiter permits left in the current period")
+                .tag("name", rateLimiter.getName())
+                .register(meterRegistry);
+        TimeGauge.builder("aviation.saturation.rate.limiter.wait", rateLimiter, TimeUnit.NANOSECONDS,
+                        limiter -> waitTime(limiter).toNanos())
+                .description("Time a call asking the rate limiter for a permit now would wait")
+                .tag("name", rateLimiter.getName())
+                .register(meterRegistry);
+    }
+
+    private static void circuitBreakerGauge(MeterRegistry meterRegistry, CircuitBreaker circuitBreaker) {
+        Gauge.builder("aviation.saturation.circuit.breaker", circuitBreaker,
+                        breaker -> openness(breaker.getState()))
+                .description("Circuit breaker state: 0 closed, 0.5 half open, 1 open")
+                .tag("name", circuitBreaker.getName())
+                .register(meterRegistry);
+    }
+
+    public Snapshot snapshot() {
+        Requests requests = new Requests(admission.inFlight(), admission.maxInFlight(),
+                admission.oldestQueueWait(), admission.maxQueueWait());
+        Map<String, RateLimiterState> rateLimiters = new TreeMap<>();
+        rateLimiterRegistry.getAllRateLimiters().forEach(limiter -> rateLimiters.put(limiter.getName(),
+                new RateLimiterState(limiter.getMetrics().getAvailablePermissions(),
+                        limiter.getRateLimiterConfig().getLimitForPeriod(), waitTime(limiter))));
+        Map<String, ConnectionPoolTracker.Usage> pools = connectionPools.usage();
+        Map<String, String> circuitBreakers = new TreeMap<>();
+        circuitBreakerRegistry.getAllCircuitBreakers()
+                .forEach(breaker -> circuitBreakers.put(breaker.getName(), breaker.getState().name()));
+
+        Map<Resource, Double> saturation = saturation(requests, rateLimiters, pools);
+        Map<String, Double> resources = new TreeMap<>();
+        Resource bottleneck = null;
+        for (Map.Entry<Resource, Double> entry : saturation.entrySet()) {
+            resources.put(entry.getKey().tag(), entry.getValue());
+            if (entry.getValue() > 0 && (bottleneck == null || entry.getValue() > saturation.get(bottleneck))) {
+                bottleneck = entry.getKey();
+            }
+        }
+        return new Snapshot(bottleneck == null ? 0 : saturation.get(bottleneck),
+                bottleneck == null ? "none" : bottleneck.tag(), resources, requests, rateLimiters, pools,
+                circuitBreakers);
+    }
+
+    /**
+     * Returns the snapshot the gauges report, taking a new one only once the
+     * last is older than {@link #SCRAPE_SNAPSHOT_REUSE}.
+     */
+    private Snapshot scrapeSnapshot() {
+        long now = nanoTime.getAsLong();
+        Scrape scrape = lastScrape;
+        if (scrape == null || now - scrape.takenNanos() >= SCRAPE_SNAPSHOT_REUSE.toNanos()) {
+            scrape = new Scrape(snapshot(), now);
+            lastScrape = scrape;
+        }
+        return scrape.snapshot();
+    }
+
+    private static Map<Resource, Double> saturation(Requests requests, Map<String, RateLimiterState> rateLimiters,
+            Map<String, ConnectionPoolTracker.Usage> pools) {
+        Map<Resource, Double> saturation = new EnumMap<>(Resource.class);
+        saturation.put(Resource.IN_FLIGHT,
+                clamp((double) requests.inFlight() / Math.max(requests.maxInFlight(), 1)));
+        saturation.put(Resource.QUEUE_WAIT,
+                clamp((double) requests.queueWait().toNanos() / Math.max(requests.maxQueueWait().toNanos(), 1)));
+        saturation.put(Resource.RATE_LIMITER, rateLimiters.values().stream()
+                .mapToDouble(RateLimiterState::saturation)
+                .max()
+                .orElse(0));
+        saturation.put(Resource.CONNECTION_POOL, pools.values().stream()
+                .mapToDouble(ConnectionPoolTracker.Usage::saturation)
+                .max()
+                .orElse(0));
+        return saturation;
+    }
+
+    private static Duration waitTime(RateLimiter rateLimiter) {
+        if (rateLimiter.getMetrics() instanceof AtomicRateLimiter.AtomicRateLimiterMetrics metrics) {
+            return Duration.ofNanos(Math.max(metrics.getNanosToWait(), 0));
+        }
+        return rateLimiter.getMetrics().getAvailablePermissions() > 0
+                ? Duration.ZERO
+                : rateLimiter.getRateLimiterConfig().getLimitRefreshPeriod();
+    }
+
+    private static double openness(CircuitBreaker.State state) {
+        return switch (state) {
+            case OPEN, FORCED_OPEN -> 1.0;
+            case HALF_OPEN -> 0.5;
+            default -> 0.0;
+        };
+    }
+
+    private static double clamp(double saturation) {
+        return Math.min(1.0, Math.max(0.0, saturation));
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.b3kt.aviation.infrastructure.admission;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Upstream calls waiting to be sent, behind the rate limiter and then the
+ * connection pool. A call joins when it is subscribed and leaves once its
+ * request goes out on a connection; a retry joins again when it is
+ * subscribed. Upstream response time and retry backoff therefore do not
+ * count as waiting, only the time a call could not be sent.
+ */
+@Component
+public class UpstreamQueue {
+
+    /**
+     * A waiting call, ordered by arrival.
+     */
+    private record Waiter(long arrivedNanos, long sequence) {
+    }
+
+    /**
+     * One call's place in the queue, carried in its Reactor context.
+     */
+    public static final class Ticket {
+
+        private final UpstreamQueue queue;
+        private Waiter waiter;
+
+        private Ticket(UpstreamQueue queue) {
+            this.queue = queue;
+        }
+
+        private synchronized void enter() {
+            if (waiter == null) {
+                waiter = new Waiter(queue.nanoTime.getAsLong(), queue.sequence.incrementAndGet());
+                queue.waiting.add(waiter);
+            }
+        }
+
+        private synchronized void leave() {
+            if (waiter != null) {
+                queue.waiting.remove(waiter);
+                waiter = null;
+            }
+        }
+    }
+
+    private final LongSupplier nanoTime;
+    private final AtomicLong sequence = new AtomicLong();
+    private final NavigableSet<Waiter> waiting = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Waiter::arrivedNanos).thenComparingLong(Waiter::sequence));
+
+    @Autowired
+    public UpstreamQueue() {
+        this(System::nanoTime);
+    }
+
+    UpstreamQueue(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Queues an upstream call from its subscription, before any rate
+     * limiter applied to it, until its request is {@link #sent(ContextView)}
+     * or it terminates.
+     */
+    public <T> Mono<T> queued(Mono<T> call) {
+        return Mono.defer(() -> {
+            Ticket ticket = new Ticket(this);
+            ticket.enter();
+            return call
+                    .doFinally(signal -> ticket.leave())
+                    .contextWrite(context -> context.put(Ticket.class, ticket));
+        });
+    }
+
+    /**
+     * Queues one attempt of a {@link #queued(Mono)} call again, for retries
+     * waiting on a connection, until its request is sent or it terminates.
+     */
+    public static <T> Mono<T> attempt(Mono<T> attempt) {
+        return Mono.deferContextual(context -> context.<Ticket>getOrEmpty(Ticket.class)
+                .map(ticket -> {
+                    ticket.enter();
+                    return attempt.doFinally(signal -> ticket.leave());
+                })
+                .orElse(attempt));
+    }
+
+    /**
+     * Takes the call the context belongs to out of the queue once its
+     * request is sent.
+     */
+    public static void sent(ContextView context) {
+        context.<Ticket>getOrEmpty(Ticket.class).ifPresent(Ticket::leave);
+    }
+
+    /**
+     * Time the longest-waiting call has been waiting, zero when none is.
+     */
+    public Duration oldestWait() {
+        // Iterated rather than first(), which throws when the last waiter has just left
+        for (Waiter oldest : waiting) {
+            return Duration.ofNanos(nanoTime.getAsLong() - oldest.arrivedNanos());
+        }
+        return Duration.ZERO;
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.b3kt.aviation.infrastructure.analytics;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size count-min sketch estimating how often each key was seen.
+ * Uses conservative update (only the smallest counters of a key are
+ * incremented), which keeps over-estimation from colliding keys low.
+ * Counters are updated lock-free; under concurrent updates an estimate may
+ * lag by a few increments, which is fine for ranking.
+ * <p>
+ * Each row hashes the key's characters with its own seed rather than
+ * deriving every row from {@link String#hashCode()}: short codes such as
+ * "KJAO" and "KJB0" share that 32-bit hash and would share every counter.
+ */
+class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final long[] seeds;
+    private final AtomicIntegerArray counters;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param depth number of rows, i.e. independent hash functions
+     */
+    CountMinSketch(int width, int depth) {
+        int rowWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = rowWidth - 1;
+        this.seeds = new long[depth];
+        for (int row = 0; row < depth; row++) {
+            seeds[row] = mix(0x9E3779B97F4A7C15L * (row + 1));
+        }
+        this.counters = new AtomicIntegerArray(rowWidth * depth);
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     *
+     * @return the key's estimated count including this occurrence
+     */
+    int add(String key) {
+        int[] indexes = indexes(key);
+        int min = Integer.MAX_VALUE;
+        for (int index : indexes) {
+            min = Math.min(min, counters.get(index));
+        }
+        if (min == Integer.MAX_VALUE) {
+            return min;
+        }
+        for (int index : indexes) {
+            if (counters.get(index) == min) {
+                counters.compareAndSet(index, min, min + 1);
+            }
+        }
+        return min + 1;
+    }
+
+    /**
+     * Returns the estimated count of the key, never lower than the true count
+     * since the last decay.
+     */
+    int estimate(String key) {
+        int min = Integer.MAX_VALUE;
+        for (int index : indexes(key)) {
+            min = Math.min(min, counters.get(index));
+        }
+        return min;
+    }
+
+    /**
+     * Halves every counter, so older windows weigh half as much as the
+     * current one.
+     */
+    void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    private int[] indexes(String key) {
+        int[] indexes = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            indexes[row] = row * (mask + 1) + ((int) hash(key, seeds[row]) & mask);
+        }
+        return indexes;
+    }
+
+    /**
+     * 64-bit FNV-1a from a seeded offset basis, followed by the SplitMix64
+     * finaliser, as in the cluster's consistent hash ring.
+     */
+    private static long hash(String key, long seed) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * SplitMix64 finaliser.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.b3kt.aviation.infrastructure.analytics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the top-K most frequent keys of a stream in constant memory.
+ * Every key is counted in a {@link CountMinSketch}; the K keys with the
+ * highest estimates are kept as candidates, whose counts are read back from
+ * the sketch. Recording a key that is already a candidate costs a sketch
+ * update and a set lookup; only a key overtaking the weakest candidate takes
+ * a short lock to replace it. {@link #decay()} halves all counts at the end
+ * of each window so the ranking follows the current traffic.
+ */
+class HeavyHitterTracker {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Set<String> candidates;
+    private volatile int floor;
+
+    HeavyHitterTracker(int capacity, int sketchWidth, int sketchDepth) {
+        this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+        this.capacity = capacity;
+        this.candidates = ConcurrentHashMap.newKeySet(capacity * 2);
+    }
+
+    /**
+     * A key with its estimated count in the current window.
+     */
+    record KeyCount(String key, long count) {
+    }
+
+    void record(String key) {
+        int estimate = sketch.add(key);
+        if (estimate > floor && !candidates.contains(key)) {
+            admit(key, estimate);
+        }
+    }
+
+    private synchronized void admit(String key, int estimate) {
+        if (candidates.contains(key)) {
+            return;
+        }
+        if (candidates.size() >= capacity) {
+            String weakest = weakest();
+            if (weakest == null || estimate <= sketch.estimate(weakest)) {
+                updateFloor();
+                return;
+            }
+            candidates.remove(weakest);
+        }
+        candidates.add(key);
+        updateFloor();
+    }
+
+    private String weakest() {
+        String weakest = null;
+        int weakestCount = Integer.MAX_VALUE;
+        for (String candidate : candidates) {
+            int count = sketch.estimate(candidate);
+            if (count < weakestCount) {
+                weakest = candidate;
+                weakestCount = count;
+            }
+        }
+        return weakest;
+    }
+
+    /**
+     * Raises the admission floor to the weakest candidate's count once the
+     * candidate set is full. Candidate counts only grow within a window, so a
+     * stale floor is merely too low and costs an extra locked check.
+     */
+    private void updateFloor() {
+        String weakest = candidates.size() < capacity ? null : weakest();
+        floor = weakest == null ? 0 : sketch.estimate(weakest);
+    }
+
+    /**
+     * Returns the estimated count of a key in the current window.
+     */
+    long estimate(String key) {
+        return sketch.estimate(key);
+    }
+
+    /**
+     * Returns the current top keys, most frequent first.
+     */
+    List<KeyCount> top(int limit) {
+        return candidates.stream()
+                .map(key -> new KeyCount(key, sketch.estimate(key)))
+                .filter(keyCount -> keyCount.count() > 0)
+                .sorted(Comparator.comparingLong(KeyCount::count).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Ends the current window: halves every count and drops candidates that
+     * decayed to zero.
+     */
+    synchronized void decay() {
+        sketch.decay();
+        candidates.removeIf(key -> sketch.estimate(key) == 0);
+        updateFloor();
+    }
+}
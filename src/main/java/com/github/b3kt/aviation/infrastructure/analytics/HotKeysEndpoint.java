@@ -0,0 +1,52 @@
+package com.github.b3kt.aviation.infrastructure.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint listing the most frequent ICAO codes per kind, at
+ * {@code /actuator/hotkeys} and {@code /actuator/hotkeys/{kind}}.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final KeyAnalytics keyAnalytics;
+
+    @ReadOperation
+    public Map<KeyAnalytics.Kind, List<KeyAnalytics.KeyCount>> hotKeys(@Nullable Integer limit) {
+        Map<KeyAnalytics.Kind, List<KeyAnalytics.KeyCount>> hotKeys = new EnumMap<>(KeyAnalytics.Kind.class);
+        for (KeyAnalytics.Kind kind : KeyAnalytics.Kind.values()) {
+            hotKeys.put(kind, keyAnalytics.top(kind, limitOrDefault(limit)));
+        }
+        return hotKeys;
+    }
+
+    /**
+     * Returns the top keys of one kind, or 404 for an unknown kind.
+     */
+    @ReadOperation
+    public List<KeyAnalytics.KeyCount> hotKeysOfKind(@Selector String kind, @Nullable Integer limit) {
+        return Arrays.stream(KeyAnalytics.Kind.values())
+                .filter(candidate -> candidate.name().equalsIgnoreCase(kind))
+                .findFirst()
+                .map(match -> keyAnalytics.top(match, limitOrDefault(limit)))
+                .orElse(null);
+    }
+
+    private static int limitOrDefault(Integer limit) {
+        return limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+    }
+}
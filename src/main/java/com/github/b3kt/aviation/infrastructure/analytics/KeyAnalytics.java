@@ -0,0 +1,103 @@
+package com.github.b3kt.aviation.infrastructure.analytics;
+
+import com.github.b3kt.aviation.infrastructure.config.properties.KeyAnalyticsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Heavy-hitter analytics for ICAO codes on the lookup path.
+ * Keeps one {@link HeavyHitterTracker} per {@link Kind}, each a few tens of
+ * kilobytes regardless of traffic, and publishes the top keys as the
+ * {@code aviation.keys.top} gauge, refreshed at every decay window.
+ */
+@Component
+public class KeyAnalytics {
+
+    private static final String TOP_KEYS_METRIC = "aviation.keys.top";
+
+    private final boolean enabled;
+    private final int topK;
+    private final Map<Kind, HeavyHitterTracker> trackers = new EnumMap<>(Kind.class);
+    private final MultiGauge topKeysGauge;
+
+    public KeyAnalytics(KeyAnalyticsProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.topK = properties.topK();
+        for (Kind kind : Kind.values()) {
+            trackers.put(kind, new HeavyHitterTracker(
+                    properties.topK(), properties.sketchWidth(), properties.sketchDepth()));
+        }
+        this.topKeysGauge = MultiGauge.builder(TOP_KEYS_METRIC)
+                .description("Decayed occurrence estimate of the most frequent ICAO codes, by kind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Kinds of key occurrences tracked separately.
+     */
+    public enum Kind {
+        /** Airport lookups, hit or miss. */
+        REQUESTS,
+        /** Lookups the cache tier could not answer. */
+        MISSES,
+        /** Requests sent to the upstream aviation API, retries included. */
+        UPSTREAM
+    }
+
+    /**
+     * A key with its estimated count in the current window.
+     */
+    public record KeyCount(String icaoCode, long count) {
+    }
+
+    public void record(Kind kind, String icaoCode) {
+        if (enabled && icaoCode != null) {
+            trackers.get(kind).record(icaoCode);
+        }
+    }
+
+    /**
+     * Returns the top keys of a kind, most frequent first.
+     */
+    public List<KeyCount> top(Kind kind, int limit) {
+        return trackers.get(kind).top(limit).stream()
+                .map(keyCount -> new KeyCount(keyCount.key(), keyCount.count()))
+                .toList();
+    }
+
+    public long estimate(Kind kind, String icaoCode) {
+        return trackers.get(kind).estimate(icaoCode);
+    }
+
+    /**
+     * Closes the current window: publishes its top keys and then halves all
+     * counts, so the ranking reflects recent traffic.
+     */
+    @Scheduled(
+            initialDelayString = "${aviation.analytics.decay-interval:PT1M}",
+            fixedRateString = "${aviation.analytics.decay-interval:PT1M}")
+    public void closeWindow() {
+        if (!enabled) {
+            return;
+        }
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        for (Kind kind : Kind.values()) {
+            String kindTag = kind.name().toLowerCase(Locale.ROOT);
+            for (KeyCount keyCount : top(kind, topK)) {
+                rows.add(MultiGauge.Row.of(
+                        Tags.of("kind", kindTag, "icao", keyCount.icaoCode()), keyCount.count()));
+            }
+        }
+        topKeysGauge.register(rows, true);
+        trackers.values().forEach(HeavyHitterTracker::decay);
+    }
+}
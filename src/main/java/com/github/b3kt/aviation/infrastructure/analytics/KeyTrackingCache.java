@@ -0,0 +1,113 @@
+package com.github.b3kt.aviation.infrastructure.analytics;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator feeding {@link KeyAnalytics} with every lookup and every
+ * lookup the decorated cache could not answer. Wraps the outermost airport
+ * cache, so a miss means neither the local nor the cluster tier had the key.
+ */
+public class KeyTrackingCache implements Cache {
+
+    private final Cache delegate;
+    private final KeyAnalytics keyAnalytics;
+
+    public KeyTrackingCache(Cache delegate, KeyAnalytics keyAnalytics) {
+        this.delegate = delegate;
+        this.keyAnalytics = keyAnalytics;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    /**
+     * Records the lookup, and a miss when the delegate returns no future or a
+     * future completing with null.
+     */
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        String icaoCode = key.toString();
+        keyAnalytics.record(KeyAnalytics.Kind.REQUESTS, icaoCode);
+        CompletableFuture<?> cached = delegate.retrieve(key);
+        if (cached == null) {
+            keyAnalytics.record(KeyAnalytics.Kind.MISSES, icaoCode);
+            return null;
+        }
+        return cached.thenApply(value -> {
+            if (value == null) {
+                keyAnalytics.record(KeyAnalytics.Kind.MISSES, icaoCode);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        String icaoCode = key.toString();
+        keyAnalytics.record(KeyAnalytics.Kind.REQUESTS, icaoCode);
+        return delegate.retrieve(key, () -> {
+            keyAnalytics.record(KeyAnalytics.Kind.MISSES, icaoCode);
+            return valueLoader.get();
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * An AIRAC cycle, the 28-day period during which published aeronautical data
+ * such as the FAA airport records stays unchanged. Cycles take effect at
+ * 00:00 UTC every 28 days, counting from cycle 2001 on 2 January 2020, and
+ * are identified by the two-digit year and their number within that year.
+ *
+ * @param effectiveDate first day of the cycle
+ */
+public record AiracCycle(LocalDate effectiveDate) {
+
+    static final int LENGTH_DAYS = 28;
+
+    private static final LocalDate EPOCH = LocalDate.of(2020, 1, 2);
+
+    public AiracCycle {
+        if (ChronoUnit.DAYS.between(EPOCH, effectiveDate) % LENGTH_DAYS != 0) {
+            throw new IllegalArgumentException("Not an AIRAC effective date: " + effectiveDate);
+        }
+    }
+
+    /**
+     * Returns the cycle in effect on the given day.
+     */
+    public static AiracCycle containing(LocalDate date) {
+        long cycles = Math.floorDiv(ChronoUnit.DAYS.between(EPOCH, date), LENGTH_DAYS);
+        return new AiracCycle(EPOCH.plusDays(cycles * LENGTH_DAYS));
+    }
+
+    /**
+     * Returns the cycle in effect at the given instant.
+     */
+    public static AiracCycle containing(Instant instant) {
+        return containing(LocalDate.ofInstant(instant, ZoneOffset.UTC));
+    }
+
+    public AiracCycle next() {
+        return new AiracCycle(effectiveDate.plusDays(LENGTH_DAYS));
+    }
+
+    public Instant start() {
+        return effectiveDate.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    /**
+     * Instant the next cycle takes effect.
+     */
+    public Instant end() {
+        return next().start();
+    }
+
+    /**
+     * Cycle identifier such as "2611": year, then number within the year.
+     */
+    public String ident() {
+        return String.format("%02d%02d",
+                effectiveDate.getYear() % 100, (effectiveDate.getDayOfYear() - 1) / LENGTH_DAYS + 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Caffeine expiry that keeps entries until the end of the AIRAC cycle they
+ * were written in, plus a grace period. Published airport data only changes
+ * at a cycle boundary, so there is nothing to gain from expiring it earlier;
+ * the grace period gives {@link AiracRolloverRefresher} time to reload entries
+ * after the boundary before they expire.
+ */
+public final class AiracExpiry implements Expiry<Object, Object> {
+
+    private final Duration rolloverGrace;
+    private final Clock clock;
+
+    public AiracExpiry(Duration rolloverGrace, Clock clock) {
+        this.rolloverGrace = rolloverGrace;
+        this.clock = clock;
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        Instant now = clock.instant();
+        Instant expiresAt = AiracCycle.containing(now).end().plus(rolloverGrace);
+        return Duration.between(now, expiresAt).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        // A reload or put is a fresh write, valid until the end of the current cycle
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    /**
+     * Returns the effective date of a cached airport in either storage form,
+     * or null when the value has none.
+     */
+    static LocalDate effectiveDate(Object value) {
+        if (value instanceof Airport airport) {
+            return airport.effectiveDate();
+        }
+        if (value instanceof CompactAirport compact) {
+            return compact.effectiveDate();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.infrastructure.analytics.KeyAnalytics;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.AiracProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.AviationApiProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reloads airport cache entries when an AIRAC cycle ends, so entries kept by
+ * {@link AiracExpiry} are replaced with the new cycle's data before they
+ * expire instead of all missing at once. Entries are reloaded hottest first,
+ * by their recent lookup count in {@link KeyAnalytics}, at the throttled pace
+ * of {@link ThrottledPrefetcher}.
+ * Entries whose upstream effective date still predates the current cycle,
+ * because the upstream publishes late, are reloaded again every retry
+ * interval; such a pass stops at the first entry that is still behind, so an
+ * upstream that has not published yet costs one request per retry.
+ * Only active when the airport cache uses AIRAC_CYCLE expiry.
+ */
+@Component
+public class AiracRolloverRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(AiracRolloverRefresher.class);
+    private static final String REFRESH_METRIC = "aviation.airac.refresh";
+
+    private final CacheManager cacheManager;
+    private final ThrottledPrefetcher prefetcher;
+    private final KeyAnalytics keyAnalytics;
+    private final AiracProperties properties;
+    private final boolean enabled;
+    private final Clock clock;
+    private final Counter refreshed;
+    private final Counter failed;
+
+    private AiracCycle lastCycle;
+    private Instant nextRetry;
+    private volatile boolean running;
+
+    @Autowired
+    public AiracRolloverRefresher(
+            CacheManager cacheManager,
+            ThrottledPrefetcher prefetcher,
+            KeyAnalytics keyAnalytics,
+            AiracProperties properties,
+            AviationApiProperties aviationApiProperties,
+            MeterRegistry meterRegistry) {
+        this(cacheManager, prefetcher, keyAnalytics, properties, aviationApiProperties, meterRegistry,
+                Clock.systemUTC());
+    }
+
+    AiracRolloverRefresher(
+            CacheManager cacheManager,
+            ThrottledPrefetcher prefetcher,
+            KeyAnalytics keyAnalytics,
+            AiracProperties properties,
+            AviationApiProperties aviationApiProperties,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.cacheManager = cacheManager;
+        this.prefetcher = prefetcher;
+        this.keyAnalytics = keyAnalytics;
+        this.properties = properties;
+        this.enabled = aviationApiProperties.cachePolicy(CacheConfiguration.AIRPORT_CACHE).expiry()
+                == AviationApiProperties.Expiry.AIRAC_CYCLE;
+        this.clock = clock;
+        this.refreshed = meterRegistry.counter(REFRESH_METRIC, "outcome", "refreshed");
+        this.failed = meterRegistry.counter(REFRESH_METRIC, "outcome", "failed");
+    }
+
+    @Scheduled(
+            initialDelayString = "${aviation.airac.check-interval:PT1M}",
+            fixedDelayString = "${aviation.airac.check-interval:PT1M}")
+    public void check() {
+        if (!enabled || running) {
+            return;
+        }
+        Instant now = clock.instant();
+        AiracCycle current = AiracCycle.containing(now);
+        if (lastCycle == null) {
+            // Anything cached before the first check was loaded in this cycle
+            lastCycle = current;
+            nextRetry = now.plus(properties.retryInterval());
+            return;
+        }
+        boolean rollover = !current.equals(lastCycle);
+        if (!rollover && now.isBefore(nextRetry)) {
+            return;
+        }
+        lastCycle = current;
+        nextRetry = now.plus(properties.retryInterval());
+        refresh(current, rollover).subscribe();
+    }
+
+    /**
+     * Reloads stale entries, hottest first: after a rollover every entry
+     * written in an earlier cycle or holding older data, otherwise only the
+     * entries holding older data, stopping at the first that stays behind.
+     *
+     * @return Mono completing with the number of entries reloaded
+     */
+    Mono<Long> refresh(AiracCycle current, boolean rollover) {
+        Cache<Object, Object> cache = CaffeineCaches.nativeCache(cacheManager, CacheConfiguration.AIRPORT_CACHE)
+                .orElse(null);
+        if (!(cache instanceof LoadingCache<Object, Object> loadingCache)) {
+            return Mono.just(0L);
+        }
+        List<String> keys = staleKeys(cache, current, rollover);
+        if (keys.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        running = true;
+        Instant startedAt = clock.instant();
+        log.info("AIRAC cycle {}: reloading {} airport cache entries{}",
+                current.ident(), keys.size(), rollover ? " after the rollover" : " with data from an earlier cycle");
+        Flux<ThrottledPrefetcher.Result> results = prefetcher.prefetch(
+                keys,
+                key -> Mono.fromFuture(loadingCache.refresh(key))
+                        .filter(value -> rollover || !isBehind(value, current)),
+                Duration.ofMillis(properties.prefetchIntervalMillis()),
+                properties.rateLimiterReserve());
+        if (!rollover) {
+            results = results.takeUntil(result -> !result.loaded());
+        }
+        return results
+                .doOnNext(result -> (result.loaded() ? refreshed : failed).increment())
+                .filter(ThrottledPrefetcher.Result::loaded)
+                .count()
+                .doOnNext(count -> log.info("AIRAC cycle {}: reloaded {}/{} airport cache entries in {} ms",
+                        current.ident(), count, keys.size(),
+                        Duration.between(startedAt, clock.instant()).toMillis()))
+                .doFinally(signal -> running = false);
+    }
+
+    private List<String> staleKeys(Cache<Object, Object> cache, AiracCycle current, boolean rollover) {
+        Instant now = clock.instant();
+        return cache.asMap().entrySet().stream()
+                .filter(entry -> isBehind(entry.getValue(), current)
+                        || rollover && writtenBefore(cache, entry.getKey(), current, now))
+                .map(entry -> Objects.toString(entry.getKey()))
+                .sorted(Comparator.comparingLong(
+                        (String key) -> keyAnalytics.estimate(KeyAnalytics.Kind.REQUESTS, key)).reversed())
+                .toList();
+    }
+
+    /**
+     * Whether the entry expires before the end of the current cycle, which
+     * with {@link AiracExpiry} means it was written in an earlier one.
+     */
+    private static boolean writtenBefore(Cache<Object, Object> cache, Object key, AiracCycle current, Instant now) {
+        return cache.policy().expireVariably()
+                .flatMap(expiry -> expiry.getExpiresAfter(key))
+                .map(remaining -> now.plus(remaining).isBefore(current.end()))
+                .orElse(false);
+    }
+
+    private static boolean isBehind(Object value, AiracCycle current) {
+        LocalDate effectiveDate = AiracExpiry.effectiveDate(value);
+        return effectiveDate != null && effectiveDate.isBefore(current.effectiveDate());
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+
+/**
+ * Converts airports to and from their {@link CompactAirport} storage form,
+ * sharing one {@link StringDictionary} across the cache. Values that are not
+ * airports, or airports that cannot be encoded losslessly, pass through
+ * unchanged.
+ */
+public final class AirportCompactor {
+
+    private final StringDictionary dictionary = new StringDictionary();
+
+    /**
+     * Returns the storage form of a value about to be cached.
+     */
+    public Object compact(Object value) {
+        if (value instanceof Airport airport) {
+            CompactAirport compact = CompactAirport.of(airport, dictionary);
+            return compact != null ? compact : airport;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value a storage form stands for.
+     */
+    public Object expand(Object value) {
+        return value instanceof CompactAirport compact ? compact.toAirport() : value;
+    }
+
+    public int dictionarySize() {
+        return dictionary.size();
+    }
+
+    public long dictionaryRetainedSize() {
+        return dictionary.retainedSize();
+    }
+}
@@ -0,0 +1,281 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.CacheAdminProperties;
+import com.github.b3kt.aviation.infrastructure.provider.AirportProviderRouter;
+import com.github.b3kt.aviation.infrastructure.service.LongitudeTimezoneResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invalidates or refreshes selected entries of the airport and timezone
+ * caches, for when upstream corrects a record. Entries are picked from the
+ * node-local cache by {@link CacheSelector}; invalidations go through the
+ * full cache decorators, so the cluster tier broadcasts them to its peers.
+ * Refreshes run as background jobs and replace each entry only once its new
+ * value has loaded, so the old one keeps being served meanwhile. Airports
+ * are fetched at the throttled pace of {@link ThrottledPrefetcher}; an
+ * airport the providers no longer know is evicted. Timezones are resolved
+ * locally and need no throttling.
+ */
+@Component
+public class CacheAdmin {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheAdmin.class);
+
+    private final CacheManager cacheManager;
+    private final AirportProviderRouter airportProviderRouter;
+    private final LongitudeTimezoneResolver timezoneResolver;
+    private final ThrottledPrefetcher prefetcher;
+    private final AirportCompactor airportCompactor;
+    private final CacheAdminProperties properties;
+
+    private final AtomicLong jobIds = new AtomicLong();
+    private final Deque<RefreshJob> jobs = new ConcurrentLinkedDeque<>();
+
+    public CacheAdmin(
+            CacheManager cacheManager,
+            AirportProviderRouter airportProviderRouter,
+            LongitudeTimezoneResolver timezoneResolver,
+            ThrottledPrefetcher prefetcher,
+            AirportCompactor airportCompactor,
+            CacheAdminProperties properties) {
+        this.cacheManager = cacheManager;
+        this.airportProviderRouter = airportProviderRouter;
+        this.timezoneResolver = timezoneResolver;
+        this.prefetcher = prefetcher;
+        this.airportCompactor = airportCompactor;
+        this.properties = properties;
+    }
+
+    /**
+     * Snapshot of a refresh job.
+     *
+     * @param refreshed entries replaced with a newly loaded value
+     * @param removed   airports evicted because no provider knows them any more
+     * @param failed    entries left unchanged because loading failed
+     */
+    public record Progress(
+            long id,
+            String cache,
+            int total,
+            int completed,
+            int refreshed,
+            int removed,
+            int failed,
+            boolean finished,
+            Instant startedAt,
+            Instant finishedAt) {
+    }
+
+    /**
+     * Evicts the selected entries.
+     *
+     * @return number of entries evicted on this node
+     * @throws IllegalArgumentException for a cache other than airports or timezone
+     */
+    public int invalidate(String cacheName, CacheSelector selector) {
+        Cache cache = cache(cacheName);
+        List<String> keys = selectedKeys(cacheName, selector);
+        keys.forEach(cache::evict);
+        log.info("Invalidated {} entries of cache '{}' selected by {}", keys.size(), cacheName, selector);
+        return keys.size();
+    }
+
+    /**
+     * Starts a background job reloading the selected entries.
+     *
+     * @return the job's initial progress
+     * @throws IllegalArgumentException for a cache other than airports or timezone
+     */
+    public Progress refresh(String cacheName, CacheSelector selector) {
+        Cache cache = cache(cacheName);
+        List<String> keys = selectedKeys(cacheName, selector);
+        RefreshJob job = new RefreshJob(jobIds.incrementAndGet(), cacheName, keys.size());
+        jobs.addFirst(job);
+        trimJobs();
+        log.info("Refresh job {}: reloading {} entries of cache '{}' selected by {}",
+                job.id, keys.size(), cacheName, selector);
+
+        Flux<ThrottledPrefetcher.Result> results = CacheConfiguration.AIRPORT_CACHE.equals(cacheName)
+                ? prefetcher.prefetch(keys, key -> refreshAirport(cache, key, job),
+                        Duration.ofMillis(properties.prefetchIntervalMillis()), properties.rateLimiterReserve())
+                : Flux.fromIterable(keys).concatMap(key -> refreshTimezone(key)
+                        .map(zone -> new ThrottledPrefetcher.Result(key, true))
+                        .onErrorReturn(new ThrottledPrefetcher.Result(key, false)));
+        results.doOnNext(result -> {
+                    job.completed.incrementAndGet();
+                    if (result.loaded()) {
+                        job.refreshed.incrementAndGet();
+                    } else if (!job.wasRemoved(result.icaoCode())) {
+                        job.failed.incrementAndGet();
+                    }
+                })
+                .doFinally(signal -> {
+                    job.finishedAt = Instant.now();
+                    log.info("Refresh job {} finished: {}", job.id, job.progress());
+                })
+                .subscribe();
+        return job.progress();
+    }
+
+    /**
+     * Returns the running and recently finished refresh jobs, newest first.
+     */
+    public List<Progress> jobs() {
+        return jobs.stream().map(RefreshJob::progress).toList();
+    }
+
+    private Mono<Airport> refreshAirport(Cache cache, String icaoCode, RefreshJob job) {
+        return airportProviderRouter.fetchAirport(icaoCode)
+                .doOnNext(airport -> cache.put(icaoCode, airport))
+                .onErrorResume(AirportNotFoundException.class, error -> {
+                    cache.evict(icaoCode);
+                    job.removed(icaoCode);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<String> refreshTimezone(String key) {
+        String[] parts = key.split(",");
+        return Mono.fromCallable(() -> timezoneResolver.refresh(new BigDecimal(parts[0]), new BigDecimal(parts[1])))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Cache cache(String cacheName) {
+        if (!CacheConfiguration.AIRPORT_CACHE.equals(cacheName) && !CacheConfiguration.TIMEZONE_CACHE.equals(cacheName)) {
+            throw new IllegalArgumentException("Only the " + CacheConfiguration.AIRPORT_CACHE + " and "
+                    + CacheConfiguration.TIMEZONE_CACHE + " caches can be invalidated by entry: " + cacheName);
+        }
+        return Objects.requireNonNull(cacheManager.getCache(cacheName), cacheName);
+    }
+
+    /**
+     * Keys of the node-local cache selected by the selector. Timezone entries
+     * are selected by their coordinates, either inside the region or those of
+     * a selected airport in the airport cache.
+     */
+    private List<String> selectedKeys(String cacheName, CacheSelector selector) {
+        Map<Object, Object> airports = entries(CacheConfiguration.AIRPORT_CACHE);
+        if (CacheConfiguration.AIRPORT_CACHE.equals(cacheName)) {
+            return airports.entrySet().stream()
+                    .filter(entry -> selector.matchesIcao(entry.getKey().toString())
+                            || located(entry.getValue(), selector))
+                    .map(entry -> entry.getKey().toString())
+                    .toList();
+        }
+        Set<List<Double>> airportLocations = new HashSet<>();
+        airports.forEach((key, value) -> {
+            if (selector.matchesIcao(key.toString())
+                    && airportCompactor.expand(value) instanceof Airport airport
+                    && airport.latitude() != null && airport.longitude() != null) {
+                airportLocations.add(List.of(airport.latitude().doubleValue(), airport.longitude().doubleValue()));
+            }
+        });
+        return entries(CacheConfiguration.TIMEZONE_CACHE).keySet().stream()
+                .map(Object::toString)
+                .filter(key -> {
+                    double[] coordinates = coordinates(key);
+                    return coordinates != null
+                            && (selector.matchesLocation(coordinates[0], coordinates[1])
+                            || airportLocations.contains(List.of(coordinates[0], coordinates[1])));
+                })
+                .toList();
+    }
+
+    private boolean located(Object value, CacheSelector selector) {
+        return airportCompactor.expand(value) instanceof Airport airport
+                && airport.latitude() != null && airport.longitude() != null
+                && selector.matchesLocation(airport.latitude().doubleValue(), airport.longitude().doubleValue());
+    }
+
+    private Map<Object, Object> entries(String cacheName) {
+        return CaffeineCaches.nativeCache(cacheManager, cacheName)
+                .<Map<Object, Object>>map(com.github.benmanes.caffeine.cache.Cache::asMap)
+                .orElse(Map.of());
+    }
+
+    /**
+     * Parses a timezone cache key, see {@link CacheConfiguration#TIMEZONE_KEY}.
+     *
+     * @return latitude and longitude, or null when the key is not a coordinate pair
+     */
+    private static double[] coordinates(String key) {
+        String[] parts = key.split(",");
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new double[] {Double.parseDouble(parts[0]), Double.parseDouble(parts[1])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void trimJobs() {
+        while (jobs.size() > properties.retainedJobs()) {
+            RefreshJob oldest = jobs.peekLast();
+            if (oldest == null || oldest.finishedAt == null) {
+                return;
+            }
+            jobs.remove(oldest);
+        }
+    }
+
+    private static final class RefreshJob {
+
+        private final long id;
+        private final String cache;
+        private final int total;
+        private final Instant startedAt = Instant.now();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger refreshed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final Set<String> removed = ConcurrentHashMap.newKeySet();
+        private volatile Instant finishedAt;
+
+        RefreshJob(long id, String cache, int total) {
+            this.id = id;
+            this.cache = cache;
+            this.total = total;
+            if (total == 0) {
+                finishedAt = startedAt;
+            }
+        }
+
+        void removed(String icaoCode) {
+            removed.add(icaoCode);
+        }
+
+        boolean wasRemoved(String icaoCode) {
+            return removed.contains(icaoCode);
+        }
+
+        Progress progress() {
+            return new Progress(id, cache, total, completed.get(), refreshed.get(), removed.size(), failed.get(),
+                    finishedAt != null, startedAt, finishedAt);
+        }
+    }
+}
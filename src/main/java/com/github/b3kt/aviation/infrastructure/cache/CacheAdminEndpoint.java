@@ -0,0 +1,62 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Actuator endpoint for targeted cache maintenance at
+ * {@code /actuator/cacheadmin}: GET lists refresh jobs,
+ * DELETE {@code /{cache}} invalidates and POST {@code /{cache}} starts a
+ * refresh of the entries selected by {@code icaos}, {@code prefix} or
+ * {@code region}.
+ */
+@Component
+@Endpoint(id = "cacheadmin")
+@RequiredArgsConstructor
+public class CacheAdminEndpoint {
+
+    private final CacheAdmin cacheAdmin;
+
+    @ReadOperation
+    public List<CacheAdmin.Progress> jobs() {
+        return cacheAdmin.jobs();
+    }
+
+    /**
+     * Evicts the selected entries here and, through the cluster tier, on peers.
+     */
+    @DeleteOperation
+    public Map<String, Integer> invalidate(@Selector String cache, @Nullable String icaos,
+            @Nullable String prefix, @Nullable String region) {
+        return badRequestOnInvalid(() -> Map.of("invalidated",
+                cacheAdmin.invalidate(cache, CacheSelector.parse(icaos, prefix, region))));
+    }
+
+    /**
+     * Starts reloading the selected entries in the background.
+     */
+    @WriteOperation
+    public CacheAdmin.Progress refresh(@Selector String cache, @Nullable String icaos,
+            @Nullable String prefix, @Nullable String region) {
+        return badRequestOnInvalid(() -> cacheAdmin.refresh(cache, CacheSelector.parse(icaos, prefix, region)));
+    }
+
+    private static <T> T badRequestOnInvalid(Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+}
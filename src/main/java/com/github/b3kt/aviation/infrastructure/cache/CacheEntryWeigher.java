@@ -0,0 +1,85 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Estimates the retained heap size of a cache entry in bytes, so caches can
+ * be bounded by memory rather than by entry count. Sizes assume a 64-bit JVM
+ * with compressed oops and compact (Latin-1) strings, and include a fixed
+ * per-entry overhead for the Caffeine node, hash table slot and the
+ * completed future held in async mode.
+ */
+public final class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    static final int ENTRY_OVERHEAD = 128;
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int STRING_SHALLOW = 24;
+    private static final int ARRAY_HEADER = 16;
+    private static final int BIG_DECIMAL_SHALLOW = 40;
+    private static final int INTEGER_SHALLOW = 16;
+    private static final int LOCAL_DATE_SHALLOW = 24;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return ENTRY_OVERHEAD + sizeOf(key) + sizeOf(value);
+    }
+
+    static int sizeOf(Object value) {
+        if (value instanceof Airport airport) {
+            return sizeOf(airport);
+        }
+        if (value instanceof CompactAirport compact) {
+            return compact.retainedSize();
+        }
+        if (value instanceof String string) {
+            return sizeOf(string);
+        }
+        if (value instanceof BigDecimal) {
+            return BIG_DECIMAL_SHALLOW;
+        }
+        if (value instanceof Integer) {
+            return INTEGER_SHALLOW;
+        }
+        if (value instanceof List<?> list) {
+            // Cached Flux results, such as search results
+            int size = align(OBJECT_HEADER + 2 * REFERENCE) + align(ARRAY_HEADER + list.size() * REFERENCE);
+            for (Object element : list) {
+                size += sizeOf(element);
+            }
+            return size;
+        }
+        // Shared singletons such as the cached null marker
+        return 0;
+    }
+
+    static int sizeOf(Airport airport) {
+        return align(OBJECT_HEADER + 10 * REFERENCE)
+                + sizeOf(airport.icaoCode())
+                + sizeOf(airport.faaCode())
+                + sizeOf(airport.name())
+                + sizeOf(airport.city())
+                + sizeOf(airport.country())
+                + (airport.latitude() != null ? BIG_DECIMAL_SHALLOW : 0)
+                + (airport.longitude() != null ? BIG_DECIMAL_SHALLOW : 0)
+                + sizeOf(airport.timezone())
+                + (airport.elevation() != null ? INTEGER_SHALLOW : 0)
+                + (airport.effectiveDate() != null ? LOCAL_DATE_SHALLOW : 0);
+    }
+
+    static int sizeOf(String string) {
+        if (string == null) {
+            return 0;
+        }
+        return STRING_SHALLOW + align(ARRAY_HEADER + string.length());
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the Caffeine statistics of every cache to Micrometer, plus gauges for
+ * the estimated memory in use ({@code cache.weighted.size}), the memory budget
+ * ({@code cache.max.weight}) and the hit ratio. Spring Boot only binds caches
+ * it recognises as {@link CaffeineCache}, so the decorated airport cache gets
+ * the standard {@code cache.gets}/{@code cache.evictions} meters here, with
+ * the same tags Boot uses. The shared string dictionary of compact airport
+ * storage is reported as {@code cache.dictionary.size}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetricsBinder implements MeterBinder {
+
+    private static final String CACHE_MANAGER = "cacheManager";
+
+    private final CacheManager cacheManager;
+    private final AirportCompactor airportCompactor;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : cacheManager.getCacheNames()) {
+            CaffeineCaches.nativeCache(cacheManager, name).ifPresent(cache -> {
+                Tags tags = Tags.of("cache", name, "cache.manager", CACHE_MANAGER);
+                if (!(cacheManager.getCache(name) instanceof CaffeineCache)) {
+                    // Boot also tags its cache meters with name; Prometheus drops meters whose tag keys differ
+                    CaffeineCacheMetrics.monitor(registry, cache, name,
+                            Tags.of("cache.manager", CACHE_MANAGER, "name", name));
+                }
+                cache.policy().eviction().ifPresent(eviction -> {
+                    Gauge.builder("cache.weighted.size", eviction, e -> e.weightedSize().orElse(0L))
+                            .description("Estimated memory held by the cache entries")
+                            .baseUnit("bytes")
+                            .tags(tags)
+                            .register(registry);
+                    Gauge.builder("cache.max.weight", eviction, e -> e.getMaximum())
+                            .description("Memory budget of the cache")
+                            .baseUnit("bytes")
+                            .tags(tags)
+                            .register(registry);
+                });
+                Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                        .description("Share of lookups answered from the cache since startup")
+                        .tags(tags)
+                        .register(registry);
+            });
+        }
+        Gauge.builder("cache.dictionary.size", airportCompactor, AirportCompactor::dictionaryRetainedSize)
+                .description("Estimated memory held by strings shared across compact airport entries")
+                .baseUnit("bytes")
+                .tags("cache", CacheConfiguration.AIRPORT_CACHE, "cache.manager", CACHE_MANAGER)
+                .register(registry);
+    }
+}
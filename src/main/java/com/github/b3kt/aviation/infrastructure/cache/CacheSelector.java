@@ -0,0 +1,82 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Selects airport and timezone cache entries by ICAO code, ICAO prefix or
+ * latitude/longitude box. An entry is selected when it matches any of the
+ * given criteria.
+ *
+ * @param icaoCodes ICAO codes, upper case
+ * @param prefix    upper-case ICAO prefix such as "K" or "EG", null for none
+ * @param region    bounding box, null for none
+ */
+public record CacheSelector(Set<String> icaoCodes, String prefix, Region region) {
+
+    /**
+     * Parses request parameters, any of which may be null or blank.
+     *
+     * @param icaoCodes comma-separated ICAO codes
+     * @param prefix    ICAO prefix
+     * @param region    "minLatitude,minLongitude,maxLatitude,maxLongitude"
+     * @throws IllegalArgumentException when nothing is selected or the region is malformed
+     */
+    public static CacheSelector parse(String icaoCodes, String prefix, String region) {
+        Set<String> codes = icaoCodes == null ? Set.of() : Arrays.stream(icaoCodes.split(","))
+                .map(String::trim)
+                .filter(code -> !code.isEmpty())
+                .map(code -> code.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        String normalizedPrefix = prefix == null || prefix.isBlank() ? null : prefix.trim().toUpperCase(Locale.ROOT);
+        Region box = region == null || region.isBlank() ? null : Region.parse(region);
+        if (codes.isEmpty() && normalizedPrefix == null && box == null) {
+            throw new IllegalArgumentException("Select entries by icaos, prefix or region");
+        }
+        return new CacheSelector(codes, normalizedPrefix, box);
+    }
+
+    /**
+     * Whether the ICAO code is selected by code or prefix.
+     */
+    public boolean matchesIcao(String icaoCode) {
+        return icaoCodes.contains(icaoCode) || prefix != null && icaoCode.startsWith(prefix);
+    }
+
+    public boolean matchesLocation(double latitude, double longitude) {
+        return region != null && region.contains(latitude, longitude);
+    }
+
+    /**
+     * Latitude/longitude box, bounds included.
+     */
+    public record Region(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+        public Region {
+            if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+                throw new IllegalArgumentException("Region minimums must not exceed its maximums");
+            }
+        }
+
+        static Region parse(String region) {
+            String[] parts = region.split(",");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException(
+                        "Region must be minLatitude,minLongitude,maxLatitude,maxLongitude: " + region);
+            }
+            try {
+                return new Region(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                        Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Region bounds must be numbers: " + region);
+            }
+        }
+
+        boolean contains(double latitude, double longitude) {
+            return latitude >= minLatitude && latitude <= maxLatitude
+                    && longitude >= minLongitude && longitude <= maxLongitude;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.port.AviationDataPort;
+import com.github.b3kt.aviation.infrastructure.config.properties.WarmupProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the airport cache on startup from the last hot-set snapshot.
+ * Airports are loaded through {@link AviationDataPort}, so they go through the
+ * regular cache, cluster tier and resilience decorators, at the throttled
+ * pace of {@link ThrottledPrefetcher}.
+ */
+@Component
+public class CacheWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final HotSetSnapshotter snapshotter;
+    private final ThrottledPrefetcher prefetcher;
+    private final AviationDataPort aviationDataPort;
+    private final WarmupProperties properties;
+
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger loaded = new AtomicInteger();
+    private volatile int total;
+    private volatile boolean finished;
+    private volatile Instant startedAt;
+
+    public CacheWarmer(
+            HotSetSnapshotter snapshotter,
+            ThrottledPrefetcher prefetcher,
+            AviationDataPort aviationDataPort,
+            WarmupProperties properties) {
+        this.snapshotter = snapshotter;
+        this.prefetcher = prefetcher;
+        this.aviationDataPort = aviationDataPort;
+        this.properties = properties;
+        this.finished = !properties.enabled();
+    }
+
+    /**
+     * Snapshot of warm-up progress.
+     */
+    public record Progress(int total, int completed, int loaded, boolean finished, boolean timedOut) {
+
+        public int percent() {
+            return total == 0 ? 100 : completed * 100 / total;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.enabled()) {
+            return;
+        }
+        startedAt = Instant.now();
+        List<String> hotSet = snapshotter.readSnapshot();
+        total = hotSet.size();
+        if (hotSet.isEmpty()) {
+            log.info("No hot-set snapshot found, starting with a cold cache");
+            finished = true;
+            return;
+        }
+
+        log.info("Warming airport cache with {} airports from the hot-set snapshot", total);
+        prefetcher.prefetch(
+                        hotSet,
+                        aviationDataPort::getAirportByIcao,
+                        Duration.ofMillis(properties.prefetchIntervalMillis()),
+                        properties.rateLimiterReserve())
+                .doOnNext(result -> {
+                    completed.incrementAndGet();
+                    if (result.loaded()) {
+                        loaded.incrementAndGet();
+                    }
+                })
+                .doFinally(signal -> {
+                    finished = true;
+                    log.info("Cache warm-up finished: {}/{} airports loaded in {} ms",
+                            loaded.get(), total, Duration.between(startedAt, Instant.now()).toMillis());
+                })
+                .subscribe();
+    }
+
+    public Progress progress() {
+        boolean timedOut = !finished
+                && startedAt != null
+                && Instant.now().isAfter(startedAt.plus(properties.maxWait()));
+        return new Progress(total, completed.get(), loaded.get(), finished, timedOut);
+    }
+
+    /**
+     * Whether the cache is warm enough to take traffic: the configured share of
+     * the hot set has been attempted, the warm-up finished, or it ran longer
+     * than the maximum wait.
+     */
+    public boolean isWarm() {
+        if (!properties.enabled()) {
+            return true;
+        }
+        if (startedAt == null) {
+            return false;
+        }
+        Progress progress = progress();
+        return progress.finished()
+                || progress.timedOut()
+                || progress.percent() >= properties.readyThresholdPercent();
+    }
+}
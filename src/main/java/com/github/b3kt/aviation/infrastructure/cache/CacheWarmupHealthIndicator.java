@@ -0,0 +1,32 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the cache warm-up as the "cacheWarmup" health contributor. It is
+ * part of the readiness group, so a restarted pod receives no traffic until
+ * its airport cache has been warmed from the hot-set snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmer cacheWarmer;
+
+    @Override
+    public Health health() {
+        CacheWarmer.Progress progress = cacheWarmer.progress();
+        Health.Builder builder = cacheWarmer.isWarm() ? Health.up() : Health.down();
+        return builder
+                .withDetail("total", progress.total())
+                .withDetail("completed", progress.completed())
+                .withDetail("loaded", progress.loaded())
+                .withDetail("percent", progress.percent())
+                .withDetail("finished", progress.finished())
+                .withDetail("timedOut", progress.timedOut())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.infrastructure.analytics.KeyTrackingCache;
+import com.github.b3kt.aviation.infrastructure.cluster.ClusteredCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Optional;
+
+/**
+ * Access to the Caffeine caches behind Spring's {@link CacheManager}, looking
+ * through the analytics and cluster decorators so callers see the node-local
+ * cache.
+ */
+public final class CaffeineCaches {
+
+    private CaffeineCaches() {
+        // Utility class
+    }
+
+    /**
+     * Returns the node-local Spring cache registered under the given name,
+     * without any decorators.
+     */
+    public static Cache localCache(CacheManager cacheManager, String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache instanceof KeyTrackingCache tracking) {
+            cache = tracking.getDelegate();
+        }
+        if (cache instanceof ClusteredCache clustered) {
+            cache = clustered.getLocal();
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the node-local Caffeine cache registered under the given name.
+     */
+    @SuppressWarnings("unchecked")
+    public static Optional<com.github.benmanes.caffeine.cache.Cache<Object, Object>> nativeCache(
+            CacheManager cacheManager, String name) {
+        Cache cache = localCache(cacheManager, name);
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return Optional.of((com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine);
+        }
+        return Optional.empty();
+    }
+}
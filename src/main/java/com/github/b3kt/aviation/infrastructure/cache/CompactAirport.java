@@ -0,0 +1,168 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Compact storage form of an {@link Airport} for large caches.
+ * The ICAO and FAA codes are packed into ints, the name is kept as Latin-1
+ * bytes, coordinates as doubles, the elevation and the effective date as
+ * primitive ints. City,
+ * country and timezone are shared instances from a {@link StringDictionary},
+ * since they repeat across thousands of airports. Built and expanded by
+ * {@link AirportCompactor}; never leaves the cache.
+ */
+final class CompactAirport {
+
+    static final int SHALLOW_SIZE = 64;
+
+    static final int UNPACKABLE = -1;
+
+    private static final int NULL_CODE = 7 << 28;
+    private static final int NO_ELEVATION = Integer.MIN_VALUE;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final int icaoCode;
+    private final int faaCode;
+    private final byte[] name;
+    private final String city;
+    private final String country;
+    private final String timezone;
+    private final double latitude;
+    private final double longitude;
+    private final int elevation;
+    private final int effectiveDay;
+
+    private CompactAirport(
+            int icaoCode,
+            int faaCode,
+            byte[] name,
+            String city,
+            String country,
+            String timezone,
+            double latitude,
+            double longitude,
+            int elevation,
+            int effectiveDay) {
+        this.icaoCode = icaoCode;
+        this.faaCode = faaCode;
+        this.name = name;
+        this.city = city;
+        this.country = country;
+        this.timezone = timezone;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.elevation = elevation;
+        this.effectiveDay = effectiveDay;
+    }
+
+    /**
+     * Encodes the airport, or returns null when it cannot be stored without
+     * loss (codes longer than four ASCII characters, a name outside Latin-1,
+     * coordinates that do not round-trip through a double, or an elevation of
+     * {@link Integer#MIN_VALUE}).
+     */
+    static CompactAirport of(Airport airport, StringDictionary dictionary) {
+        int icaoCode = pack(airport.icaoCode());
+        int faaCode = pack(airport.faaCode());
+        if (icaoCode == UNPACKABLE || faaCode == UNPACKABLE
+                || !isLatin1(airport.name())
+                || !roundTrips(airport.latitude())
+                || !roundTrips(airport.longitude())
+                || Integer.valueOf(NO_ELEVATION).equals(airport.elevation())) {
+            return null;
+        }
+        return new CompactAirport(
+                icaoCode,
+                faaCode,
+                airport.name().getBytes(StandardCharsets.ISO_8859_1),
+                dictionary.canonical(airport.city()),
+                dictionary.canonical(airport.country()),
+                dictionary.canonical(airport.timezone()),
+                airport.latitude() != null ? airport.latitude().doubleValue() : Double.NaN,
+                airport.longitude() != null ? airport.longitude().doubleValue() : Double.NaN,
+                airport.elevation() != null ? airport.elevation() : NO_ELEVATION,
+                airport.effectiveDate() != null ? (int) airport.effectiveDate().toEpochDay() : NO_DATE);
+    }
+
+    Airport toAirport() {
+        return new Airport(
+                unpack(icaoCode),
+                unpack(faaCode),
+                new String(name, StandardCharsets.ISO_8859_1),
+                city,
+                country,
+                Double.isNaN(latitude) ? null : BigDecimal.valueOf(latitude),
+                Double.isNaN(longitude) ? null : BigDecimal.valueOf(longitude),
+                timezone,
+                elevation == NO_ELEVATION ? null : elevation,
+                effectiveDate());
+    }
+
+    LocalDate effectiveDate() {
+        return effectiveDay == NO_DATE ? null : LocalDate.ofEpochDay(effectiveDay);
+    }
+
+    /**
+     * Estimated retained size, excluding the shared dictionary strings.
+     */
+    int retainedSize() {
+        return SHALLOW_SIZE + ((16 + name.length + 7) & ~7);
+    }
+
+    /**
+     * Packs up to four ASCII characters into an int: seven bits per
+     * character and the length in bits 28-30, so "" and null stay distinct.
+     *
+     * @return the packed code, or {@link #UNPACKABLE} when the value is longer
+     *         than four characters or not ASCII
+     */
+    static int pack(String code) {
+        if (code == null) {
+            return NULL_CODE;
+        }
+        if (code.length() > 4) {
+            return UNPACKABLE;
+        }
+        int packed = code.length() << 28;
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c > 0x7F) {
+                return UNPACKABLE;
+            }
+            packed |= c << (7 * (3 - i));
+        }
+        return packed;
+    }
+
+    static String unpack(int packed) {
+        if (packed == NULL_CODE) {
+            return null;
+        }
+        int length = packed >>> 28;
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ((packed >>> (7 * (3 - i))) & 0x7F);
+        }
+        return new String(chars);
+    }
+
+    private static boolean isLatin1(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean roundTrips(BigDecimal value) {
+        return value == null || BigDecimal.valueOf(value.doubleValue()).equals(value);
+    }
+}
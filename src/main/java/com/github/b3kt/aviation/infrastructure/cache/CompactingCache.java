@@ -0,0 +1,112 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator storing airports in their {@link CompactAirport} form.
+ * Values are compacted on the way in and expanded back to airports on the
+ * way out, so callers of the cache never see the storage form.
+ */
+public class CompactingCache implements Cache {
+
+    private final Cache delegate;
+    private final AirportCompactor compactor;
+
+    public CompactingCache(Cache delegate, AirportCompactor compactor) {
+        this.delegate = delegate;
+        this.compactor = compactor;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return expand(delegate.get(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object stored = delegate.get(key, () -> compactor.compact(valueLoader.call()));
+        return (T) compactor.expand(stored);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CompletableFuture<?> cached = delegate.retrieve(key);
+        return cached != null ? cached.thenApply(this::expandValue) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.<Object>retrieve(key, () -> valueLoader.get().thenApply(compactor::compact))
+                .thenApply(stored -> (T) compactor.expand(stored));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, compactor.compact(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return expand(delegate.putIfAbsent(key, compactor.compact(value)));
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private Object expandValue(Object value) {
+        return value instanceof ValueWrapper wrapper ? expand(wrapper) : compactor.expand(value);
+    }
+
+    private ValueWrapper expand(ValueWrapper wrapper) {
+        if (wrapper == null || !(wrapper.get() instanceof CompactAirport)) {
+            return wrapper;
+        }
+        return new SimpleValueWrapper(compactor.expand(wrapper.get()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.WarmupProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Periodically persists the hottest airport cache keys to a small local file.
+ * Uses the eviction policy's own frequency ordering (W-TinyLFU), so the file
+ * holds the ICAO codes Caffeine would keep longest, hottest first. The file
+ * is also written on shutdown so a rolling restart picks up a fresh hot set.
+ */
+@Component
+public class HotSetSnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSetSnapshotter.class);
+    private static final Pattern ICAO_PATTERN = Pattern.compile("^[A-Z0-9]{4}$");
+
+    private final CacheManager cacheManager;
+    private final WarmupProperties properties;
+    private final Path snapshotPath;
+
+    public HotSetSnapshotter(CacheManager cacheManager, WarmupProperties properties) {
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        this.snapshotPath = Path.of(properties.snapshotPath());
+    }
+
+    @Scheduled(
+            initialDelayString = "${aviation.warmup.snapshot-interval:PT5M}",
+            fixedDelayString = "${aviation.warmup.snapshot-interval:PT5M}")
+    public void scheduledSnapshot() {
+        if (properties.enabled()) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (properties.enabled()) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} airport cache keys, hottest first.
+     */
+    public List<String> hottestKeys(int limit) {
+        return CaffeineCaches.nativeCache(cacheManager, CacheConfiguration.AIRPORT_CACHE)
+                .flatMap(cache -> cache.policy().eviction())
+                .map(eviction -> eviction.hottest(limit).keySet().stream()
+                        .map(Object::toString)
+                        .toList())
+                .orElse(List.of());
+    }
+
+    /**
+     * Writes the current hot set, replacing the previous file atomically.
+     * An empty cache leaves the previous snapshot in place.
+     */
+    public void writeSnapshot() {
+        List<String> keys = hottestKeys(properties.topN());
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "hot-set", ".tmp");
+            Files.write(temp, keys);
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote hot-set snapshot of {} airports to {}", keys.size(), snapshotPath);
+        } catch (IOException e) {
+            log.warn("Failed to write hot-set snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the last snapshot, hottest first, skipping malformed lines.
+     *
+     * @return ICAO codes from the snapshot, empty when there is none
+     */
+    public List<String> readSnapshot() {
+        if (!Files.isReadable(snapshotPath)) {
+            return List.of();
+        }
+        try {
+            return Files.readAllLines(snapshotPath).stream()
+                    .map(line -> line.trim().toUpperCase(Locale.ROOT))
+                    .filter(line -> ICAO_PATTERN.matcher(line).matches())
+                    .distinct()
+                    .limit(properties.topN())
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to read hot-set snapshot from {}: {}", snapshotPath, e.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flyweight pool for strings that repeat across cache entries, such as city,
+ * country and timezone names. Every distinct value is held once and shared by
+ * all entries referring to it. The pool only grows, so it is meant for
+ * low-cardinality fields.
+ */
+final class StringDictionary {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared instance equal to the given value.
+     */
+    String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = values.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Estimated retained size of the pooled strings and the map holding them.
+     */
+    long retainedSize() {
+        long size = 0;
+        for (String value : values.keySet()) {
+            // Map node plus the string itself
+            size += 32 + CacheEntryWeigher.sizeOf(value);
+        }
+        return size;
+    }
+}
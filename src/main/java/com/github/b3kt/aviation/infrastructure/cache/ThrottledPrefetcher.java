@@ -0,0 +1,83 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.infrastructure.provider.AirportProviderRouter;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Loads batches of airports in the background without starving live traffic.
+ * Loads run one at a time, paced by a fixed interval, and each waits until the
+ * rate limiter of every routed provider has more than the reserved share of
+ * its permits left for the current period, since the router may send the
+ * load to any of them.
+ */
+@Component
+public class ThrottledPrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ThrottledPrefetcher.class);
+
+    private final List<RateLimiter> rateLimiters;
+
+    @Autowired
+    public ThrottledPrefetcher(AirportProviderRouter airportProviderRouter) {
+        this(airportProviderRouter.rateLimiters());
+    }
+
+    ThrottledPrefetcher(List<RateLimiter> rateLimiters) {
+        this.rateLimiters = rateLimiters;
+    }
+
+    /**
+     * Outcome of a single prefetch.
+     */
+    public record Result(String icaoCode, boolean loaded) {
+    }
+
+    /**
+     * Runs the loader for each ICAO code in order.
+     *
+     * @param icaoCodes codes to load, most important first
+     * @param loader    load for a single code, typically the cached port call
+     * @param interval  minimum pause between two loads
+     * @param reserve   share of rate limiter permits left to live traffic, 0 to 1
+     * @return Flux emitting one result per code as it completes; failures are
+     *         reported as not loaded and never terminate the flux
+     */
+    public Flux<Result> prefetch(
+            Collection<String> icaoCodes,
+            Function<String, Mono<?>> loader,
+            Duration interval,
+            double reserve) {
+        return Flux.fromIterable(icaoCodes)
+                .delayElements(interval)
+                .concatMap(icaoCode -> awaitHeadroom(interval, reserve)
+                        .then(Mono.defer(() -> loader.apply(icaoCode)))
+                        .map(value -> new Result(icaoCode, true))
+                        .onErrorResume(error -> {
+                            log.debug("Prefetch of {} failed: {}", icaoCode, error.getMessage());
+                            return Mono.just(new Result(icaoCode, false));
+                        })
+                        .defaultIfEmpty(new Result(icaoCode, false)));
+    }
+
+    private Mono<Boolean> awaitHeadroom(Duration interval, double reserve) {
+        return Mono.fromCallable(() -> hasHeadroom(reserve))
+                .filter(Boolean::booleanValue)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(interval));
+    }
+
+    private boolean hasHeadroom(double reserve) {
+        return rateLimiters.stream().allMatch(rateLimiter -> rateLimiter.getMetrics().getAvailablePermissions()
+                > rateLimiter.getRateLimiterConfig().getLimitForPeriod() * reserve);
+    }
+}
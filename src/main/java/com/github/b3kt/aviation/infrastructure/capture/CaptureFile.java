@@ -0,0 +1,95 @@
+package com.github.b3kt.aviation.infrastructure.capture;
+
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Binary format of a traffic capture: a 16-byte header followed by
+ * fixed-size 16-byte records, big-endian, appended in arrival order.
+ * <pre>
+ * header: magic "AVCP" | version (2) | record size (2) | capture start, epoch millis (8)
+ * record: offset millis (4) | ICAO code, ASCII (4) | cache tier (1) | flags (1) | status (2) | latency micros (4)
+ * </pre>
+ * The cache tier is 0 for none, otherwise the {@link AccessEvent.CacheTier}
+ * ordinal plus one; flag bit 0 marks a latency-critical request.
+ */
+public final class CaptureFile {
+
+    static final int MAGIC = 0x41564350;
+    static final short VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int RECORD_BYTES = 16;
+
+    private static final AccessEvent.CacheTier[] TIERS = AccessEvent.CacheTier.values();
+    private static final int LATENCY_CRITICAL = 1;
+
+    private CaptureFile() {
+        // Utility class
+    }
+
+    static void writeHeader(ByteBuffer buffer, long startEpochMillis) {
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) RECORD_BYTES)
+                .putLong(startEpochMillis);
+    }
+
+    static void write(ByteBuffer buffer, CapturedRequest request) {
+        buffer.putInt(request.offsetMillis())
+                .put(request.icaoCode().getBytes(StandardCharsets.US_ASCII), 0, 4)
+                .put((byte) (request.cacheTier() == null ? 0 : request.cacheTier().ordinal() + 1))
+                .put((byte) (request.latencyCritical() ? LATENCY_CRITICAL : 0))
+                .putShort((short) request.status())
+                .putInt(request.latencyMicros());
+    }
+
+    static CapturedRequest read(ByteBuffer buffer) {
+        int offsetMillis = buffer.getInt();
+        byte[] icao = new byte[4];
+        buffer.get(icao);
+        int tier = buffer.get();
+        int flags = buffer.get();
+        int status = Short.toUnsignedInt(buffer.getShort());
+        int latencyMicros = buffer.getInt();
+        return new CapturedRequest(offsetMillis, new String(icao, StandardCharsets.US_ASCII),
+                (flags & LATENCY_CRITICAL) != 0, tier == 0 ? null : TIERS[tier - 1], status, latencyMicros);
+    }
+
+    /**
+     * Reads a capture file, passing each record to the consumer in arrival
+     * order. A record cut short by a crash at the end of the file is ignored.
+     *
+     * @return the capture start, epoch millis
+     * @throws IOException if the file cannot be read or is not a capture file
+     */
+    public static long forEach(Path path, Consumer<CapturedRequest> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getShort() != VERSION
+                    || header.getShort() != RECORD_BYTES) {
+                throw new IOException(path + " is not a version " + VERSION + " capture file");
+            }
+            long startEpochMillis = header.getLong();
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 4096);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_BYTES) {
+                    consumer.accept(read(buffer));
+                }
+                buffer.compact();
+            }
+            return startEpochMillis;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.b3kt.aviation.infrastructure.capture;
+
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+
+/**
+ * One captured airport lookup.
+ *
+ * @param offsetMillis    arrival time in milliseconds after the capture started
+ * @param icaoCode        requested ICAO code, uppercase
+ * @param latencyCritical whether the X-Latency-Critical header was set
+ * @param cacheTier       where the lookup was answered from, null when it was not answered
+ * @param status          HTTP status of the response, 0 when the client went away first
+ * @param latencyMicros   time to complete the request, in microseconds
+ */
+public record CapturedRequest(
+        int offsetMillis,
+        String icaoCode,
+        boolean latencyCritical,
+        AccessEvent.CacheTier cacheTier,
+        int status,
+        int latencyMicros) {
+}
@@ -0,0 +1,224 @@
+package com.github.b3kt.aviation.infrastructure.capture;
+
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+import com.github.b3kt.aviation.infrastructure.config.properties.CaptureProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends captured airport lookups to {@link CaptureFile}s in the capture
+ * directory. Requests only enqueue a small record; a single background
+ * thread writes them in batches, so capturing adds no I/O to request
+ * handling. When the queue is full, lookups are dropped and counted rather
+ * than waited for.
+ * <p>
+ * A file holds at most {@code max-file-size} and about 24 days of arrival
+ * offsets; the writer then continues in a new file with its own header,
+ * numbered after the first ({@code traffic-<start>.1.cap}, ...), and
+ * deletes the oldest once more than {@code max-files} exist.
+ */
+@Component
+@ConditionalOnProperty(prefix = "aviation.capture", name = "enabled", havingValue = "true")
+public class TrafficCapture {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficCapture.class);
+    private static final String REQUESTS_METRIC = "aviation.capture.requests";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int BATCH_RECORDS = 4096;
+    // Record offsets are int milliseconds after the start of their file
+    static final long MAX_OFFSET_NANOS = TimeUnit.MILLISECONDS.toNanos(Integer.MAX_VALUE);
+
+    /**
+     * A lookup waiting to be written, timed by {@link System#nanoTime()}
+     * until the writer knows which file it goes to.
+     */
+    private record Lookup(long arrivalNanos, String icaoCode, boolean latencyCritical,
+            AccessEvent.CacheTier cacheTier, int status, int latencyMicros) {
+
+        CapturedRequest relativeTo(long fileStartNanos) {
+            // Lookups arriving just before a rollover may complete after it
+            long offsetNanos = Math.max(0, arrivalNanos - fileStartNanos);
+            return new CapturedRequest((int) TimeUnit.NANOSECONDS.toMillis(offsetNanos), icaoCode, latencyCritical,
+                    cacheTier, status, latencyMicros);
+        }
+    }
+
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final BlockingQueue<Lookup> queue;
+    private final Counter written;
+    private final Counter dropped;
+    private final AtomicLong fileBytes = new AtomicLong();
+    private final Path directory;
+    private final String baseName;
+    private final Deque<Path> files = new ArrayDeque<>();
+    private int opened;
+    private final Thread writer;
+    private volatile Path path;
+    private FileChannel channel;
+    private long fileStartNanos;
+    private volatile boolean running = true;
+
+    public TrafficCapture(CaptureProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.maxFileBytes = properties.maxFileSize().toBytes();
+        this.maxFiles = properties.maxFiles();
+        this.queue = new ArrayBlockingQueue<>(properties.queueSize());
+        this.written = Counter.builder(REQUESTS_METRIC)
+                .description("Captured airport lookups by whether they were written")
+                .tag("outcome", "written")
+                .register(meterRegistry);
+        this.dropped = Counter.builder(REQUESTS_METRIC)
+                .description("Captured airport lookups by whether they were written")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+        Gauge.builder("aviation.capture.file.size", fileBytes, AtomicLong::get)
+                .description("Size of the current capture file")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        this.directory = Path.of(properties.directory());
+        Files.createDirectories(directory);
+        this.baseName = "traffic-" + LocalDateTime.now().format(FILE_TIMESTAMP);
+        open(System.nanoTime());
+        this.writer = Thread.ofPlatform().daemon().name("traffic-capture").start(this::drain);
+        log.info("Capturing airport lookups to {}", path);
+    }
+
+    /**
+     * Captures one completed airport lookup, or drops it when the writer
+     * cannot keep up.
+     *
+     * @param arrivalNanos {@link System#nanoTime()} when the request arrived
+     */
+    public void record(long arrivalNanos, String icaoCode, boolean latencyCritical,
+            AccessEvent.CacheTier cacheTier, int status, long elapsedNanos) {
+        Lookup lookup = new Lookup(arrivalNanos, icaoCode, latencyCritical, cacheTier, status,
+                (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        if (!queue.offer(lookup)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * The file lookups are currently written to.
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Writes the lookups still queued and closes the file.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        // Not interrupted: an interrupt would close the channel mid-write
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void drain() {
+        ByteBuffer buffer = ByteBuffer.allocate(CaptureFile.RECORD_BYTES * BATCH_RECORDS);
+        try {
+            while (running || !queue.isEmpty()) {
+                Lookup lookup;
+                try {
+                    lookup = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                while (lookup != null) {
+                    if (isFull(buffer, lookup)) {
+                        flush(buffer);
+                        rollOver(lookup.arrivalNanos());
+                    }
+                    CaptureFile.write(buffer, lookup.relativeTo(fileStartNanos));
+                    lookup = buffer.hasRemaining() ? queue.poll() : null;
+                }
+                flush(buffer);
+            }
+        } catch (IOException e) {
+            log.warn("Stopped capturing to {}: {}", path, e.getMessage());
+            running = false;
+        } finally {
+            closeChannel();
+        }
+    }
+
+    /**
+     * Whether the lookup needs a new file: the current one holds at least one
+     * record and would outgrow its size, or the lookup's offset would not fit.
+     */
+    private boolean isFull(ByteBuffer buffer, Lookup lookup) {
+        long size = fileBytes.get() + buffer.position();
+        return lookup.arrivalNanos() - fileStartNanos > MAX_OFFSET_NANOS
+                || size > CaptureFile.HEADER_BYTES && size + CaptureFile.RECORD_BYTES > maxFileBytes;
+    }
+
+    private void flush(ByteBuffer buffer) throws IOException {
+        int records = buffer.position() / CaptureFile.RECORD_BYTES;
+        if (records > 0) {
+            writeFully(buffer.flip());
+            written.increment(records);
+        }
+        buffer.clear();
+    }
+
+    private void rollOver(long startNanos) throws IOException {
+        closeChannel();
+        open(startNanos);
+        while (files.size() > maxFiles) {
+            Files.deleteIfExists(files.removeFirst());
+        }
+        log.info("Continuing airport lookup capture in {}", path);
+    }
+
+    private void open(long startNanos) throws IOException {
+        Path next = directory.resolve(opened == 0 ? baseName + ".cap" : baseName + "." + opened + ".cap");
+        channel = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        opened++;
+        files.addLast(next);
+        path = next;
+        fileStartNanos = startNanos;
+        fileBytes.set(0);
+        ByteBuffer header = ByteBuffer.allocate(CaptureFile.HEADER_BYTES);
+        CaptureFile.writeHeader(header, System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(
+                System.nanoTime() - startNanos));
+        writeFully(header.flip());
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close capture file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            fileBytes.addAndGet(channel.write(buffer));
+        }
+    }
+}
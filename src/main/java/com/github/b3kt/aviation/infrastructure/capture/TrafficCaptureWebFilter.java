@@ -0,0 +1,60 @@
+package com.github.b3kt.aviation.infrastructure.capture;
+
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Captures every airport lookup by ICAO code: its arrival time, code,
+ * latency-critical header, the cache tier that answered it, status and
+ * latency. Runs first, so lookups shed under load are captured too. The
+ * access event it starts is shared with the access log.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "aviation.capture", name = "enabled", havingValue = "true")
+public class TrafficCaptureWebFilter implements WebFilter {
+
+    private static final Pattern AIRPORT_LOOKUP = Pattern.compile("^/api/v1/airports/([A-Za-z0-9]{4})$");
+    private static final String LATENCY_CRITICAL_HEADER = "X-Latency-Critical";
+
+    private final TrafficCapture capture;
+
+    public TrafficCaptureWebFilter(TrafficCapture capture) {
+        this.capture = capture;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Matcher lookup = AIRPORT_LOOKUP.matcher(exchange.getRequest().getPath().value());
+        if (!lookup.matches()) {
+            return chain.filter(exchange);
+        }
+        long arrivalNanos = System.nanoTime();
+        String icaoCode = lookup.group(1).toUpperCase(Locale.ROOT);
+        boolean latencyCritical = Boolean.parseBoolean(
+                exchange.getRequest().getHeaders().getFirst(LATENCY_CRITICAL_HEADER));
+        AccessEvent event = new AccessEvent();
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(AccessEvent.class, event))
+                .doFinally(signal -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    int statusCode = signal == SignalType.CANCEL || status == null ? 0 : status.value();
+                    capture.record(arrivalNanos, icaoCode, latencyCritical,
+                            event.answeredFrom(status != null && status.is2xxSuccessful()), statusCode,
+                            event.elapsedNanos());
+                });
+    }
+}
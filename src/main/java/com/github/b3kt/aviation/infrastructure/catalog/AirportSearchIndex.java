@@ -0,0 +1,306 @@
+package com.github.b3kt.aviation.infrastructure.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Text index over airport identifiers, names and cities for autocomplete.
+ * Every field is folded to lowercase ASCII and split into tokens. Tokens are
+ * kept in a sorted map, so all tokens starting with a prefix form one
+ * contiguous range, and each token's padded trigrams are indexed for typo
+ * tolerant matching. Each query term must match some field of an airport by
+ * prefix or, failing that, by trigram similarity; matches on identifiers
+ * rank above name matches, which rank above city matches.
+ * Updates are per airport and serialized; queries never lock.
+ */
+class AirportSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private final NavigableMap<String, Set<Entry>> entriesByToken = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> tokensByTrigram = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * A ranked search result.
+     */
+    record Match(String id, double score) {
+    }
+
+    /**
+     * Normalized searchable fields of one airport.
+     */
+    private record Fields(String icao, String faa, List<String> nameTokens, List<String> cityTokens) {
+
+        Set<String> allTokens() {
+            Set<String> tokens = new HashSet<>(nameTokens);
+            tokens.addAll(cityTokens);
+            tokens.add(icao);
+            if (faa != null) {
+                tokens.add(faa);
+            }
+            return tokens;
+        }
+    }
+
+    /**
+     * Indexed airport. Compared by identity, so token sets hash it cheaply.
+     */
+    private static final class Entry {
+
+        final String id;
+        final Fields fields;
+
+        Entry(String id, Fields fields) {
+            this.id = id;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * Adds an airport, or replaces the indexed fields of an existing one.
+     */
+    synchronized void put(String icaoCode, String faaCode, String name, String city) {
+        Fields fields = new Fields(
+                canonical(icaoCode.toLowerCase(Locale.ROOT)),
+                faaCode != null && !faaCode.isBlank() ? canonical(normalize(faaCode)) : null,
+                tokenize(name).stream().map(this::canonical).toList(),
+                tokenize(city).stream().map(this::canonical).toList());
+        Entry previous = entries.get(icaoCode);
+        if (previous != null && previous.fields.equals(fields)) {
+            return;
+        }
+        Entry entry = new Entry(icaoCode, fields);
+        if (previous != null) {
+            previous.fields.allTokens().forEach(token -> unlink(token, previous));
+        }
+        fields.allTokens().forEach(token -> link(token, entry));
+        entries.put(icaoCode, entry);
+    }
+
+    /**
+     * Returns the indexed instance of an already known token, so airports
+     * share token strings rather than each holding its own copy.
+     */
+    private String canonical(String token) {
+        String indexed = entriesByToken.ceilingKey(token);
+        return token.equals(indexed) ? indexed : token;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns up to {@code limit} airports matching every term of the query,
+     * best match first.
+     */
+    List<Match> search(String query, int limit) {
+        List<Term> terms = tokenize(query).stream()
+                .map(text -> new Term(text, similarTokens(text)))
+                .toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        // Seed candidates from the most selective term, then score all terms on each
+        Term seed = terms.getFirst();
+        int seedSize = Integer.MAX_VALUE;
+        for (Term term : terms) {
+            int size = matchingTokens(term).stream().mapToInt(Set::size).sum();
+            if (size < seedSize) {
+                seed = term;
+                seedSize = size;
+            }
+        }
+        Set<Entry> candidates = new HashSet<>();
+        matchingTokens(seed).forEach(candidates::addAll);
+
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Match::score));
+        for (Entry entry : candidates) {
+            double score = score(entry.fields, terms);
+            if (score <= 0 || (best.size() == limit && score <= best.peek().score())) {
+                continue;
+            }
+            best.add(new Match(entry.id, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(Comparator.comparingDouble(Match::score).reversed().thenComparing(Match::id));
+        return matches;
+    }
+
+    /**
+     * A query term with the indexed tokens it resembles and their similarity.
+     */
+    private record Term(String text, Map<String, Double> similar) {
+    }
+
+    /**
+     * Airports of every token that starts with the term or resembles it.
+     */
+    private List<Set<Entry>> matchingTokens(Term term) {
+        List<Set<Entry>> matching = new ArrayList<>(
+                entriesByToken.subMap(term.text(), true, term.text() + Character.MAX_VALUE, false).values());
+        for (String token : term.similar().keySet()) {
+            Set<Entry> tokenEntries = entriesByToken.get(token);
+            if (tokenEntries != null) {
+                matching.add(tokenEntries);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Indexed tokens sharing enough trigrams with the term. A token's trigram
+     * count is taken as its length, which can only understate similarity.
+     */
+    private Map<String, Double> similarTokens(String term) {
+        if (term.length() < 3) {
+            return Map.of();
+        }
+        Set<String> termTrigrams = trigrams(term);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : termTrigrams) {
+            Set<String> tokens = tokensByTrigram.get(trigram);
+            if (tokens != null) {
+                tokens.forEach(token -> shared.merge(token, 1, Integer::sum));
+            }
+        }
+        Map<String, Double> similar = new HashMap<>();
+        shared.forEach((token, count) -> {
+            double similarity = dice(count, termTrigrams.size(), token.length());
+            if (similarity >= MIN_SIMILARITY && !token.startsWith(term)) {
+                similar.put(token, similarity);
+            }
+        });
+        return similar;
+    }
+
+    /**
+     * Sums the best match of each term, or returns 0 when a term matches nothing.
+     */
+    private static double score(Fields fields, List<Term> terms) {
+        double total = 0;
+        for (Term term : terms) {
+            // Fields in decreasing weight, each skipped once it cannot beat the best so far
+            double termScore = Math.max(identifierScore(term.text(), fields.icao, 100),
+                    identifierScore(term.text(), fields.faa, 90));
+            if (termScore < 60) {
+                termScore = Math.max(termScore, tokenScore(term, fields.nameTokens, 60));
+            }
+            if (termScore < 40) {
+                termScore = Math.max(termScore, tokenScore(term, fields.cityTokens, 40));
+            }
+            if (termScore <= 0) {
+                return 0;
+            }
+            total += termScore;
+        }
+        return total;
+    }
+
+    private static double identifierScore(String term, String identifier, double weight) {
+        if (identifier == null || !identifier.startsWith(term)) {
+            return 0;
+        }
+        return identifier.length() == term.length() ? weight : weight * 0.7;
+    }
+
+    /**
+     * Exact token beats prefix, prefix beats typo; a longer covered share of
+     * the token scores higher. A typo match scores below any prefix match, so
+     * similarity is only looked up when no token matches by prefix.
+     */
+    private static double tokenScore(Term term, List<String> tokens, double weight) {
+        String text = term.text();
+        double best = 0;
+        for (String token : tokens) {
+            if (token.equals(text)) {
+                return weight;
+            }
+            if (token.startsWith(text)) {
+                best = Math.max(best, weight * (0.5 + 0.3 * text.length() / token.length()));
+            }
+        }
+        if (best > 0 || term.similar().isEmpty()) {
+            return best;
+        }
+        for (String token : tokens) {
+            best = Math.max(best, weight * 0.4 * term.similar().getOrDefault(token, 0.0));
+        }
+        return best;
+    }
+
+    private void link(String token, Entry entry) {
+        entriesByToken.computeIfAbsent(token, key -> {
+            trigrams(key).forEach(trigram ->
+                    tokensByTrigram.computeIfAbsent(trigram, ignored -> ConcurrentHashMap.newKeySet()).add(key));
+            return ConcurrentHashMap.newKeySet();
+        }).add(entry);
+    }
+
+    private void unlink(String token, Entry entry) {
+        Set<Entry> tokenEntries = entriesByToken.get(token);
+        if (tokenEntries == null) {
+            return;
+        }
+        tokenEntries.remove(entry);
+        if (tokenEntries.isEmpty()) {
+            entriesByToken.remove(token);
+            trigrams(token).forEach(trigram -> tokensByTrigram.computeIfPresent(trigram, (key, tokens) -> {
+                tokens.remove(token);
+                return tokens.isEmpty() ? null : tokens;
+            }));
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return SEPARATORS.splitAsStream(normalize(text))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static String normalize(String text) {
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return folded.toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Trigrams of the token padded with a boundary marker, so short tokens
+     * still have trigrams and matching start and end characters count.
+     */
+    private static Set<String> trigrams(String token) {
+        String padded = " " + token + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static double dice(int shared, int sizeA, int sizeB) {
+        return 2.0 * shared / (sizeA + sizeB);
+    }
+}
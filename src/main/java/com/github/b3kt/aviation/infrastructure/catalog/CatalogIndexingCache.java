@@ -0,0 +1,101 @@
+package com.github.b3kt.aviation.infrastructure.catalog;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator adding every airport stored in the decorated cache to the
+ * {@link InMemoryAirportCatalog}. Wraps the node-local airport cache, so
+ * airports loaded upstream, received from a cluster peer or replicated by
+ * one all become searchable by position.
+ */
+public class CatalogIndexingCache implements Cache {
+
+    private final Cache delegate;
+    private final InMemoryAirportCatalog catalog;
+
+    public CatalogIndexingCache(Cache delegate, InMemoryAirportCatalog catalog) {
+        this.delegate = delegate;
+        this.catalog = catalog;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, () -> index(valueLoader.call()));
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, () -> valueLoader.get().thenApply(this::index));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, index(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            index(value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private <T> T index(T value) {
+        if (value instanceof Airport airport) {
+            catalog.add(airport);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.b3kt.aviation.infrastructure.catalog;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.domain.model.Airport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dataset line format: one airport per line, in the same JSON shape as the
+ * airport lookup response.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record DatasetAirport(
+        String icaoCode,
+        String faaCode,
+        String name,
+        String city,
+        String country,
+        Coordinates coordinates,
+        String timezone,
+        Integer elevationFeet) {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetAirport.class);
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Coordinates(BigDecimal latitude, BigDecimal longitude) {
+    }
+
+    public Airport toDomain() {
+        return new Airport(icaoCode, faaCode, name, city, country,
+                coordinates != null ? coordinates.latitude() : null,
+                coordinates != null ? coordinates.longitude() : null,
+                timezone, elevationFeet);
+    }
+
+    /**
+     * Reads every airport of a dataset file, skipping blank lines and
+     * rejecting lines that are not valid JSON or have no ICAO code.
+     *
+     * @param path         NDJSON dataset file
+     * @param objectMapper mapper used to parse each line
+     * @return the airports in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Airport> readAll(Path path, ObjectMapper objectMapper) throws IOException {
+        List<Airport> airports = new ArrayList<>();
+        int rejected = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    DatasetAirport airport = objectMapper.readValue(line, DatasetAirport.class);
+                    if (airport.icaoCode() == null || airport.icaoCode().isBlank()) {
+                        rejected++;
+                        continue;
+                    }
+                    airports.add(airport.toDomain());
+                } catch (RuntimeException | IOException e) {
+                    rejected++;
+                }
+            }
+        }
+        log.info("Loaded {} airports from {} ({} lines rejected)", airports.size(), path, rejected);
+        return airports;
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.b3kt.aviation.infrastructure.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.domain.model.AirportDistance;
+import com.github.b3kt.aviation.domain.port.AirportCatalogPort;
+import com.github.b3kt.aviation.infrastructure.cache.AirportCompactor;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.CatalogProperties;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory catalog of every airport this node knows about, with a
+ * {@link SpatialGridIndex} over their positions for nearby queries and an
+ * {@link AirportSearchIndex} over their identifiers, names and cities.
+ * Fed from an optional NDJSON dataset at startup and, unless disabled, from
+ * every airport that passes through the airport cache, so it keeps growing
+ * as lookups are served and is not affected by cache eviction. Airports are
+ * held in their compact form to keep a full world catalog small.
+ */
+@RegisterReflectionForBinding(DatasetAirport.class)
+@Component
+public class InMemoryAirportCatalog implements AirportCatalogPort {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryAirportCatalog.class);
+
+    private final Map<String, Object> airports = new ConcurrentHashMap<>();
+    private final SpatialGridIndex index;
+    private final AirportSearchIndex searchIndex = new AirportSearchIndex();
+    private final AtomicLong version = new AtomicLong();
+    private final AirportCompactor compactor;
+    private final CatalogProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public InMemoryAirportCatalog(
+            AirportCompactor compactor, CatalogProperties properties, ObjectMapper objectMapper) {
+        this.index = new SpatialGridIndex(properties.cellSizeDegrees());
+        this.compactor = compactor;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void loadDataset() {
+        if (properties.datasetPath() == null) {
+            return;
+        }
+        Path path = Path.of(properties.datasetPath());
+        if (!Files.isReadable(path)) {
+            log.warn("Airport dataset {} not readable, starting with an empty catalog", path);
+            return;
+        }
+
+        try {
+            DatasetAirport.readAll(path, objectMapper).forEach(this::add);
+        } catch (IOException e) {
+            log.warn("Failed to read airport dataset {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds or replaces an airport, updating only that airport's index
+     * entries. Airports without coordinates are kept in the catalog but
+     * cannot be found by position, even if an earlier version had one.
+     * Re-adding an unchanged airport, as every cache refresh does, is a no-op
+     * and keeps the catalog version. Synchronized so that two versions of the
+     * same airport arriving together leave the map and both indexes agreeing
+     * on the same one.
+     */
+    public synchronized void add(Airport airport) {
+        Object previous = airports.put(airport.icaoCode(), compactor.compact(airport));
+        if (previous != null && airport.equals(compactor.expand(previous))) {
+            return;
+        }
+        if (airport.latitude() != null && airport.longitude() != null) {
+            index.put(airport.icaoCode(), airport.latitude().doubleValue(), airport.longitude().doubleValue());
+        } else {
+            index.remove(airport.icaoCode());
+        }
+        searchIndex.put(airport.icaoCode(), airport.faaCode(), airport.name(), airport.city());
+        version.incrementAndGet();
+    }
+
+    public int size() {
+        return airports.size();
+    }
+
+    /**
+     * Returns a counter that changes whenever the catalog content changes.
+     * Part of the search cache key, so cached results never outlive the data
+     * they were computed from.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public Mono<Airport> findByIcao(String icaoCode) {
+        return Mono.fromSupplier(() -> {
+            Object stored = airports.get(icaoCode);
+            return stored != null ? (Airport) compactor.expand(stored) : null;
+        });
+    }
+
+    @Override
+    public Flux<AirportDistance> findNearby(double latitude, double longitude, Double radiusNm, int limit) {
+        return Flux.defer(() -> {
+            List<SpatialGridIndex.Hit> hits = radiusNm != null
+                    ? index.withinRadius(latitude, longitude, radiusNm, limit)
+                    : index.nearest(latitude, longitude, limit);
+            return Flux.fromIterable(hits)
+                    .map(hit -> new AirportDistance(
+                            (Airport) compactor.expand(airports.get(hit.id())), hit.distanceNm()));
+        });
+    }
+
+    @Override
+    @Cacheable(value = CacheConfiguration.SEARCH_CACHE, key = "#root.target.version() + ':' + #limit + ':' + #query")
+    public Flux<Airport> search(String query, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(searchIndex.search(query, limit)))
+                .map(match -> (Airport) compactor.expand(airports.get(match.id())));
+    }
+
+    /**
+     * Iterates the live catalog map lazily, expanding one airport per
+     * requested element, so a slow consumer never forces the whole catalog
+     * onto the heap.
+     */
+    @Override
+    public Flux<Airport> all() {
+        return Flux.defer(() -> Flux.fromIterable(airports.values()))
+                .map(stored -> (Airport) compactor.expand(stored));
+    }
+}
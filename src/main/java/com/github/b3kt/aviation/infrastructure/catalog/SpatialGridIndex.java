@@ -0,0 +1,203 @@
+package com.github.b3kt.aviation.infrastructure.catalog;
+
+import com.github.b3kt.aviation.application.helper.GreatCircle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed latitude/longitude cell grid over point positions.
+ * A radius query only visits the cells overlapping the search circle's
+ * bounding box, wrapping across the antimeridian and widening to all
+ * longitudes near the poles, then ranks the candidates by great-circle
+ * distance. Each cell holds its points in parallel primitive arrays that are
+ * replaced on write, so queries never lock and never see a partial update.
+ */
+class SpatialGridIndex {
+
+    private static final double NM_PER_DEGREE_LATITUDE = 60.0;
+
+    private final double cellSizeDegrees;
+    private final int latitudeCells;
+    private final int longitudeCells;
+    private final Map<Integer, Cell> cells = new ConcurrentHashMap<>();
+    private final Map<String, Integer> cellOfId = new ConcurrentHashMap<>();
+
+    SpatialGridIndex(double cellSizeDegrees) {
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.latitudeCells = (int) Math.ceil(180 / cellSizeDegrees);
+        this.longitudeCells = (int) Math.ceil(360 / cellSizeDegrees);
+    }
+
+    /**
+     * A point found by a query with its distance from the query position.
+     */
+    record Hit(String id, double distanceNm) {
+    }
+
+    /**
+     * Points of one cell, stored as parallel arrays.
+     */
+    private record Cell(String[] ids, double[] latitudes, double[] longitudes) {
+
+        static final Cell EMPTY = new Cell(new String[0], new double[0], new double[0]);
+
+        Cell with(String id, double latitude, double longitude) {
+            Cell cell = without(id);
+            int size = cell.ids.length;
+            String[] newIds = Arrays.copyOf(cell.ids, size + 1);
+            double[] newLatitudes = Arrays.copyOf(cell.latitudes, size + 1);
+            double[] newLongitudes = Arrays.copyOf(cell.longitudes, size + 1);
+            newIds[size] = id;
+            newLatitudes[size] = latitude;
+            newLongitudes[size] = longitude;
+            return new Cell(newIds, newLatitudes, newLongitudes);
+        }
+
+        Cell without(String id) {
+            int index = Arrays.asList(ids).indexOf(id);
+            if (index < 0) {
+                return this;
+            }
+            int size = ids.length - 1;
+            String[] newIds = new String[size];
+            double[] newLatitudes = new double[size];
+            double[] newLongitudes = new double[size];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(ids, index + 1, newIds, index, size - index);
+            System.arraycopy(latitudes, 0, newLatitudes, 0, index);
+            System.arraycopy(latitudes, index + 1, newLatitudes, index, size - index);
+            System.arraycopy(longitudes, 0, newLongitudes, 0, index);
+            System.arraycopy(longitudes, index + 1, newLongitudes, index, size - index);
+            return new Cell(newIds, newLatitudes, newLongitudes);
+        }
+    }
+
+    /**
+     * Adds a point, or moves it if the id is already indexed.
+     */
+    void put(String id, double latitude, double longitude) {
+        int cellKey = cellKey(latitudeIndex(latitude), longitudeIndex(longitude));
+        Integer previous = cellOfId.put(id, cellKey);
+        if (previous != null && previous != cellKey) {
+            removeFromCell(previous, id);
+        }
+        cells.compute(cellKey, (key, cell) -> (cell != null ? cell : Cell.EMPTY).with(id, latitude, longitude));
+    }
+
+    /**
+     * Removes a point, if the id is indexed.
+     */
+    void remove(String id) {
+        Integer previous = cellOfId.remove(id);
+        if (previous != null) {
+            removeFromCell(previous, id);
+        }
+    }
+
+    int size() {
+        return cellOfId.size();
+    }
+
+    private void removeFromCell(int cellKey, String id) {
+        cells.computeIfPresent(cellKey, (key, cell) -> {
+            Cell remaining = cell.without(id);
+            return remaining.ids.length == 0 ? null : remaining;
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} points within the radius, nearest first.
+     */
+    List<Hit> withinRadius(double latitude, double longitude, double radiusNm, int limit) {
+        PriorityQueue<Hit> nearest = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Hit::distanceNm).reversed());
+
+        double radiusDegrees = radiusNm / NM_PER_DEGREE_LATITUDE;
+        double minLatitude = latitude - radiusDegrees;
+        double maxLatitude = latitude + radiusDegrees;
+        int fromLatitude = latitudeIndex(Math.max(-90, minLatitude));
+        int toLatitude = latitudeIndex(Math.min(90, maxLatitude));
+
+        // Longitude span of the circle's bounding box at its widest latitude
+        double widestLatitude = Math.min(90, Math.max(Math.abs(minLatitude), Math.abs(maxLatitude)));
+        double cosine = Math.cos(Math.toRadians(widestLatitude));
+        boolean allLongitudes = minLatitude <= -90 || maxLatitude >= 90
+                || cosine <= 0 || radiusDegrees / cosine >= 180;
+        int fromLongitude;
+        int longitudeSpan;
+        if (allLongitudes) {
+            fromLongitude = 0;
+            longitudeSpan = longitudeCells;
+        } else {
+            double halfWidth = radiusDegrees / cosine;
+            fromLongitude = longitudeIndex(longitude - halfWidth);
+            int toLongitude = longitudeIndex(longitude + halfWidth);
+            longitudeSpan = Math.min(longitudeCells,
+                    Math.floorMod(toLongitude - fromLongitude, longitudeCells) + 1);
+        }
+
+        for (int latitudeIndex = fromLatitude; latitudeIndex <= toLatitude; latitudeIndex++) {
+            for (int step = 0; step < longitudeSpan; step++) {
+                int longitudeIndex = (fromLongitude + step) % longitudeCells;
+                Cell cell = cells.get(cellKey(latitudeIndex, longitudeIndex));
+                if (cell != null) {
+                    collect(cell, latitude, longitude, radiusNm, limit, nearest);
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(nearest);
+        hits.sort(Comparator.comparingDouble(Hit::distanceNm));
+        return hits;
+    }
+
+    /**
+     * Returns the {@code limit} nearest points at any distance, nearest first.
+     * Searches with a doubling radius, which is exact: once a radius holds
+     * enough points, no point outside it can rank among the nearest.
+     */
+    List<Hit> nearest(double latitude, double longitude, int limit) {
+        double radiusNm = cellSizeDegrees * NM_PER_DEGREE_LATITUDE;
+        while (true) {
+            List<Hit> hits = withinRadius(latitude, longitude, radiusNm, limit);
+            if (hits.size() >= limit || radiusNm >= GreatCircle.MAX_DISTANCE_NM) {
+                return hits;
+            }
+            radiusNm = Math.min(radiusNm * 2, GreatCircle.MAX_DISTANCE_NM);
+        }
+    }
+
+    private static void collect(
+            Cell cell, double latitude, double longitude, double radiusNm, int limit, PriorityQueue<Hit> nearest) {
+        for (int i = 0; i < cell.ids.length; i++) {
+            double distance = GreatCircle.haversineNm(latitude, longitude, cell.latitudes[i], cell.longitudes[i]);
+            if (distance > radiusNm) {
+                continue;
+            }
+            if (nearest.size() < limit) {
+                nearest.add(new Hit(cell.ids[i], distance));
+            } else if (distance < nearest.peek().distanceNm()) {
+                nearest.poll();
+                nearest.add(new Hit(cell.ids[i], distance));
+            }
+        }
+    }
+
+    private int latitudeIndex(double latitude) {
+        return Math.min(latitudeCells - 1, (int) Math.floor((latitude + 90) / cellSizeDegrees));
+    }
+
+    private int longitudeIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellSizeDegrees), longitudeCells);
+    }
+
+    private int cellKey(int latitudeIndex, int longitudeIndex) {
+        return latitudeIndex * longitudeCells + longitudeIndex;
+    }
+}
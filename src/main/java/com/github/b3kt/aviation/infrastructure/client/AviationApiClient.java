@@ -3,16 +3,18 @@ package com.github.b3kt.aviation.infrastructure.client;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.application.diagnostics.UpstreamCallEvent;
 import com.github.b3kt.aviation.application.helper.CoordinateHelper;
+import com.github.b3kt.aviation.application.logging.AccessEvent;
 import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
 import com.github.b3kt.aviation.domain.model.Airport;
-import com.github.b3kt.aviation.domain.port.AviationDataPort;
 import com.github.b3kt.aviation.domain.service.TimezoneResolver;
-import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.admission.UpstreamQueue;
 import com.github.b3kt.aviation.infrastructure.config.properties.AviationApiProperties;
+import com.github.b3kt.aviation.infrastructure.provider.AirportProvider;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
@@ -20,7 +22,10 @@ import io.github.resilience4j.reactor.retry.RetryOperator;
 import io.github.resilience4j.retry.RetryRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -28,65 +33,196 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Implementation of AviationDataPort using WebClient to integrate with aviation
- * API.
- * Includes resilience patterns: circuit breaker, retry, rate limiter, and
- * caching.
+ * Airport provider using WebClient to integrate with aviation API.
+ * Includes resilience patterns: circuit breaker, retry and rate limiter;
+ * caching is done in front of all providers.
  */
+@RegisterReflectionForBinding(AviationApiClient.AirportRecord.class)
 @Service
-public class AviationApiClient implements AviationDataPort {
+public class AviationApiClient implements AirportProvider {
 
     private static final Logger log = LoggerFactory.getLogger(AviationApiClient.class);
     private static final String AVIATION_API = "aviationApi";
+    private static final DateTimeFormatter EFFECTIVE_DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final TypeReference<Map<String, List<AirportRecord>>> AIRPORTS_TYPE = new TypeReference<>() {
+    };
 
+    private final String name;
     private final WebClient webClient;
     private final CircuitBreakerRegistry circuitBreakerRegistry;
     private final RetryRegistry retryRegistry;
     private final RateLimiterRegistry rateLimiterRegistry;
     private final AviationApiProperties aviationApiProperties;
-    private final ObjectMapper objectMapper;
+    private final UpstreamBodyDecoder bodyDecoder;
     private final TimezoneResolver timezoneResolver;
+    private final EnrichmentScheduler enrichmentScheduler;
+    private final UpstreamQueue upstreamQueue;
 
+    @Autowired
     public AviationApiClient(
             WebClient webClient,
             CircuitBreakerRegistry circuitBreakerRegistry,
             RetryRegistry retryRegistry,
             RateLimiterRegistry rateLimiterRegistry,
             AviationApiProperties aviationApiProperties,
-            ObjectMapper objectMapper, TimezoneResolver timezoneResolver) {
+            UpstreamBodyDecoder bodyDecoder, TimezoneResolver timezoneResolver,
+            EnrichmentScheduler enrichmentScheduler,
+            UpstreamQueue upstreamQueue) {
+        this(AVIATION_API, webClient, circuitBreakerRegistry, retryRegistry, rateLimiterRegistry,
+                aviationApiProperties, bodyDecoder, timezoneResolver, enrichmentScheduler, upstreamQueue);
+    }
+
+    private AviationApiClient(
+            String name,
+            WebClient webClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RetryRegistry retryRegistry,
+            RateLimiterRegistry rateLimiterRegistry,
+            AviationApiProperties aviationApiProperties,
+            UpstreamBodyDecoder bodyDecoder, TimezoneResolver timezoneResolver,
+            EnrichmentScheduler enrichmentScheduler,
+            UpstreamQueue upstreamQueue) {
+        this.name = name;
         this.webClient = webClient;
         this.circuitBreakerRegistry = circuitBreakerRegistry;
         this.retryRegistry = retryRegistry;
         this.rateLimiterRegistry = rateLimiterRegistry;
         this.aviationApiProperties = aviationApiProperties;
-        this.objectMapper = objectMapper;
+        this.bodyDecoder = bodyDecoder;
         this.timezoneResolver = timezoneResolver;
+        this.enrichmentScheduler = enrichmentScheduler;
+        this.upstreamQueue = upstreamQueue;
     }
 
+    /**
+     * Returns a client for another aviationapi.com-compatible API, with its
+     * own circuit breaker, retry and rate limiter instances named after it.
+     *
+     * @param name    provider name, also the resilience instance name
+     * @param baseUrl base URL of the compatible API
+     */
+    public AviationApiClient forSource(String name, String baseUrl) {
+        return new AviationApiClient(name, webClient.mutate().baseUrl(baseUrl).build(),
+                circuitBreakerRegistry, retryRegistry, rateLimiterRegistry,
+                aviationApiProperties, bodyDecoder, timezoneResolver, enrichmentScheduler, upstreamQueue);
+    }
+
+    /**
+     * Fetches an airport from the upstream API.
+     */
     @Override
-    @Cacheable(value = CacheConfiguration.AIRPORT_CACHE, key = "#icaoCode")
-    public Mono<Airport> getAirportByIcao(String icaoCode) {
-        log.info("Fetching airport data for ICAO: {}", icaoCode);
+    public Mono<Airport> fetchAirport(String icaoCode) {
+        log.debug("Fetching airport data for ICAO: {}", icaoCode);
+
+        return Mono.deferContextual(context -> fetch(icaoCode, AccessEvent.from(context).orElse(null)));
+    }
 
+    @Override
+    public Optional<RateLimiter> rateLimiter() {
+        return Optional.of(rateLimiterRegistry.rateLimiter(name));
+    }
+
+    private Mono<Airport> fetch(String icaoCode, AccessEvent event) {
+        AtomicInteger attempts = new AtomicInteger();
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder.path(aviationApiProperties.paths().get("airports"))
                         .queryParam("apt", icaoCode)
                         .build())
                 .retrieve()
-                .bodyToMono(String.class)
-                .map(response -> this.mapToDomain(icaoCode, response))
-                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(AVIATION_API)))
-                .transformDeferred(RetryOperator.of(retryRegistry.retry(AVIATION_API)))
-                .transformDeferred(RateLimiterOperator.of(rateLimiterRegistry.rateLimiter(AVIATION_API)))
-                .doOnSuccess(airport -> log.info("Successfully fetched airport: {}", airport.name()))
+                .bodyToFlux(DataBuffer.class)
+                .as(bodyDecoder::join)
+                .transform(call -> recorded(icaoCode, attempts, call))
+                // Each retry subscribes again, and waits for a connection again
+                .transform(UpstreamQueue::attempt)
+                .doOnSubscribe(subscription -> {
+                    if (event != null) {
+                        event.upstreamAttempt();
+                    }
+                })
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(name)))
+                .transformDeferred(RetryOperator.of(retryRegistry.retry(name)))
+                .transformDeferred(RateLimiterOperator.of(rateLimiterRegistry.rateLimiter(name)))
+                // Waiting for a permit and a connection, until the request is sent, counts for load shedding
+                .transform(upstreamQueue::queued)
+                // Enrich off the event loop, outside the circuit breaker: a full queue is not an upstream failure
+                .flatMap(body -> enriched(icaoCode, body, event))
+                // Bodies dropped before they reach the enrichment
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .doOnSuccess(airport -> log.debug("Successfully fetched airport: {}", airport.name()))
                 .doOnError(error -> log.error("Error fetching airport {}: {}", icaoCode, error.getMessage()))
                 .onErrorResume(WebClientResponseException.class, this::handleWebClientException);
     }
 
+    /**
+     * Records each attempt, retries included, as a flight recorder event
+     * while a recording is running.
+     */
+    private Mono<DataBuffer> recorded(String icaoCode, AtomicInteger attempts, Mono<DataBuffer> call) {
+        return Mono.defer(() -> {
+            int attempt = attempts.incrementAndGet();
+            UpstreamCallEvent callEvent = new UpstreamCallEvent();
+            if (!callEvent.isEnabled()) {
+                return call;
+            }
+            callEvent.begin();
+            callEvent.provider = name;
+            callEvent.icaoCode = icaoCode;
+            callEvent.attempt = attempt;
+            return call
+                    .doOnSuccess(body -> callEvent.status = HttpStatus.OK.value())
+                    .doOnError(WebClientResponseException.class,
+                            error -> callEvent.status = error.getStatusCode().value())
+                    .doFinally(signal -> callEvent.commit());
+        });
+    }
+
+    /**
+     * Enriches the body on the enrichment scheduler. Once the task has started
+     * it owns the body and releases it when done, even if the call is
+     * cancelled meanwhile (a lost race or a timeout), so the body is never
+     * released while being read. A task that never started, because the call
+     * was cancelled or the queue was full, leaves the release to the caller.
+     */
+    private Mono<Airport> enriched(String icaoCode, DataBuffer body, AccessEvent event) {
+        AtomicBoolean claimed = new AtomicBoolean();
+        return enrichmentScheduler.run(() -> {
+                    if (!claimed.compareAndSet(false, true)) {
+                        return null;
+                    }
+                    try {
+                        return enrich(icaoCode, body, event);
+                    } finally {
+                        DataBufferUtils.release(body);
+                    }
+                })
+                .doFinally(signal -> {
+                    if (claimed.compareAndSet(false, true)) {
+                        DataBufferUtils.release(body);
+                    }
+                });
+    }
+
+    private Airport enrich(String icaoCode, DataBuffer body, AccessEvent event) {
+        long start = System.nanoTime();
+        try {
+            return mapToDomain(icaoCode, body);
+        } finally {
+            if (event != null) {
+                event.enrichment(System.nanoTime() - start);
+            }
+        }
+    }
+
     private Mono<Airport> handleWebClientException(WebClientResponseException ex) {
         if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
             return Mono.error(new AirportNotFoundException(extractIcaoFromError(ex)));
@@ -103,18 +239,16 @@ public class AviationApiClient implements AviationDataPort {
 
     /**
      * since the response is a json object with a single key-value pair, with
-     * dynamic key. we need to get as string and parse it
+     * dynamic key. we need to parse it into a map
      * 
      * @param icaoCode icaoCode from query to get airport data from provider
      *                 response
-     * @param response provider response
+     * @param response provider response body, released by the caller
      * @return airport domain object
      */
-    private Airport mapToDomain(String icaoCode, String response) {
+    private Airport mapToDomain(String icaoCode, DataBuffer response) {
         try {
-            TypeReference<Map<String, List<AirportRecord>>> typeRef = new TypeReference<>() {
-            };
-            Map<String, List<AirportRecord>> dynamicResult = objectMapper.readValue(response, typeRef);
+            Map<String, List<AirportRecord>> dynamicResult = bodyDecoder.decode(response, AIRPORTS_TYPE);
             AirportRecord airportRecord = dynamicResult.get(icaoCode).getFirst();
             BigDecimal latitude = CoordinateHelper.parseFromSeconds(airportRecord.latitudeSec());
             BigDecimal longitude = CoordinateHelper.parseFromSeconds(airportRecord.longitudeSec());
@@ -127,13 +261,30 @@ public class AviationApiClient implements AviationDataPort {
                     latitude,
                     longitude,
                     timezoneResolver.resolve(latitude, longitude),
-                    Integer.parseInt(airportRecord.elevation()));
+                    Integer.parseInt(airportRecord.elevation()),
+                    parseEffectiveDate(airportRecord.effectiveDate()));
         } catch (Exception e) {
             log.error("Error mapping response to domain: {}", e.getMessage());
             return new Airport("", "", "", "", "", null, null, null, null);
         }
     }
 
+    /**
+     * Parses the effective date of the publication a record comes from, such
+     * as "11/04/2021"; a missing or malformed date is treated as unknown.
+     */
+    private static LocalDate parseEffectiveDate(String effectiveDate) {
+        if (effectiveDate == null || effectiveDate.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(effectiveDate.trim(), EFFECTIVE_DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            log.debug("Ignoring malformed effective date: {}", effectiveDate);
+            return null;
+        }
+    }
+
     /**
      * Record representing a single airport from the API response.
      * the attributes are refers to the API specification from @link
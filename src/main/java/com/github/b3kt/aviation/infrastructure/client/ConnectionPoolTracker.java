@@ -0,0 +1,82 @@
+package com.github.b3kt.aviation.infrastructure.client;
+
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the connection pool metrics Reactor Netty hands out for each
+ * remote address of a pool, so saturation can be read from them directly.
+ */
+@Component
+public class ConnectionPoolTracker implements ConnectionProvider.MeterRegistrar {
+
+    private record Pool(String name, ConnectionPoolMetrics metrics) {
+    }
+
+    /**
+     * Connections of one pool, summed over its remote addresses.
+     *
+     * @param active     connections in use
+     * @param idle       connections open and waiting to be used
+     * @param pending    requests waiting for a connection
+     * @param max        most connections the pool may open
+     * @param saturation connections in use plus waiting requests over the maximum, of the
+     *                   busiest remote address, between 0 and 1
+     */
+    public record Usage(int active, int idle, int pending, int max, double saturation) {
+
+        private static final Usage EMPTY = new Usage(0, 0, 0, 0, 0);
+
+        private Usage plus(ConnectionPoolMetrics metrics) {
+            int maxAllocated = Math.max(metrics.maxAllocatedSize(), 1);
+            double addressSaturation = Math.min(1.0,
+                    (double) (metrics.acquiredSize() + metrics.pendingAcquireSize()) / maxAllocated);
+            return new Usage(active + metrics.acquiredSize(), idle + metrics.idleSize(),
+                    pending + metrics.pendingAcquireSize(), max + metrics.maxAllocatedSize(),
+                    Math.max(saturation, addressSaturation));
+        }
+    }
+
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+            ConnectionPoolMetrics metrics) {
+        pools.put(key(id, remoteAddress), new Pool(poolName, metrics));
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(key(id, remoteAddress));
+    }
+
+    /**
+     * Returns the current usage of every pool by name.
+     */
+    public Map<String, Usage> usage() {
+        Map<String, Usage> usage = new TreeMap<>();
+        pools.values().forEach(pool -> usage.merge(pool.name(), Usage.EMPTY.plus(pool.metrics()),
+                (sum, next) -> new Usage(sum.active() + next.active(), sum.idle() + next.idle(),
+                        sum.pending() + next.pending(), sum.max() + next.max(),
+                        Math.max(sum.saturation(), next.saturation()))));
+        return usage;
+    }
+
+    /**
+     * Returns the current usage of the named pool, empty if it has no
+     * connections yet.
+     */
+    public Usage usage(String poolName) {
+        return usage().getOrDefault(poolName, Usage.EMPTY);
+    }
+
+    private static String key(String id, SocketAddress remoteAddress) {
+        return id + '/' + remoteAddress;
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.b3kt.aviation.infrastructure.client;
+
+import com.github.b3kt.aviation.infrastructure.config.properties.EnrichmentProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.EnrichmentProperties.Mode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the CPU-bound enrichment of upstream responses off the Netty event
+ * loops, so a slow timezone polygon query does not stall unrelated I/O on
+ * the same loop. At most {@code threads} enrichments run at once and at most
+ * {@code queueCapacity} wait; further ones fail with
+ * {@link RejectedExecutionException}. {@link Mode#INLINE} keeps the work on
+ * the calling thread for comparison.
+ * Publishes the queue depth, the time spent queued and the time per task.
+ */
+@Component
+public class EnrichmentScheduler implements DisposableBean {
+
+    private static final String TASK_METRIC = "aviation.enrichment.task";
+    private static final String QUEUE_WAIT_METRIC = "aviation.enrichment.queue.wait";
+    private static final String QUEUE_DEPTH_METRIC = "aviation.enrichment.queue.depth";
+
+    private final Mode mode;
+    private final int queueCapacity;
+    private final Scheduler scheduler;
+    private final Semaphore running;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer taskTimer;
+    private final Timer queueWaitTimer;
+
+    public EnrichmentScheduler(EnrichmentProperties properties, MeterRegistry meterRegistry) {
+        this.mode = properties.mode();
+        this.queueCapacity = properties.queueCapacity();
+        ExecutorService executor = switch (mode) {
+            case INLINE -> null;
+            case PARALLEL -> Executors.newFixedThreadPool(properties.threads(),
+                    Thread.ofPlatform().name("enrichment-", 0).daemon().factory());
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("enrichment-", 0).factory());
+        };
+        this.scheduler = executor != null ? Schedulers.fromExecutorService(executor, "enrichment") : null;
+        // Virtual threads are never pooled, so running tasks are bounded by permits instead
+        this.running = mode == Mode.VIRTUAL ? new Semaphore(properties.threads()) : null;
+        String modeTag = mode.name().toLowerCase();
+        this.taskTimer = Timer.builder(TASK_METRIC)
+                .description("Time spent enriching one upstream response")
+                .tag("mode", modeTag)
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder(QUEUE_WAIT_METRIC)
+                .description("Time an enrichment waited for a thread")
+                .tag("mode", modeTag)
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_DEPTH_METRIC, queued, AtomicInteger::get)
+                .description("Enrichments waiting for a thread")
+                .tag("mode", modeTag)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the task according to the configured mode.
+     *
+     * @return Mono emitting the task's result on the enrichment scheduler
+     */
+    public <T> Mono<T> run(Callable<T> task) {
+        if (scheduler == null) {
+            return Mono.fromCallable(() -> taskTimer.recordCallable(task));
+        }
+        return Mono.defer(() -> {
+            if (queued.incrementAndGet() > queueCapacity) {
+                queued.decrementAndGet();
+                return Mono.error(new RejectedExecutionException("Enrichment queue is full"));
+            }
+            long enqueuedAt = System.nanoTime();
+            // Leaves the queue exactly once: when the task starts, or when it is cancelled or rejected before that
+            AtomicBoolean dequeued = new AtomicBoolean();
+            Runnable dequeue = () -> {
+                if (dequeued.compareAndSet(false, true)) {
+                    queued.decrementAndGet();
+                }
+            };
+            return Mono.fromCallable(() -> {
+                        if (running != null) {
+                            running.acquire();
+                        }
+                        try {
+                            dequeue.run();
+                            queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                            return taskTimer.recordCallable(task);
+                        } finally {
+                            if (running != null) {
+                                running.release();
+                            }
+                        }
+                    })
+                    .subscribeOn(scheduler)
+                    .doFinally(signal -> dequeue.run());
+        });
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.b3kt.aviation.infrastructure.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import org.springframework.http.client.ReactorResourceFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the Netty event loops take to pick up a new task: each
+ * probe submits a no-op to every loop and records the delay until it runs.
+ * Work blocking a loop, such as enrichment in inline mode, shows up directly
+ * as lag, which every request served by that loop pays on top of its own
+ * processing.
+ */
+@Component
+public class EventLoopLagMonitor {
+
+    private static final String LAG_METRIC = "aviation.eventloop.lag";
+
+    private final EventLoopGroup eventLoops;
+    private final Timer lagTimer;
+
+    public EventLoopLagMonitor(ReactorResourceFactory resourceFactory, MeterRegistry meterRegistry) {
+        this.eventLoops = resourceFactory.getLoopResources().onServer(true);
+        this.lagTimer = Timer.builder(LAG_METRIC)
+                .description("Delay between submitting a task to a Netty event loop and its execution")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedRateString = "${aviation.enrichment.lag-probe-interval:PT1S}")
+    public void probe() {
+        for (EventExecutor loop : eventLoops) {
+            long submittedAt = System.nanoTime();
+            loop.execute(() -> lagTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS));
+        }
+    }
+}
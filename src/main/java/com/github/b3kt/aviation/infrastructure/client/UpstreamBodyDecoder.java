@@ -0,0 +1,134 @@
+package com.github.b3kt.aviation.infrastructure.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Decodes upstream response bodies straight from the pooled Netty buffers
+ * they arrive in. Compressed bodies are inflated chunk by chunk in the
+ * channel pipeline, the chunks are joined into one composite buffer without
+ * copying, and Jackson reads that as a stream, so no String or byte array
+ * of the whole body is ever built.
+ * Publishes the bytes received on the wire and after decompression, the
+ * JSON decode time and the memory used by the buffer pool.
+ */
+@Component
+public class UpstreamBodyDecoder {
+
+    /**
+     * Largest upstream body held in memory.
+     */
+    public static final int MAX_BODY_BYTES = 2 * 1024 * 1024;
+
+    private static final String BYTES_METRIC = "aviation.upstream.bytes";
+    private static final String DECODE_METRIC = "aviation.upstream.decode";
+    private static final String POOL_METRIC = "aviation.upstream.buffer.pool.used";
+
+    private final ObjectMapper objectMapper;
+    private final Counter wireBytes;
+    private final Counter decodedBytes;
+    private final Timer decodeTimer;
+    private final ChannelHandler wireByteCounter;
+
+    public UpstreamBodyDecoder(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.wireBytes = Counter.builder(BYTES_METRIC)
+                .description("Upstream response bytes")
+                .baseUnit("bytes")
+                .tag("stage", "wire")
+                .register(meterRegistry);
+        this.decodedBytes = Counter.builder(BYTES_METRIC)
+                .description("Upstream response bytes")
+                .baseUnit("bytes")
+                .tag("stage", "decoded")
+                .register(meterRegistry);
+        this.decodeTimer = Timer.builder(DECODE_METRIC)
+                .description("Time spent decoding one upstream response body")
+                .register(meterRegistry);
+        this.wireByteCounter = new WireByteCounter(wireBytes);
+        if (ByteBufAllocator.DEFAULT instanceof ByteBufAllocatorMetricProvider provider) {
+            ByteBufAllocatorMetric metric = provider.metric();
+            Gauge.builder(POOL_METRIC, metric, ByteBufAllocatorMetric::usedDirectMemory)
+                    .description("Memory used by the Netty buffer pool")
+                    .baseUnit("bytes")
+                    .tag("memory", "direct")
+                    .register(meterRegistry);
+            Gauge.builder(POOL_METRIC, metric, ByteBufAllocatorMetric::usedHeapMemory)
+                    .description("Memory used by the Netty buffer pool")
+                    .baseUnit("bytes")
+                    .tag("memory", "heap")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Channel handler counting bytes as received, before TLS and content
+     * decoding; belongs first in the pipeline.
+     */
+    public ChannelHandler wireByteCounter() {
+        return wireByteCounter;
+    }
+
+    /**
+     * Joins the body chunks into one buffer, composing rather than copying
+     * pooled buffers. The caller releases the result.
+     *
+     * @throws org.springframework.core.io.buffer.DataBufferLimitException
+     *         when the body exceeds {@link #MAX_BODY_BYTES}
+     */
+    public Mono<DataBuffer> join(Flux<DataBuffer> body) {
+        return DataBufferUtils.join(body, MAX_BODY_BYTES);
+    }
+
+    /**
+     * Reads JSON from the buffer, which stays owned by the caller.
+     */
+    public <T> T decode(DataBuffer body, TypeReference<T> type) {
+        decodedBytes.increment(body.readableByteCount());
+        return decodeTimer.record(() -> {
+            try (InputStream in = body.asInputStream()) {
+                return objectMapper.readValue(in, type);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @ChannelHandler.Sharable
+    private static final class WireByteCounter extends ChannelInboundHandlerAdapter {
+
+        private final Counter wireBytes;
+
+        WireByteCounter(Counter wireBytes) {
+            this.wireBytes = wireBytes;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof ByteBuf buf) {
+                wireBytes.increment(buf.readableBytes());
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.b3kt.aviation.infrastructure.cluster;
+
+import com.github.b3kt.aviation.application.command.GetAirportByIcaoCommand;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.domain.port.AviationDataPort;
+import com.github.b3kt.aviation.infrastructure.cache.CaffeineCaches;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Internal peer-to-peer endpoint of the cluster cache tier.
+ * Only ever touches the node-local cache, or loads with forwarding disabled,
+ * so requests never bounce between peers. Requests are authenticated by
+ * {@link ClusterSecretWebFilter}, and ICAO codes are validated as on the
+ * public API before they become cache keys.
+ */
+@Hidden
+@RestController
+@RequestMapping(PeerCacheClient.AIRPORTS_PATH)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "aviation.cluster", name = "enabled", havingValue = "true")
+public class ClusterCacheController {
+
+    private final CacheManager cacheManager;
+    private final AviationDataPort aviationDataPort;
+    private final ClusterMembership membership;
+
+    @GetMapping("/{icao}")
+    public Mono<ResponseEntity<Airport>> lookup(@PathVariable String icao) {
+        CompletableFuture<?> cached = localCache().retrieve(GetAirportByIcaoCommand.normalize(icao));
+        if (cached == null) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        return Mono.fromFuture(cached)
+                .map(value -> value instanceof Cache.ValueWrapper wrapper ? wrapper.get() : value)
+                .cast(Airport.class)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Serves an owner load forwarded by a peer: answers from the local cache or
+     * performs the upstream fetch here, without forwarding again.
+     */
+    @GetMapping("/{icao}/load")
+    public Mono<Airport> load(@PathVariable String icao) {
+        String icaoCode = GetAirportByIcaoCommand.normalize(icao);
+        return Mono.defer(() -> {
+            membership.acquireLoad(membership.self());
+            return ClusteredCache.withoutForwarding(() -> aviationDataPort.getAirportByIcao(icaoCode))
+                    .doFinally(signal -> membership.releaseLoad(membership.self()));
+        });
+    }
+
+    @PutMapping("/{icao}")
+    public ResponseEntity<Void> store(@PathVariable String icao, @RequestBody Airport airport) {
+        localCache().put(GetAirportByIcaoCommand.normalize(icao), airport);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{icao}")
+    public ResponseEntity<Void> evict(@PathVariable String icao) {
+        localCache().evict(GetAirportByIcaoCommand.normalize(icao));
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        localCache().clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    private Cache localCache() {
+        return CaffeineCaches.localCache(cacheManager, CacheConfiguration.AIRPORT_CACHE);
+    }
+}
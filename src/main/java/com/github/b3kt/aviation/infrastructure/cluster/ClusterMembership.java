@@ -0,0 +1,158 @@
+package com.github.b3kt.aviation.infrastructure.cluster;
+
+import com.github.b3kt.aviation.infrastructure.config.properties.ClusterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Static cluster membership built from the configured peer list.
+ * Tracks peer availability so that an owner failing several calls in a row is
+ * skipped and its keys fall to the next member on the ring until the retry
+ * backoff expires. Also tracks in-flight owner loads per member for
+ * bounded-load routing.
+ */
+@Component
+@ConditionalOnProperty(prefix = "aviation.cluster", name = "enabled", havingValue = "true")
+public class ClusterMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final String self;
+    private final List<String> peers;
+    private final ConsistentHashRing<String> ring;
+    private final long retryBackoffMillis;
+    private final int failureThreshold;
+    private final double boundedLoadFactor;
+    private final Map<String, AtomicInteger> inFlightLoads = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> consecutiveFailures = new ConcurrentHashMap<>();
+    private final Map<String, Long> downUntil = new ConcurrentHashMap<>();
+
+    public ClusterMembership(ClusterProperties properties) {
+        this.self = normalize(properties.selfUrl());
+
+        Set<String> members = new LinkedHashSet<>();
+        members.add(self);
+        properties.peers().stream().map(ClusterMembership::normalize).forEach(members::add);
+
+        this.peers = members.stream().filter(member -> !member.equals(self)).toList();
+        this.ring = new ConsistentHashRing<>(members, properties.virtualNodes());
+        this.retryBackoffMillis = properties.peerRetryBackoffMillis();
+        this.failureThreshold = properties.peerFailureThreshold();
+        this.boundedLoadFactor = properties.boundedLoadFactor();
+
+        log.info("Cluster cache tier enabled: self={}, peers={}", self, peers);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public List<String> peers() {
+        return peers;
+    }
+
+    /**
+     * Returns the peer owning the key, or empty when this node owns it.
+     * Unavailable members are skipped, so a down owner's keys move to its
+     * successor on the ring while every other key keeps its owner.
+     */
+    public Optional<String> remoteOwner(String key) {
+        for (String member : ring.preferenceList(key)) {
+            if (member.equals(self)) {
+                return Optional.empty();
+            }
+            if (isAvailable(member)) {
+                return Optional.of(member);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the member that should load the key, or empty when this node
+     * should load it itself. Follows the ring like {@link #remoteOwner(String)},
+     * but with a bounded load factor a member already holding more than its
+     * share of in-flight loads passes the key on to its successor, so a burst
+     * of keys landing on one owner spreads over the next members.
+     */
+    public Optional<String> routeOwner(String key) {
+        List<String> candidates = ring.preferenceList(key).stream()
+                .filter(member -> member.equals(self) || isAvailable(member))
+                .toList();
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String chosen = candidates.getFirst();
+        if (boundedLoadFactor > 0) {
+            int total = 1;
+            for (String member : candidates) {
+                total += inFlight(member);
+            }
+            double capacity = Math.ceil(boundedLoadFactor * total / candidates.size());
+            chosen = candidates.stream()
+                    .filter(member -> inFlight(member) + 1 <= capacity)
+                    .findFirst()
+                    .orElse(chosen);
+        }
+        return chosen.equals(self) ? Optional.empty() : Optional.of(chosen);
+    }
+
+    /**
+     * Counts an owner load as started. For peers this is a load this node
+     * forwarded; for this node it is a load served on behalf of a peer.
+     */
+    public void acquireLoad(String member) {
+        inFlightLoads.computeIfAbsent(member, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void releaseLoad(String member) {
+        AtomicInteger loads = inFlightLoads.get(member);
+        if (loads != null) {
+            loads.decrementAndGet();
+        }
+    }
+
+    private int inFlight(String member) {
+        AtomicInteger loads = inFlightLoads.get(member);
+        return loads != null ? loads.get() : 0;
+    }
+
+    public boolean isAvailable(String peer) {
+        Long until = downUntil.get(peer);
+        return until == null || until <= System.currentTimeMillis();
+    }
+
+    public void recordFailure(String peer) {
+        int failures = consecutiveFailures.computeIfAbsent(peer, key -> new AtomicInteger()).incrementAndGet();
+        if (failures >= failureThreshold
+                && downUntil.put(peer, System.currentTimeMillis() + retryBackoffMillis) == null) {
+            log.warn("Cluster peer {} unreachable, serving its keys locally for {} ms", peer, retryBackoffMillis);
+        }
+    }
+
+    public void recordSuccess(String peer) {
+        AtomicInteger failures = consecutiveFailures.get(peer);
+        if (failures != null) {
+            failures.set(0);
+        }
+        if (downUntil.remove(peer) != null) {
+            log.info("Cluster peer {} reachable again", peer);
+        }
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.b3kt.aviation.infrastructure.cluster;
+
+import com.github.b3kt.aviation.infrastructure.config.properties.ClusterProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the internal cluster endpoints, which share the API port: a request
+ * to them is only let through when it carries the cluster secret that
+ * {@link PeerCacheClient} sends with every peer request, and is answered with
+ * a 401 otherwise.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "aviation.cluster", name = "enabled", havingValue = "true")
+public class ClusterSecretWebFilter implements WebFilter {
+
+    static final String SECRET_HEADER = "X-Cluster-Secret";
+    private static final String INTERNAL_PATH = "/internal/cluster/";
+
+    private final byte[] secret;
+
+    public ClusterSecretWebFilter(ClusterProperties properties) {
+        if (properties.secret().isBlank()) {
+            throw new IllegalStateException("aviation.cluster.secret must be set when the cluster tier is enabled");
+        }
+        this.secret = properties.secret().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith(INTERNAL_PATH)) {
+            return chain.filter(exchange);
+        }
+        String presented = exchange.getRequest().getHeaders().getFirst(SECRET_HEADER);
+        // Constant-time comparison, so the secret cannot be guessed from response times
+        if (presented == null || !MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8))) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+}
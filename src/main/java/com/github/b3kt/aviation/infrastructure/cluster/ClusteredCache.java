@@ -0,0 +1,187 @@
+package com.github.b3kt.aviation.infrastructure.cluster;
+
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.config.properties.ClusterProperties;
+import org.springframework.cache.Cache;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator adding a cluster tier behind the local Caffeine cache.
+ * A local miss is first answered by the key's owner on the hash ring: in
+ * {@link ClusterProperties.Mode#PEER_LOOKUP} mode the owner only returns its
+ * cached copy, in {@link ClusterProperties.Mode#OWNER_ROUTING} mode it loads
+ * the airport itself so each ICAO is fetched upstream once per cluster.
+ * Values cached locally are replicated to the owner and evictions are
+ * broadcast to every peer. When no peer is reachable it behaves exactly like
+ * the local cache.
+ */
+public class ClusteredCache implements Cache {
+
+    private static final ThreadLocal<Boolean> FORWARDING_SUPPRESSED = ThreadLocal.withInitial(() -> false);
+
+    private final Cache local;
+    private final ClusterMembership membership;
+    private final PeerCacheClient peerClient;
+    private final ClusterProperties.Mode mode;
+
+    public ClusteredCache(
+            Cache local,
+            ClusterMembership membership,
+            PeerCacheClient peerClient,
+            ClusterProperties.Mode mode) {
+        this.local = local;
+        this.membership = membership;
+        this.peerClient = peerClient;
+        this.mode = mode;
+    }
+
+    /**
+     * Runs the given call with peer forwarding disabled on the current thread.
+     * Cache lookups happen synchronously when a cached method is invoked, so
+     * an owner serving a forwarded load uses this to fetch upstream itself even
+     * if its view of the ring disagrees with the forwarding peer's.
+     */
+    public static <T> T withoutForwarding(Supplier<T> call) {
+        FORWARDING_SUPPRESSED.set(true);
+        try {
+            return call.get();
+        } finally {
+            FORWARDING_SUPPRESSED.remove();
+        }
+    }
+
+    /**
+     * Returns the node-local cache, used to serve peer requests without
+     * re-entering the cluster tier.
+     */
+    public Cache getLocal() {
+        return local;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return local.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return local.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(key, valueLoader);
+    }
+
+    /**
+     * Looks the key up locally, then on its owner. A future completing with
+     * null signals a late-determined miss, so the caller loads the value itself.
+     */
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CompletableFuture<?> cached = local.retrieve(key);
+        if (cached != null || FORWARDING_SUPPRESSED.get()) {
+            return cached;
+        }
+        AccessEvent event = AccessEvent.current();
+        return fromOwner(key)
+                .map(owner -> owner
+                        .doOnNext(airport -> {
+                            local.put(key, airport);
+                            if (event != null) {
+                                event.cacheTier(AccessEvent.CacheTier.PEER);
+                            }
+                        })
+                        .toFuture())
+                .orElse(null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        if (FORWARDING_SUPPRESSED.get()) {
+            return local.retrieve(key, valueLoader);
+        }
+        return local.retrieve(key, () -> fromOwner(key)
+                .map(owner -> owner
+                        .map(airport -> (T) airport)
+                        .toFuture()
+                        .thenCompose(value -> value != null
+                                ? CompletableFuture.completedFuture(value)
+                                : valueLoader.get().thenApply(loaded -> replicate(key, loaded))))
+                .orElseGet(valueLoader));
+    }
+
+    private Optional<Mono<Airport>> fromOwner(Object key) {
+        String icaoCode = key.toString();
+        if (mode == ClusterProperties.Mode.OWNER_ROUTING) {
+            return membership.routeOwner(icaoCode).map(owner -> peerClient.load(owner, icaoCode));
+        }
+        return membership.remoteOwner(icaoCode).map(owner -> peerClient.lookup(owner, icaoCode));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        replicate(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = local.putIfAbsent(key, value);
+        if (existing == null) {
+            replicate(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        peerClient.broadcastEviction(key.toString());
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = local.evictIfPresent(key);
+        peerClient.broadcastEviction(key.toString());
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        peerClient.broadcastClear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = local.invalidate();
+        peerClient.broadcastClear();
+        return invalidated;
+    }
+
+    private <T> T replicate(Object key, T value) {
+        if (value instanceof Airport airport) {
+            membership.remoteOwner(key.toString())
+                    .ifPresent(owner -> peerClient.store(owner, airport).subscribe());
+        }
+        return value;
+    }
+}
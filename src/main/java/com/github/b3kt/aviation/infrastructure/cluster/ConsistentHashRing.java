@@ -0,0 +1,87 @@
+package com.github.b3kt.aviation.infrastructure.cluster;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring with virtual nodes.
+ * Each member is placed on the ring several times so keys spread evenly, and
+ * removing or skipping a member only remaps the keys that member owned.
+ *
+ * @param <T> the member type
+ */
+public final class ConsistentHashRing<T> {
+
+    private final NavigableMap<Long, T> ring = new TreeMap<>();
+    private final List<T> members;
+
+    public ConsistentHashRing(Collection<T> members, int virtualNodes) {
+        this.members = List.copyOf(new LinkedHashSet<>(members));
+        for (T member : this.members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    public List<T> members() {
+        return members;
+    }
+
+    /**
+     * Returns the member owning the given key, or null if the ring is empty.
+     */
+    public T owner(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        var entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Returns the distinct members in ring order starting at the key's position.
+     * The first element is the owner; the following ones are its successors and
+     * take over the key when the owner is unavailable.
+     */
+    public List<T> preferenceList(String key) {
+        List<T> result = new ArrayList<>(members.size());
+        if (ring.isEmpty()) {
+            return result;
+        }
+        long position = hash(key);
+        collectDistinct(ring.tailMap(position, true).values(), result);
+        collectDistinct(ring.headMap(position, false).values(), result);
+        return result;
+    }
+
+    private void collectDistinct(Collection<T> candidates, List<T> result) {
+        for (T candidate : candidates) {
+            if (result.size() == members.size()) {
+                return;
+            }
+            if (!result.contains(candidate)) {
+                result.add(candidate);
+            }
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the SplitMix64 finaliser, so that short and
+     * similar keys such as ICAO codes still land far apart on the ring.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.b3kt.aviation.infrastructure.cluster;
+
+import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.config.properties.ClusterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * HTTP client for the internal cluster cache endpoints exposed by
+ * {@link ClusterCacheController} on every peer. Uses cleartext HTTP/2 by
+ * default so lookups to a peer are multiplexed over a single connection,
+ * and sends the cluster secret with every request.
+ * Failures never propagate: they count against the peer's health and the
+ * caller falls back to local-only behaviour.
+ */
+@RegisterReflectionForBinding(Airport.class)
+@Component
+@ConditionalOnProperty(prefix = "aviation.cluster", name = "enabled", havingValue = "true")
+public class PeerCacheClient {
+
+    static final String AIRPORTS_PATH = "/internal/cluster/airports";
+
+    private static final Logger log = LoggerFactory.getLogger(PeerCacheClient.class);
+    private static final String PEER_REQUESTS_METRIC = "aviation.cluster.peer.requests";
+
+    private final WebClient webClient;
+    private final ClusterMembership membership;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final Duration loadTimeout;
+
+    public PeerCacheClient(
+            WebClient.Builder webClientBuilder,
+            ClusterMembership membership,
+            ClusterProperties properties,
+            MeterRegistry meterRegistry) {
+        HttpClient httpClient = properties.http2()
+                ? HttpClient.create().protocol(HttpProtocol.H2C)
+                : HttpClient.create();
+        this.webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(ClusterSecretWebFilter.SECRET_HEADER, properties.secret())
+                .build();
+        this.membership = membership;
+        this.meterRegistry = meterRegistry;
+        this.timeout = Duration.ofMillis(properties.peerTimeoutMillis());
+        this.loadTimeout = Duration.ofMillis(properties.ownerLoadTimeoutMillis());
+    }
+
+    /**
+     * Asks a peer for its locally cached copy of an airport.
+     *
+     * @return Mono emitting the airport, or empty on a peer miss or failure
+     */
+    public Mono<Airport> lookup(String peer, String icaoCode) {
+        return webClient.get()
+                .uri(peer + AIRPORTS_PATH + "/{icao}", icaoCode)
+                .exchangeToMono(response -> response.statusCode().is2xxSuccessful()
+                        ? response.bodyToMono(Airport.class)
+                        : response.releaseBody().then(Mono.<Airport>empty()))
+                .timeout(timeout)
+                .doOnSuccess(airport -> {
+                    membership.recordSuccess(peer);
+                    count("lookup", airport != null ? "hit" : "miss");
+                })
+                .onErrorResume(error -> failed(peer, "lookup", error));
+    }
+
+    /**
+     * Asks the owner to return the airport, fetching it upstream if it does
+     * not have it yet. A 404 from the owner is authoritative; any other
+     * failure yields empty so the caller can load the airport itself.
+     *
+     * @return Mono emitting the airport, empty when the owner could not load it
+     */
+    public Mono<Airport> load(String owner, String icaoCode) {
+        return Mono.defer(() -> {
+            membership.acquireLoad(owner);
+            return webClient.get()
+                    .uri(owner + AIRPORTS_PATH + "/{icao}/load", icaoCode)
+                    .exchangeToMono(response -> {
+                        if (response.statusCode().is2xxSuccessful()) {
+                            return response.bodyToMono(Airport.class);
+                        }
+                        if (response.statusCode() == HttpStatus.NOT_FOUND) {
+                            return response.releaseBody()
+                                    .then(Mono.<Airport>error(new AirportNotFoundException(icaoCode)));
+                        }
+                        return response.releaseBody().then(Mono.<Airport>empty());
+                    })
+                    .timeout(loadTimeout)
+                    .doFinally(signal -> membership.releaseLoad(owner));
+        })
+                .doOnSuccess(airport -> {
+                    membership.recordSuccess(owner);
+                    count("load", airport != null ? "hit" : "fallback");
+                })
+                .onErrorResume(error -> {
+                    if (error instanceof AirportNotFoundException) {
+                        membership.recordSuccess(owner);
+                        count("load", "not_found");
+                        return Mono.error(error);
+                    }
+                    return failed(owner, "load", error);
+                });
+    }
+
+    /**
+     * Replicates an airport into the owning peer's local cache.
+     */
+    public Mono<Void> store(String peer, Airport airport) {
+        return webClient.put()
+                .uri(peer + AIRPORTS_PATH + "/{icao}", airport.icaoCode())
+                .bodyValue(airport)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(timeout)
+                .doOnSuccess(response -> count("store", "success"))
+                .then()
+                .onErrorResume(error -> failed(peer, "store", error));
+    }
+
+    /**
+     * Broadcasts the eviction of a single key to every peer, fire-and-forget.
+     */
+    public void broadcastEviction(String icaoCode) {
+        membership.peers().forEach(peer -> webClient.delete()
+                .uri(peer + AIRPORTS_PATH + "/{icao}", icaoCode)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(timeout)
+                .doOnSuccess(response -> count("evict", "success"))
+                .then()
+                .onErrorResume(error -> failed(peer, "evict", error))
+                .subscribe());
+    }
+
+    /**
+     * Broadcasts a full clear of the airport cache to every peer, fire-and-forget.
+     */
+    public void broadcastClear() {
+        membership.peers().forEach(peer -> webClient.delete()
+                .uri(peer + AIRPORTS_PATH)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(timeout)
+                .doOnSuccess(response -> count("clear", "success"))
+                .then()
+                .onErrorResume(error -> failed(peer, "clear", error))
+                .subscribe());
+    }
+
+    private <T> Mono<T> failed(String peer, String operation, Throwable error) {
+        log.debug("Cluster peer {} {} failed: {}", peer, operation, error.getMessage());
+        membership.recordFailure(peer);
+        count(operation, "error");
+        return Mono.empty();
+    }
+
+    private void count(String operation, String outcome) {
+        meterRegistry.counter(PEER_REQUESTS_METRIC, "operation", operation, "outcome", outcome).increment();
+    }
+}
@@ -3,28 +3,45 @@ package com.github.b3kt.aviation.infrastructure.config;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.github.b3kt.aviation.infrastructure.config.properties.AccessLogProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.AiracProperties;
 import com.github.b3kt.aviation.infrastructure.config.properties.AviationApiProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.CaptureProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.CatalogProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.CacheAdminProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.ClusterProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.EnrichmentProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.KeyAnalyticsProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.LoadSheddingProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.ProfilingProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.ProviderProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.SimulatorProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.TraceSamplingProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.WarmupProperties;
 
-import net.iakovlev.timeshape.TimeZoneEngine;
+import com.github.b3kt.aviation.infrastructure.service.TimeZoneEngineProvider;
 
 /**
- * Main configuration class to enable configuration properties.
+ * Main configuration class to enable configuration properties and scheduling.
  */
 @Configuration
-@EnableConfigurationProperties(AviationApiProperties.class)
+@EnableScheduling
+@EnableConfigurationProperties({ AviationApiProperties.class, ClusterProperties.class, WarmupProperties.class,
+        KeyAnalyticsProperties.class, CatalogProperties.class, EnrichmentProperties.class,
+        ProviderProperties.class, AiracProperties.class, CacheAdminProperties.class,
+        AccessLogProperties.class, TraceSamplingProperties.class, LoadSheddingProperties.class,
+        CaptureProperties.class, SimulatorProperties.class, ProfilingProperties.class })
 public class ApplicationConfiguration {
 
-    @Configuration
-public class TimeZoneEngineConfig {
-
     /**
-     * Creates a single cached instance of TimeZoneEngine.
-     * TimeZoneEngine loads ~1–2 MB geometry data, so this must be done once.
+     * Provides the shared TimeZoneEngine. Its polygon data takes seconds to
+     * load, so it is either baked into the native image or loaded off the
+     * startup path; see {@link TimeZoneEngineProvider}.
      */
     @Bean
-    public TimeZoneEngine timeZoneEngine() {
-        return TimeZoneEngine.initialize();
+    public TimeZoneEngineProvider timeZoneEngineProvider() {
+        return new TimeZoneEngineProvider();
     }
 }
-}
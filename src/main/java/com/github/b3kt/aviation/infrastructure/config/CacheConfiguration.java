@@ -1,37 +1,161 @@
 package com.github.b3kt.aviation.infrastructure.config;
 
+import com.github.b3kt.aviation.infrastructure.analytics.KeyAnalytics;
+import com.github.b3kt.aviation.infrastructure.analytics.KeyTrackingCache;
+import com.github.b3kt.aviation.infrastructure.cache.AiracExpiry;
+import com.github.b3kt.aviation.infrastructure.cache.AirportCompactor;
+import com.github.b3kt.aviation.infrastructure.cache.CacheEntryWeigher;
+import com.github.b3kt.aviation.infrastructure.cache.CompactingCache;
+import com.github.b3kt.aviation.infrastructure.catalog.CatalogIndexingCache;
+import com.github.b3kt.aviation.infrastructure.catalog.InMemoryAirportCatalog;
+import com.github.b3kt.aviation.infrastructure.cluster.ClusterMembership;
+import com.github.b3kt.aviation.infrastructure.cluster.ClusteredCache;
+import com.github.b3kt.aviation.infrastructure.cluster.PeerCacheClient;
+import com.github.b3kt.aviation.infrastructure.config.properties.AiracProperties;
 import com.github.b3kt.aviation.infrastructure.config.properties.AviationApiProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.CatalogProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.ClusterProperties;
+import com.github.b3kt.aviation.infrastructure.provider.AirportProviderRouter;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Clock;
+import java.util.List;
 
 /**
  * Cache configuration using Caffeine for high-performance in-memory caching.
+ * Each cache has its own policy from {@link AviationApiProperties#caches()}:
+ * a memory budget enforced with {@link CacheEntryWeigher}, a TTL or expiry at
+ * the end of the AIRAC cycle ({@link AiracExpiry}), an optional background
+ * refresh and optionally compact airport storage through
+ * {@link CompactingCache}. Airports stored locally are also added to the
+ * nearby-search catalog by {@link CatalogIndexingCache}. When the cluster tier is enabled, the airport cache
+ * is wrapped in a {@link ClusteredCache} that consults or routes to the owning
+ * peer on a local miss. The outermost {@link KeyTrackingCache} feeds lookups
+ * and misses to the heavy-hitter analytics.
  */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
+
     public static final String AIRPORT_CACHE = "airports";
     public static final String TIMEZONE_CACHE = "timezone";
+    public static final String SEARCH_CACHE = "search";
+
+    /**
+     * Timezone cache key: the coordinates as "latitude,longitude".
+     */
+    public static final String TIMEZONE_KEY = "#latitude + ',' + #longitude";
+
+    @Bean
+    public AirportCompactor airportCompactor() {
+        return new AirportCompactor();
+    }
 
     @Bean
-    public CacheManager cacheManager(AviationApiProperties properties) {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(AIRPORT_CACHE, TIMEZONE_CACHE);
-        cacheManager.setCaffeine(caffeineCacheBuilder(properties));
+    public CacheManager cacheManager(
+            AviationApiProperties properties,
+            AiracProperties airacProperties,
+            AirportCompactor airportCompactor,
+            ClusterProperties clusterProperties,
+            ObjectProvider<ClusterMembership> clusterMembership,
+            ObjectProvider<PeerCacheClient> peerCacheClient,
+            ObjectProvider<AirportProviderRouter> airportProviderRouter,
+            KeyAnalytics keyAnalytics,
+            CatalogProperties catalogProperties,
+            InMemoryAirportCatalog airportCatalog) {
+        InMemoryAirportCatalog indexingCatalog = catalogProperties.indexLookups() ? airportCatalog : null;
+        ClusterMembership membership = clusterMembership.getIfAvailable();
+        PeerCacheClient peerClient = peerCacheClient.getIfAvailable();
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected AsyncCache<Object, Object> createAsyncCaffeineCache(String name) {
+                AviationApiProperties.CachePolicy policy = properties.cachePolicy(name);
+                Caffeine<Object, Object> builder = caffeineCacheBuilder(policy, airacProperties);
+                if (!AIRPORT_CACHE.equals(name)) {
+                    if (policy.refreshAfterWrite() != null) {
+                        log.warn("Ignoring refresh-after-write for cache '{}': it has no loader", name);
+                    }
+                    return builder.buildAsync();
+                }
+                // AIRAC expiry needs the loader too, for the rollover refresh
+                if (policy.refreshAfterWrite() == null && policy.expiry() != AviationApiProperties.Expiry.AIRAC_CYCLE) {
+                    return builder.buildAsync();
+                }
+                if (policy.refreshAfterWrite() != null) {
+                    builder.refreshAfterWrite(policy.refreshAfterWrite());
+                }
+                return builder
+                        .buildAsync(airportLoader(
+                                airportProviderRouter, policy.compact() ? airportCompactor : null, indexingCatalog));
+            }
+
+            @Override
+            protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                Cache local = super.adaptCaffeineCache(name, cache);
+                if (!AIRPORT_CACHE.equals(name)) {
+                    return local;
+                }
+                if (properties.cachePolicy(name).compact()) {
+                    local = new CompactingCache(local, airportCompactor);
+                }
+                if (indexingCatalog != null) {
+                    local = new CatalogIndexingCache(local, indexingCatalog);
+                }
+                Cache airports = membership != null && peerClient != null
+                        ? new ClusteredCache(local, membership, peerClient, clusterProperties.mode())
+                        : local;
+                return new KeyTrackingCache(airports, keyAnalytics);
+            }
+        };
         cacheManager.setAsyncCacheMode(true);
+        cacheManager.setCacheNames(List.of(AIRPORT_CACHE, TIMEZONE_CACHE, SEARCH_CACHE));
         return cacheManager;
     }
 
-    private Caffeine<Object, Object> caffeineCacheBuilder(AviationApiProperties properties) {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(properties.cacheTtlMinutes(), TimeUnit.MINUTES)
-                .maximumSize(1000)
+    private static Caffeine<Object, Object> caffeineCacheBuilder(
+            AviationApiProperties.CachePolicy policy, AiracProperties airacProperties) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumWeight(policy.maximumWeight().toBytes())
+                .weigher(new CacheEntryWeigher())
                 .recordStats();
+        if (policy.expiry() == AviationApiProperties.Expiry.AIRAC_CYCLE) {
+            return builder.expireAfter(new AiracExpiry(airacProperties.rolloverGrace(), Clock.systemUTC()));
+        }
+        return builder.expireAfterWrite(policy.ttl());
+    }
+
+    /**
+     * Reloads a stale airport straight from the data providers, bypassing the
+     * cache proxy so the refresh does not just return the cached value. The
+     * loader writes to Caffeine directly, so it indexes and compacts the value
+     * itself.
+     */
+    private static AsyncCacheLoader<Object, Object> airportLoader(
+            ObjectProvider<AirportProviderRouter> airportProviderRouter,
+            AirportCompactor compactor,
+            InMemoryAirportCatalog catalog) {
+        return (key, executor) -> airportProviderRouter.getObject()
+                .fetchAirport(key.toString())
+                .doOnNext(airport -> {
+                    if (catalog != null) {
+                        catalog.add(airport);
+                    }
+                })
+                .map(airport -> compactor != null ? compactor.compact(airport) : airport)
+                .toFuture();
     }
 }
@@ -0,0 +1,28 @@
+package com.github.b3kt.aviation.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.netty.http.HttpProtocol;
+
+/**
+ * Server-side configuration for the cluster cache tier.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "aviation.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfiguration {
+
+    /**
+     * Accepts cleartext HTTP/2 next to HTTP/1.1 so peers can multiplex their
+     * internal cache calls over one connection per node.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "aviation.cluster", name = "http2", havingValue = "true", matchIfMissing = true)
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> clusterHttp2Customizer() {
+        return factory -> factory.addServerCustomizers(
+                httpServer -> httpServer.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C));
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.b3kt.aviation.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.infrastructure.client.AviationApiClient;
+import com.github.b3kt.aviation.infrastructure.config.properties.ProviderProperties;
+import com.github.b3kt.aviation.infrastructure.provider.AirportProvider;
+import com.github.b3kt.aviation.infrastructure.provider.AirportProviderRouter;
+import com.github.b3kt.aviation.infrastructure.provider.CompositeAviationDataPort;
+import com.github.b3kt.aviation.infrastructure.provider.DatasetAirportProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the airport data providers listed under aviation.providers.sources
+ * and the {@link AirportProviderRouter} routing lookups between them, behind
+ * the cached {@link CompositeAviationDataPort}.
+ * Without any configured source, the aviationapi.com client is the only
+ * provider.
+ */
+@Configuration
+public class ProviderConfiguration {
+
+    @Bean
+    public AirportProviderRouter airportProviderRouter(
+            ProviderProperties properties,
+            AviationApiClient aviationApiClient,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        Map<String, AirportProvider> providers = new LinkedHashMap<>();
+        for (ProviderProperties.Source source : properties.sources()) {
+            AirportProvider provider = switch (source.type()) {
+                case AVIATION_API -> aviationApiClient;
+                case HTTP -> aviationApiClient.forSource(source.name(), required(source, "base-url", source.baseUrl()));
+                case DATASET -> DatasetAirportProvider.load(Path.of(required(source, "path", source.path())), objectMapper);
+            };
+            if (providers.putIfAbsent(source.name(), provider) != null) {
+                throw new IllegalStateException("Duplicate airport provider name: " + source.name());
+            }
+        }
+        return new AirportProviderRouter(providers, properties, meterRegistry);
+    }
+
+    @Bean
+    public CompositeAviationDataPort aviationDataPort(AirportProviderRouter airportProviderRouter) {
+        return new CompositeAviationDataPort(airportProviderRouter);
+    }
+
+    private static String required(ProviderProperties.Source source, String property, String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException(
+                    "Airport provider '" + source.name() + "' of type " + source.type() + " needs " + property);
+        }
+        return value;
+    }
+}
@@ -70,7 +70,8 @@ public class ResilienceConfiguration {
                                 })
                                 .retryExceptions(WebClientResponseException.InternalServerError.class,
                                                 WebClientResponseException.ServiceUnavailable.class,
-                                                WebClientResponseException.GatewayTimeout.class)
+                                                WebClientResponseException.GatewayTimeout.class,
+                                                WebClientResponseException.TooManyRequests.class)
                                 .ignoreExceptions(WebClientResponseException.NotFound.class,
                                                 WebClientResponseException.BadRequest.class)
                                 .build();
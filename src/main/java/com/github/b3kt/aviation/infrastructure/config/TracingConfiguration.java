@@ -0,0 +1,54 @@
+package com.github.b3kt.aviation.infrastructure.config;
+
+import brave.TracingCustomizer;
+import brave.handler.SpanHandler;
+import brave.sampler.Sampler;
+import com.github.b3kt.aviation.infrastructure.config.properties.TraceSamplingProperties;
+import com.github.b3kt.aviation.infrastructure.tracing.AdaptiveSampler;
+import com.github.b3kt.aviation.infrastructure.tracing.TailSamplingSpanHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Adaptive head sampling and tail-based retention of traces, replacing the
+ * fixed management.tracing.sampling.probability.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "aviation.tracing.sampling", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class TracingConfiguration {
+
+    @Bean
+    public Sampler adaptiveSampler(TraceSamplingProperties properties, MeterRegistry meterRegistry) {
+        return new AdaptiveSampler(properties.targetPerSecond(), meterRegistry);
+    }
+
+    /**
+     * Records traces the head sampler dropped locally, so the tail can still
+     * keep them.
+     */
+    @Bean
+    public TracingCustomizer sampleLocalCustomizer(TraceSamplingProperties properties) {
+        return builder -> {
+            if (properties.tail()) {
+                builder.alwaysSampleLocal();
+            }
+        };
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SpanHandler tailSamplingSpanHandler(TraceSamplingProperties properties,
+            ObjectProvider<SpanHandler> spanHandlers, MeterRegistry meterRegistry) {
+        if (!properties.tail()) {
+            return SpanHandler.NOOP;
+        }
+        return new TailSamplingSpanHandler(properties.slowThreshold(), properties.maxBufferedTraces(),
+                spanHandlers, meterRegistry);
+    }
+}
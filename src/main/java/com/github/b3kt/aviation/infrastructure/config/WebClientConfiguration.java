@@ -8,7 +8,12 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.http.codec.ClientCodecConfigurer;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.github.b3kt.aviation.infrastructure.admission.UpstreamQueue;
+import com.github.b3kt.aviation.infrastructure.analytics.KeyAnalytics;
+import com.github.b3kt.aviation.infrastructure.client.ConnectionPoolTracker;
+import com.github.b3kt.aviation.infrastructure.client.UpstreamBodyDecoder;
 import com.github.b3kt.aviation.infrastructure.config.properties.AviationApiProperties;
 
 import reactor.netty.http.client.HttpClient;
@@ -24,18 +29,32 @@ import java.util.concurrent.TimeUnit;
 @lombok.extern.slf4j.Slf4j
 public class WebClientConfiguration {
 
+    public static final String POOL_NAME = "aviation-api-pool";
+
     @Bean
-    public WebClient webClient(WebClient.Builder builder, AviationApiProperties properties) {
-        // Configure connection pooling
-        ConnectionProvider connectionProvider = ConnectionProvider.builder("aviation-api-pool")
+    public WebClient webClient(
+            WebClient.Builder builder,
+            AviationApiProperties properties,
+            KeyAnalytics keyAnalytics,
+            UpstreamBodyDecoder bodyDecoder,
+            ConnectionPoolTracker connectionPoolTracker) {
+        // Configure connection pooling; its usage feeds the saturation metrics
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(POOL_NAME)
                 .maxConnections(100)
                 .maxIdleTime(Duration.ofSeconds(20))
                 .maxLifeTime(Duration.ofSeconds(60))
                 .pendingAcquireTimeout(Duration.ofSeconds(45))
+                .metrics(true, () -> connectionPoolTracker)
                 .build();
 
-        // Configure HTTP client with timeouts
+        // Configure HTTP client with timeouts; responses may be gzip-compressed and are
+        // inflated in the pipeline into pooled buffers, after counting their wire bytes.
+        // A call stops waiting in the upstream queue once its request goes out on a connection
         HttpClient httpClient = HttpClient.create(connectionProvider)
+                .compress(true)
+                .doOnRequest((request, connection) -> UpstreamQueue.sent(request.currentContextView()))
+                .doOnChannelInit((observer, channel, address) -> channel.pipeline()
+                        .addFirst("aviationWireBytes", bodyDecoder.wireByteCounter()))
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, properties.timeoutSeconds() * 1000)
                 .responseTimeout(Duration.ofSeconds(properties.timeoutSeconds()))
                 .doOnConnected(conn -> conn
@@ -48,17 +67,21 @@ public class WebClientConfiguration {
                 .codecs(this::configureCodecs)
                 .filter(logRequest())
                 .filter(logResponse())
+                .filter(recordUpstreamKey(keyAnalytics))
                 .build();
     }
 
     private void configureCodecs(ClientCodecConfigurer configurer) {
         // Increase buffer size for large responses
-        configurer.defaultCodecs().maxInMemorySize(2 * 1024 * 1024); // 2MB
+        configurer.defaultCodecs().maxInMemorySize(UpstreamBodyDecoder.MAX_BODY_BYTES);
     }
 
     private org.springframework.web.reactive.function.client.ExchangeFilterFunction logRequest() {
         return org.springframework.web.reactive.function.client.ExchangeFilterFunction
                 .ofRequestProcessor(clientRequest -> {
+                    if (!log.isDebugEnabled()) {
+                        return reactor.core.publisher.Mono.just(clientRequest);
+                    }
                     log.debug("Request: {} {}", clientRequest.method(), clientRequest.url());
                     clientRequest.headers()
                             .forEach((name, values) -> values.forEach(value -> log.debug("{}={}", name, value)));
@@ -66,9 +89,25 @@ public class WebClientConfiguration {
                 });
     }
 
+    private org.springframework.web.reactive.function.client.ExchangeFilterFunction recordUpstreamKey(
+            KeyAnalytics keyAnalytics) {
+        return org.springframework.web.reactive.function.client.ExchangeFilterFunction
+                .ofRequestProcessor(clientRequest -> {
+                    String icaoCode = UriComponentsBuilder.fromUri(clientRequest.url())
+                            .build()
+                            .getQueryParams()
+                            .getFirst("apt");
+                    keyAnalytics.record(KeyAnalytics.Kind.UPSTREAM, icaoCode);
+                    return reactor.core.publisher.Mono.just(clientRequest);
+                });
+    }
+
     private org.springframework.web.reactive.function.client.ExchangeFilterFunction logResponse() {
         return org.springframework.web.reactive.function.client.ExchangeFilterFunction
                 .ofResponseProcessor(clientResponse -> {
+                    if (!log.isDebugEnabled()) {
+                        return reactor.core.publisher.Mono.just(clientResponse);
+                    }
                     log.debug("Response Status: {}", clientResponse.statusCode());
                     clientResponse.headers().asHttpHeaders()
                             .forEach((name, values) -> values.forEach(value -> log.debug("{}={}", name, value)));
@@ -0,0 +1,44 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for the sampled access log, one line per request
+ * on the aviation.access logger.
+ * Binds to the aviation.access-log section of application.yml.
+ *
+ * @param enabled       whether access events are collected and written
+ * @param sampleRate    share of ordinary requests written
+ * @param slowThreshold requests taking at least this long are always written
+ * @param queueSize     lines the asynchronous appender buffers before dropping
+ *                      new ones; read by logback-spring.xml at startup
+ */
+@ConfigurationProperties(prefix = "aviation.access-log")
+public record AccessLogProperties(
+        Boolean enabled,
+        @DecimalMin("0") @DecimalMax("1") Double sampleRate,
+        Duration slowThreshold,
+        @Min(1) Integer queueSize) {
+
+    public AccessLogProperties {
+        // Set defaults if not provided
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (sampleRate == null) {
+            sampleRate = 0.01;
+        }
+        if (slowThreshold == null) {
+            slowThreshold = Duration.ofSeconds(1);
+        }
+        if (queueSize == null) {
+            queueSize = 1024;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for AIRAC-cycle cache expiry and the refresh of
+ * airport cache entries at each cycle rollover. Only used by caches whose
+ * policy has expiry AIRAC_CYCLE.
+ * Binds to the aviation.airac section of application.yml.
+ *
+ * @param rolloverGrace          time entries written in a cycle outlive it, so the rollover refresh
+ *                               can reload them before they expire
+ * @param checkInterval          how often the refresher checks for a rollover or a retry
+ * @param retryInterval          pause before refreshing entries whose upstream data still predates the cycle
+ * @param prefetchIntervalMillis minimum pause between two refreshed entries
+ * @param rateLimiterReserve     share of rate limiter permits left to live traffic during a refresh
+ */
+@ConfigurationProperties(prefix = "aviation.airac")
+public record AiracProperties(
+        Duration rolloverGrace,
+        Duration checkInterval,
+        Duration retryInterval,
+        @Min(1) Long prefetchIntervalMillis,
+        @Min(0) @Max(1) Double rateLimiterReserve) {
+
+    public AiracProperties {
+        // Set defaults if not provided
+        if (rolloverGrace == null) {
+            rolloverGrace = Duration.ofHours(12);
+        }
+        if (checkInterval == null) {
+            checkInterval = Duration.ofMinutes(1);
+        }
+        if (retryInterval == null) {
+            retryInterval = Duration.ofHours(1);
+        }
+        if (prefetchIntervalMillis == null) {
+            prefetchIntervalMillis = 200L;
+        }
+        if (rateLimiterReserve == null) {
+            rateLimiterReserve = 0.5;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.github.b3kt.aviation.infrastructure.config.properties;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.util.unit.DataSize;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -20,8 +23,10 @@ public record AviationApiProperties(
         @Min(1) Integer maxRetries,
         @Min(1) Long retryDelayMillis,
         @Min(1) Integer cacheTtlMinutes,
-        @NotNull Map<String, String> paths) {
+        @NotNull Map<String, String> paths,
+        @NotNull Map<String, CachePolicy> caches) {
 
+    @ConstructorBinding
     public AviationApiProperties {
         // Set defaults if not provided
         if (timeoutSeconds == null) {
@@ -39,5 +44,79 @@ public record AviationApiProperties(
         if (paths == null) {
             paths = new HashMap<>();
         }
+        if (caches == null) {
+            caches = new HashMap<>();
+        }
+    }
+
+    /**
+     * Creates properties with default cache policies.
+     */
+    public AviationApiProperties(
+            String baseUrl,
+            Integer timeoutSeconds,
+            Integer maxRetries,
+            Long retryDelayMillis,
+            Integer cacheTtlMinutes,
+            Map<String, String> paths) {
+        this(baseUrl, timeoutSeconds, maxRetries, retryDelayMillis, cacheTtlMinutes, paths, null);
+    }
+
+    /**
+     * Eviction and expiry policy of a single cache.
+     *
+     * @param maximumWeight     memory budget, enforced using estimated entry sizes
+     * @param ttl               expiry after write, defaults to cache-ttl-minutes
+     * @param refreshAfterWrite age after which a read reloads the entry in the
+     *                          background, null to disable; needs a cache loader
+     * @param compact           store airports in a compact, dictionary-encoded form
+     * @param expiry            what decides when entries expire
+     */
+    public record CachePolicy(
+            DataSize maximumWeight,
+            Duration ttl,
+            Duration refreshAfterWrite,
+            Boolean compact,
+            Expiry expiry) {
+
+        public CachePolicy {
+            // Set defaults if not provided
+            if (maximumWeight == null) {
+                maximumWeight = DataSize.ofMegabytes(32);
+            }
+            if (compact == null) {
+                compact = false;
+            }
+            if (expiry == null) {
+                expiry = Expiry.TTL;
+            }
+        }
+    }
+
+    /**
+     * What decides when cache entries expire.
+     */
+    public enum Expiry {
+        /** Entries expire the ttl after they were written. */
+        TTL,
+        /**
+         * Entries stay until the AIRAC cycle they were written in ends, plus the
+         * aviation.airac rollover grace, and ttl is ignored. Airport entries are
+         * reloaded at the rollover.
+         */
+        AIRAC_CYCLE
+    }
+
+    /**
+     * Returns the policy configured for the given cache, with defaults
+     * applied for a cache that has none.
+     */
+    public CachePolicy cachePolicy(String cacheName) {
+        CachePolicy policy = caches.getOrDefault(cacheName, new CachePolicy(null, null, null, null, null));
+        if (policy.ttl() == null) {
+            return new CachePolicy(policy.maximumWeight(), Duration.ofMinutes(cacheTtlMinutes),
+                    policy.refreshAfterWrite(), policy.compact(), policy.expiry());
+        }
+        return policy;
     }
 }
@@ -0,0 +1,35 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for targeted cache invalidation and refresh
+ * through the cacheadmin actuator endpoint.
+ * Binds to the aviation.cache-admin section of application.yml.
+ *
+ * @param prefetchIntervalMillis minimum pause between two refreshed airports
+ * @param rateLimiterReserve     share of rate limiter permits left to live traffic during a refresh
+ * @param retainedJobs           finished refresh jobs kept for progress reporting
+ */
+@ConfigurationProperties(prefix = "aviation.cache-admin")
+public record CacheAdminProperties(
+        @Min(1) Long prefetchIntervalMillis,
+        @Min(0) @Max(1) Double rateLimiterReserve,
+        @Min(1) Integer retainedJobs) {
+
+    public CacheAdminProperties {
+        // Set defaults if not provided
+        if (prefetchIntervalMillis == null) {
+            prefetchIntervalMillis = 100L;
+        }
+        if (rateLimiterReserve == null) {
+            rateLimiterReserve = 0.5;
+        }
+        if (retainedJobs == null) {
+            retainedJobs = 20;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for capturing airport lookups to a binary file
+ * for later replay.
+ * Binds to the aviation.capture section of application.yml.
+ *
+ * @param enabled     whether airport lookups are captured
+ * @param directory   directory a new capture file is created in at startup
+ * @param queueSize   captured lookups buffered for the writer before new ones are dropped
+ * @param maxFileSize size at which capture continues in a new file
+ * @param maxFiles    capture files kept, the oldest being deleted when a new one exceeds this
+ */
+@ConfigurationProperties(prefix = "aviation.capture")
+public record CaptureProperties(
+        Boolean enabled,
+        String directory,
+        @Min(1) Integer queueSize,
+        DataSize maxFileSize,
+        @Min(1) Integer maxFiles) {
+
+    public CaptureProperties {
+        // Set defaults if not provided
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (directory == null || directory.isBlank()) {
+            directory = "data/capture";
+        }
+        if (queueSize == null) {
+            queueSize = 8192;
+        }
+        if (maxFileSize == null) {
+            maxFileSize = DataSize.ofMegabytes(256);
+        }
+        if (maxFiles == null) {
+            maxFiles = 4;
+        }
+    }
+}
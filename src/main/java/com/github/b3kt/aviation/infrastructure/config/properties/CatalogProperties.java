@@ -0,0 +1,30 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * Configuration properties for the in-memory airport catalog and its spatial index.
+ * Binds to the aviation.catalog section of application.yml.
+ */
+@ConfigurationProperties(prefix = "aviation.catalog")
+public record CatalogProperties(
+        String datasetPath,
+        @DecimalMin("0.1") @DecimalMax("30") Double cellSizeDegrees,
+        Boolean indexLookups) {
+
+    public CatalogProperties {
+        // Set defaults if not provided
+        if (datasetPath != null && datasetPath.isBlank()) {
+            datasetPath = null;
+        }
+        if (cellSizeDegrees == null) {
+            cellSizeDegrees = 1.0;
+        }
+        if (indexLookups == null) {
+            indexLookups = true;
+        }
+    }
+}
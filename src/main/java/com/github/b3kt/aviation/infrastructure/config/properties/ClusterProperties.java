@@ -0,0 +1,75 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for the optional cluster cache tier.
+ * Binds to the aviation.cluster section of application.yml.
+ */
+@ConfigurationProperties(prefix = "aviation.cluster")
+public record ClusterProperties(
+        boolean enabled,
+        Mode mode,
+        String selfUrl,
+        List<String> peers,
+        String secret,
+        Boolean http2,
+        @Min(1) Integer virtualNodes,
+        @Min(1) Long peerTimeoutMillis,
+        @Min(1) Long ownerLoadTimeoutMillis,
+        @Min(1) Long peerRetryBackoffMillis,
+        @Min(1) Integer peerFailureThreshold,
+        @Min(0) Double boundedLoadFactor) {
+
+    /**
+     * How a replica uses its peers on a local cache miss.
+     */
+    public enum Mode {
+        /** Ask the owner for its cached copy, fetch upstream locally on a peer miss. */
+        PEER_LOOKUP,
+        /** Forward the miss to the owner, which performs the single upstream fetch. */
+        OWNER_ROUTING
+    }
+
+    public ClusterProperties {
+        // Set defaults if not provided
+        if (mode == null) {
+            mode = Mode.PEER_LOOKUP;
+        }
+        if (selfUrl == null || selfUrl.isBlank()) {
+            selfUrl = "http://localhost:8080";
+        }
+        if (peers == null) {
+            peers = new ArrayList<>();
+        }
+        if (secret == null) {
+            secret = "";
+        }
+        if (http2 == null) {
+            http2 = true;
+        }
+        if (virtualNodes == null) {
+            virtualNodes = 128;
+        }
+        if (peerTimeoutMillis == null) {
+            peerTimeoutMillis = 250L;
+        }
+        if (ownerLoadTimeoutMillis == null) {
+            ownerLoadTimeoutMillis = 10000L;
+        }
+        if (peerRetryBackoffMillis == null) {
+            peerRetryBackoffMillis = 5000L;
+        }
+        if (peerFailureThreshold == null) {
+            peerFailureThreshold = 3;
+        }
+        if (boundedLoadFactor == null) {
+            boundedLoadFactor = 1.25;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for the enrichment of upstream responses: parsing,
+ * coordinate conversion and timezone lookup.
+ * Binds to the aviation.enrichment section of application.yml.
+ *
+ * @param mode             where enrichment runs
+ * @param threads          maximum number of enrichments running at once
+ * @param queueCapacity    enrichments waiting for a thread before new ones are rejected
+ * @param lagProbeInterval how often the event-loop lag probe runs
+ */
+@ConfigurationProperties(prefix = "aviation.enrichment")
+public record EnrichmentProperties(
+        Mode mode,
+        @Min(1) Integer threads,
+        @Min(1) Integer queueCapacity,
+        Duration lagProbeInterval) {
+
+    public EnrichmentProperties {
+        // Set defaults if not provided
+        if (mode == null) {
+            mode = Mode.PARALLEL;
+        }
+        if (threads == null) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        if (queueCapacity == null) {
+            queueCapacity = 256;
+        }
+        if (lagProbeInterval == null) {
+            lagProbeInterval = Duration.ofSeconds(1);
+        }
+    }
+
+    /**
+     * Where enrichment runs.
+     */
+    public enum Mode {
+        /** On the Netty event loop that received the response. */
+        INLINE,
+        /** On a fixed pool of platform threads. */
+        PARALLEL,
+        /** On a virtual thread per task, limited to the configured number running at once. */
+        VIRTUAL
+    }
+}
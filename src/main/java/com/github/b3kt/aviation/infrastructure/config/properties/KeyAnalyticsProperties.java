@@ -0,0 +1,39 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for heavy-hitter key analytics.
+ * Binds to the aviation.analytics section of application.yml.
+ */
+@ConfigurationProperties(prefix = "aviation.analytics")
+public record KeyAnalyticsProperties(
+        Boolean enabled,
+        @Min(1) Integer topK,
+        @Min(16) Integer sketchWidth,
+        @Min(1) Integer sketchDepth,
+        Duration decayInterval) {
+
+    public KeyAnalyticsProperties {
+        // Set defaults if not provided
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (topK == null) {
+            topK = 20;
+        }
+        if (sketchWidth == null) {
+            sketchWidth = 2048;
+        }
+        if (sketchDepth == null) {
+            sketchDepth = 4;
+        }
+        if (decayInterval == null) {
+            decayInterval = Duration.ofMinutes(1);
+        }
+    }
+}
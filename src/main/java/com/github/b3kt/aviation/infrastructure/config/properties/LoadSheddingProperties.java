@@ -0,0 +1,43 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for admission control of API requests under
+ * saturation.
+ * Binds to the aviation.load-shedding section of application.yml.
+ *
+ * @param enabled      whether requests needing upstream are shed when saturated
+ * @param maxInFlight  API requests in flight beyond which requests needing upstream are shed
+ * @param maxQueueWait time the oldest upstream call may have waited for the rate limiter
+ *                     and connection pool, without being sent, before new requests
+ *                     needing upstream are shed
+ * @param retryAfter   delay advertised to shed clients in the Retry-After header
+ */
+@ConfigurationProperties(prefix = "aviation.load-shedding")
+public record LoadSheddingProperties(
+        Boolean enabled,
+        @Min(1) Integer maxInFlight,
+        Duration maxQueueWait,
+        Duration retryAfter) {
+
+    public LoadSheddingProperties {
+        // Set defaults if not provided
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (maxInFlight == null) {
+            maxInFlight = 256;
+        }
+        if (maxQueueWait == null) {
+            maxQueueWait = Duration.ofSeconds(2);
+        }
+        if (retryAfter == null) {
+            retryAfter = Duration.ofSeconds(5);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Configuration properties for on-demand flight recordings through the
+ * profiling actuator endpoint.
+ * Binds to the aviation.profiling section of application.yml.
+ *
+ * @param settings        JFR settings a recording starts with when none is given, default or profile
+ * @param defaultDuration length of a recording started without a duration
+ * @param maxDuration     longest recording that can be started
+ * @param maxSize         size beyond which a recording discards its oldest data
+ */
+@ConfigurationProperties(prefix = "aviation.profiling")
+public record ProfilingProperties(
+        @NotBlank String settings,
+        Duration defaultDuration,
+        Duration maxDuration,
+        DataSize maxSize) {
+
+    public ProfilingProperties {
+        // Set defaults if not provided
+        if (settings == null) {
+            settings = "profile";
+        }
+        if (defaultDuration == null) {
+            defaultDuration = Duration.ofSeconds(60);
+        }
+        if (maxDuration == null) {
+            maxDuration = Duration.ofMinutes(10);
+        }
+        if (maxSize == null) {
+            maxSize = DataSize.ofMegabytes(256);
+        }
+    }
+}
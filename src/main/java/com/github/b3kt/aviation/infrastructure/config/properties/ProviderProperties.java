@@ -0,0 +1,93 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Configuration properties for the airport data providers behind the
+ * airport lookup, and how lookups are routed between them.
+ * Binds to the aviation.providers section of application.yml.
+ *
+ * @param routing         how a lookup picks its providers
+ * @param attemptTimeout  time after which a provider attempt fails over to the next provider
+ * @param healthThreshold health score below which a provider is only used as a last resort
+ * @param probeInterval   how often an unhealthy provider is given a lookup to prove it recovered
+ * @param sources         providers in configuration order, which breaks latency ties
+ */
+@ConfigurationProperties(prefix = "aviation.providers")
+public record ProviderProperties(
+        Routing routing,
+        Duration attemptTimeout,
+        @DecimalMin("0") @DecimalMax("1") Double healthThreshold,
+        Duration probeInterval,
+        List<Source> sources) {
+
+    public ProviderProperties {
+        // Set defaults if not provided
+        if (routing == null) {
+            routing = Routing.FASTEST;
+        }
+        if (attemptTimeout == null) {
+            attemptTimeout = Duration.ofSeconds(10);
+        }
+        if (healthThreshold == null) {
+            healthThreshold = 0.5;
+        }
+        if (probeInterval == null) {
+            probeInterval = Duration.ofSeconds(30);
+        }
+        if (sources == null || sources.isEmpty()) {
+            sources = List.of(new Source("aviationApi", Type.AVIATION_API, null, null));
+        }
+    }
+
+    /**
+     * How a lookup picks its providers.
+     */
+    public enum Routing {
+        /** Ask the fastest healthy provider, failing over to the next one on error. */
+        FASTEST,
+        /** Ask the two fastest healthy providers at once and take the first answer. */
+        RACE_TOP2
+    }
+
+    /**
+     * Kind of airport data provider.
+     */
+    public enum Type {
+        /** The aviationapi.com client configured under aviation.api. */
+        AVIATION_API,
+        /** Another aviationapi.com-compatible HTTP API at base-url. */
+        HTTP,
+        /** NDJSON dataset file at path, in the airport lookup response format. */
+        DATASET
+    }
+
+    /**
+     * A single airport data provider.
+     *
+     * @param name    provider name used in metrics, health details and resilience instances
+     * @param type    kind of provider
+     * @param baseUrl base URL of an HTTP provider
+     * @param path    dataset file of a DATASET provider
+     */
+    public record Source(
+            @NotBlank String name,
+            Type type,
+            String baseUrl,
+            String path) {
+
+        public Source {
+            // Set defaults if not provided
+            if (type == null) {
+                type = Type.AVIATION_API;
+            }
+        }
+    }
+}
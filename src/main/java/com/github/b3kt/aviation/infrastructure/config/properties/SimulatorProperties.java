@@ -0,0 +1,157 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * Configuration properties for the upstream simulator, a stand-in for
+ * api.aviationapi.com served from a corpus of airport responses with
+ * configurable latency and faults. Enabled by the simulator profile.
+ * Binds to the aviation.simulator section of application.yml.
+ *
+ * @param enabled    whether the simulator is started
+ * @param port       port the simulator listens on, 0 for any free port
+ * @param corpus     location of the corpus, a JSON object of ICAO code to airport records
+ *                   in the /v1/airports response format
+ * @param recordFrom base URL of a real upstream to fetch airports missing from the corpus
+ *                   from, or empty to answer them with 404
+ * @param recordTo   file that airports fetched from recordFrom are saved to, and loaded
+ *                   on top of the corpus on startup
+ * @param latency    response time distribution
+ * @param errorRate  share of responses that fail with 500
+ * @param throttling recurring bursts of 429 responses
+ * @param brownOut   recurring phases of slower and more often failing responses
+ */
+@ConfigurationProperties(prefix = "aviation.simulator")
+public record SimulatorProperties(
+        Boolean enabled,
+        Integer port,
+        String corpus,
+        String recordFrom,
+        String recordTo,
+        Latency latency,
+        @DecimalMin("0") @DecimalMax("1") Double errorRate,
+        Phase throttling,
+        BrownOut brownOut) {
+
+    public SimulatorProperties {
+        // Set defaults if not provided
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (port == null) {
+            port = 8089;
+        }
+        if (corpus == null || corpus.isBlank()) {
+            corpus = "classpath:simulator/airports.json";
+        }
+        if (recordTo == null || recordTo.isBlank()) {
+            recordTo = "data/simulator/recorded.json";
+        }
+        if (latency == null) {
+            latency = new Latency(null, null);
+        }
+        if (errorRate == null) {
+            errorRate = 0.0;
+        }
+        if (throttling == null) {
+            throttling = new Phase(null, null);
+        }
+        if (brownOut == null) {
+            brownOut = new BrownOut(null, null, null, null);
+        }
+    }
+
+    /**
+     * Log-normal response time distribution.
+     *
+     * @param median median response time
+     * @param p99    99th percentile response time, at least the median
+     */
+    public record Latency(
+            Duration median,
+            Duration p99) {
+
+        public Latency {
+            // Set defaults if not provided
+            if (median == null) {
+                median = Duration.ofMillis(80);
+            }
+            if (p99 == null || p99.compareTo(median) < 0) {
+                p99 = median;
+            }
+        }
+    }
+
+    /**
+     * A phase that recurs at the end of every interval.
+     *
+     * @param interval time between the starts of two phases, zero to disable
+     * @param duration length of each phase
+     */
+    public record Phase(
+            Duration interval,
+            Duration duration) {
+
+        public Phase {
+            // Set defaults if not provided
+            if (interval == null) {
+                interval = Duration.ZERO;
+            }
+            if (duration == null) {
+                duration = Duration.ZERO;
+            }
+        }
+
+        /**
+         * Whether the phase is on at the given time since the simulator started.
+         */
+        public boolean activeAt(Duration elapsed) {
+            if (interval.isZero() || duration.isZero()) {
+                return false;
+            }
+            long intoInterval = elapsed.toMillis() % interval.toMillis();
+            return intoInterval >= interval.toMillis() - duration.toMillis();
+        }
+
+        /**
+         * Time until the phase that is on at the given time ends.
+         */
+        public Duration remainingAt(Duration elapsed) {
+            return Duration.ofMillis(interval.toMillis() - elapsed.toMillis() % interval.toMillis());
+        }
+    }
+
+    /**
+     * Recurring phases during which the upstream is slow and unreliable.
+     *
+     * @param interval          time between the starts of two brown-outs, zero to disable
+     * @param duration          length of each brown-out
+     * @param latencyMultiplier factor applied to response times during a brown-out
+     * @param errorRate         share of responses that fail with 503 during a brown-out
+     */
+    public record BrownOut(
+            Duration interval,
+            Duration duration,
+            Double latencyMultiplier,
+            @DecimalMin("0") @DecimalMax("1") Double errorRate) {
+
+        public BrownOut {
+            // Set defaults if not provided
+            if (latencyMultiplier == null) {
+                latencyMultiplier = 5.0;
+            }
+            if (errorRate == null) {
+                errorRate = 0.3;
+            }
+        }
+
+        public Phase phase() {
+            return new Phase(interval, duration);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for adaptive head sampling and tail-based
+ * retention of traces. Replaces management.tracing.sampling.probability
+ * while enabled.
+ * Binds to the aviation.tracing.sampling section of application.yml.
+ *
+ * @param enabled           whether the adaptive sampler replaces the fixed probability
+ * @param targetPerSecond   traces sampled per second when a request starts
+ * @param tail              whether traces not sampled at the start are recorded locally, so that error,
+ *                          slow and upstream-calling ones can still be kept when they end
+ * @param slowThreshold     traces taking at least this long are kept by the tail
+ * @param maxBufferedTraces traces whose spans are held in memory awaiting the tail decision
+ */
+@ConfigurationProperties(prefix = "aviation.tracing.sampling")
+public record TraceSamplingProperties(
+        Boolean enabled,
+        @Min(1) Integer targetPerSecond,
+        Boolean tail,
+        Duration slowThreshold,
+        @Min(1) Integer maxBufferedTraces) {
+
+    public TraceSamplingProperties {
+        // Set defaults if not provided
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (targetPerSecond == null) {
+            targetPerSecond = 10;
+        }
+        if (tail == null) {
+            tail = true;
+        }
+        if (slowThreshold == null) {
+            slowThreshold = Duration.ofMillis(500);
+        }
+        if (maxBufferedTraces == null) {
+            maxBufferedTraces = 10_000;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for the airport cache hot-set snapshot and warm start.
+ * Binds to the aviation.warmup section of application.yml.
+ */
+@ConfigurationProperties(prefix = "aviation.warmup")
+public record WarmupProperties(
+        Boolean enabled,
+        String snapshotPath,
+        Duration snapshotInterval,
+        @Min(1) Integer topN,
+        @Min(0) @Max(100) Integer readyThresholdPercent,
+        Duration maxWait,
+        @Min(1) Long prefetchIntervalMillis,
+        @Min(0) @Max(1) Double rateLimiterReserve) {
+
+    public WarmupProperties {
+        // Set defaults if not provided
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            snapshotPath = "data/hot-set.txt";
+        }
+        if (snapshotInterval == null) {
+            snapshotInterval = Duration.ofMinutes(5);
+        }
+        if (topN == null) {
+            topN = 200;
+        }
+        if (readyThresholdPercent == null) {
+            readyThresholdPercent = 50;
+        }
+        if (maxWait == null) {
+            maxWait = Duration.ofSeconds(90);
+        }
+        if (prefetchIntervalMillis == null) {
+            prefetchIntervalMillis = 100L;
+        }
+        if (rateLimiterReserve == null) {
+            rateLimiterReserve = 0.5;
+        }
+    }
+}
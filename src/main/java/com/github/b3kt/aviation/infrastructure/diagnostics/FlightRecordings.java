@@ -0,0 +1,151 @@
+package com.github.b3kt.aviation.infrastructure.diagnostics;
+
+import com.github.b3kt.aviation.infrastructure.config.properties.ProfilingProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One on-demand JDK Flight Recorder recording at a time, bounded in
+ * duration and size. Besides the JVM events of the chosen settings it
+ * captures the application's own events: command executions, airport
+ * cache lookups by tier, upstream calls and timezone resolutions. Those
+ * events cost next to nothing while no recording is running. Events that
+ * would expose the environment, system properties or command lines are
+ * never recorded, whatever the settings.
+ */
+@Component
+public class FlightRecordings {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecordings.class);
+    private static final String RECORDING_NAME = "aviation-profiling";
+    /**
+     * Events that would hand out environment variables, system properties,
+     * JVM and program arguments, and other processes' command lines.
+     */
+    static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.JVMInformation", "jdk.SystemProcess");
+
+    /**
+     * State of the current recording.
+     *
+     * @param id        recording id, 0 when none was started
+     * @param state     NONE, RUNNING, STOPPED or CLOSED
+     * @param settings  JFR settings the recording runs with
+     * @param startTime when the recording started
+     * @param duration  length after which the recording stops by itself
+     * @param size      bytes recorded so far
+     */
+    public record Status(long id, String state, String settings, Instant startTime, Duration duration, long size) {
+
+        static final Status NONE = new Status(0, "NONE", null, null, null, 0);
+    }
+
+    private final ProfilingProperties properties;
+    private Recording recording;
+    private String settings;
+
+    public FlightRecordings(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts a recording, replacing a stopped one.
+     *
+     * @param duration length of the recording, capped at the configured maximum; the default when null
+     * @param settings JFR settings, default or profile; the configured ones when null
+     * @throws IllegalStateException    if a recording is already running
+     * @throws IllegalArgumentException if the duration is not positive or the settings are unknown
+     */
+    public synchronized Status start(Duration duration, String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        Duration length = duration == null ? properties.defaultDuration() : duration;
+        if (length.isNegative() || length.isZero()) {
+            throw new IllegalArgumentException("Recording duration must be positive");
+        }
+        String settingsName = settings == null || settings.isBlank() ? properties.settings() : settings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settingsName, e);
+        }
+
+        close();
+        recording = new Recording(configuration);
+        SENSITIVE_EVENTS.forEach(recording::disable);
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setDuration(length.compareTo(properties.maxDuration()) > 0 ? properties.maxDuration() : length);
+        recording.setMaxSize(properties.maxSize().toBytes());
+        recording.start();
+        this.settings = settingsName;
+        log.info("Started flight recording {} with {} settings for {}", recording.getId(), settingsName,
+                recording.getDuration());
+        return status();
+    }
+
+    /**
+     * Stops the running recording; its data stays available for download.
+     *
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized Status stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        log.info("Stopped flight recording {}", recording.getId());
+        return status();
+    }
+
+    public synchronized Status status() {
+        if (recording == null) {
+            return Status.NONE;
+        }
+        return new Status(recording.getId(), recording.getState().name(), settings, recording.getStartTime(),
+                recording.getDuration(), recording.getSize());
+    }
+
+    /**
+     * Writes what the current recording holds so far, running or stopped,
+     * to a new temporary JFR file, so concurrent downloads never share one.
+     * The caller owns the file and deletes it once done with it.
+     */
+    public synchronized Optional<Path> dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            return Optional.empty();
+        }
+        Path dump = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try {
+            recording.dump(dump);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(dump);
+            throw e;
+        }
+        return Optional.of(dump);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
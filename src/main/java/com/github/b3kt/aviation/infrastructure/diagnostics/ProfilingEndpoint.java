@@ -0,0 +1,122 @@
+package com.github.b3kt.aviation.infrastructure.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Actuator endpoint for on-demand flight recordings at
+ * {@code /actuator/profiling}: GET shows the current recording, POST starts
+ * one for {@code duration} with the given {@code settings}, DELETE stops it
+ * and GET {@code /recording} downloads what it holds as a JFR file.
+ */
+@Component
+@WebEndpoint(id = "profiling")
+@RequiredArgsConstructor
+public class ProfilingEndpoint {
+
+    private static final String RECORDING = "recording";
+    private static final int STATUS_CONFLICT = 409;
+
+    private final FlightRecordings recordings;
+
+    @ReadOperation
+    public FlightRecordings.Status status() {
+        return recordings.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<FlightRecordings.Status> start(@Nullable Duration duration, @Nullable String settings) {
+        return conflictOnIllegalState(() -> {
+            try {
+                return recordings.start(duration, settings);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+            }
+        });
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<FlightRecordings.Status> stop() {
+        return conflictOnIllegalState(recordings::stop);
+    }
+
+    /**
+     * Downloads the current recording, or 404 when there is none. Each
+     * download is dumped to its own file, deleted once the response is done
+     * with it.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector String file) throws IOException {
+        if (!RECORDING.equals(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return recordings.dump()
+                .map(path -> new WebEndpointResponse<Resource>(new DumpResource(path)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    /**
+     * A dump that can be read once: closing its stream, whether the
+     * response completed or was cancelled, deletes the file.
+     */
+    static final class DumpResource extends AbstractResource {
+
+        private final Path path;
+
+        DumpResource(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public boolean exists() {
+            return Files.exists(path);
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return Files.size(path);
+        }
+
+        @Override
+        public String getFilename() {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public String getDescription() {
+            return "flight recording dump [" + path + "]";
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+
+    private static WebEndpointResponse<FlightRecordings.Status> conflictOnIllegalState(
+            Supplier<FlightRecordings.Status> operation) {
+        try {
+            return new WebEndpointResponse<>(operation.get());
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.b3kt.aviation.infrastructure.logging;
+
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+import com.github.b3kt.aviation.infrastructure.config.properties.AccessLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one structured line per API request to the {@code aviation.access}
+ * logger: the ICAO code, the cache tier that answered, the provider and
+ * number of upstream attempts, and the time spent upstream, enriching and
+ * in total. Server errors and requests slower than the slow threshold are
+ * always written, other requests at the sample rate. The logger goes
+ * through an asynchronous appender that drops lines rather than block when
+ * its queue is full, see logback-spring.xml.
+ */
+@Component
+public class AccessLogWebFilter implements WebFilter {
+
+    /**
+     * Name of the logger access lines are written to.
+     */
+    public static final String ACCESS_LOGGER = "aviation.access";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(ACCESS_LOGGER);
+    private static final String EVENTS_METRIC = "aviation.access.events";
+    private static final String ACTUATOR_PATH = "/actuator";
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final Counter written;
+    private final Counter sampledOut;
+
+    public AccessLogWebFilter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.sampleRate = properties.sampleRate();
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.written = Counter.builder(EVENTS_METRIC)
+                .description("Access events by whether they were written")
+                .tag("outcome", "written")
+                .register(meterRegistry);
+        this.sampledOut = Counter.builder(EVENTS_METRIC)
+                .description("Access events by whether they were written")
+                .tag("outcome", "sampled_out")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled || exchange.getRequest().getPath().value().startsWith(ACTUATOR_PATH)) {
+            return chain.filter(exchange);
+        }
+        return Mono.deferContextual(context -> {
+            // Traffic capture may have started the event already
+            Optional<AccessEvent> started = AccessEvent.from(context);
+            AccessEvent event = started.orElseGet(AccessEvent::new);
+            Mono<Void> filtered = chain.filter(exchange)
+                    .doFinally(signal -> complete(exchange, event, signal));
+            return started.isPresent()
+                    ? filtered
+                    : filtered.contextWrite(inner -> inner.put(AccessEvent.class, event));
+        });
+    }
+
+    private void complete(ServerWebExchange exchange, AccessEvent event, SignalType signal) {
+        long elapsedNanos = event.elapsedNanos();
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        boolean always = elapsedNanos >= slowThresholdNanos
+                || signal == SignalType.ON_ERROR
+                || status != null && status.is5xxServerError();
+        if (!always && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        written.increment();
+        accessLog.info("method={} path={} status={} icao={} tier={} provider={} attempts={} "
+                        + "upstream_ms={} enrichment_ms={} total_ms={}",
+                exchange.getRequest().getMethod(),
+                exchange.getRequest().getPath().value(),
+                signal == SignalType.CANCEL ? "cancelled" : status != null ? status.value() : "-",
+                orDash(event.icaoCode()),
+                orDash(event.answeredFrom(status != null && status.is2xxSuccessful())),
+                orDash(event.provider()),
+                event.upstreamAttempts(),
+                millis(event.upstreamNanos()),
+                millis(event.enrichmentNanos()),
+                millis(elapsedNanos));
+    }
+
+    private static Object orDash(Object value) {
+        return value != null ? value : "-";
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.b3kt.aviation.infrastructure.provider;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * A source of airport data behind {@link CompositeAviationDataPort}.
+ * Providers never cache: the airport cache sits once in front of all of them.
+ */
+@FunctionalInterface
+public interface AirportProvider {
+
+    /**
+     * Fetches an airport from this provider.
+     *
+     * @param icaoCode the 4-character ICAO code
+     * @return Mono emitting the airport, or AirportNotFoundException if this
+     *         provider does not know it
+     */
+    Mono<Airport> fetchAirport(String icaoCode);
+
+    /**
+     * Returns the rate limiter this provider's upstream calls wait on, if it
+     * has one.
+     */
+    default Optional<RateLimiter> rateLimiter() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,224 @@
+package com.github.b3kt.aviation.infrastructure.provider;
+
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.config.properties.ProviderProperties;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Routes airport lookups between several {@link AirportProvider}s, such as the
+ * aviationapi.com client, a compatible mirror and a local dataset. Each
+ * lookup goes to the healthy provider with the lowest average latency and
+ * fails over to the next one on any error, including "not found", since a
+ * provider may cover only part of the world. Unhealthy providers are only
+ * tried after every healthy one. Providers that have not been used for a
+ * probe interval get a background copy of a lookup, so an unhealthy provider
+ * can recover and the latency of the others stays current.
+ * In {@link ProviderProperties.Routing#RACE_TOP2} mode, or through
+ * {@link #raceAirport}, the two best providers are asked at once and the
+ * first answer wins.
+ */
+public class AirportProviderRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(AirportProviderRouter.class);
+    private static final String REQUESTS_METRIC = "aviation.provider.requests";
+
+    private final Map<String, AirportProvider> providers;
+    private final Map<String, ProviderStats> stats = new LinkedHashMap<>();
+    private final ProviderProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+
+    /**
+     * @param providers providers by name, in configuration order
+     */
+    public AirportProviderRouter(
+            Map<String, AirportProvider> providers,
+            ProviderProperties properties,
+            MeterRegistry meterRegistry) {
+        this(providers, properties, meterRegistry, System::nanoTime);
+    }
+
+    AirportProviderRouter(
+            Map<String, AirportProvider> providers,
+            ProviderProperties properties,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoTime) {
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("At least one airport provider is required");
+        }
+        this.providers = new LinkedHashMap<>(providers);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+        providers.keySet().forEach(name -> {
+            ProviderStats providerStats = new ProviderStats();
+            stats.put(name, providerStats);
+            Gauge.builder("aviation.provider.health", providerStats, ProviderStats::healthScore)
+                    .tag("provider", name)
+                    .register(meterRegistry);
+            Gauge.builder("aviation.provider.latency", providerStats, s -> s.latencyNanos() / 1e9)
+                    .tag("provider", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * Fetches an airport using the configured routing.
+     */
+    public Mono<Airport> fetchAirport(String icaoCode) {
+        return fetch(icaoCode, properties.routing());
+    }
+
+    /**
+     * Fetches an airport from the two best providers at once, whatever the
+     * configured routing.
+     */
+    public Mono<Airport> raceAirport(String icaoCode) {
+        return fetch(icaoCode, ProviderProperties.Routing.RACE_TOP2);
+    }
+
+    /**
+     * Returns the current health and latency of every provider, in
+     * configuration order.
+     */
+    public Map<String, ProviderStats.Snapshot> snapshot() {
+        Map<String, ProviderStats.Snapshot> snapshot = new LinkedHashMap<>();
+        stats.forEach((name, providerStats) -> snapshot.put(name, providerStats.snapshot(properties.healthThreshold())));
+        return snapshot;
+    }
+
+    /**
+     * Returns the rate limiters of the routed providers, each once.
+     */
+    public List<RateLimiter> rateLimiters() {
+        return providers.values().stream()
+                .flatMap(provider -> provider.rateLimiter().stream())
+                .distinct()
+                .toList();
+    }
+
+    private Mono<Airport> fetch(String icaoCode, ProviderProperties.Routing routing) {
+        return Mono.deferContextual(context -> {
+            AccessEvent.from(context).ifPresent(event -> event.cacheTier(AccessEvent.CacheTier.UPSTREAM));
+            List<String> ranked = ranked();
+            Collection<Throwable> errors = new ConcurrentLinkedQueue<>();
+            int raced = routing == ProviderProperties.Routing.RACE_TOP2 ? Math.min(2, ranked.size()) : 1;
+            probeIdle(icaoCode, ranked.subList(raced, ranked.size()));
+
+            Mono<Airport> first = raced == 1
+                    ? attempt(ranked.getFirst(), icaoCode, errors)
+                    : Mono.firstWithValue(attempt(ranked.get(0), icaoCode, errors),
+                            attempt(ranked.get(1), icaoCode, errors));
+            return first.onErrorResume(error -> inOrder(ranked.subList(raced, ranked.size()), icaoCode, errors));
+        });
+    }
+
+    /**
+     * Healthy providers by increasing average latency, then unhealthy ones
+     * the same way. The sort is stable, so ties keep configuration order.
+     */
+    private List<String> ranked() {
+        double threshold = properties.healthThreshold();
+        Comparator<String> byLatency = Comparator.comparingDouble(name -> stats.get(name).latencyNanos());
+        List<String> healthy = new ArrayList<>();
+        List<String> unhealthy = new ArrayList<>();
+        stats.forEach((name, providerStats) ->
+                (providerStats.isHealthy(threshold) ? healthy : unhealthy).add(name));
+        healthy.sort(byLatency);
+        unhealthy.sort(byLatency);
+        healthy.addAll(unhealthy);
+        return healthy;
+    }
+
+    private Mono<Airport> inOrder(List<String> names, String icaoCode, Collection<Throwable> errors) {
+        if (names.isEmpty()) {
+            return Mono.error(failure(icaoCode, errors));
+        }
+        log.debug("Failing over lookup of {} to provider {}", icaoCode, names.getFirst());
+        return attempt(names.getFirst(), icaoCode, errors)
+                .onErrorResume(error -> inOrder(names.subList(1, names.size()), icaoCode, errors));
+    }
+
+    /**
+     * Sends a background copy of the lookup to every provider among the given
+     * ones that has not been tried for a probe interval.
+     */
+    private void probeIdle(String icaoCode, List<String> names) {
+        long now = nanoTime.getAsLong();
+        for (String name : names) {
+            if (stats.get(name).claimProbe(now, properties.probeInterval())) {
+                attempt(name, icaoCode, new ConcurrentLinkedQueue<>())
+                        .subscribe(airport -> { }, error -> { });
+            }
+        }
+    }
+
+    private Mono<Airport> attempt(String name, String icaoCode, Collection<Throwable> errors) {
+        AirportProvider provider = providers.get(name);
+        ProviderStats providerStats = stats.get(name);
+        return Mono.deferContextual(context -> {
+            long start = nanoTime.getAsLong();
+            providerStats.attemptStarted(start);
+            return provider.fetchAirport(icaoCode)
+                    .switchIfEmpty(Mono.error(() -> new AirportNotFoundException(icaoCode)))
+                    .timeout(properties.attemptTimeout())
+                    .doOnNext(airport -> {
+                        answered(name, providerStats, start, "success");
+                        AccessEvent.from(context).ifPresent(event -> event.answeredBy(name, nanoTime.getAsLong() - start));
+                    })
+                    .doOnError(error -> {
+                        if (error instanceof AirportNotFoundException) {
+                            answered(name, providerStats, start, "not_found");
+                        } else {
+                            log.warn("Provider {} failed to fetch {}: {}", name, icaoCode, error.toString());
+                            providerStats.recordFailure();
+                            record(name, start, "error");
+                        }
+                        errors.add(error);
+                    });
+        });
+    }
+
+    private void answered(String name, ProviderStats providerStats, long start, String outcome) {
+        providerStats.recordAnswer(nanoTime.getAsLong() - start);
+        record(name, start, outcome);
+    }
+
+    private void record(String name, long start, String outcome) {
+        Timer.builder(REQUESTS_METRIC)
+                .tag("provider", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanoTime.getAsLong() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * "Not found" only when every provider said so; otherwise the first real
+     * failure, which comes from the best-ranked failing provider.
+     */
+    private static Throwable failure(String icaoCode, Collection<Throwable> errors) {
+        return errors.stream()
+                .filter(error -> !(error instanceof AirportNotFoundException))
+                .findFirst()
+                .orElseGet(() -> new AirportNotFoundException(icaoCode));
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.b3kt.aviation.infrastructure.provider;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.domain.port.AviationDataPort;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cached AviationDataPort over the configured airport data providers.
+ * Routing, failover and provider health live in {@link AirportProviderRouter}.
+ */
+@RequiredArgsConstructor
+public class CompositeAviationDataPort implements AviationDataPort {
+
+    private final AirportProviderRouter router;
+
+    @Override
+    @Cacheable(value = CacheConfiguration.AIRPORT_CACHE, key = "#icaoCode")
+    public Mono<Airport> getAirportByIcao(String icaoCode) {
+        return router.fetchAirport(icaoCode);
+    }
+
+    @Override
+    @Cacheable(value = CacheConfiguration.AIRPORT_CACHE, key = "#icaoCode")
+    public Mono<Airport> raceAirportByIcao(String icaoCode) {
+        return router.raceAirport(icaoCode);
+    }
+}
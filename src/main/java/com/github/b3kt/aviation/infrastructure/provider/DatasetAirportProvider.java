@@ -0,0 +1,55 @@
+package com.github.b3kt.aviation.infrastructure.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.catalog.DatasetAirport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Provider answering from a local NDJSON dataset file, loaded once at
+ * startup. Airports missing from the dataset are reported as not found, so
+ * lookups fail over to the next provider.
+ */
+public class DatasetAirportProvider implements AirportProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetAirportProvider.class);
+
+    private final Map<String, Airport> airports;
+
+    public DatasetAirportProvider(Map<String, Airport> airports) {
+        this.airports = Map.copyOf(airports);
+    }
+
+    /**
+     * Loads the dataset at the given path. An unreadable file gives an empty
+     * provider rather than failing startup, like the nearby-search catalog.
+     */
+    public static DatasetAirportProvider load(Path path, ObjectMapper objectMapper) {
+        Map<String, Airport> airports = new HashMap<>();
+        if (!Files.isReadable(path)) {
+            log.warn("Provider dataset {} not readable, provider will answer nothing", path);
+            return new DatasetAirportProvider(airports);
+        }
+        try {
+            DatasetAirport.readAll(path, objectMapper).forEach(airport -> airports.put(airport.icaoCode(), airport));
+        } catch (IOException e) {
+            log.warn("Failed to read provider dataset {}: {}", path, e.getMessage());
+        }
+        return new DatasetAirportProvider(airports);
+    }
+
+    @Override
+    public Mono<Airport> fetchAirport(String icaoCode) {
+        Airport airport = airports.get(icaoCode);
+        return airport != null ? Mono.just(airport) : Mono.error(new AirportNotFoundException(icaoCode));
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.b3kt.aviation.infrastructure.provider;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the airport data providers as the "provider" health contributor:
+ * each provider's health score, average latency and whether lookups prefer
+ * it. DOWN once no provider is healthy, when lookups only get last-resort
+ * attempts. Not part of the readiness group, since lookups still fail over.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderHealthIndicator implements HealthIndicator {
+
+    private final AirportProviderRouter router;
+
+    @Override
+    public Health health() {
+        Map<String, ProviderStats.Snapshot> snapshot = router.snapshot();
+        Health.Builder builder = snapshot.values().stream().anyMatch(ProviderStats.Snapshot::healthy)
+                ? Health.up()
+                : Health.down();
+        snapshot.forEach((name, stats) -> {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("healthy", stats.healthy());
+            details.put("healthScore", Math.round(stats.healthScore() * 1000) / 1000.0);
+            details.put("latencyMillis", stats.latency() != null ? stats.latency().toNanos() / 1e6 : null);
+            builder.withDetail(name, details);
+        });
+        return builder.build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.b3kt.aviation.infrastructure.provider;
+
+import java.time.Duration;
+
+/**
+ * Rolling health and latency of one provider, as exponentially weighted
+ * moving averages. The health score moves towards 1 on every answer,
+ * including "not found", and towards 0 on every failure; the latency
+ * average only takes answered attempts. A provider that has not answered yet
+ * has no latency, so it ranks first and gets measured.
+ */
+final class ProviderStats {
+
+    private static final double WEIGHT = 0.2;
+
+    private double healthScore = 1.0;
+    private double latencyNanos = -1;
+    private long lastAttemptNanos;
+    private boolean attempted;
+
+    /**
+     * Point-in-time view of a provider's stats.
+     */
+    record Snapshot(double healthScore, Duration latency, boolean healthy) {
+    }
+
+    synchronized void attemptStarted(long nowNanos) {
+        lastAttemptNanos = nowNanos;
+        attempted = true;
+    }
+
+    synchronized void recordAnswer(long elapsedNanos) {
+        healthScore += WEIGHT * (1 - healthScore);
+        latencyNanos = latencyNanos < 0 ? elapsedNanos : latencyNanos + WEIGHT * (elapsedNanos - latencyNanos);
+    }
+
+    synchronized void recordFailure() {
+        healthScore -= WEIGHT * healthScore;
+    }
+
+    synchronized double healthScore() {
+        return healthScore;
+    }
+
+    /**
+     * Average latency used for ranking, 0 until the provider has answered.
+     */
+    synchronized double latencyNanos() {
+        return Math.max(latencyNanos, 0);
+    }
+
+    synchronized boolean isHealthy(double threshold) {
+        return healthScore >= threshold;
+    }
+
+    /**
+     * Claims a probe if the provider has never been tried or has gone unused
+     * for the probe interval. Only one caller wins until the next interval.
+     */
+    synchronized boolean claimProbe(long nowNanos, Duration probeInterval) {
+        if (attempted && nowNanos - lastAttemptNanos < probeInterval.toNanos()) {
+            return false;
+        }
+        attemptStarted(nowNanos);
+        return true;
+    }
+
+    synchronized Snapshot snapshot(double threshold) {
+        return new Snapshot(healthScore,
+                latencyNanos < 0 ? null : Duration.ofNanos((long) latencyNanos),
+                healthScore >= threshold);
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.b3kt.aviation.infrastructure.service;
+
+import net.iakovlev.timeshape.TimeZoneEngine;
+
+/**
+ * Holder of the timezone engine used in native images. The native build
+ * initializes this class at image build time, so the polygon data is parsed
+ * once by the build and stored in the image heap instead of being
+ * decompressed on every start. Never touched on the JVM.
+ */
+final class BuildTimeTimeZoneEngine {
+
+    static final TimeZoneEngine ENGINE = TimeZoneEngine.initialize();
+
+    private BuildTimeTimeZoneEngine() {
+    }
+}
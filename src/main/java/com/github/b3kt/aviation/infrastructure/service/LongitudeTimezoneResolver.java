@@ -1,11 +1,12 @@
 package com.github.b3kt.aviation.infrastructure.service;
 
+import com.github.b3kt.aviation.application.diagnostics.TimezoneResolutionEvent;
 import com.github.b3kt.aviation.domain.service.TimezoneResolver;
 import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
 
 import lombok.RequiredArgsConstructor;
-import net.iakovlev.timeshape.TimeZoneEngine;
 
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -22,7 +23,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class LongitudeTimezoneResolver implements TimezoneResolver {
 
-    private final TimeZoneEngine timeZoneEngine;
+    private final TimeZoneEngineProvider timeZoneEngine;
 
     /**
      * Returns the timezone for the given coordinates.
@@ -32,7 +33,7 @@ public class LongitudeTimezoneResolver implements TimezoneResolver {
      * @return ZoneId representing the timezone
      */
     private ZoneId getZoneId(BigDecimal latitude, BigDecimal longitude) {
-        Optional<ZoneId> zone = timeZoneEngine.query(
+        Optional<ZoneId> zone = timeZoneEngine.get().query(
                 latitude.doubleValue(),
                 longitude.doubleValue());
         return zone.orElse(ZoneId.of("UTC")); // fallback if unknown
@@ -56,12 +57,35 @@ public class LongitudeTimezoneResolver implements TimezoneResolver {
      * @param longitude the longitude
      * @return the timezone ID (e.g., "America/New_York", "UTC", "+05:00")
      */
-    @Cacheable(value = CacheConfiguration.TIMEZONE_CACHE, key = "#latitude + #longitude")
+    @Cacheable(value = CacheConfiguration.TIMEZONE_CACHE, key = CacheConfiguration.TIMEZONE_KEY)
     @Override
     public String resolve(BigDecimal latitude, BigDecimal longitude) {
         if (latitude == null || longitude == null) {
             return "UTC";
         }
-        return getZoneName(latitude, longitude);
+        TimezoneResolutionEvent event = new TimezoneResolutionEvent();
+        if (!event.isEnabled()) {
+            return getZoneName(latitude, longitude);
+        }
+        event.begin();
+        String zone = getZoneName(latitude, longitude);
+        event.latitude = latitude.doubleValue();
+        event.longitude = longitude.doubleValue();
+        event.zone = zone;
+        event.commit();
+        return zone;
+    }
+
+    /**
+     * Resolves the timezone ID again and replaces the cached one, which keeps
+     * being served until then.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @return the timezone ID
+     */
+    @CachePut(value = CacheConfiguration.TIMEZONE_CACHE, key = CacheConfiguration.TIMEZONE_KEY)
+    public String refresh(BigDecimal latitude, BigDecimal longitude) {
+        return resolve(latitude, longitude);
     }
 }
@@ -0,0 +1,25 @@
+package com.github.b3kt.aviation.infrastructure.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the timezone engine as the "timeZoneEngine" health contributor. It
+ * is part of the readiness group, so a pod receives no traffic while its
+ * engine is still loading and the first lookups would block waiting for it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimeZoneEngineHealthIndicator implements HealthIndicator {
+
+    private final TimeZoneEngineProvider timeZoneEngine;
+
+    @Override
+    public Health health() {
+        return (timeZoneEngine.isLoaded() ? Health.up() : Health.down())
+                .withDetail("loaded", timeZoneEngine.isLoaded())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.b3kt.aviation.infrastructure.service;
+
+import net.iakovlev.timeshape.TimeZoneEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NativeDetector;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Supplies the shared {@link TimeZoneEngine} without putting its load on the
+ * startup path. In a native image the engine is built during image generation
+ * and lives in the image heap. On the JVM its polygon data takes seconds to
+ * decompress, so it is loaded on a background thread once the application is
+ * ready to serve, or by the first lookup if that comes earlier; lookups
+ * arriving before it is loaded wait for it. Readiness stays DOWN until it is
+ * loaded (see {@link TimeZoneEngineHealthIndicator}), so routed traffic
+ * does not block on it.
+ */
+public class TimeZoneEngineProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeZoneEngineProvider.class);
+
+    private final CompletableFuture<TimeZoneEngine> engine = new CompletableFuture<>();
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    public TimeZoneEngineProvider() {
+        if (NativeDetector.inNativeImage()) {
+            loading.set(true);
+            engine.complete(BuildTimeTimeZoneEngine.ENGINE);
+        }
+    }
+
+    /**
+     * Starts loading the engine in the background, unless already started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().name("timezone-engine-loader").daemon().start(() -> {
+            long start = System.nanoTime();
+            try {
+                engine.complete(TimeZoneEngine.initialize());
+                log.info("Timezone engine loaded in {} ms", (System.nanoTime() - start) / 1_000_000);
+            } catch (Throwable e) {
+                log.error("Failed to load timezone engine", e);
+                engine.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Whether the engine has been loaded, so {@link #get()} no longer blocks.
+     */
+    public boolean isLoaded() {
+        return engine.isDone() && !engine.isCompletedExceptionally();
+    }
+
+    /**
+     * Returns the engine, blocking until it has been loaded.
+     */
+    public TimeZoneEngine get() {
+        preload();
+        return engine.join();
+    }
+}
@@ -0,0 +1,274 @@
+package com.github.b3kt.aviation.infrastructure.simulator;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.infrastructure.config.properties.SimulatorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import jakarta.annotation.PreDestroy;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Stand-in for api.aviationapi.com on its own port, serving the
+ * {@code /v1/airports?apt=} contract, including several comma-separated
+ * codes, from a corpus of airport responses. Responses take a log-normal
+ * time, a share of them fail with 500, recurring throttling phases answer
+ * 429 with Retry-After, and recurring brown-outs slow responses down and
+ * fail some with 503, so the client, circuit breaker and retries can be
+ * exercised offline.
+ * <p>
+ * With record-from set, airports missing from the corpus are fetched from
+ * that upstream, served, and saved to record-to for the next run.
+ */
+@Component
+@ConditionalOnProperty(prefix = "aviation.simulator", name = "enabled", havingValue = "true")
+public class UpstreamSimulator {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamSimulator.class);
+
+    static final String AIRPORTS_PATH = "/v1/airports";
+    private static final TypeReference<Map<String, List<JsonNode>>> CORPUS_TYPE = new TypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<Map<String, List<JsonNode>>> FETCHED_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+    /** Standard normal quantile of the 99th percentile. */
+    private static final double Z_99 = 2.3263;
+
+    /**
+     * How a simulated request was answered.
+     */
+    enum Outcome {
+        OK, NOT_FOUND, ERROR, THROTTLED, BROWN_OUT
+    }
+
+    private final SimulatorProperties properties;
+    private final ObjectMapper objectMapper;
+    private final WebClient recordClient;
+    private final LongSupplier nanoClock;
+    private final DoubleSupplier faultDraw;
+    private final long startNanos;
+    private final double latencySigma;
+    private final Map<String, List<JsonNode>> corpus = new ConcurrentHashMap<>();
+    private final Map<String, List<JsonNode>> recorded = new ConcurrentHashMap<>();
+    private final Map<Outcome, Counter> responses = new EnumMap<>(Outcome.class);
+    private final DisposableServer server;
+
+    @Autowired
+    public UpstreamSimulator(SimulatorProperties properties, ResourceLoader resourceLoader,
+            ObjectMapper objectMapper, WebClient.Builder webClientBuilder, MeterRegistry meterRegistry)
+            throws IOException {
+        this(properties, resourceLoader, objectMapper, webClientBuilder, meterRegistry, System::nanoTime,
+                () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * @param faultDraw draws the number between 0 and 1 deciding whether a response fails
+     */
+    UpstreamSimulator(SimulatorProperties properties, ResourceLoader resourceLoader, ObjectMapper objectMapper,
+            WebClient.Builder webClientBuilder, MeterRegistry meterRegistry, LongSupplier nanoClock,
+            DoubleSupplier faultDraw) throws IOException {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.recordClient = properties.recordFrom() == null || properties.recordFrom().isBlank()
+                ? null
+                : webClientBuilder.clone().baseUrl(properties.recordFrom()).build();
+        this.nanoClock = nanoClock;
+        this.faultDraw = faultDraw;
+        this.latencySigma = Math.log((double) properties.latency().p99().toNanos()
+                / Math.max(properties.latency().median().toNanos(), 1)) / Z_99;
+        for (Outcome outcome : Outcome.values()) {
+            responses.put(outcome, Counter.builder("aviation.simulator.responses")
+                    .description("Responses of the upstream simulator")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+
+        try (InputStream in = resourceLoader.getResource(properties.corpus()).getInputStream()) {
+            corpus.putAll(objectMapper.readValue(in, CORPUS_TYPE));
+        }
+        Path recordTo = Path.of(properties.recordTo());
+        if (Files.isReadable(recordTo)) {
+            recorded.putAll(objectMapper.readValue(recordTo.toFile(), CORPUS_TYPE));
+            corpus.putAll(recorded);
+        }
+
+        this.startNanos = nanoClock.getAsLong();
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(properties.port())
+                .route(routes -> routes.get(AIRPORTS_PATH, this::airports))
+                .bindNow();
+        log.info("Upstream simulator serving {} airports on port {}", corpus.size(), server.port());
+    }
+
+    /**
+     * Port the simulator listens on.
+     */
+    public int port() {
+        return server.port();
+    }
+
+    @PreDestroy
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Publisher<Void> airports(HttpServerRequest request, HttpServerResponse response) {
+        List<String> codes = new QueryStringDecoder(request.uri()).parameters().getOrDefault("apt", List.of())
+                .stream()
+                .flatMap(codeList -> Arrays.stream(codeList.split(",")))
+                .map(code -> code.trim().toUpperCase(Locale.ROOT))
+                .filter(code -> !code.isEmpty())
+                .distinct()
+                .toList();
+        Duration elapsed = Duration.ofNanos(nanoClock.getAsLong() - startNanos);
+
+        SimulatorProperties.Phase throttling = properties.throttling();
+        if (throttling.activeAt(elapsed)) {
+            long retryAfterSeconds = Math.max(1, (throttling.remainingAt(elapsed).toMillis() + 999) / 1000);
+            response.header(HttpHeaderNames.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            return error(response, HttpResponseStatus.TOO_MANY_REQUESTS, Outcome.THROTTLED);
+        }
+
+        boolean brownOut = properties.brownOut().phase().activeAt(elapsed);
+        double random = faultDraw.getAsDouble();
+        return Mono.delay(latency(brownOut))
+                .then(Mono.defer(() -> {
+                    if (brownOut && random < properties.brownOut().errorRate()) {
+                        return Mono.from(error(response, HttpResponseStatus.SERVICE_UNAVAILABLE, Outcome.BROWN_OUT));
+                    }
+                    if (random < properties.errorRate()) {
+                        return Mono.from(error(response, HttpResponseStatus.INTERNAL_SERVER_ERROR, Outcome.ERROR));
+                    }
+                    return lookup(codes).flatMap(airports -> Mono.from(respond(response, codes, airports)));
+                }));
+    }
+
+    /**
+     * Samples a response time, median * e^(sigma * z), so that the
+     * configured p99 is the 99th percentile.
+     */
+    Duration latency(boolean brownOut) {
+        double nanos = properties.latency().median().toNanos()
+                * Math.exp(latencySigma * ThreadLocalRandom.current().nextGaussian());
+        if (brownOut) {
+            nanos *= properties.brownOut().latencyMultiplier();
+        }
+        return Duration.ofNanos((long) nanos);
+    }
+
+    private Mono<Map<String, List<JsonNode>>> lookup(List<String> codes) {
+        List<String> missing = codes.stream().filter(code -> !corpus.containsKey(code)).toList();
+        if (missing.isEmpty() || recordClient == null) {
+            return Mono.just(corpus);
+        }
+        return recordClient.get()
+                .uri(uri -> uri.path(AIRPORTS_PATH).queryParam("apt", String.join(",", missing)).build())
+                .retrieve()
+                .bodyToMono(FETCHED_TYPE)
+                .flatMap(this::record)
+                .thenReturn(corpus)
+                .onErrorResume(error -> {
+                    log.warn("Could not record {} from {}: {}", missing, properties.recordFrom(), error.getMessage());
+                    return Mono.just(corpus);
+                });
+    }
+
+    /**
+     * Adds fetched airports to the corpus and saves them to record-to, off
+     * the event loop.
+     */
+    private Mono<Void> record(Map<String, List<JsonNode>> fetched) {
+        fetched.forEach((code, records) -> {
+            if (records != null && !records.isEmpty()) {
+                recorded.put(code.toUpperCase(Locale.ROOT), records);
+                corpus.put(code.toUpperCase(Locale.ROOT), records);
+            }
+        });
+        return Mono.<Void>fromRunnable(this::saveRecorded)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void saveRecorded() {
+        synchronized (recorded) {
+            try {
+                Path recordTo = Path.of(properties.recordTo());
+                if (recordTo.getParent() != null) {
+                    Files.createDirectories(recordTo.getParent());
+                }
+                objectMapper.writeValue(recordTo.toFile(), recorded);
+            } catch (IOException e) {
+                log.warn("Could not save recorded airports to {}: {}", properties.recordTo(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Answers with a record list per requested code, empty for unknown
+     * codes, or 404 when none of them is known.
+     */
+    private Publisher<Void> respond(HttpServerResponse response, List<String> codes,
+            Map<String, List<JsonNode>> airports) {
+        Map<String, List<JsonNode>> body = new LinkedHashMap<>();
+        boolean found = false;
+        for (String code : codes) {
+            List<JsonNode> records = airports.getOrDefault(code, List.of());
+            body.put(code, records);
+            found |= !records.isEmpty();
+        }
+        if (!found) {
+            return error(response, HttpResponseStatus.NOT_FOUND, Outcome.NOT_FOUND);
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            responses.get(Outcome.OK).increment();
+            return response.status(HttpResponseStatus.OK)
+                    .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                    .sendByteArray(Mono.just(json));
+        } catch (IOException e) {
+            return error(response, HttpResponseStatus.INTERNAL_SERVER_ERROR, Outcome.ERROR);
+        }
+    }
+
+    private Publisher<Void> error(HttpServerResponse response, HttpResponseStatus status, Outcome outcome) {
+        responses.get(outcome).increment();
+        return response.status(status)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendString(Mono.just("{\"error\":\"" + status.reasonPhrase() + "\"}"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.b3kt.aviation.infrastructure.tracing;
+
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Head sampler holding new traces to a target number per second, whatever
+ * the request rate. Each second it sets the sampling probability to the
+ * target divided by the number of traces started in the previous second,
+ * which spreads the sampled traces over the second, and it stops sampling
+ * for the rest of a second once the target is reached, which caps bursts.
+ * Cheap requests therefore stop paying for spans as soon as load rises.
+ */
+public class AdaptiveSampler extends Sampler {
+
+    static final String DECISIONS_METRIC = "aviation.tracing.sampler.decisions";
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int targetPerSecond;
+    private final LongSupplier nanoTime;
+    private final Counter sampled;
+    private final Counter dropped;
+    private final AtomicLong windowStart;
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger sampledInWindow = new AtomicInteger();
+    private volatile double probability = 1.0;
+
+    public AdaptiveSampler(int targetPerSecond, MeterRegistry meterRegistry) {
+        this(targetPerSecond, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveSampler(int targetPerSecond, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.targetPerSecond = targetPerSecond;
+        this.nanoTime = nanoTime;
+        this.windowStart = new AtomicLong(nanoTime.getAsLong());
+        this.sampled = Counter.builder(DECISIONS_METRIC)
+                .description("Head sampling decisions for new traces")
+                .tag("decision", "sampled")
+                .register(meterRegistry);
+        this.dropped = Counter.builder(DECISIONS_METRIC)
+                .description("Head sampling decisions for new traces")
+                .tag("decision", "dropped")
+                .register(meterRegistry);
+        Gauge.builder("aviation.tracing.sampler.probability", this, AdaptiveSampler::probability)
+                .description("Current head sampling probability")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isSampled(long traceId) {
+        rollWindow();
+        started.incrementAndGet();
+        boolean decision = ThreadLocalRandom.current().nextDouble() < probability
+                && sampledInWindow.incrementAndGet() <= targetPerSecond;
+        (decision ? sampled : dropped).increment();
+        return decision;
+    }
+
+    public double probability() {
+        return probability;
+    }
+
+    /**
+     * Starts a new window once a second has passed, deriving its probability
+     * from the traces started in the window that ends.
+     */
+    private void rollWindow() {
+        long now = nanoTime.getAsLong();
+        long start = windowStart.get();
+        if (now - start < WINDOW_NANOS || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        int previous = started.getAndSet(0);
+        sampledInWindow.set(0);
+        probability = previous <= targetPerSecond ? 1.0 : (double) targetPerSecond / previous;
+    }
+}
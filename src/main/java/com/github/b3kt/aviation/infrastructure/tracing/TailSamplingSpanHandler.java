@@ -0,0 +1,143 @@
+package com.github.b3kt.aviation.infrastructure.tracing;
+
+import brave.Span;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the traces worth seeing among those the head sampler dropped. Such
+ * traces are recorded locally only. When the local root span ends, the trace
+ * is passed on, marked sampled, to the span handlers after this one if it
+ * failed, was slow or called out of the node (any client span: the upstream
+ * API or a cluster peer). Otherwise it is dropped, which is what happens to
+ * healthy cache hits.
+ * <p>
+ * Only the spans that decide that are held until the local root ends:
+ * client spans and failed ones. Healthy local spans in between are dropped
+ * as they end, so a kept trace shows the request, its outgoing calls and
+ * what failed, and a healthy cache hit buffers nothing at all.
+ * Runs first among span handlers; traces sampled at the head pass through
+ * untouched.
+ */
+public class TailSamplingSpanHandler extends SpanHandler {
+
+    static final String DECISIONS_METRIC = "aviation.tracing.tail.decisions";
+    private static final String SERVER_ERROR_OUTCOME = "SERVER_ERROR";
+
+    /**
+     * Why a trace not sampled at the head was kept, or that it was not.
+     */
+    enum Decision {
+        ERROR, SLOW, UPSTREAM, DROPPED
+    }
+
+    private final long slowThresholdMicros;
+    private final ObjectProvider<SpanHandler> spanHandlers;
+    private final Cache<Long, Queue<Finished>> pending;
+    private final Map<Decision, Counter> decisions = new EnumMap<>(Decision.class);
+    private volatile List<SpanHandler> downstream;
+
+    private record Finished(TraceContext context, MutableSpan span) {
+    }
+
+    public TailSamplingSpanHandler(Duration slowThreshold, int maxBufferedTraces,
+            ObjectProvider<SpanHandler> spanHandlers, MeterRegistry meterRegistry) {
+        this.slowThresholdMicros = TimeUnit.NANOSECONDS.toMicros(slowThreshold.toNanos());
+        this.spanHandlers = spanHandlers;
+        // Spans finishing after their local root would otherwise wait forever
+        this.pending = Caffeine.newBuilder()
+                .maximumSize(maxBufferedTraces)
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build();
+        for (Decision decision : Decision.values()) {
+            decisions.put(decision, Counter.builder(DECISIONS_METRIC)
+                    .description("Tail decisions for traces not sampled at the head")
+                    .tag("decision", decision.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("aviation.tracing.tail.pending", pending, Cache::estimatedSize)
+                .description("Traces whose spans await the tail decision")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (Boolean.TRUE.equals(context.sampled())) {
+            return true;
+        }
+        if (cause != Cause.FINISHED) {
+            return false;
+        }
+        if (!context.isLocalRoot()) {
+            if (span.kind() == Span.Kind.CLIENT || failed(span)) {
+                pending.get(context.localRootId(), id -> new ConcurrentLinkedQueue<>())
+                        .add(new Finished(context, span));
+            }
+            return false;
+        }
+        Queue<Finished> held = pending.asMap().remove(context.localRootId());
+        Decision decision = decide(span, held == null ? List.of() : held);
+        decisions.get(decision).increment();
+        if (decision != Decision.DROPPED) {
+            List<SpanHandler> handlers = downstream();
+            if (held != null) {
+                held.forEach(finished -> export(handlers, finished.context(), finished.span()));
+            }
+            export(handlers, context, span);
+        }
+        return false;
+    }
+
+    private Decision decide(MutableSpan root, Collection<Finished> held) {
+        if (failed(root) || held.stream().anyMatch(finished -> failed(finished.span()))) {
+            return Decision.ERROR;
+        }
+        if (root.finishTimestamp() - root.startTimestamp() >= slowThresholdMicros) {
+            return Decision.SLOW;
+        }
+        if (held.stream().anyMatch(finished -> finished.span().kind() == Span.Kind.CLIENT)) {
+            return Decision.UPSTREAM;
+        }
+        return Decision.DROPPED;
+    }
+
+    private static void export(List<SpanHandler> handlers, TraceContext context, MutableSpan span) {
+        TraceContext sampled = context.toBuilder().sampled(true).build();
+        for (SpanHandler handler : handlers) {
+            if (!handler.end(sampled, span, Cause.FINISHED)) {
+                break;
+            }
+        }
+    }
+
+    private static boolean failed(MutableSpan span) {
+        return span.error() != null
+                || span.tag("error") != null
+                || SERVER_ERROR_OUTCOME.equals(span.tag("outcome"));
+    }
+
+    private List<SpanHandler> downstream() {
+        List<SpanHandler> handlers = downstream;
+        if (handlers == null) {
+            handlers = spanHandlers.orderedStream().filter(handler -> handler != this).toList();
+            downstream = handlers;
+        }
+        return handlers;
+    }
+}
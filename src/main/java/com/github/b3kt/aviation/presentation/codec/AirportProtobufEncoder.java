@@ -0,0 +1,191 @@
+package com.github.b3kt.aviation.presentation.codec;
+
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import com.github.b3kt.aviation.presentation.dto.ErrorResponse;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes airport and error responses in the Protobuf wire format described
+ * by {@code proto/airport.proto}, without generated message classes: the
+ * schema is small and stable, and writing the response records directly
+ * avoids building an intermediate message per response. Coordinates are
+ * written as doubles rather than decimal strings.
+ * A single value is written as a plain message, a stream as length-delimited
+ * messages.
+ */
+public class AirportProtobufEncoder extends AbstractEncoder<Object> implements HttpMessageEncoder<Object> {
+
+    public static final List<MediaType> MEDIA_TYPES = List.of(
+            new MediaType("application", "x-protobuf"),
+            new MediaType("application", "protobuf"));
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    public AirportProtobufEncoder() {
+        super(MEDIA_TYPES.toArray(MimeType[]::new));
+    }
+
+    /**
+     * Also accepts {@code Object}, which codec registration probes to tell
+     * object writers from typed ones. Typed writers are offered before the
+     * JSON encoder; as an object writer this one can be ordered after it.
+     * Bodies declared as {@code Object} are resolved to their actual class
+     * before a writer is chosen.
+     */
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        Class<?> type = elementType.toClass();
+        return (type == Object.class
+                || AirportResponse.class.isAssignableFrom(type)
+                || ErrorResponse.class.isAssignableFrom(type))
+                && supportsMimeType(mimeType);
+    }
+
+    private boolean supportsMimeType(MimeType mimeType) {
+        if (mimeType == null) {
+            return true;
+        }
+        return getEncodableMimeTypes().stream().anyMatch(supported -> supported.isCompatibleWith(mimeType));
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+            Publisher<?> inputStream,
+            DataBufferFactory bufferFactory,
+            ResolvableType elementType,
+            MimeType mimeType,
+            Map<String, Object> hints) {
+        if (inputStream instanceof Mono<?> mono) {
+            return Flux.from(mono.map(value -> bufferFactory.wrap(toByteArray(value, false))));
+        }
+        return Flux.from(inputStream).map(value -> bufferFactory.wrap(toByteArray(value, true)));
+    }
+
+    @Override
+    public DataBuffer encodeValue(
+            Object value,
+            DataBufferFactory bufferFactory,
+            ResolvableType valueType,
+            MimeType mimeType,
+            Map<String, Object> hints) {
+        return bufferFactory.wrap(toByteArray(value, false));
+    }
+
+    @Override
+    public List<MediaType> getStreamingMediaTypes() {
+        return MEDIA_TYPES;
+    }
+
+    static byte[] toByteArray(Object value, boolean delimited) {
+        int size = switch (value) {
+            case AirportResponse airport -> airportSize(airport);
+            case ErrorResponse error -> errorSize(error);
+            default -> throw new EncodingException("Unsupported type for Protobuf encoding: " + value.getClass());
+        };
+        byte[] bytes = new byte[size + (delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) : 0)];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        try {
+            if (delimited) {
+                output.writeUInt32NoTag(size);
+            }
+            if (value instanceof AirportResponse airport) {
+                writeAirport(output, airport);
+            } else {
+                writeError(output, (ErrorResponse) value);
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new EncodingException("Failed to encode Protobuf response", e);
+        }
+        return bytes;
+    }
+
+    private static int airportSize(AirportResponse airport) {
+        int size = stringSize(1, airport.icaoCode())
+                + stringSize(2, airport.faaCode())
+                + stringSize(3, airport.name())
+                + stringSize(4, airport.city())
+                + stringSize(5, airport.country())
+                + stringSize(7, airport.timezone());
+        if (airport.coordinates() != null) {
+            int coordinatesSize = coordinatesSize();
+            size += CodedOutputStream.computeTagSize(6)
+                    + CodedOutputStream.computeUInt32SizeNoTag(coordinatesSize)
+                    + coordinatesSize;
+        }
+        if (airport.elevationFeet() != null) {
+            size += CodedOutputStream.computeSInt32Size(8, airport.elevationFeet());
+        }
+        return size;
+    }
+
+    private static int coordinatesSize() {
+        return CodedOutputStream.computeDoubleSize(1, 0) + CodedOutputStream.computeDoubleSize(2, 0);
+    }
+
+    private static void writeAirport(CodedOutputStream output, AirportResponse airport) throws IOException {
+        writeString(output, 1, airport.icaoCode());
+        writeString(output, 2, airport.faaCode());
+        writeString(output, 3, airport.name());
+        writeString(output, 4, airport.city());
+        writeString(output, 5, airport.country());
+        if (airport.coordinates() != null) {
+            output.writeTag(6, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(coordinatesSize());
+            output.writeDouble(1, airport.coordinates().latitude().doubleValue());
+            output.writeDouble(2, airport.coordinates().longitude().doubleValue());
+        }
+        writeString(output, 7, airport.timezone());
+        if (airport.elevationFeet() != null) {
+            output.writeSInt32(8, airport.elevationFeet());
+        }
+    }
+
+    private static int errorSize(ErrorResponse error) {
+        return stringSize(1, error.timestamp() != null ? TIMESTAMP_FORMAT.format(error.timestamp()) : null)
+                + (error.status() != 0 ? CodedOutputStream.computeInt32Size(2, error.status()) : 0)
+                + stringSize(3, error.error())
+                + stringSize(4, error.message())
+                + stringSize(5, error.path());
+    }
+
+    private static void writeError(CodedOutputStream output, ErrorResponse error) throws IOException {
+        writeString(output, 1, error.timestamp() != null ? TIMESTAMP_FORMAT.format(error.timestamp()) : null);
+        if (error.status() != 0) {
+            output.writeInt32(2, error.status());
+        }
+        writeString(output, 3, error.error());
+        writeString(output, 4, error.message());
+        writeString(output, 5, error.path());
+    }
+
+    /**
+     * Proto3 strings are omitted when empty, so null and "" both map to absent.
+     */
+    private static int stringSize(int field, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            output.writeString(field, value);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.b3kt.aviation.presentation.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.b3kt.aviation.presentation.codec.AirportProtobufEncoder;
+import com.github.b3kt.aviation.presentation.codec.CborHttpEncoder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary response formats, selected through the Accept header:
+ * CBOR ({@code application/cbor}), Smile ({@code application/x-smile}) and
+ * Protobuf ({@code application/x-protobuf}, airport and error responses only).
+ * CBOR and Smile mappers are built from the application's Jackson settings,
+ * so they produce the same fields as the JSON responses.
+ */
+@Configuration
+public class CodecConfiguration {
+
+    private static final MediaType SMILE = new MediaType("application", "x-smile");
+
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(
+            ObjectMapper objectMapper,
+            ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder) {
+        ObjectMapper cborMapper = mapperBuilder.getObject().factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = mapperBuilder.getObject().factory(new SmileFactory()).build();
+        return configurer -> {
+            // Without a specific Accept header the first capable writer wins, and custom object writers
+            // precede the default ones: JSON is registered first so it remains the default format
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2JsonEncoder(objectMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new CborHttpEncoder(cborMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+            configurer.customCodecs().register(new AirportProtobufEncoder());
+            // Without an explicit mime type these codecs claim application/json
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE));
+        };
+    }
+}
@@ -1,8 +1,18 @@
 package com.github.b3kt.aviation.presentation.controller;
 
+import com.github.b3kt.aviation.application.command.ComputeDistancesCommand;
+import com.github.b3kt.aviation.application.command.ExportAirportsCommand;
+import com.github.b3kt.aviation.application.command.FindNearbyAirportsCommand;
 import com.github.b3kt.aviation.application.command.GetAirportByIcaoCommand;
+import com.github.b3kt.aviation.application.command.SearchAirportsCommand;
+import com.github.b3kt.aviation.application.dto.AirportDistancesResponse;
 import com.github.b3kt.aviation.application.dto.AirportResponse;
+import com.github.b3kt.aviation.application.dto.AirportSearchResponse;
+import com.github.b3kt.aviation.application.dto.NearbyAirportsResponse;
 import com.github.b3kt.aviation.application.executor.CommandExecutor;
+import com.github.b3kt.aviation.presentation.dto.AirportDistancesRequest;
+import com.github.b3kt.aviation.presentation.export.AirportExportWriter;
+import com.github.b3kt.aviation.presentation.export.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,13 +24,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * REST controller for airport-related endpoints.
- * Provides access to airport information via ICAO code lookup.
+ * Provides access to airport information via ICAO code lookup, text search,
+ * nearby-airport search by position, route metrics between airports and a
+ * full export.
  */
 @RestController
 @RequestMapping("/api/v1/airports")
@@ -30,6 +47,7 @@ import reactor.core.publisher.Mono;
 public class AirportController {
 
     private final CommandExecutor commandExecutor;
+    private final AirportExportWriter airportExportWriter;
 
     @GetMapping("/{icao}")
     @Operation(summary = "Get airport by ICAO code", description = "Retrieves detailed airport information using the 4-character ICAO code")
@@ -41,13 +59,88 @@ public class AirportController {
             @ApiResponse(responseCode = "503", description = "Service unavailable (circuit breaker open)")
     })
     public Mono<ResponseEntity<AirportResponse>> getAirportByIcao(
-            @Parameter(description = "4-character ICAO code (e.g., KJFK, EGLL, YSSY)", example = "KJFK") @PathVariable String icao) {
-        log.info("Received request for airport with ICAO: {}", icao);
+            @Parameter(description = "4-character ICAO code (e.g., KJFK, EGLL, YSSY)", example = "KJFK") @PathVariable String icao,
+            @Parameter(description = "On a cache miss, ask the two fastest data providers at once and return the first answer") @RequestHeader(value = "X-Latency-Critical", defaultValue = "false") boolean latencyCritical) {
+        log.debug("Received request for airport with ICAO: {}", icao);
 
-        GetAirportByIcaoCommand command = new GetAirportByIcaoCommand(icao);
+        GetAirportByIcaoCommand command = new GetAirportByIcaoCommand(icao, latencyCritical);
 
         return commandExecutor.execute(command)
-                .map(ResponseEntity::ok)
-                .doOnSuccess(response -> log.info("Successfully processed request for ICAO: {}", icao));
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Find nearby airports", description = "Finds the airports nearest to a position, ordered by great-circle distance. Searches the airports known to this service: the configured dataset plus every airport looked up so far")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Nearby airports, nearest first", content = @Content(schema = @Schema(implementation = NearbyAirportsResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid position, radius or limit")
+    })
+    public Mono<ResponseEntity<NearbyAirportsResponse>> findNearbyAirports(
+            @Parameter(description = "Latitude in decimal degrees", example = "40.6413") @RequestParam double lat,
+            @Parameter(description = "Longitude in decimal degrees", example = "-73.7781") @RequestParam double lon,
+            @Parameter(description = "Search radius in nautical miles; nearest airports at any distance when omitted", example = "50") @RequestParam(required = false) Double radiusNm,
+            @Parameter(description = "Maximum number of airports to return (1-" + FindNearbyAirportsCommand.MAX_LIMIT + ")", example = "10") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Received nearby request: lat={}, lon={}, radiusNm={}, limit={}", lat, lon, radiusNm, limit);
+
+        FindNearbyAirportsCommand command = new FindNearbyAirportsCommand(lat, lon, radiusNm, limit);
+
+        return commandExecutor.execute(command)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search airports", description = "Autocompletes airports by ICAO code, FAA identifier, name or city, tolerating small typos. Searches the airports known to this service: the configured dataset plus every airport looked up so far")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching airports, best match first", content = @Content(schema = @Schema(implementation = AirportSearchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or too long query, or invalid limit")
+    })
+    public Mono<ResponseEntity<AirportSearchResponse>> searchAirports(
+            @Parameter(description = "Search text, matched against the start of each word", example = "heathrow") @RequestParam String q,
+            @Parameter(description = "Maximum number of airports to return (1-" + SearchAirportsCommand.MAX_LIMIT + ")", example = "10") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Received search request: q={}, limit={}", q, limit);
+
+        SearchAirportsCommand command = new SearchAirportsCommand(q, limit);
+
+        return commandExecutor.execute(command)
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/distances")
+    @Operation(summary = "Compute route metrics", description = "Computes great-circle distance, initial bearing and timezone difference, and optionally the WGS-84 ellipsoid distance, for every airport in from against every airport in to (a dense matrix), or for a list of pairs. Airports are resolved through the cache like single lookups; unknown airports are listed in unresolved")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Route metrics", content = @Content(schema = @Schema(implementation = AirportDistancesResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Neither or both of from/to and pairs, too many airports or pairs, or an invalid ICAO code"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable (circuit breaker open)")
+    })
+    public Mono<ResponseEntity<AirportDistancesResponse>> computeDistances(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "from and to (up to " + ComputeDistancesCommand.MAX_MATRIX_SIDE + " airports each), or pairs (up to " + ComputeDistancesCommand.MAX_PAIRS + "); ellipsoid adds Vincenty distances") @RequestBody AirportDistancesRequest request) {
+        ComputeDistancesCommand command = request.toCommand();
+        log.debug("Received distances request: matrix={}, ellipsoid={}", command.isMatrix(), command.ellipsoid());
+
+        return commandExecutor.execute(command)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all airports", description = "Streams every airport known to this service as NDJSON (default) or CSV, chosen by the format parameter or the Accept header. Served from the in-memory catalog only; never calls the upstream API")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Airport stream, one airport per line"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format")
+    })
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportAirports(
+            @Parameter(description = "Output format: ndjson or csv; overrides the Accept header", example = "csv") @RequestParam(required = false) String format,
+            ServerWebExchange exchange) {
+        ExportFormat exportFormat = ExportFormat.resolve(format, exchange.getRequest().getHeaders().getAccept());
+        log.debug("Received export request: format={}", exportFormat);
+
+        return commandExecutor.execute(new ExportAirportsCommand())
+                .map(airports -> ResponseEntity.ok()
+                        .contentType(exportFormat.mediaType())
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename("airports." + exportFormat.extension())
+                                .build()
+                                .toString())
+                        .body(airportExportWriter.write(
+                                airports, exportFormat, exchange.getResponse().bufferFactory())));
     }
 }
@@ -0,0 +1,19 @@
+package com.github.b3kt.aviation.presentation.dto;
+
+import com.github.b3kt.aviation.application.command.ComputeDistancesCommand;
+
+import java.util.List;
+
+/**
+ * Request body of a route metrics query: from and to for a matrix, or pairs.
+ */
+public record AirportDistancesRequest(
+        List<String> from,
+        List<String> to,
+        List<ComputeDistancesCommand.Pair> pairs,
+        Boolean ellipsoid) {
+
+    public ComputeDistancesCommand toCommand() {
+        return new ComputeDistancesCommand(from, to, pairs, Boolean.TRUE.equals(ellipsoid));
+    }
+}
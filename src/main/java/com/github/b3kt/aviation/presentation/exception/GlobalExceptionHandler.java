@@ -2,6 +2,7 @@ package com.github.b3kt.aviation.presentation.exception;
 
 import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
 import com.github.b3kt.aviation.domain.exception.InvalidIcaoCodeException;
+import com.github.b3kt.aviation.domain.exception.InvalidQueryException;
 import com.github.b3kt.aviation.presentation.dto.ErrorResponse;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
@@ -12,8 +13,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.NotAcceptableStatusException;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
 
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -51,6 +56,45 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(InvalidQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQuery(
+            InvalidQueryException ex,
+            ServerWebExchange exchange) {
+        log.warn("Invalid query: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Request",
+                ex.getMessage(),
+                exchange.getRequest().getPath().value());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidInput(
+            ServerWebInputException ex,
+            ServerWebExchange exchange) {
+        log.warn("Invalid request input: {}", ex.getReason());
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Request",
+                ex.getReason(),
+                exchange.getRequest().getPath().value());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(NotAcceptableStatusException.class)
+    public ResponseEntity<ErrorResponse> handleNotAcceptable(
+            NotAcceptableStatusException ex,
+            ServerWebExchange exchange) {
+        log.warn("Not acceptable: {}", ex.getReason());
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.NOT_ACCEPTABLE.value(),
+                "Not Acceptable",
+                "Supported media types: " + ex.getSupportedMediaTypes(),
+                exchange.getRequest().getPath().value());
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(error);
+    }
+
     @ExceptionHandler(CallNotPermittedException.class)
     public ResponseEntity<ErrorResponse> handleCircuitBreakerOpen(
             CallNotPermittedException ex,
@@ -64,6 +108,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(
+            RejectedExecutionException ex,
+            ServerWebExchange exchange) {
+        log.warn("Request rejected: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Service is overloaded. Please try again later.",
+                exchange.getRequest().getPath().value());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(RequestNotPermitted.class)
     public ResponseEntity<ErrorResponse> handleRateLimitExceeded(
             RequestNotPermitted ex,
@@ -103,6 +160,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(error);
     }
 
+    /**
+     * Keeps the status of other web errors, such as 415 for a missing content
+     * type or 400 from an actuator operation.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatus(
+            ResponseStatusException ex,
+            ServerWebExchange exchange) {
+        log.warn("Request rejected with {}: {}", ex.getStatusCode(), ex.getReason());
+        HttpStatus status = HttpStatus.resolve(ex.getStatusCode().value());
+        ErrorResponse error = ErrorResponse.of(
+                ex.getStatusCode().value(),
+                status != null ? status.getReasonPhrase() : ex.getStatusCode().toString(),
+                ex.getReason(),
+                exchange.getRequest().getPath().value());
+        return ResponseEntity.status(ex.getStatusCode()).body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex,
@@ -0,0 +1,91 @@
+package com.github.b3kt.aviation.presentation.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodes a stream of airports as NDJSON or CSV body chunks.
+ * Airports are encoded in batches of {@value #CHUNK_SIZE}, one buffer per
+ * batch, so the transfer is chunked with a few kilobytes per write and at
+ * most one batch held in memory however large the stream.
+ */
+@Component
+public class AirportExportWriter {
+
+    static final int CHUNK_SIZE = 256;
+
+    static final String CSV_HEADER =
+            "icaoCode,faaCode,name,city,country,latitude,longitude,timezone,elevationFeet\n";
+
+    private final ObjectWriter jsonWriter;
+
+    public AirportExportWriter(ObjectMapper objectMapper) {
+        this.jsonWriter = objectMapper.writerFor(AirportResponse.class);
+    }
+
+    public Flux<DataBuffer> write(Flux<AirportResponse> airports, ExportFormat format, DataBufferFactory bufferFactory) {
+        Flux<DataBuffer> chunks = airports
+                .buffer(CHUNK_SIZE)
+                .map(batch -> encode(batch, format, bufferFactory));
+        if (format == ExportFormat.CSV) {
+            return Flux.concat(
+                    Flux.defer(() -> Flux.just(bufferFactory.wrap(CSV_HEADER.getBytes(StandardCharsets.UTF_8)))),
+                    chunks);
+        }
+        return chunks;
+    }
+
+    private DataBuffer encode(List<AirportResponse> batch, ExportFormat format, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(batch.size() * 256);
+        try {
+            for (AirportResponse airport : batch) {
+                byte[] line = format == ExportFormat.CSV
+                        ? csvLine(airport).getBytes(StandardCharsets.UTF_8)
+                        : jsonWriter.writeValueAsBytes(airport);
+                buffer.write(line);
+                buffer.write((byte) '\n');
+            }
+            return buffer;
+        } catch (JsonProcessingException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw new IllegalStateException("Failed to encode airport export chunk", e);
+        }
+    }
+
+    static String csvLine(AirportResponse airport) {
+        AirportResponse.Coordinates coordinates = airport.coordinates();
+        return String.join(",",
+                csvField(airport.icaoCode()),
+                csvField(airport.faaCode()),
+                csvField(airport.name()),
+                csvField(airport.city()),
+                csvField(airport.country()),
+                coordinates != null ? coordinates.latitude().toPlainString() : "",
+                coordinates != null ? coordinates.longitude().toPlainString() : "",
+                csvField(airport.timezone()),
+                airport.elevationFeet() != null ? airport.elevationFeet().toString() : "");
+    }
+
+    /**
+     * Quotes a field when it contains a separator, quote or line break, per RFC 4180.
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.b3kt.aviation.presentation.export;
+
+import com.github.b3kt.aviation.domain.exception.InvalidQueryException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Output formats of the airport export.
+ */
+public enum ExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Picks the format from an explicit {@code format} parameter, else from
+     * the first listed acceptable media type that names one, else NDJSON.
+     */
+    public static ExportFormat resolve(String format, List<MediaType> accept) {
+        if (format != null && !format.isBlank()) {
+            for (ExportFormat candidate : values()) {
+                if (candidate.extension.equals(format.trim().toLowerCase(Locale.ROOT))) {
+                    return candidate;
+                }
+            }
+            throw new InvalidQueryException("Format must be one of: ndjson, csv");
+        }
+        for (MediaType mediaType : accept) {
+            for (ExportFormat candidate : values()) {
+                if (mediaType.isConcrete() && mediaType.isCompatibleWith(candidate.mediaType)) {
+                    return candidate;
+                }
+            }
+        }
+        return NDJSON;
+    }
+}
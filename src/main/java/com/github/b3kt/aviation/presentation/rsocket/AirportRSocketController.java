@@ -0,0 +1,70 @@
+package com.github.b3kt.aviation.presentation.rsocket;
+
+import com.github.b3kt.aviation.application.command.GetAirportByIcaoCommand;
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import com.github.b3kt.aviation.application.executor.CommandExecutor;
+import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
+import com.github.b3kt.aviation.domain.exception.InvalidIcaoCodeException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * RSocket endpoint for internal services that look up many airports over one
+ * persistent, multiplexed connection. Every route goes through the same
+ * command executor as the REST API, so caching and resilience apply alike.
+ * Streams honour the requester's demand: at most {@link #STREAM_CONCURRENCY}
+ * lookups run ahead of what the requester has asked for, and results keep
+ * the order of the requested codes. Unknown and malformed codes are skipped
+ * rather than ending the stream; each result carries its ICAO code.
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class AirportRSocketController {
+
+    static final int STREAM_CONCURRENCY = 16;
+
+    private final CommandExecutor commandExecutor;
+
+    /**
+     * Request-response: one airport by ICAO code.
+     */
+    @MessageMapping("airports.get")
+    public Mono<AirportResponse> getAirport(String icao) {
+        return Mono.defer(() -> commandExecutor.execute(new GetAirportByIcaoCommand(icao)));
+    }
+
+    /**
+     * Request-stream: airports for a list of ICAO codes.
+     */
+    @MessageMapping("airports.stream")
+    public Flux<AirportResponse> streamAirports(List<String> icaos) {
+        return lookup(Flux.fromIterable(icaos));
+    }
+
+    /**
+     * Request-channel: airports for ICAO codes as the requester sends them.
+     */
+    @MessageMapping("airports.channel")
+    public Flux<AirportResponse> channelAirports(Flux<String> icaos) {
+        return lookup(icaos);
+    }
+
+    private Flux<AirportResponse> lookup(Flux<String> icaos) {
+        return icaos.flatMapSequential(icao -> getAirport(icao)
+                        .onErrorResume(AirportNotFoundException.class, error -> skip(icao, error))
+                        .onErrorResume(InvalidIcaoCodeException.class, error -> skip(icao, error)),
+                STREAM_CONCURRENCY);
+    }
+
+    private Mono<AirportResponse> skip(String icao, Exception error) {
+        log.debug("Skipping {} in airport stream: {}", icao, error.getMessage());
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.b3kt.aviation;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.catalog.DatasetAirport;
+import com.github.b3kt.aviation.infrastructure.catalog.InMemoryAirportCatalog;
+import com.github.b3kt.aviation.infrastructure.client.AviationApiClient;
+import com.github.b3kt.aviation.infrastructure.cluster.PeerCacheClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that types Jackson binds reflectively, outside of any controller
+ * signature, are registered for reflection in native images.
+ */
+class NativeRuntimeHintsTest {
+
+    @Test
+    void shouldRegisterBindingHints_forTypesReadOutsideControllers() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints,
+                AviationApiClient.class, InMemoryAirportCatalog.class, PeerCacheClient.class);
+
+        // Then
+        assertBindable(hints, TypeReference.of(AviationApiClient.class.getName() + "$AirportRecord"));
+        assertBindable(hints, TypeReference.of(DatasetAirport.class));
+        assertBindable(hints, TypeReference.of(Airport.class));
+    }
+
+    private static void assertBindable(RuntimeHints hints, TypeReference type) {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+                        .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints),
+                () -> type.getName() + " is not registered for binding");
+    }
+}
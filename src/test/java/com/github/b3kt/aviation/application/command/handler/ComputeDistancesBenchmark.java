@@ -0,0 +1,93 @@
+package com.github.b3kt.aviation.application.command.handler;
+
+import com.github.b3kt.aviation.application.command.ComputeDistancesCommand;
+import com.github.b3kt.aviation.application.dto.AirportDistancesResponse;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.domain.model.AirportDistance;
+import com.github.b3kt.aviation.domain.port.AirportCatalogPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Latency of a from × to route metrics matrix over airports already in the
+ * catalog, excluding JSON encoding of the response.
+ * Run with {@code mvn test-compile exec:exec -Pbenchmark -Dbenchmark=ComputeDistances}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ComputeDistancesBenchmark {
+
+    @Param({"1000"})
+    public int side;
+
+    @Param({"false", "true"})
+    public boolean ellipsoid;
+
+    private ComputeDistancesCommandHandler handler;
+    private ComputeDistancesCommand command;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Map<String, Airport> airports = new HashMap<>();
+        for (int i = 0; i < 2 * side; i++) {
+            String icao = String.format("%c%03d", (char) ('A' + i / 1000), i % 1000);
+            // Uniform over the sphere's surface
+            airports.put(icao, new Airport(icao, null, icao + " Airport", "City", "Country",
+                    BigDecimal.valueOf(Math.toDegrees(Math.asin(2 * random.nextDouble() - 1))),
+                    BigDecimal.valueOf(random.nextDouble() * 360 - 180), "Europe/Paris", 0));
+        }
+        handler = new ComputeDistancesCommandHandler(new AirportCatalogPort() {
+            @Override
+            public Mono<Airport> findByIcao(String icaoCode) {
+                return Mono.justOrEmpty(airports.get(icaoCode));
+            }
+
+            @Override
+            public Flux<AirportDistance> findNearby(double latitude, double longitude, Double radiusNm, int limit) {
+                return Flux.empty();
+            }
+
+            @Override
+            public Flux<Airport> search(String query, int limit) {
+                return Flux.empty();
+            }
+
+            @Override
+            public Flux<Airport> all() {
+                return Flux.fromIterable(airports.values());
+            }
+        }, icao -> Mono.error(new IllegalStateException("Benchmark airports are all in the catalog")),
+                (latitude, longitude) -> "UTC");
+        List<String> icaos = airports.keySet().stream().sorted().toList();
+        command = new ComputeDistancesCommand(icaos.subList(0, side), icaos.subList(side, 2 * side), null, ellipsoid);
+    }
+
+    @Benchmark
+    public AirportDistancesResponse matrix() {
+        return handler.handle(command).block();
+    }
+}
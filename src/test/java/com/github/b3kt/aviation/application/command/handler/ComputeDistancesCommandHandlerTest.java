@@ -0,0 +1,96 @@
+package com.github.b3kt.aviation.application.command.handler;
+
+import com.github.b3kt.aviation.application.command.ComputeDistancesCommand;
+import com.github.b3kt.aviation.application.dto.AirportDistancesResponse;
+import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.domain.port.AirportCatalogPort;
+import com.github.b3kt.aviation.domain.port.AviationDataPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ComputeDistancesCommandHandler resolving airports.
+ */
+@ExtendWith(MockitoExtension.class)
+class ComputeDistancesCommandHandlerTest {
+
+    private static final Airport KJFK = new Airport("KJFK", "JFK", "John F Kennedy International Airport",
+            "New York", "United States", new BigDecimal("40.6398"), new BigDecimal("-73.7789"),
+            "America/New_York", 13);
+    private static final Airport EGLL = new Airport("EGLL", null, "London Heathrow Airport", "London",
+            "United Kingdom", new BigDecimal("51.4706"), new BigDecimal("-0.461941"), "Europe/London", 83);
+
+    @Mock
+    private AirportCatalogPort airportCatalogPort;
+
+    @Mock
+    private AviationDataPort aviationDataPort;
+
+    private ComputeDistancesCommandHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new ComputeDistancesCommandHandler(airportCatalogPort, aviationDataPort,
+                (latitude, longitude) -> "UTC");
+    }
+
+    @Test
+    void shouldResolveFromCatalog_andCapDataPortLookups() {
+        // Given
+        List<String> unknown = IntStream.range(0, 2 * ComputeDistancesCommandHandler.MAX_DATA_PORT_LOOKUPS)
+                .mapToObj(i -> String.format("X%03d", i))
+                .toList();
+        when(airportCatalogPort.findByIcao(anyString())).thenReturn(Mono.empty());
+        when(airportCatalogPort.findByIcao("KJFK")).thenReturn(Mono.just(KJFK));
+        when(aviationDataPort.getAirportByIcao(anyString()))
+                .thenAnswer(invocation -> Mono.error(new AirportNotFoundException(invocation.getArgument(0))));
+
+        // When
+        AirportDistancesResponse response = handler.handle(
+                new ComputeDistancesCommand(List.of("KJFK"), unknown, null, false)).block();
+
+        // Then
+        assertEquals(List.of("KJFK"), response.from());
+        assertEquals(List.of(), response.to());
+        assertEquals(unknown, response.unresolved());
+        verify(aviationDataPort, times(ComputeDistancesCommandHandler.MAX_DATA_PORT_LOOKUPS))
+                .getAirportByIcao(anyString());
+        verify(aviationDataPort, never()).getAirportByIcao("KJFK");
+    }
+
+    @Test
+    void shouldLeaveAirportUnresolved_whenItsLookupFails() {
+        // Given
+        when(airportCatalogPort.findByIcao(anyString())).thenReturn(Mono.empty());
+        when(aviationDataPort.getAirportByIcao("KJFK")).thenReturn(Mono.just(KJFK));
+        when(aviationDataPort.getAirportByIcao("EGLL")).thenReturn(Mono.just(EGLL));
+        when(aviationDataPort.getAirportByIcao("LFPG")).thenReturn(Mono.error(new TimeoutException()));
+
+        // When
+        AirportDistancesResponse response = handler.handle(new ComputeDistancesCommand(null, null,
+                List.of(new ComputeDistancesCommand.Pair("KJFK", "EGLL"),
+                        new ComputeDistancesCommand.Pair("KJFK", "LFPG")), false)).block();
+
+        // Then
+        assertEquals(1, response.pairs().size());
+        assertEquals("EGLL", response.pairs().getFirst().to());
+        assertEquals(List.of("LFPG"), response.unresolved());
+    }
+}
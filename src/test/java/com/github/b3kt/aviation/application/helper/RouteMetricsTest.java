@@ -0,0 +1,62 @@
+package com.github.b3kt.aviation.application.helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for RouteMetrics against single-pair formulas and published values.
+ */
+class RouteMetricsTest {
+
+    @Test
+    void shouldMatchHaversine_forGreatCircleDistance() {
+        // Given
+        double[] latitudes = {40.6398, 51.4706, -33.9461, 0.0};
+        double[] longitudes = {-73.7789, -0.461941, 151.177, 179.9};
+        RouteMetrics.Positions positions = RouteMetrics.Positions.of(latitudes, longitudes);
+
+        // Then
+        for (int i = 0; i < latitudes.length; i++) {
+            for (int j = 0; j < latitudes.length; j++) {
+                assertEquals(GreatCircle.haversineNm(latitudes[i], longitudes[i], latitudes[j], longitudes[j]),
+                        RouteMetrics.greatCircleNm(positions, i, positions, j), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void shouldMatchVincentysPublishedExample_forEllipsoidDistance() {
+        // Given: Flinders Peak to Buninyong, 54,972.271 m
+        RouteMetrics.Positions from = RouteMetrics.Positions.of(
+                new double[]{-(37 + 57 / 60.0 + 3.72030 / 3600)}, new double[]{144 + 25 / 60.0 + 29.52440 / 3600});
+        RouteMetrics.Positions to = RouteMetrics.Positions.of(
+                new double[]{-(37 + 39 / 60.0 + 10.15610 / 3600)}, new double[]{143 + 55 / 60.0 + 35.38390 / 3600});
+
+        // Then
+        assertEquals(54_972.271 / 1852, RouteMetrics.ellipsoidNm(from, 0, to, 0), 1e-5);
+    }
+
+    @Test
+    void shouldFallBackToGreatCircle_forNearlyAntipodalPositions() {
+        // Given
+        RouteMetrics.Positions positions = RouteMetrics.Positions.of(new double[]{0.5, -0.5}, new double[]{0, 179.7});
+
+        // Then
+        assertEquals(RouteMetrics.greatCircleNm(positions, 0, positions, 1),
+                RouteMetrics.ellipsoidNm(positions, 0, positions, 1), 1e-9);
+    }
+
+    @Test
+    void shouldReturnInitialBearing_clockwiseFromNorth() {
+        // Given
+        RouteMetrics.Positions positions = RouteMetrics.Positions.of(
+                new double[]{0, 10, 0, 0}, new double[]{0, 0, 10, -10});
+
+        // Then
+        assertEquals(0, RouteMetrics.initialBearingDeg(positions, 0, positions, 1), 1e-9);
+        assertEquals(90, RouteMetrics.initialBearingDeg(positions, 0, positions, 2), 1e-9);
+        assertEquals(270, RouteMetrics.initialBearingDeg(positions, 0, positions, 3), 1e-9);
+        assertEquals(180, RouteMetrics.initialBearingDeg(positions, 1, positions, 0), 1e-9);
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.b3kt.aviation.infrastructure.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.LoadSheddingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for LoadSheddingWebFilter with a controllable clock.
+ */
+class LoadSheddingWebFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfiguration.AIRPORT_CACHE);
+    private final AtomicLong now = new AtomicLong();
+    private final UpstreamQueue upstreamQueue = new UpstreamQueue(now::get);
+    private final LoadSheddingWebFilter filter = new LoadSheddingWebFilter(
+            new LoadSheddingProperties(true, 2, Duration.ofSeconds(2), Duration.ofSeconds(5)),
+            cacheManager, upstreamQueue, new ObjectMapper(), meterRegistry);
+    private final Sinks.Empty<Void> upstream = Sinks.empty();
+
+    /**
+     * Chain standing in for a lookup that waits until upstream answers.
+     */
+    private final WebFilterChain waitingOnUpstream = exchange -> upstream.asMono();
+
+    /**
+     * Chain standing in for a lookup whose upstream call waits for a rate
+     * limiter permit or a connection until upstream answers.
+     */
+    private final WebFilterChain queuedForUpstream = exchange -> upstreamQueue.queued(upstream.asMono());
+
+    /**
+     * Chain standing in for a lookup whose upstream call was sent at once
+     * and waits for the response until upstream answers.
+     */
+    private final WebFilterChain sentToUpstream = exchange -> upstreamQueue.queued(Mono.deferContextual(context -> {
+        UpstreamQueue.sent(context);
+        return upstream.asMono();
+    }));
+
+    private static final WebFilterChain ok = exchange -> {
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return Mono.empty();
+    };
+
+    private static MockServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+
+    @Test
+    void shouldClassifyRequests_byWhetherTheyNeedUpstream() {
+        // Given
+        cacheManager.getCache(CacheConfiguration.AIRPORT_CACHE).put("KJFK", "cached");
+
+        // Then
+        assertEquals(LoadSheddingWebFilter.RequestClass.HEALTH,
+                filter.classify(get("/actuator/health/readiness").getRequest()));
+        assertEquals(LoadSheddingWebFilter.RequestClass.CACHED,
+                filter.classify(get("/api/v1/airports/kjfk").getRequest()));
+        assertEquals(LoadSheddingWebFilter.RequestClass.CACHED,
+                filter.classify(get("/api/v1/airports/nearby?lat=1&lon=2").getRequest()));
+        assertEquals(LoadSheddingWebFilter.RequestClass.UPSTREAM,
+                filter.classify(get("/api/v1/airports/EGLL").getRequest()));
+    }
+
+    @Test
+    void shouldShedUpstreamRequests_whenInFlightLimitReached() {
+        // Given
+        cacheManager.getCache(CacheConfiguration.AIRPORT_CACHE).put("KJFK", "cached");
+        filter.filter(get("/api/v1/airports/EGLL"), waitingOnUpstream).subscribe();
+        filter.filter(get("/api/v1/airports/LFPG"), waitingOnUpstream).subscribe();
+
+        // When
+        MockServerWebExchange shed = get("/api/v1/airports/EDDF");
+        MockServerWebExchange cached = get("/api/v1/airports/KJFK");
+        MockServerWebExchange health = get("/actuator/health");
+        StepVerifier.create(filter.filter(shed, ok)).verifyComplete();
+        StepVerifier.create(filter.filter(cached, ok)).verifyComplete();
+        StepVerifier.create(filter.filter(health, ok)).verifyComplete();
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getResponse().getStatusCode());
+        assertEquals("5", shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(shed.getResponse().getBodyAsString().block().contains("\"status\":503"));
+        assertEquals(HttpStatus.OK, cached.getResponse().getStatusCode());
+        assertEquals(HttpStatus.OK, health.getResponse().getStatusCode());
+        assertEquals(1, decisions("upstream", "shed_in_flight"));
+    }
+
+    @Test
+    void shouldShedUpstreamRequests_whenOldestWaitTooLong() {
+        // Given
+        filter.filter(get("/api/v1/airports/EGLL"), queuedForUpstream).subscribe();
+        now.addAndGet(Duration.ofSeconds(3).toNanos());
+
+        // When
+        MockServerWebExchange shed = get("/api/v1/airports/EDDF");
+        StepVerifier.create(filter.filter(shed, ok)).verifyComplete();
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getResponse().getStatusCode());
+        assertEquals(1, decisions("upstream", "shed_queue_wait"));
+    }
+
+    @Test
+    void shouldAdmit_whileLongRunningRequestWaitsOnlyForUpstreamResponse() {
+        // Given
+        filter.filter(get("/api/v1/airports/EGLL"), sentToUpstream).subscribe();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // When
+        MockServerWebExchange admitted = get("/api/v1/airports/EDDF");
+        StepVerifier.create(filter.filter(admitted, ok)).verifyComplete();
+
+        // Then
+        assertEquals(HttpStatus.OK, admitted.getResponse().getStatusCode());
+        assertEquals(Duration.ZERO, filter.oldestQueueWait());
+        assertEquals(0, decisions("upstream", "shed_queue_wait"));
+        assertEquals(2, decisions("upstream", "admitted"));
+    }
+
+    @Test
+    void shouldAdmitAgain_onceWaitingRequestsComplete() {
+        // Given
+        filter.filter(get("/api/v1/airports/EGLL"), queuedForUpstream).subscribe();
+        now.addAndGet(Duration.ofSeconds(3).toNanos());
+        upstream.tryEmitEmpty();
+
+        // When
+        MockServerWebExchange admitted = get("/api/v1/airports/EDDF");
+        StepVerifier.create(filter.filter(admitted, ok)).verifyComplete();
+
+        // Then
+        assertEquals(HttpStatus.OK, admitted.getResponse().getStatusCode());
+        assertNull(admitted.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(2, decisions("upstream", "admitted"));
+    }
+
+    private double decisions(String requestClass, String decision) {
+        return meterRegistry.counter(LoadSheddingWebFilter.DECISIONS_METRIC,
+                "class", requestClass, "decision", decision).count();
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.b3kt.aviation.infrastructure.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.infrastructure.client.ConnectionPoolTracker;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.WebClientConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.LoadSheddingProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Sinks;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SaturationMonitor combining admission, rate limiter,
+ * connection pool and circuit breaker state.
+ */
+class SaturationMonitorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final UpstreamQueue upstreamQueue = new UpstreamQueue(now::get);
+    private final LoadSheddingWebFilter admission = new LoadSheddingWebFilter(
+            new LoadSheddingProperties(true, 4, Duration.ofSeconds(2), Duration.ofSeconds(5)),
+            new CaffeineCacheManager(CacheConfiguration.AIRPORT_CACHE), upstreamQueue, new ObjectMapper(),
+            meterRegistry);
+    private final ConnectionPoolTracker connectionPools = new ConnectionPoolTracker();
+    private final RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+            .limitForPeriod(100)
+            .limitRefreshPeriod(Duration.ofMinutes(1))
+            .timeoutDuration(Duration.ZERO)
+            .build());
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final SaturationMonitor monitor = new SaturationMonitor(admission, connectionPools,
+            rateLimiterRegistry, circuitBreakerRegistry, meterRegistry, now::get);
+
+    @Test
+    void shouldReportNoSaturation_whenIdle() {
+        // Given
+        circuitBreakerRegistry.circuitBreaker("aviationApi");
+
+        // When
+        SaturationMonitor.Snapshot snapshot = monitor.snapshot();
+
+        // Then
+        assertEquals(0.0, snapshot.score());
+        assertEquals("none", snapshot.bottleneck());
+        assertEquals("CLOSED", snapshot.circuitBreakers().get("aviationApi"));
+        assertEquals(0.0, meterRegistry.get("aviation.saturation.score").gauge().value());
+        assertEquals(0.0, meterRegistry.get("aviation.saturation.circuit.breaker")
+                .tag("name", "aviationApi").gauge().value());
+    }
+
+    @Test
+    void shouldScoreTheScarcestResource_andLeaveCircuitBreakerOut() {
+        // Given
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        admission.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/airports/EGLL")),
+                exchange -> upstreamQueue.queued(upstream.asMono())).subscribe();
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter("aviationApi");
+        for (int i = 0; i < 60; i++) {
+            rateLimiter.acquirePermission();
+        }
+        connectionPools.registerMetrics(WebClientConfiguration.POOL_NAME, "pool-1",
+                InetSocketAddress.createUnresolved("api.aviationapi.com", 443), new FixedPoolMetrics(70, 10, 0, 100));
+        circuitBreakerRegistry.circuitBreaker("aviationApi").transitionToOpenState();
+
+        // When
+        SaturationMonitor.Snapshot snapshot = monitor.snapshot();
+
+        // Then
+        assertEquals(0.7, snapshot.score(), 1e-9);
+        assertEquals("connection_pool", snapshot.bottleneck());
+        assertEquals(0.25, snapshot.resources().get("in_flight"), 1e-9);
+        assertEquals(0.25, snapshot.resources().get("queue_wait"), 1e-9);
+        assertEquals(0.6, snapshot.resources().get("rate_limiter"), 1e-9);
+        assertEquals(40, snapshot.rateLimiters().get("aviationApi").availablePermits());
+        assertEquals("OPEN", snapshot.circuitBreakers().get("aviationApi"));
+        assertEquals(0.7, meterRegistry.get("aviation.saturation.score").gauge().value(), 1e-9);
+        assertEquals(70.0, meterRegistry.get("aviation.saturation.pool.connections")
+                .tag("state", "active").gauge().value());
+        assertEquals(40.0, meterRegistry.get("aviation.saturation.rate.limiter.permits")
+                .tag("name", "aviationApi").gauge().value());
+        assertEquals(1.0, meterRegistry.get("aviation.saturation.circuit.breaker")
+                .tag("name", "aviationApi").gauge().value());
+
+        // When the rate limiter runs out, it becomes the bottleneck
+        for (int i = 0; i < 40; i++) {
+            rateLimiter.acquirePermission();
+        }
+
+        // Then the endpoint sees it at once, the gauges from the next scrape on
+        assertEquals(1.0, monitor.snapshot().score());
+        assertEquals("rate_limiter", monitor.snapshot().bottleneck());
+        assertEquals(0.7, meterRegistry.get("aviation.saturation.score").gauge().value(), 1e-9);
+        now.addAndGet(SaturationMonitor.SCRAPE_SNAPSHOT_REUSE.toNanos());
+        assertEquals(1.0, meterRegistry.get("aviation.saturation.score").gauge().value());
+        assertEquals(1.0, meterRegistry.get("aviation.saturation").tag("resource", "rate_limiter").gauge().value());
+        assertTrue(meterRegistry.get("aviation.saturation.rate.limiter.wait")
+                .tag("name", "aviationApi").timeGauge().value(TimeUnit.SECONDS) > 0);
+    }
+
+    @Test
+    void shouldTakeOneSnapshot_forAllGaugesOfAScrape() {
+        // Given
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter("aviationApi");
+        meterRegistry.get("aviation.saturation.score").gauge().value();
+        rateLimiter.acquirePermission();
+
+        // When
+        double rateLimiterSaturation = meterRegistry.get("aviation.saturation")
+                .tag("resource", "rate_limiter").gauge().value();
+        now.addAndGet(SaturationMonitor.SCRAPE_SNAPSHOT_REUSE.toNanos());
+        double nextScrape = meterRegistry.get("aviation.saturation")
+                .tag("resource", "rate_limiter").gauge().value();
+
+        // Then
+        assertEquals(0.0, rateLimiterSaturation);
+        assertEquals(0.01, nextScrape, 1e-9);
+    }
+
+    /**
+     * Pool metrics frozen at the given sizes.
+     */
+    private record FixedPoolMetrics(int acquired, int idle, int pending, int max) implements ConnectionPoolMetrics {
+
+        @Override
+        public int acquiredSize() {
+            return acquired;
+        }
+
+        @Override
+        public int allocatedSize() {
+            return acquired + idle;
+        }
+
+        @Override
+        public int idleSize() {
+            return idle;
+        }
+
+        @Override
+        public int pendingAcquireSize() {
+            return pending;
+        }
+
+        @Override
+        public int maxAllocatedSize() {
+            return max;
+        }
+
+        @Override
+        public int maxPendingAcquireSize() {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
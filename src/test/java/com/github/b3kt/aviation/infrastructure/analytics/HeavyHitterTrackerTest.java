@@ -0,0 +1,90 @@
+package com.github.b3kt.aviation.infrastructure.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for HeavyHitterTracker and its count-min sketch.
+ */
+class HeavyHitterTrackerTest {
+
+    @Test
+    void shouldRankHeavyHitters_aboveLongTail() {
+        // Given
+        HeavyHitterTracker tracker = new HeavyHitterTracker(3, 1024, 4);
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            tracker.record("T" + String.format("%03d", random.nextInt(1000)));
+            if (i % 4 == 0) {
+                tracker.record("KJFK");
+            }
+            if (i % 8 == 0) {
+                tracker.record("EGLL");
+            }
+            if (i % 16 == 0) {
+                tracker.record("WSSS");
+            }
+        }
+
+        // Then
+        List<String> top = tracker.top(3).stream().map(HeavyHitterTracker.KeyCount::key).toList();
+        assertEquals(List.of("KJFK", "EGLL", "WSSS"), top);
+        assertTrue(tracker.estimate("KJFK") >= 5_000);
+    }
+
+    @Test
+    void shouldHalveCounts_onDecay_andDropStaleKeys() {
+        // Given
+        HeavyHitterTracker tracker = new HeavyHitterTracker(2, 256, 4);
+        for (int i = 0; i < 8; i++) {
+            tracker.record("KJFK");
+        }
+        tracker.record("EGLL");
+
+        // When
+        tracker.decay();
+
+        // Then
+        assertEquals(4, tracker.estimate("KJFK"));
+        assertEquals(List.of(new HeavyHitterTracker.KeyCount("KJFK", 4)), tracker.top(2));
+    }
+
+    @Test
+    void shouldNeverUnderestimate() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            sketch.add("K" + (i % 100));
+        }
+
+        // Then
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sketch.estimate("K" + i) >= 5);
+        }
+    }
+
+    @Test
+    void shouldKeepKeysApart_whoseStringHashCodesCollide() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+        assertEquals("KJAO".hashCode(), "KJB0".hashCode());
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            sketch.add("KJAO");
+        }
+
+        // Then
+        assertEquals(100, sketch.estimate("KJAO"));
+        assertEquals(0, sketch.estimate("KJB0"));
+    }
+}
@@ -0,0 +1,186 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.analytics.KeyAnalytics;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.AiracProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.AviationApiProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.KeyAnalyticsProperties;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for AIRAC cycles, AiracExpiry and AiracRolloverRefresher.
+ */
+class AiracRolloverRefresherTest {
+
+    private static final AiracCycle CYCLE_2610 = new AiracCycle(LocalDate.of(2026, 10, 1));
+    private static final Duration GRACE = Duration.ofHours(12);
+
+    private final MutableClock clock = new MutableClock(CYCLE_2610.start().plus(Duration.ofDays(10)));
+    private final List<String> loads = new CopyOnWriteArrayList<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KeyAnalytics keyAnalytics =
+            new KeyAnalytics(new KeyAnalyticsProperties(null, null, null, null, null), meterRegistry);
+    private volatile LocalDate published = CYCLE_2610.effectiveDate();
+    private AsyncLoadingCache<Object, Object> cache;
+    private AiracRolloverRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder()
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .expireAfter(new AiracExpiry(GRACE, clock))
+                .buildAsync((key, executor) -> {
+                    loads.add(key.toString());
+                    return CompletableFuture.completedFuture(airport(key.toString(), published));
+                });
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.registerCustomCache(CacheConfiguration.AIRPORT_CACHE, cache);
+
+        AviationApiProperties.CachePolicy policy =
+                new AviationApiProperties.CachePolicy(null, null, null, null, AviationApiProperties.Expiry.AIRAC_CYCLE);
+        AviationApiProperties aviationApiProperties = new AviationApiProperties(
+                "http://localhost", null, null, null, null, Map.of(),
+                Map.of(CacheConfiguration.AIRPORT_CACHE, policy));
+        refresher = new AiracRolloverRefresher(cacheManager,
+                new ThrottledPrefetcher(List.of(RateLimiter.ofDefaults("aviationApi"))),
+                keyAnalytics,
+                new AiracProperties(GRACE, null, null, 1L, 0.0),
+                aviationApiProperties, meterRegistry, clock);
+    }
+
+    private static Airport airport(String icaoCode, LocalDate effectiveDate) {
+        return new Airport(icaoCode, null, icaoCode + " Airport", "City", "Country",
+                new BigDecimal("10.0000"), new BigDecimal("20.0000"), "UTC", 100, effectiveDate);
+    }
+
+    private void load(String icaoCode, int reads) {
+        for (int i = 0; i < reads; i++) {
+            keyAnalytics.record(KeyAnalytics.Kind.REQUESTS, icaoCode);
+            cache.get(icaoCode).join();
+        }
+    }
+
+    @Test
+    void shouldComputeCycles_fromTheAiracEpoch() {
+        // When & Then
+        assertEquals(LocalDate.of(2025, 1, 23), AiracCycle.containing(LocalDate.of(2025, 2, 1)).effectiveDate());
+        assertEquals("2501", AiracCycle.containing(LocalDate.of(2025, 1, 23)).ident());
+        assertEquals("2014", AiracCycle.containing(LocalDate.of(2020, 12, 31)).ident());
+        assertEquals("2610", CYCLE_2610.ident());
+        assertEquals("2611", CYCLE_2610.next().ident());
+        assertEquals(Instant.parse("2026-10-29T00:00:00Z"), CYCLE_2610.end());
+        assertEquals(CYCLE_2610, AiracCycle.containing(Instant.parse("2026-10-28T23:59:59Z")));
+        assertThrows(IllegalArgumentException.class, () -> new AiracCycle(LocalDate.of(2026, 10, 2)));
+    }
+
+    @Test
+    void shouldKeepEntries_untilEndOfCyclePlusGrace() {
+        // Given
+        load("KJFK", 1);
+
+        // When & Then
+        Duration remaining = cache.synchronous().policy().expireVariably().orElseThrow()
+                .getExpiresAfter("KJFK").orElseThrow();
+        assertEquals(Duration.between(clock.instant(), CYCLE_2610.end().plus(GRACE)), remaining);
+    }
+
+    @Test
+    void shouldReloadEntriesHottestFirst_afterRollover() {
+        // Given
+        load("KBOS", 1);
+        load("KJFK", 5);
+        load("KLAX", 3);
+        refresher.check();
+        loads.clear();
+
+        // When
+        clock.set(CYCLE_2610.end().plus(Duration.ofMinutes(1)));
+        published = CYCLE_2610.next().effectiveDate();
+        long reloaded = refresher.refresh(CYCLE_2610.next(), true).block();
+
+        // Then
+        assertEquals(3, reloaded);
+        assertEquals(List.of("KJFK", "KLAX", "KBOS"), loads);
+        assertEquals(3, meterRegistry.get("aviation.airac.refresh").tag("outcome", "refreshed").counter().count());
+        Duration remaining = cache.synchronous().policy().expireVariably().orElseThrow()
+                .getExpiresAfter("KBOS").orElseThrow();
+        assertEquals(Duration.between(clock.instant(), CYCLE_2610.next().end().plus(GRACE)), remaining);
+    }
+
+    @Test
+    void shouldStopRetry_whileUpstreamHasNotPublishedTheCycle() {
+        // Given: upstream still serves the previous cycle after the rollover
+        load("KJFK", 5);
+        load("KLAX", 3);
+        clock.set(CYCLE_2610.end().plus(Duration.ofMinutes(1)));
+        refresher.refresh(CYCLE_2610.next(), true).block();
+        loads.clear();
+
+        // When
+        long behind = refresher.refresh(CYCLE_2610.next(), false).block();
+        published = CYCLE_2610.next().effectiveDate();
+        long caughtUp = refresher.refresh(CYCLE_2610.next(), false).block();
+
+        // Then: the first retry stopped after the hottest entry, the second reloaded both
+        assertEquals(0, behind);
+        assertEquals(2, caughtUp);
+        assertEquals(List.of("KJFK", "KJFK", "KLAX"), loads);
+        assertEquals(0, refresher.refresh(CYCLE_2610.next(), false).block());
+    }
+
+    /**
+     * Clock that tests can move, shared by the cache ticker and the expiry.
+     */
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.CacheAdminProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.ProviderProperties;
+import com.github.b3kt.aviation.infrastructure.provider.AirportProvider;
+import com.github.b3kt.aviation.infrastructure.provider.AirportProviderRouter;
+import com.github.b3kt.aviation.infrastructure.service.LongitudeTimezoneResolver;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CacheSelector and CacheAdmin, using a stub provider.
+ */
+class CacheAdminTest {
+
+    private static final Set<String> RETIRED = Set.of("EGXX");
+
+    private final LongitudeTimezoneResolver timezoneResolver = mock(LongitudeTimezoneResolver.class);
+    private Cache airports;
+    private Cache timezones;
+    private CacheAdmin cacheAdmin;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+        AirportProvider provider = icaoCode -> RETIRED.contains(icaoCode)
+                ? Mono.error(new AirportNotFoundException(icaoCode))
+                : Mono.just(airport(icaoCode, "Corrected", "51.0000", "0.0000"));
+        AirportProviderRouter router = new AirportProviderRouter(Map.of("stub", provider),
+                new ProviderProperties(null, Duration.ofSeconds(5), null, Duration.ofHours(1), null),
+                new SimpleMeterRegistry());
+        cacheAdmin = new CacheAdmin(cacheManager, router, timezoneResolver,
+                new ThrottledPrefetcher(List.of(RateLimiter.ofDefaults("aviationApi"))), new AirportCompactor(),
+                new CacheAdminProperties(1L, 0.0, 2));
+
+        airports = cacheManager.getCache(CacheConfiguration.AIRPORT_CACHE);
+        timezones = cacheManager.getCache(CacheConfiguration.TIMEZONE_CACHE);
+        airports.put("EGLL", airport("EGLL", "Heathrow", "51.4700", "-0.4543"));
+        airports.put("EGXX", airport("EGXX", "Closed", "52.0000", "1.0000"));
+        airports.put("KJFK", airport("KJFK", "Kennedy", "40.6398", "-73.7787"));
+        timezones.put("51.4700,-0.4543", "Europe/London");
+        timezones.put("40.6398,-73.7787", "America/New_York");
+        timezones.put("35.5494,139.7798", "Asia/Tokyo");
+    }
+
+    private static Airport airport(String icaoCode, String name, String latitude, String longitude) {
+        return new Airport(icaoCode, null, name, "City", "Country",
+                new BigDecimal(latitude), new BigDecimal(longitude), "UTC", 100);
+    }
+
+    @Test
+    void shouldRejectSelector_withoutCriteriaOrWithMalformedRegion() {
+        assertThrows(IllegalArgumentException.class, () -> CacheSelector.parse(null, " ", null));
+        assertThrows(IllegalArgumentException.class, () -> CacheSelector.parse(null, null, "1,2,3"));
+        assertThrows(IllegalArgumentException.class, () -> CacheSelector.parse(null, null, "10,0,5,1"));
+        assertThrows(IllegalArgumentException.class,
+                () -> cacheAdmin.invalidate(CacheConfiguration.SEARCH_CACHE, CacheSelector.parse("KJFK", null, null)));
+    }
+
+    @Test
+    void shouldInvalidateAirports_byPrefixOrRegion() {
+        // When
+        int byPrefix = cacheAdmin.invalidate(CacheConfiguration.AIRPORT_CACHE, CacheSelector.parse(null, "eg", null));
+
+        // Then
+        assertEquals(2, byPrefix);
+        assertNull(airports.get("EGLL"));
+        assertNull(airports.get("EGXX"));
+        assertNotNull(airports.get("KJFK"));
+
+        // When
+        int byRegion = cacheAdmin.invalidate(CacheConfiguration.AIRPORT_CACHE,
+                CacheSelector.parse(null, null, "40,-75,42,-72"));
+
+        // Then
+        assertEquals(1, byRegion);
+        assertNull(airports.get("KJFK"));
+    }
+
+    @Test
+    void shouldInvalidateTimezones_ofSelectedAirportsOrRegion() {
+        // When
+        int invalidated = cacheAdmin.invalidate(CacheConfiguration.TIMEZONE_CACHE,
+                CacheSelector.parse("KJFK", null, "35,139,36,140"));
+
+        // Then
+        assertEquals(2, invalidated);
+        assertNull(timezones.get("40.6398,-73.7787"));
+        assertNull(timezones.get("35.5494,139.7798"));
+        assertNotNull(timezones.get("51.4700,-0.4543"));
+    }
+
+    @Test
+    void shouldRefreshAirportsInBackground_andEvictThoseNoLongerKnown() {
+        // When
+        CacheAdmin.Progress started = cacheAdmin.refresh(CacheConfiguration.AIRPORT_CACHE,
+                CacheSelector.parse(null, "EG", null));
+
+        // Then
+        assertEquals(2, started.total());
+        CacheAdmin.Progress finished = awaitFinished();
+        assertEquals(2, finished.completed());
+        assertEquals(1, finished.refreshed());
+        assertEquals(1, finished.removed());
+        assertEquals(0, finished.failed());
+        assertEquals("Corrected", ((Airport) airports.get("EGLL").get()).name());
+        assertNull(airports.get("EGXX"));
+        assertEquals("Kennedy", ((Airport) airports.get("KJFK").get()).name());
+    }
+
+    @Test
+    void shouldRefreshTimezones_throughResolver() {
+        // Given
+        when(timezoneResolver.refresh(new BigDecimal("51.4700"), new BigDecimal("-0.4543")))
+                .thenReturn("Europe/London");
+
+        // When
+        cacheAdmin.refresh(CacheConfiguration.TIMEZONE_CACHE, CacheSelector.parse("EGLL", null, null));
+
+        // Then
+        CacheAdmin.Progress finished = awaitFinished();
+        assertEquals(1, finished.total());
+        assertEquals(1, finished.refreshed());
+        verify(timezoneResolver).refresh(new BigDecimal("51.4700"), new BigDecimal("-0.4543"));
+    }
+
+    private CacheAdmin.Progress awaitFinished() {
+        return await().atMost(Duration.ofSeconds(5))
+                .until(() -> cacheAdmin.jobs().get(0), CacheAdmin.Progress::finished);
+    }
+}
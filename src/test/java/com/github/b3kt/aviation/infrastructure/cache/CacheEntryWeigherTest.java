@@ -0,0 +1,64 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for CacheEntryWeigher. How far its estimates are from the
+ * measured heap is reported by CompactAirportMemoryBenchmark.
+ */
+class CacheEntryWeigherTest {
+
+    private static final Airport KJFK = new Airport("KJFK", "JFK", "JOHN F KENNEDY INTL", "NEW YORK", "QUEENS",
+            BigDecimal.valueOf(40.63980555555556), BigDecimal.valueOf(-73.77869444444445),
+            "America/New_York", 13);
+
+    private final CacheEntryWeigher weigher = new CacheEntryWeigher();
+
+    @Test
+    void shouldSizeString_byHeaderAndAlignedLatin1Array() {
+        // When & Then
+        assertEquals(0, CacheEntryWeigher.sizeOf((String) null));
+        assertEquals(40, CacheEntryWeigher.sizeOf(""));
+        assertEquals(48, CacheEntryWeigher.sizeOf("KJFK"));
+        assertEquals(48, CacheEntryWeigher.sizeOf("KJFKEGLL"));
+        assertEquals(56, CacheEntryWeigher.sizeOf("KJFKEGLLW"));
+    }
+
+    @Test
+    void shouldSizeAirport_withItsFields() {
+        // When
+        int size = CacheEntryWeigher.sizeOf(KJFK);
+
+        // Then: object 56, strings 48 + 48 + 64 + 48 + 48 + 56, coordinates 2 x 40, elevation 16
+        assertEquals(464, size);
+        assertEquals(CacheEntryWeigher.ENTRY_OVERHEAD + 48 + 464, weigher.weigh("KJFK", KJFK));
+    }
+
+    @Test
+    void shouldSizeCompactAirport_belowTheAirportItStores() {
+        // Given
+        CompactAirport compact = (CompactAirport) new AirportCompactor().compact(KJFK);
+
+        // When
+        int size = CacheEntryWeigher.sizeOf(compact);
+
+        // Then
+        assertEquals(compact.retainedSize(), size);
+        assertTrue(size < CacheEntryWeigher.sizeOf(KJFK) / 2);
+    }
+
+    @Test
+    void shouldSizeCachedLists_andIgnoreSharedSingletons() {
+        // When & Then
+        assertEquals(24 + 24 + 48 + 464, CacheEntryWeigher.sizeOf(List.of("KJFK", KJFK)));
+        assertEquals(0, CacheEntryWeigher.sizeOf(new Object()));
+        assertEquals(CacheEntryWeigher.ENTRY_OVERHEAD + 48, weigher.weigh("KJFK", new Object()));
+    }
+}
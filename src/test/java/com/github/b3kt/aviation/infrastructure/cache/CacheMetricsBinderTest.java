@@ -0,0 +1,97 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.RequiredSearch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for CacheMetricsBinder on a decorated airport cache and a plain
+ * Caffeine cache.
+ */
+class CacheMetricsBinderTest {
+
+    private static final long MAX_WEIGHT = 1024 * 1024;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AirportCompactor compactor = new AirportCompactor();
+
+    private CaffeineCacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected AsyncCache<Object, Object> createAsyncCaffeineCache(String name) {
+                return Caffeine.newBuilder()
+                        .maximumWeight(MAX_WEIGHT)
+                        .weigher(new CacheEntryWeigher())
+                        .recordStats()
+                        .buildAsync();
+            }
+
+            @Override
+            protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                Cache local = super.adaptCaffeineCache(name, cache);
+                return CacheConfiguration.AIRPORT_CACHE.equals(name) ? new CompactingCache(local, compactor) : local;
+            }
+        };
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.setCacheNames(List.of(CacheConfiguration.AIRPORT_CACHE, CacheConfiguration.SEARCH_CACHE));
+        return cacheManager;
+    }
+
+    private RequiredSearch meter(String name, String cache) {
+        return registry.get(name).tag("cache", cache).tag("cache.manager", "cacheManager");
+    }
+
+    @Test
+    void shouldRegisterMemoryAndHitRatioGauges_forEveryCache() {
+        // Given
+        CaffeineCacheManager cacheManager = cacheManager();
+        new CacheMetricsBinder(cacheManager, compactor).bindTo(registry);
+        Cache airports = cacheManager.getCache(CacheConfiguration.AIRPORT_CACHE);
+
+        // When
+        airports.put("KJFK", "cached");
+        airports.get("KJFK");
+        airports.get("EGLL");
+        CaffeineCaches.nativeCache(cacheManager, CacheConfiguration.AIRPORT_CACHE).orElseThrow().cleanUp();
+
+        // Then
+        for (String cache : List.of(CacheConfiguration.AIRPORT_CACHE, CacheConfiguration.SEARCH_CACHE)) {
+            assertEquals(MAX_WEIGHT, meter("cache.max.weight", cache).gauge().value());
+        }
+        assertEquals(CacheEntryWeigher.ENTRY_OVERHEAD + CacheEntryWeigher.sizeOf("KJFK")
+                        + CacheEntryWeigher.sizeOf("cached"),
+                meter("cache.weighted.size", CacheConfiguration.AIRPORT_CACHE).gauge().value());
+        assertEquals(0.5, meter("cache.hit.ratio", CacheConfiguration.AIRPORT_CACHE).gauge().value());
+        assertEquals(0.0, meter("cache.weighted.size", CacheConfiguration.SEARCH_CACHE).gauge().value());
+        assertTrue(meter("cache.dictionary.size", CacheConfiguration.AIRPORT_CACHE).gauge().value() >= 0);
+    }
+
+    @Test
+    void shouldBindCaffeineStatistics_onlyForCachesBootCannotSee() {
+        // Given
+        CaffeineCacheManager cacheManager = cacheManager();
+
+        // When
+        new CacheMetricsBinder(cacheManager, compactor).bindTo(registry);
+        cacheManager.getCache(CacheConfiguration.AIRPORT_CACHE).get("KJFK");
+
+        // Then
+        assertEquals(1.0, registry.get("cache.gets")
+                .tags("cache", CacheConfiguration.AIRPORT_CACHE, "name", CacheConfiguration.AIRPORT_CACHE,
+                        "cache.manager", "cacheManager", "result", "miss")
+                .functionCounter().count());
+        assertNull(registry.find("cache.gets").tag("cache", CacheConfiguration.SEARCH_CACHE).meter());
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of compacting and expanding an airport. Setup prints the heap taken
+ * by 20,000 airports in each layout, measured in the forked JVM, next to
+ * the size the cache weigher estimates for them.
+ * Run with {@code mvn test-compile exec:exec -Pbenchmark -Dbenchmark=CompactAirportMemory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactAirportMemoryBenchmark {
+
+    private static final int ENTRIES = 20_000;
+
+    private final AirportCompactor compactor = new AirportCompactor();
+    private List<Airport> airports;
+    private List<Object> compacts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<Airport> source = airports(ENTRIES);
+
+        long before = usedHeap();
+        airports = airports(ENTRIES);
+        long airportBytes = usedHeap() - before;
+
+        before = usedHeap();
+        compacts = new ArrayList<>(ENTRIES);
+        source.forEach(airport -> compacts.add(compactor.compact(airport)));
+        long compactBytes = usedHeap() - before;
+
+        long estimatedAirportBytes = airports.stream().mapToLong(CacheEntryWeigher::sizeOf).sum();
+        long estimatedCompactBytes = compacts.stream().mapToLong(CacheEntryWeigher::sizeOf).sum()
+                + compactor.dictionaryRetainedSize();
+        System.out.printf("Memory for %d airports: Airport %,d bytes measured, %,d estimated (%+.0f%%); "
+                        + "CompactAirport %,d bytes measured, %,d estimated (%+.0f%%, dictionary %d values)%n",
+                ENTRIES, airportBytes, estimatedAirportBytes, deviation(estimatedAirportBytes, airportBytes),
+                compactBytes, estimatedCompactBytes, deviation(estimatedCompactBytes, compactBytes),
+                compactor.dictionarySize());
+    }
+
+    @Benchmark
+    public Object compact() {
+        return compactor.compact(airports.get(next++ % ENTRIES));
+    }
+
+    @Benchmark
+    public Object expand() {
+        return compactor.expand(compacts.get(next++ % ENTRIES));
+    }
+
+    /**
+     * Builds airports with the shape of the US dataset: unique names and
+     * codes, cities, counties and timezones shared between many airports.
+     * Every string is a fresh instance, as after JSON parsing.
+     */
+    private static List<Airport> airports(int count) {
+        Random random = new Random(7);
+        String[] timezones = {"America/New_York", "America/Chicago", "America/Denver", "America/Phoenix",
+                "America/Los_Angeles", "America/Anchorage", "Pacific/Honolulu", "America/Boise"};
+        List<Airport> airports = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            airports.add(new Airport(
+                    new String(String.format("%c%03d", (char) ('A' + i / 1000), i % 1000)),
+                    new String(String.format("%03d", i % 1000)),
+                    new String("MUNICIPAL AIRPORT " + i),
+                    new String("CITY " + random.nextInt(8_000)),
+                    new String("COUNTY " + random.nextInt(3_000)),
+                    BigDecimal.valueOf(25 + random.nextDouble() * 24),
+                    BigDecimal.valueOf(-67 - random.nextDouble() * 57),
+                    new String(timezones[random.nextInt(timezones.length)]),
+                    random.nextInt(10_000)));
+        }
+        return airports;
+    }
+
+    private static double deviation(long estimated, long measured) {
+        return 100.0 * (estimated - measured) / measured;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.domain.model.Airport;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip checks for CompactAirport. Its memory footprint is measured by
+ * CompactAirportMemoryBenchmark.
+ */
+class CompactAirportTest {
+
+    @Test
+    void shouldRoundTripAirport() {
+        // Given
+        AirportCompactor compactor = new AirportCompactor();
+        Airport airport = new Airport("KJFK", "JFK", "JOHN F KENNEDY INTL", "NEW YORK", "QUEENS",
+                BigDecimal.valueOf(40.63980555555556), BigDecimal.valueOf(-73.77869444444445),
+                "America/New_York", 13);
+
+        // When
+        Object stored = compactor.compact(airport);
+
+        // Then
+        assertTrue(stored instanceof CompactAirport);
+        assertEquals(airport, compactor.expand(stored));
+    }
+
+    @Test
+    void shouldKeepAirport_whenItCannotBeCompactedLosslessly() {
+        // Given
+        AirportCompactor compactor = new AirportCompactor();
+        Airport airport = new Airport("KJFK", "JFK", "JOHN F KENNEDY INTL", "NEW YORK", "QUEENS",
+                new BigDecimal("40.6398000"), BigDecimal.valueOf(-73.77869444444445), null, null);
+
+        // When & Then
+        assertEquals(airport, compactor.compact(airport));
+    }
+
+    @Test
+    void shouldPackShortCodes() {
+        // Given
+        List<String> codes = List.of("", "K", "1N7", "KJFK");
+
+        // When & Then
+        codes.forEach(code -> assertEquals(code, CompactAirport.unpack(CompactAirport.pack(code))));
+        assertNull(CompactAirport.unpack(CompactAirport.pack(null)));
+        assertEquals(CompactAirport.UNPACKABLE, CompactAirport.pack("KJFKX"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.WarmupProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for HotSetSnapshotter.
+ */
+class HotSetSnapshotterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldWriteAndReadBackHotSet() {
+        // Given
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfiguration.AIRPORT_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+        Cache cache = cacheManager.getCache(CacheConfiguration.AIRPORT_CACHE);
+        List.of("KJFK", "KLAX", "EGLL").forEach(icao -> cache.put(icao, icao));
+        HotSetSnapshotter snapshotter = new HotSetSnapshotter(cacheManager, properties(tempDir.resolve("hot-set.txt")));
+
+        // When
+        snapshotter.writeSnapshot();
+
+        // Then
+        assertTrue(Files.exists(tempDir.resolve("hot-set.txt")));
+        List<String> snapshot = snapshotter.readSnapshot();
+        assertEquals(3, snapshot.size());
+        assertTrue(snapshot.containsAll(List.of("KJFK", "KLAX", "EGLL")));
+    }
+
+    @Test
+    void shouldSkipMalformedLines_andLimitToTopN() throws Exception {
+        // Given
+        Path file = tempDir.resolve("hot-set.txt");
+        Files.write(file, List.of("kjfk", "not-an-icao", "", "KJFK", "KLAX", "EGLL", "WSSS"));
+        HotSetSnapshotter snapshotter = new HotSetSnapshotter(new CaffeineCacheManager(), properties(file));
+
+        // When & Then
+        assertEquals(List.of("KJFK", "KLAX", "EGLL"), snapshotter.readSnapshot());
+    }
+
+    @Test
+    void shouldReturnEmptySnapshot_whenFileMissing() {
+        // Given
+        HotSetSnapshotter snapshotter = new HotSetSnapshotter(
+                new CaffeineCacheManager(), properties(tempDir.resolve("missing.txt")));
+
+        // When & Then
+        assertTrue(snapshotter.readSnapshot().isEmpty());
+        snapshotter.writeSnapshot();
+        assertFalse(Files.exists(tempDir.resolve("missing.txt")));
+    }
+
+    private static WarmupProperties properties(Path file) {
+        return new WarmupProperties(true, file.toString(), null, 3, null, null, null, null);
+    }
+}
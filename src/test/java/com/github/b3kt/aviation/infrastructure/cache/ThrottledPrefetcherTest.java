@@ -0,0 +1,48 @@
+package com.github.b3kt.aviation.infrastructure.cache;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Unit tests for ThrottledPrefetcher leaving rate limiter permits to live traffic.
+ */
+class ThrottledPrefetcherTest {
+
+    private static RateLimiter rateLimiter(String name) {
+        return RateLimiter.of(name, RateLimiterConfig.custom()
+                .limitForPeriod(10)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+    }
+
+    @Test
+    void shouldWait_whileAnyRoutedProviderIsShortOfPermits() {
+        // Given: the mirror has used up its permits, the primary has not
+        RateLimiter primary = rateLimiter("aviationApi");
+        RateLimiter mirror = rateLimiter("mirror");
+        mirror.drainPermissions();
+
+        // When & Then: with the primary alone, the code is loaded after one interval
+        StepVerifier.withVirtualTime(() -> new ThrottledPrefetcher(List.of(primary))
+                        .prefetch(List.of("KJFK"), Mono::just, Duration.ofSeconds(1), 0.5))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext(new ThrottledPrefetcher.Result("KJFK", true))
+                .verifyComplete();
+
+        // When & Then: with the mirror routed too, nothing is loaded
+        StepVerifier.withVirtualTime(() -> new ThrottledPrefetcher(List.of(primary, mirror))
+                        .prefetch(List.of("KJFK"), Mono::just, Duration.ofSeconds(1), 0.5))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofSeconds(30))
+                .thenCancel()
+                .verify();
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.b3kt.aviation.infrastructure.capture;
+
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+import com.github.b3kt.aviation.infrastructure.config.properties.CaptureProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for TrafficCaptureWebFilter writing through TrafficCapture,
+ * read back with CaptureFile.
+ */
+class TrafficCaptureTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldCaptureAirportLookups_andReadThemBack() throws Exception {
+        // Given
+        TrafficCapture capture = new TrafficCapture(
+                new CaptureProperties(true, directory.toString(), 16, DataSize.ofMegabytes(1), null),
+                new SimpleMeterRegistry());
+        TrafficCaptureWebFilter filter = new TrafficCaptureWebFilter(capture);
+        WebFilterChain upstream = exchange -> Mono.deferContextual(context -> {
+            AccessEvent event = AccessEvent.from(context).orElseThrow();
+            event.icaoCode("EGLL");
+            event.cacheTier(AccessEvent.CacheTier.UPSTREAM);
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.<Void>empty();
+        });
+        WebFilterChain notFound = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return Mono.empty();
+        };
+
+        // When
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/airports/egll")
+                .header("X-Latency-Critical", "true")), upstream)).verifyComplete();
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/airports/ZZZZ")),
+                notFound)).verifyComplete();
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/airports/search?q=x")),
+                notFound)).verifyComplete();
+        capture.close();
+
+        // Then
+        List<CapturedRequest> captured = new ArrayList<>();
+        CaptureFile.forEach(capture.path(), captured::add);
+        assertEquals(2, captured.size());
+        assertEquals("EGLL", captured.get(0).icaoCode());
+        assertTrue(captured.get(0).latencyCritical());
+        assertEquals(AccessEvent.CacheTier.UPSTREAM, captured.get(0).cacheTier());
+        assertEquals(200, captured.get(0).status());
+        assertEquals("ZZZZ", captured.get(1).icaoCode());
+        assertFalse(captured.get(1).latencyCritical());
+        assertNull(captured.get(1).cacheTier());
+        assertEquals(404, captured.get(1).status());
+        assertEquals(CaptureFile.HEADER_BYTES + 2L * CaptureFile.RECORD_BYTES, Files.size(capture.path()));
+    }
+
+    @Test
+    void shouldContinueInNewFile_whenFileIsFull_andKeepOnlyTheLastFiles() throws Exception {
+        // Given: room for two records per file, three files kept
+        TrafficCapture capture = new TrafficCapture(new CaptureProperties(true, directory.toString(), 16,
+                DataSize.ofBytes(CaptureFile.HEADER_BYTES + 2L * CaptureFile.RECORD_BYTES), 3),
+                new SimpleMeterRegistry());
+
+        // When
+        for (String icao : List.of("AAAA", "BBBB", "CCCC", "DDDD", "EEEE", "FFFF", "GGGG", "HHHH")) {
+            capture.record(System.nanoTime(), icao, false, AccessEvent.CacheTier.LOCAL, 200, 1_000);
+        }
+        capture.close();
+
+        // Then
+        List<String> icaos = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                CaptureFile.forEach(file, request -> icaos.add(request.icaoCode()));
+            }
+        }
+        assertEquals(List.of("CCCC", "DDDD", "EEEE", "FFFF", "GGGG", "HHHH"), icaos);
+        assertTrue(capture.path().getFileName().toString().endsWith(".3.cap"));
+    }
+
+    @Test
+    void shouldContinueInNewFile_beforeOffsetsOverflow() throws Exception {
+        // Given
+        TrafficCapture capture = new TrafficCapture(
+                new CaptureProperties(true, directory.toString(), 16, DataSize.ofMegabytes(1), null),
+                new SimpleMeterRegistry());
+        Path first = capture.path();
+        long now = System.nanoTime();
+
+        // When: a lookup arriving 25 days into the capture, then one that arrived just before it
+        capture.record(now + TimeUnit.DAYS.toNanos(25), "EGLL", false, AccessEvent.CacheTier.LOCAL, 200, 1_000);
+        capture.record(now + TimeUnit.DAYS.toNanos(25) - TimeUnit.SECONDS.toNanos(1), "KJFK", false,
+                AccessEvent.CacheTier.LOCAL, 200, 1_000);
+        capture.close();
+
+        // Then
+        List<CapturedRequest> captured = new ArrayList<>();
+        long firstStart = CaptureFile.forEach(first, captured::add);
+        long secondStart = CaptureFile.forEach(capture.path(), captured::add);
+        assertEquals(List.of("EGLL", "KJFK"), captured.stream().map(CapturedRequest::icaoCode).toList());
+        assertEquals(List.of(0, 0), captured.stream().map(CapturedRequest::offsetMillis).toList());
+        assertEquals(TimeUnit.DAYS.toMillis(25), secondStart - firstStart, 1_000);
+    }
+}
@@ -0,0 +1,293 @@
+package com.github.b3kt.aviation.infrastructure.capture;
+
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Replays a traffic capture against a locally running build and reports
+ * status counts, a latency histogram, the airport cache hit rate and the
+ * number of upstream calls, next to what the capture itself recorded.
+ * <p>
+ * The replay serves as the upstream: start the build with
+ * {@code --aviation.api.base-url=http://127.0.0.1:<stubPort>} and it answers
+ * every lookup after the stub latency, except the codes captured as 404.
+ * Requests are sent open-loop at their captured offsets divided by the
+ * speed, and latency is measured from the scheduled send time, so a slow
+ * build cannot hide behind a slower send rate. At max speed the requests
+ * are sent back to back, at most {@link #MAX_IN_FLIGHT} at a time.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec -Preplay -Dcapture=data/capture/traffic-....cap
+ * [-DreplayTarget=http://localhost:8080] [-Dspeed=1|N|max] [-DstubPort=19000] [-DstubLatency=50]}.
+ */
+public final class TrafficReplay {
+
+    private static final int MAX_IN_FLIGHT = 256;
+    private static final Pattern CACHE_GETS = Pattern.compile(
+            "^cache_gets_total\\{[^}]*cache=\"airports\"[^}]*result=\"(hit|miss)\"[^}]*} ([0-9.eE+-]+)$");
+
+    private TrafficReplay() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: TrafficReplay <capture> [target] [speed: 1|N|max] [stubPort] [stubLatencyMillis]");
+            System.exit(2);
+        }
+        Path capture = Path.of(args[0]);
+        String target = args.length > 1 ? args[1] : "http://localhost:8080";
+        double speed = args.length > 2 && !"max".equalsIgnoreCase(args[2]) ? Double.parseDouble(args[2]) : 0;
+        int stubPort = args.length > 3 ? Integer.parseInt(args[3]) : 19000;
+        long stubLatencyMillis = args.length > 4 ? Long.parseLong(args[4]) : 50;
+
+        List<CapturedRequest> requests = new ArrayList<>();
+        long startEpochMillis = CaptureFile.forEach(capture, requests::add);
+        System.out.printf("Replaying %d lookups captured from %tF %<tT at %s speed against %s%n",
+                requests.size(), startEpochMillis, speed > 0 ? speed + "x" : "max", target);
+
+        Set<String> notFound = new HashSet<>();
+        for (CapturedRequest request : requests) {
+            if (request.status() == 404) {
+                notFound.add(request.icaoCode());
+            }
+        }
+        UpstreamStub stub = new UpstreamStub(stubPort, stubLatencyMillis, notFound);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        try {
+            Map<String, Double> cacheBefore = cacheGets(client, target);
+            Result result = replay(client, target, requests, speed);
+            Map<String, Double> cacheAfter = cacheGets(client, target);
+            report(requests, result, stub, cacheBefore, cacheAfter);
+        } finally {
+            stub.stop();
+        }
+    }
+
+    private static Result replay(HttpClient client, String target, List<CapturedRequest> requests, double speed)
+            throws InterruptedException {
+        Result result = new Result();
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long startNanos = System.nanoTime();
+        for (CapturedRequest captured : requests) {
+            long scheduledNanos;
+            if (speed > 0) {
+                scheduledNanos = startNanos + (long) (TimeUnit.MILLISECONDS.toNanos(captured.offsetMillis()) / speed);
+                long waitNanos = scheduledNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            } else {
+                inFlight.acquire();
+                scheduledNanos = System.nanoTime();
+            }
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target + "/api/v1/airports/" + captured.icaoCode()))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET();
+            if (captured.latencyCritical()) {
+                request.header("X-Latency-Critical", "true");
+            }
+            result.pending.increment();
+            client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        result.record(response == null ? 0 : response.statusCode(), System.nanoTime() - scheduledNanos);
+                        if (speed <= 0) {
+                            inFlight.release();
+                        }
+                    });
+        }
+        while (result.completed.sum() < result.pending.sum()) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        result.elapsedNanos = System.nanoTime() - startNanos;
+        return result;
+    }
+
+    private static void report(List<CapturedRequest> requests, Result result, UpstreamStub stub,
+            Map<String, Double> cacheBefore, Map<String, Double> cacheAfter) {
+        Histogram captured = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+        Map<Integer, Long> capturedStatuses = new TreeMap<>();
+        Map<AccessEvent.CacheTier, Long> tiers = new EnumMap<>(AccessEvent.CacheTier.class);
+        for (CapturedRequest request : requests) {
+            captured.recordValue(Math.min(request.latencyMicros(), captured.getHighestTrackableValue()));
+            capturedStatuses.merge(request.status(), 1L, Long::sum);
+            if (request.cacheTier() != null) {
+                tiers.merge(request.cacheTier(), 1L, Long::sum);
+            }
+        }
+
+        System.out.printf("%n%-12s %12s %12s%n", "", "captured", "replayed");
+        System.out.printf("%-12s %12d %12d%n", "requests", requests.size(), result.completed.sum());
+        Set<Integer> statuses = new TreeSet<>(capturedStatuses.keySet());
+        statuses.addAll(result.statuses.keySet());
+        for (int status : statuses) {
+            System.out.printf("%-12s %12d %12d%n", "status " + status, capturedStatuses.getOrDefault(status, 0L),
+                    result.statuses.getOrDefault(status, new AtomicLong()).get());
+        }
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            System.out.printf("%-12s %10.2fms %10.2fms%n", "p" + percentile, captured.getValueAtPercentile(percentile) / 1000.0,
+                    result.latency.getValueAtPercentile(percentile) / 1000.0);
+        }
+        System.out.printf("%-12s %10.2fms %10.2fms%n", "max", captured.getMaxValue() / 1000.0,
+                result.latency.getMaxValue() / 1000.0);
+
+        long answered = tiers.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf("%nCaptured tiers: %s%n", tiers.entrySet().stream()
+                .map(tier -> String.format(Locale.ROOT, "%s %.1f%%", tier.getKey(), 100.0 * tier.getValue() / Math.max(answered, 1)))
+                .toList());
+        double hits = cacheAfter.getOrDefault("hit", 0.0) - cacheBefore.getOrDefault("hit", 0.0);
+        double misses = cacheAfter.getOrDefault("miss", 0.0) - cacheBefore.getOrDefault("miss", 0.0);
+        if (hits + misses > 0) {
+            System.out.printf("Replay airport cache hit rate: %.1f%% (%.0f hits, %.0f misses)%n",
+                    100 * hits / (hits + misses), hits, misses);
+        } else {
+            System.out.println("Replay airport cache hit rate: unavailable (no cache_gets_total in /actuator/prometheus)");
+        }
+        System.out.printf("Upstream calls: %d for %d distinct codes%n", stub.calls.sum(), stub.codes.size());
+        System.out.printf("Replayed in %.1fs, %.0f requests/s%n", result.elapsedNanos / 1e9,
+                result.completed.sum() / (result.elapsedNanos / 1e9));
+    }
+
+    private static Map<String, Double> cacheGets(HttpClient client, String target) {
+        Map<String, Double> gets = new TreeMap<>();
+        try {
+            HttpResponse<Stream<String>> response = client.send(
+                    HttpRequest.newBuilder(URI.create(target + "/actuator/prometheus")).GET().build(),
+                    HttpResponse.BodyHandlers.ofLines());
+            response.body().forEach(line -> {
+                Matcher matcher = CACHE_GETS.matcher(line);
+                if (matcher.matches()) {
+                    gets.merge(matcher.group(1), Double.parseDouble(matcher.group(2)), Double::sum);
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Could not scrape " + target + "/actuator/prometheus: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return gets;
+    }
+
+    /**
+     * Statuses and latencies of the replayed requests.
+     */
+    private static final class Result {
+
+        private final Histogram latency = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private long elapsedNanos;
+
+        void record(int status, long latencyNanos) {
+            statuses.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+            synchronized (latency) {
+                latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latency.getHighestTrackableValue()));
+            }
+            completed.increment();
+        }
+    }
+
+    /**
+     * Stand-in for aviationapi.com that answers {@code ?apt=} lookups with a
+     * synthetic airport record after a fixed delay, and counts the calls.
+     */
+    private static final class UpstreamStub {
+
+        private final HttpServer server;
+        private final long latencyMillis;
+        private final Set<String> notFound;
+        private final LongAdder calls = new LongAdder();
+        private final Set<String> codes = ConcurrentHashMap.newKeySet();
+
+        UpstreamStub(int port, long latencyMillis, Set<String> notFound) throws IOException {
+            this.latencyMillis = latencyMillis;
+            this.notFound = notFound;
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/", this::handle);
+            server.start();
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            calls.increment();
+            String query = exchange.getRequestURI().getRawQuery();
+            String codeList = "";
+            for (String parameter : query == null ? new String[0] : query.split("&")) {
+                if (parameter.startsWith("apt=")) {
+                    codeList = URLDecoder.decode(parameter.substring(4), StandardCharsets.UTF_8);
+                }
+            }
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder body = new StringBuilder("{");
+            int status = 404;
+            for (String code : codeList.split(",")) {
+                code = code.trim().toUpperCase(Locale.ROOT);
+                if (code.isEmpty() || notFound.contains(code)) {
+                    continue;
+                }
+                codes.add(code);
+                status = 200;
+                if (body.length() > 1) {
+                    body.append(',');
+                }
+                body.append(airportRecord(code));
+            }
+            byte[] bytes = body.append('}').toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+
+        private static String airportRecord(String code) {
+            int hash = code.hashCode() & Integer.MAX_VALUE;
+            double latitude = 25 + (hash % 2300) / 100.0;
+            double longitude = 70 + (hash / 7 % 5000) / 100.0;
+            return String.format(Locale.ROOT, "\"%1$s\":[{\"facility_name\":\"%1$s MUNI\",\"faa_ident\":\"%2$s\","
+                            + "\"icao_ident\":\"%1$s\",\"city\":\"CITY%3$d\",\"state\":\"NY\","
+                            + "\"latitude_sec\":\"%4$.4fN\",\"longitude_sec\":\"%5$.4fW\",\"elevation\":\"%6$d\"}]",
+                    code, code.substring(1), hash % 300, latitude * 3600, longitude * 3600, hash % 3000);
+        }
+    }
+}
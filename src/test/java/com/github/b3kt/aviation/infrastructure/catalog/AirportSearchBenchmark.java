@@ -0,0 +1,70 @@
+package com.github.b3kt.aviation.infrastructure.catalog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Airport search latency against a synthetic catalog of generated names.
+ * Run with {@code mvn test-compile exec:exec -Pbenchmark -Dbenchmark=AirportSearch}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AirportSearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ren", "sto", "ber", "gan", "wel", "tor", "ham", "ville", "dor",
+            "ash", "field", "port", "min", "sal", "vek", "ro", "na", "tu", "pe", "zi", "qua"};
+    private static final String[] KINDS = {
+            "International Airport", "Regional Airport", "Municipal Airport", "Airfield", "Air Base"};
+
+    @Param({"20000"})
+    public int airports;
+
+    @Param({"ka", "kalomi int", "interntional", "airport"})
+    public String query;
+
+    private AirportSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new AirportSearchIndex();
+        for (int i = 0; i < airports; i++) {
+            String city = word(random);
+            String name = (random.nextBoolean() ? word(random) + " " : "") + city + " "
+                    + KINDS[random.nextInt(KINDS.length)];
+            index.put(String.format("%c%03d", 'A' + i / 1000, i % 1000), null, name, city);
+        }
+    }
+
+    @Benchmark
+    public List<AirportSearchIndex.Match> search() {
+        return index.search(query, 10);
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+}
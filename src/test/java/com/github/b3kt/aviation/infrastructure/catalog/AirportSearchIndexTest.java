@@ -0,0 +1,78 @@
+package com.github.b3kt.aviation.infrastructure.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for AirportSearchIndex.
+ */
+class AirportSearchIndexTest {
+
+    private static AirportSearchIndex sampleIndex() {
+        AirportSearchIndex index = new AirportSearchIndex();
+        index.put("EGLL", null, "London Heathrow Airport", "London");
+        index.put("EGKK", null, "London Gatwick Airport", "London");
+        index.put("KJFK", "JFK", "John F Kennedy International Airport", "New York");
+        index.put("KLGA", "LGA", "La Guardia Airport", "New York");
+        index.put("LFPG", null, "Aéroport de Paris-Charles de Gaulle", "Paris");
+        index.put("NZQN", "ZQN", "Queenstown Airport", "Queenstown");
+        return index;
+    }
+
+    private static List<String> ids(List<AirportSearchIndex.Match> matches) {
+        return matches.stream().map(AirportSearchIndex.Match::id).toList();
+    }
+
+    @Test
+    void shouldMatchIdentifierPrefix_aboveNameMatches() {
+        // Given
+        AirportSearchIndex index = sampleIndex();
+
+        // When & Then
+        assertEquals(List.of("KJFK"), ids(index.search("KJF", 10)));
+        assertEquals("KLGA", ids(index.search("lga", 10)).getFirst());
+    }
+
+    @Test
+    void shouldMatchNamePrefixes_andRequireEveryTerm() {
+        // Given
+        AirportSearchIndex index = sampleIndex();
+
+        // When & Then
+        assertEquals(List.of("EGLL"), ids(index.search("heathrow", 10)));
+        assertEquals(List.of("EGKK", "EGLL"), ids(index.search("london", 10)).stream().sorted().toList());
+        assertEquals(List.of("EGKK"), ids(index.search("london gat", 10)));
+        assertEquals(List.of("KJFK", "KLGA"), ids(index.search("new york", 10)).stream().sorted().toList());
+    }
+
+    @Test
+    void shouldFoldAccents_andTolerateTypos() {
+        // Given
+        AirportSearchIndex index = sampleIndex();
+
+        // When & Then
+        assertEquals(List.of("LFPG"), ids(index.search("aeroport", 10)));
+        assertEquals(List.of("EGLL"), ids(index.search("heathrwo", 10)));
+        assertEquals(List.of("NZQN"), ids(index.search("quenstown", 10)));
+        assertTrue(index.search("xyzzy", 10).isEmpty());
+    }
+
+    @Test
+    void shouldReindexChangedAirport_andHonourLimit() {
+        // Given
+        AirportSearchIndex index = sampleIndex();
+
+        // When
+        index.put("EGLL", null, "Heathrow", "Hillingdon");
+
+        // Then
+        assertEquals(6, index.size());
+        assertEquals(List.of("EGKK"), ids(index.search("london", 10)));
+        assertEquals(List.of("EGLL"), ids(index.search("hilling", 10)));
+        assertEquals(1, index.search("airport", 1).size());
+    }
+}
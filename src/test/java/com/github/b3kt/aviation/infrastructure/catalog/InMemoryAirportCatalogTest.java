@@ -0,0 +1,67 @@
+package com.github.b3kt.aviation.infrastructure.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.cache.AirportCompactor;
+import com.github.b3kt.aviation.infrastructure.config.properties.CatalogProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for InMemoryAirportCatalog.
+ */
+class InMemoryAirportCatalogTest {
+
+    private final InMemoryAirportCatalog catalog = new InMemoryAirportCatalog(
+            new AirportCompactor(), new CatalogProperties(null, null, null), new ObjectMapper());
+
+    private static Airport airport(String icaoCode, String latitude, String longitude) {
+        return new Airport(icaoCode, null, icaoCode + " Airport", null, null,
+                latitude != null ? new BigDecimal(latitude) : null,
+                longitude != null ? new BigDecimal(longitude) : null,
+                null, null);
+    }
+
+    private List<String> nearby() {
+        return catalog.findNearby(40.7, -73.8, null, 5)
+                .map(distance -> distance.airport().icaoCode())
+                .collectList()
+                .block();
+    }
+
+    @Test
+    void shouldDropFromSpatialIndex_whenAirportComesBackWithoutCoordinates() {
+        // Given
+        catalog.add(airport("KJFK", "40.6413", "-73.7781"));
+        catalog.add(airport("KLGA", "40.7769", "-73.8740"));
+        long version = catalog.version();
+
+        // When
+        catalog.add(airport("KJFK", null, null));
+
+        // Then
+        assertEquals(List.of("KLGA"), nearby());
+        assertNull(catalog.findByIcao("KJFK").block().latitude());
+        assertEquals(2, catalog.size());
+        assertEquals(version + 1, catalog.version());
+    }
+
+    @Test
+    void shouldKeepCatalogVersion_whenUnchangedAirportIsAddedAgain() {
+        // Given
+        catalog.add(airport("KJFK", "40.6413", "-73.7781"));
+        long version = catalog.version();
+
+        // When
+        catalog.add(airport("KJFK", "40.6413", "-73.7781"));
+
+        // Then
+        assertEquals(version, catalog.version());
+        assertEquals(List.of("KJFK"), nearby());
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.b3kt.aviation.infrastructure.catalog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearby-airport query latency against a synthetic world-wide catalog.
+ * Run with {@code mvn test-compile exec:exec -Pbenchmark -Dbenchmark=NearbyAirports}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearbyAirportsBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"20000"})
+    public int airports;
+
+    private SpatialGridIndex index;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new SpatialGridIndex(1.0);
+        for (int i = 0; i < airports; i++) {
+            // Uniform over the sphere's surface
+            index.put(String.format("A%05d", i),
+                    Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)),
+                    random.nextDouble() * 360 - 180);
+        }
+        latitudes = new double[QUERIES];
+        longitudes = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            latitudes[i] = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+            longitudes[i] = random.nextDouble() * 360 - 180;
+        }
+    }
+
+    @Benchmark
+    public List<SpatialGridIndex.Hit> withinRadius50Nm() {
+        int query = next++ & (QUERIES - 1);
+        return index.withinRadius(latitudes[query], longitudes[query], 50, 10);
+    }
+
+    @Benchmark
+    public List<SpatialGridIndex.Hit> withinRadius250Nm() {
+        int query = next++ & (QUERIES - 1);
+        return index.withinRadius(latitudes[query], longitudes[query], 250, 10);
+    }
+
+    @Benchmark
+    public List<SpatialGridIndex.Hit> nearest10() {
+        int query = next++ & (QUERIES - 1);
+        return index.nearest(latitudes[query], longitudes[query], 10);
+    }
+}
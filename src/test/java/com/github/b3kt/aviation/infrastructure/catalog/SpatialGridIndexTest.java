@@ -0,0 +1,122 @@
+package com.github.b3kt.aviation.infrastructure.catalog;
+
+import com.github.b3kt.aviation.application.helper.GreatCircle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SpatialGridIndex.
+ */
+class SpatialGridIndexTest {
+
+    private record Point(String id, double latitude, double longitude) {
+    }
+
+    @Test
+    void shouldMatchBruteForce_forRandomQueries() {
+        // Given
+        Random random = new Random(42);
+        List<Point> points = IntStream.range(0, 5_000)
+                .mapToObj(i -> new Point("P" + i,
+                        Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)),
+                        random.nextDouble() * 360 - 180))
+                .toList();
+        SpatialGridIndex index = new SpatialGridIndex(1.0);
+        points.forEach(point -> index.put(point.id(), point.latitude(), point.longitude()));
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            double radiusNm = 50 + random.nextDouble() * 1_500;
+
+            // When
+            List<String> actual = index.withinRadius(latitude, longitude, radiusNm, 10).stream()
+                    .map(SpatialGridIndex.Hit::id)
+                    .toList();
+
+            // Then
+            List<String> expected = points.stream()
+                    .filter(point -> distance(latitude, longitude, point) <= radiusNm)
+                    .sorted(Comparator.comparingDouble(point -> distance(latitude, longitude, point)))
+                    .limit(10)
+                    .map(Point::id)
+                    .toList();
+            assertEquals(expected, actual, "query at " + latitude + "," + longitude + " r=" + radiusNm);
+        }
+    }
+
+    @Test
+    void shouldFindPoints_acrossTheAntimeridian() {
+        // Given
+        SpatialGridIndex index = new SpatialGridIndex(1.0);
+        index.put("NFFN", -17.755, 177.443);
+        index.put("NSFA", -13.830, -172.008);
+        index.put("NFTF", -21.241, -175.150);
+
+        // When
+        List<SpatialGridIndex.Hit> hits = index.withinRadius(-18.0, 179.9, 400, 10);
+
+        // Then
+        assertEquals(List.of("NFFN", "NFTF"), hits.stream().map(SpatialGridIndex.Hit::id).toList());
+    }
+
+    @Test
+    void shouldSearchAllLongitudes_nearThePoles() {
+        // Given
+        SpatialGridIndex index = new SpatialGridIndex(1.0);
+        index.put("NEAR", 89.5, 0.0);
+        index.put("FAR", 89.5, 180.0);
+
+        // When
+        List<SpatialGridIndex.Hit> hits = index.withinRadius(89.9, 90.0, 100, 10);
+
+        // Then
+        assertEquals(2, hits.size());
+    }
+
+    @Test
+    void shouldReturnNearest_withoutRadius_andMoveReindexedPoints() {
+        // Given
+        SpatialGridIndex index = new SpatialGridIndex(1.0);
+        index.put("KJFK", 40.6413, -73.7781);
+        index.put("EGLL", 51.4700, -0.4543);
+        index.put("YSSY", -33.9399, 151.1753);
+
+        // When
+        index.put("EGLL", 40.7, -74.0);
+        List<SpatialGridIndex.Hit> hits = index.nearest(40.0, -74.0, 2);
+
+        // Then
+        assertEquals(3, index.size());
+        assertEquals(List.of("KJFK", "EGLL"), hits.stream().map(SpatialGridIndex.Hit::id).toList());
+        assertTrue(index.nearest(40.0, -74.0, 5).size() == 3, "nearest should widen to the whole globe");
+    }
+
+    @Test
+    void shouldForgetRemovedPoints() {
+        // Given
+        SpatialGridIndex index = new SpatialGridIndex(1.0);
+        index.put("KJFK", 40.6413, -73.7781);
+        index.put("KLGA", 40.7769, -73.8740);
+
+        // When
+        index.remove("KJFK");
+        index.remove("ZZZZ");
+
+        // Then
+        assertEquals(1, index.size());
+        assertEquals(List.of("KLGA"),
+                index.nearest(40.7, -73.8, 5).stream().map(SpatialGridIndex.Hit::id).toList());
+    }
+
+    private static double distance(double latitude, double longitude, Point point) {
+        return GreatCircle.haversineNm(latitude, longitude, point.latitude(), point.longitude());
+    }
+}
@@ -3,22 +3,27 @@ package com.github.b3kt.aviation.infrastructure.client;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
 import com.github.b3kt.aviation.domain.service.TimezoneResolver;
+import com.github.b3kt.aviation.infrastructure.admission.UpstreamQueue;
 import com.github.b3kt.aviation.infrastructure.config.properties.AviationApiProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.EnrichmentProperties;
 
 import com.github.b3kt.aviation.infrastructure.service.LongitudeTimezoneResolver;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.netty.channel.ChannelOption;
 import net.iakovlev.timeshape.TimeZoneEngine;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
@@ -28,18 +33,28 @@ import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.Disposable;
 import reactor.netty.http.client.HttpClient;
 import reactor.test.StepVerifier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Integration tests for AviationApiClient using MockWebServer.
@@ -53,7 +68,10 @@ class AviationApiClientTest {
         private static final long RETRY_DELAY_MILLIS = 500L;
         private static final int CACHE_TTL_MINUTES = 60;
 
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final UpstreamQueue upstreamQueue = new UpstreamQueue();
         private MockWebServer mockWebServer;
+        private UpstreamBodyDecoder bodyDecoder;
         private AviationApiClient client;
 
         @Mock
@@ -65,7 +83,12 @@ class AviationApiClientTest {
 
                 mockWebServer = new MockWebServer();
 
+                bodyDecoder = spy(new UpstreamBodyDecoder(new ObjectMapper(), meterRegistry));
                 HttpClient httpClient = HttpClient.create()
+                .compress(true)
+                .doOnRequest((request, connection) -> UpstreamQueue.sent(request.currentContextView()))
+                .doOnChannelInit((observer, channel, address) -> channel.pipeline()
+                        .addFirst(bodyDecoder.wireByteCounter()))
                 .responseTimeout(Duration.ofSeconds(TIMEOUT_SECONDS))
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TIMEOUT_SECONDS * 1000);
 
@@ -95,8 +118,12 @@ class AviationApiClientTest {
                                 retryRegistry,
                                 rateLimiterRegistry,
                                 aviationApiProperties,
-                                new ObjectMapper(),
-                                timezoneResolver);
+                                bodyDecoder,
+                                timezoneResolver,
+                                new EnrichmentScheduler(
+                                                new EnrichmentProperties(null, null, null, null),
+                                                new SimpleMeterRegistry()),
+                                upstreamQueue);
         }
 
         @AfterEach
@@ -168,7 +195,7 @@ class AviationApiClientTest {
                                 .addHeader("Content-Type", "application/json"));
 
                 // When & Then
-                StepVerifier.create(client.getAirportByIcao("KJFK"))
+                StepVerifier.create(client.fetchAirport("KJFK"))
                                 .expectNextMatches(airport -> airport.icaoCode().equals("KJFK") &&
                                                 airport.name().equals("JOHN F KENNEDY INTL"))
                                 .verifyComplete();
@@ -178,6 +205,38 @@ class AviationApiClientTest {
                         BigDecimal.valueOf(-73.7786925));
         }
 
+        @Test
+        void shouldDecodeGzipResponse_andCountWireAndDecodedBytes() throws Exception {
+                when(timezoneResolver.resolve(any(), any())).thenReturn("America/New_York");
+
+                // Given: a body with a large ignored field, so compression matters
+                String jsonResponse = """
+                                {"KJFK": [{"facility_name": "JOHN F KENNEDY INTL", "icao_ident": "KJFK",
+                                  "latitude_sec": "146303.7400N", "longitude_sec": "265603.2930W",
+                                  "elevation": "13", "effective_date": "11/04/2021", "remarks": "%s"}]}
+                                """.formatted("NO REMARKS ".repeat(1000));
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                        gzip.write(jsonResponse.getBytes(StandardCharsets.UTF_8));
+                }
+                mockWebServer.enqueue(new MockResponse()
+                                .setBody(new Buffer().write(compressed.toByteArray()))
+                                .addHeader("Content-Type", "application/json")
+                                .addHeader("Content-Encoding", "gzip"));
+
+                // When & Then
+                StepVerifier.create(client.fetchAirport("KJFK"))
+                                .expectNextMatches(airport -> airport.name().equals("JOHN F KENNEDY INTL"))
+                                .verifyComplete();
+                assertTrue(mockWebServer.takeRequest().getHeader(HttpHeaders.ACCEPT_ENCODING).contains("gzip"));
+                double wire = meterRegistry.get("aviation.upstream.bytes").tag("stage", "wire").counter().count();
+                double decoded = meterRegistry.get("aviation.upstream.bytes").tag("stage", "decoded").counter().count();
+                assertEquals(jsonResponse.getBytes(StandardCharsets.UTF_8).length, decoded);
+                assertTrue(wire > 0 && wire < decoded / 10, () -> "wire bytes: " + wire);
+                assertEquals(1, meterRegistry.get("aviation.upstream.decode").timer().count());
+                verify(timezoneResolver).resolve(any(), any());
+        }
+
         @Test
         void shouldThrowAirportNotFoundException_whenApiReturns404() {
                 
@@ -187,11 +246,82 @@ class AviationApiClientTest {
                                 .setBody("{\"error\":\"Not found\"}"));
 
                 // When & Then
-                StepVerifier.create(client.getAirportByIcao("XXXX"))
+                StepVerifier.create(client.fetchAirport("XXXX"))
                                 .expectError(WebClientRequestException.class)
                                 .verify();
         }
 
+        @Test
+        void shouldLeaveUpstreamQueue_onceRequestIsSent() throws Exception {
+                // Given
+                mockWebServer.enqueue(new MockResponse()
+                                .setResponseCode(404)
+                                .setHeadersDelay(1, java.util.concurrent.TimeUnit.SECONDS));
+
+                // When: the server has the request but has not answered yet
+                Disposable call = client.fetchAirport("KJFK").subscribe(airport -> {
+                }, error -> {
+                });
+                mockWebServer.takeRequest();
+
+                // Then: slow upstream responses do not count as waiting
+                assertEquals(Duration.ZERO, upstreamQueue.oldestWait());
+                call.dispose();
+        }
+
+        @Test
+        void shouldReleaseBody_onlyAfterEnrichmentHasReadIt_whenCancelled() throws Exception {
+                when(timezoneResolver.resolve(any(), any())).thenReturn("America/New_York");
+
+                // Given: an enrichment that has started but not yet read the body
+                CountDownLatch started = new CountDownLatch(1);
+                CountDownLatch proceed = new CountDownLatch(1);
+                AtomicReference<PooledDataBuffer> body = new AtomicReference<>();
+                AtomicBoolean decoded = new AtomicBoolean();
+                doAnswer(invocation -> {
+                        body.set(invocation.getArgument(0));
+                        started.countDown();
+                        // Cancelling may interrupt the enrichment thread; keep waiting as a slow read would
+                        while (!awaitUninterrupted(proceed)) {
+                                Thread.onSpinWait();
+                        }
+                        Object result = invocation.callRealMethod();
+                        decoded.set(true);
+                        return result;
+                }).when(bodyDecoder).decode(any(), any());
+                mockWebServer.enqueue(new MockResponse()
+                                .setBody("""
+                                                {"KJFK": [{"facility_name": "JOHN F KENNEDY INTL", "icao_ident": "KJFK",
+                                                  "latitude_sec": "146303.7400N", "longitude_sec": "265603.2930W"}]}
+                                                """)
+                                .addHeader("Content-Type", "application/json"));
+                Disposable call = client.fetchAirport("KJFK").subscribe();
+                assertTrue(started.await(TIMEOUT_SECONDS, java.util.concurrent.TimeUnit.SECONDS));
+
+                // When: the call is cancelled, as the loser of a race would be
+                call.dispose();
+
+                // Then: the body is released once the enrichment is done with it, not before
+                assertTrue(body.get().isAllocated());
+                proceed.countDown();
+                long deadline = System.nanoTime() + Duration.ofSeconds(TIMEOUT_SECONDS).toNanos();
+                while (body.get().isAllocated() && System.nanoTime() < deadline) {
+                        Thread.sleep(10);
+                }
+                assertTrue(decoded.get());
+                assertFalse(body.get().isAllocated());
+                verify(timezoneResolver).resolve(any(), any());
+        }
+
+        private static boolean awaitUninterrupted(CountDownLatch latch) {
+                try {
+                        latch.await();
+                        return true;
+                } catch (InterruptedException e) {
+                        return false;
+                }
+        }
+
         @Test
         void shouldHandleTimeout() {
                 // Given
@@ -200,7 +330,7 @@ class AviationApiClientTest {
                                 .setBodyDelay(15, java.util.concurrent.TimeUnit.SECONDS));
 
                 // When & Then
-                StepVerifier.create(client.getAirportByIcao("KJFK"))
+                StepVerifier.create(client.fetchAirport("KJFK"))
                                 .expectError()
                                 .verify();
         }
@@ -0,0 +1,121 @@
+package com.github.b3kt.aviation.infrastructure.client;
+
+import com.github.b3kt.aviation.AviationApiApplication;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.netty.channel.EventLoopGroup;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.ReactorResourceFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Netty event-loop lag while the application enriches a steady stream of
+ * upstream responses, per enrichment mode. Every lookup is for a new ICAO
+ * code at a new position, so each response is parsed and its timezone
+ * resolved. The measured operation is a no-op submitted to an event loop,
+ * timed until it has run.
+ * Run with {@code mvn test-compile exec:exec -Pbenchmark -Dbenchmark=EnrichmentOffload}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class EnrichmentOffloadBenchmark {
+
+    private static final int LOAD_CONCURRENCY = 32;
+
+    @Param({"INLINE", "PARALLEL", "VIRTUAL"})
+    public String mode;
+
+    private MockWebServer upstream;
+    private ConfigurableApplicationContext context;
+    private EventLoopGroup eventLoops;
+    private Disposable load;
+
+    @Setup
+    public void setUp() throws IOException {
+        upstream = new MockWebServer();
+        upstream.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String icao = request.getRequestUrl().queryParameter("apt");
+                int hash = icao.hashCode() & Integer.MAX_VALUE;
+                double latitude = -50 + hash % 12000 / 100.0;
+                double longitude = -180 + hash / 12000 % 36000 / 100.0;
+                String body = String.format("{\"%s\":[{\"icao_ident\":\"%s\",\"facility_name\":\"%s MUNI\","
+                                + "\"city\":\"CITY\",\"latitude_sec\":\"%.4f%s\",\"longitude_sec\":\"%.4f%s\","
+                                + "\"elevation\":\"13\"}]}",
+                        icao, icao, icao,
+                        Math.abs(latitude) * 3600, latitude < 0 ? "S" : "N",
+                        Math.abs(longitude) * 3600, longitude < 0 ? "W" : "E");
+                return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+            }
+        });
+        upstream.start();
+
+        context = new SpringApplicationBuilder(AviationApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.rsocket.server.port=0",
+                        "--aviation.api.base-url=" + upstream.url("/").toString().replaceAll("/$", ""),
+                        "--aviation.enrichment.mode=" + mode,
+                        "--aviation.warmup.enabled=false",
+                        "--aviation.catalog.index-lookups=false",
+                        "--logging.level.root=WARN");
+        // The upstream stub has no quota
+        context.getBean(RateLimiterRegistry.class).replace("aviationApi", RateLimiter.of("aviationApi",
+                RateLimiterConfig.custom().limitForPeriod(Integer.MAX_VALUE).limitRefreshPeriod(Duration.ofSeconds(1)).build()));
+        eventLoops = context.getBean(ReactorResourceFactory.class).getLoopResources().onServer(true);
+
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        WebClient webClient = WebClient.create("http://localhost:" + port);
+        load = Flux.range(0, Integer.MAX_VALUE)
+                .flatMap(i -> webClient.get()
+                        .uri("/api/v1/airports/{icao}", Integer.toString(46656 + i, 36).toUpperCase())
+                        .retrieve()
+                        .toBodilessEntity()
+                        .onErrorResume(error -> Mono.empty()), LOAD_CONCURRENCY)
+                .subscribe();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        load.dispose();
+        context.close();
+        upstream.shutdown();
+    }
+
+    @Benchmark
+    public void eventLoopLag() {
+        CompletableFuture<Void> ran = new CompletableFuture<>();
+        eventLoops.next().execute(() -> ran.complete(null));
+        ran.join();
+    }
+}
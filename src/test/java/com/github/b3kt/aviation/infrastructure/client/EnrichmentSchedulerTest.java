@@ -0,0 +1,88 @@
+package com.github.b3kt.aviation.infrastructure.client;
+
+import com.github.b3kt.aviation.infrastructure.config.properties.EnrichmentProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.EnrichmentProperties.Mode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for EnrichmentScheduler.
+ */
+class EnrichmentSchedulerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EnrichmentScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.destroy();
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("aviation.enrichment.queue.depth").gauge().value();
+    }
+
+    @Test
+    void shouldRunInline_onCallingThread() {
+        // Given
+        scheduler = new EnrichmentScheduler(new EnrichmentProperties(Mode.INLINE, 1, 1, null), meterRegistry);
+
+        // When & Then
+        StepVerifier.create(scheduler.run(() -> Thread.currentThread().getName()))
+                .expectNext(Thread.currentThread().getName())
+                .verifyComplete();
+        assertEquals(1, meterRegistry.get("aviation.enrichment.task").timer().count());
+    }
+
+    @Test
+    void shouldRunOnEnrichmentThreads_inParallelAndVirtualModes() {
+        for (Mode mode : new Mode[] {Mode.PARALLEL, Mode.VIRTUAL}) {
+            // Given
+            scheduler = new EnrichmentScheduler(new EnrichmentProperties(mode, 2, 4, null), new SimpleMeterRegistry());
+
+            // When & Then
+            StepVerifier.create(scheduler.run(() -> Thread.currentThread()))
+                    .assertNext(thread -> {
+                        assertTrue(thread.getName().startsWith("enrichment-"), thread.getName());
+                        assertEquals(mode == Mode.VIRTUAL, thread.isVirtual());
+                    })
+                    .verifyComplete();
+            scheduler.destroy();
+        }
+    }
+
+    @Test
+    void shouldRejectTasks_whenQueueIsFull() throws InterruptedException {
+        // Given
+        scheduler = new EnrichmentScheduler(new EnrichmentProperties(Mode.PARALLEL, 1, 1, null), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.run(() -> {
+            started.countDown();
+            release.await();
+            return "running";
+        }).subscribe();
+        started.await();
+        Mono<String> queued = scheduler.run(() -> "queued").cache();
+        queued.subscribe();
+
+        // When & Then
+        assertEquals(1, queueDepth());
+        StepVerifier.create(scheduler.run(() -> "rejected"))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+        release.countDown();
+        StepVerifier.create(queued).expectNext("queued").verifyComplete();
+        assertEquals(0, queueDepth());
+    }
+}
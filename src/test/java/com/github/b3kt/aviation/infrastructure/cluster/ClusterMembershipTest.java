@@ -0,0 +1,90 @@
+package com.github.b3kt.aviation.infrastructure.cluster;
+
+import com.github.b3kt.aviation.infrastructure.config.properties.ClusterProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ClusterMembership owner selection.
+ */
+class ClusterMembershipTest {
+
+    private static final String SELF = "http://localhost:8081";
+    private static final List<String> PEERS = List.of(SELF, "http://localhost:8082", "http://localhost:8083");
+
+    @Test
+    void shouldSkipUnavailableOwner_afterFailureThreshold() {
+        // Given
+        ClusterMembership membership = membership(0.0);
+        String key = keyOwnedByPeer(membership);
+        String owner = membership.remoteOwner(key).orElseThrow();
+
+        // When
+        membership.recordFailure(owner);
+        membership.recordFailure(owner);
+
+        // Then
+        assertEquals(Optional.of(owner), membership.remoteOwner(key));
+        membership.recordFailure(owner);
+        assertNotEquals(Optional.of(owner), membership.remoteOwner(key));
+
+        membership.recordSuccess(owner);
+        assertEquals(Optional.of(owner), membership.remoteOwner(key));
+    }
+
+    @Test
+    void shouldRouteToSuccessor_whenOwnerExceedsBoundedLoad() {
+        // Given
+        ClusterMembership membership = membership(1.25);
+        String key = keyOwnedByPeer(membership);
+        String owner = membership.routeOwner(key).orElseThrow();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            membership.acquireLoad(owner);
+        }
+
+        // Then
+        assertNotEquals(Optional.of(owner), membership.routeOwner(key));
+
+        for (int i = 0; i < 10; i++) {
+            membership.releaseLoad(owner);
+        }
+        assertEquals(Optional.of(owner), membership.routeOwner(key));
+    }
+
+    @Test
+    void shouldIgnoreLoad_whenBoundedLoadDisabled() {
+        ClusterMembership membership = membership(0.0);
+        String key = keyOwnedByPeer(membership);
+        String owner = membership.routeOwner(key).orElseThrow();
+
+        for (int i = 0; i < 10; i++) {
+            membership.acquireLoad(owner);
+        }
+
+        assertEquals(Optional.of(owner), membership.routeOwner(key));
+    }
+
+    private static ClusterMembership membership(double boundedLoadFactor) {
+        return new ClusterMembership(new ClusterProperties(
+                true, ClusterProperties.Mode.OWNER_ROUTING, SELF, PEERS, "secret", true,
+                64, 250L, 1000L, 60_000L, 3, boundedLoadFactor));
+    }
+
+    private static String keyOwnedByPeer(ClusterMembership membership) {
+        for (char c = 'A'; c <= 'Z'; c++) {
+            String key = "KA" + c + "A";
+            if (membership.remoteOwner(key).isPresent()) {
+                return key;
+            }
+        }
+        throw new IllegalStateException("no key owned by a peer");
+    }
+}
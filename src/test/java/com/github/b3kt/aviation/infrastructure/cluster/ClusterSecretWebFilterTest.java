@@ -0,0 +1,73 @@
+package com.github.b3kt.aviation.infrastructure.cluster;
+
+import com.github.b3kt.aviation.infrastructure.config.properties.ClusterProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ClusterSecretWebFilter guarding the internal cluster endpoints.
+ */
+class ClusterSecretWebFilterTest {
+
+    private final ClusterSecretWebFilter filter = new ClusterSecretWebFilter(properties("s3cret"));
+
+    @Test
+    void shouldReject_internalRequestWithoutMatchingSecret() {
+        // Given
+        MockServerWebExchange missing = MockServerWebExchange.from(
+                MockServerHttpRequest.delete(PeerCacheClient.AIRPORTS_PATH));
+        MockServerWebExchange wrong = MockServerWebExchange.from(
+                MockServerHttpRequest.put(PeerCacheClient.AIRPORTS_PATH + "/KJFK")
+                        .header(ClusterSecretWebFilter.SECRET_HEADER, "guess"));
+        AtomicBoolean passed = new AtomicBoolean();
+
+        // When
+        filter.filter(missing, exchange -> Mono.fromRunnable(() -> passed.set(true))).block();
+        filter.filter(wrong, exchange -> Mono.fromRunnable(() -> passed.set(true))).block();
+
+        // Then
+        assertFalse(passed.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, missing.getResponse().getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, wrong.getResponse().getStatusCode());
+    }
+
+    @Test
+    void shouldPass_internalRequestWithSecret_andPublicRequests() {
+        // Given
+        MockServerWebExchange peer = MockServerWebExchange.from(
+                MockServerHttpRequest.get(PeerCacheClient.AIRPORTS_PATH + "/KJFK")
+                        .header(ClusterSecretWebFilter.SECRET_HEADER, "s3cret"));
+        MockServerWebExchange api = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/airports/KJFK"));
+        AtomicBoolean peerPassed = new AtomicBoolean();
+        AtomicBoolean apiPassed = new AtomicBoolean();
+
+        // When
+        filter.filter(peer, exchange -> Mono.fromRunnable(() -> peerPassed.set(true))).block();
+        filter.filter(api, exchange -> Mono.fromRunnable(() -> apiPassed.set(true))).block();
+
+        // Then
+        assertTrue(peerPassed.get());
+        assertTrue(apiPassed.get());
+    }
+
+    @Test
+    void shouldRefuseToStart_withoutSecret() {
+        assertThrows(IllegalStateException.class, () -> new ClusterSecretWebFilter(properties("")));
+    }
+
+    private static ClusterProperties properties(String secret) {
+        return new ClusterProperties(true, null, null, List.of(), secret, null, null, null, null, null, null,
+                null);
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.b3kt.aviation.infrastructure.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ConsistentHashRing.
+ */
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of(
+            "http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+
+    @Test
+    void shouldReturnNull_whenRingIsEmpty() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(List.of(), 16);
+
+        assertNull(ring.owner("KJFK"));
+        assertTrue(ring.preferenceList("KJFK").isEmpty());
+    }
+
+    @Test
+    void shouldStartPreferenceListWithOwner_andContainEveryMemberOnce() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(NODES, 64);
+
+        List<String> preference = ring.preferenceList("KJFK");
+
+        assertEquals(ring.owner("KJFK"), preference.getFirst());
+        assertEquals(NODES.size(), preference.size());
+        assertTrue(preference.containsAll(NODES));
+    }
+
+    @Test
+    void shouldSpreadKeysAcrossMembers() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(NODES, 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (int i = 0; i < 9000; i++) {
+            counts.merge(ring.owner(icao(i)), 1, Integer::sum);
+        }
+
+        // Each of the three members should own roughly a third of the keys
+        counts.values().forEach(count -> assertTrue(count > 2000 && count < 4000, "unbalanced: " + counts));
+    }
+
+    @Test
+    void shouldOnlyRemapKeysOfRemovedMember() {
+        ConsistentHashRing<String> full = new ConsistentHashRing<>(NODES, 128);
+        ConsistentHashRing<String> reduced = new ConsistentHashRing<>(NODES.subList(0, 2), 128);
+
+        for (int i = 0; i < 5000; i++) {
+            String key = icao(i);
+            String before = full.owner(key);
+            if (!before.equals(NODES.get(2))) {
+                assertEquals(before, reduced.owner(key));
+            }
+        }
+    }
+
+    private static String icao(int i) {
+        char[] code = new char[4];
+        for (int p = 3; p >= 0; p--) {
+            code[p] = (char) ('A' + i % 26);
+            i /= 26;
+        }
+        return new String(code);
+    }
+}
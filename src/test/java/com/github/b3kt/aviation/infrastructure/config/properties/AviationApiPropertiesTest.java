@@ -0,0 +1,57 @@
+package com.github.b3kt.aviation.infrastructure.config.properties;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the cache policies of AviationApiProperties.
+ */
+class AviationApiPropertiesTest {
+
+    private static AviationApiProperties properties(Map<String, AviationApiProperties.CachePolicy> caches) {
+        return new AviationApiProperties("http://localhost", null, null, null, 45, null, caches);
+    }
+
+    @Test
+    void shouldApplyDefaults_forCacheWithoutPolicy() {
+        // When
+        AviationApiProperties.CachePolicy policy = properties(null).cachePolicy("timezone");
+
+        // Then
+        assertEquals(DataSize.ofMegabytes(32), policy.maximumWeight());
+        assertEquals(Duration.ofMinutes(45), policy.ttl());
+        assertNull(policy.refreshAfterWrite());
+        assertFalse(policy.compact());
+        assertEquals(AviationApiProperties.Expiry.TTL, policy.expiry());
+    }
+
+    @Test
+    void shouldFallBackToCacheTtlMinutes_onlyWhenTtlIsNotConfigured() {
+        // Given
+        AviationApiProperties properties = properties(Map.of(
+                "airports", new AviationApiProperties.CachePolicy(DataSize.ofMegabytes(64), null,
+                        Duration.ofMinutes(10), true, AviationApiProperties.Expiry.AIRAC_CYCLE),
+                "search", new AviationApiProperties.CachePolicy(null, Duration.ofMinutes(5), null, null, null)));
+
+        // When
+        AviationApiProperties.CachePolicy airports = properties.cachePolicy("airports");
+        AviationApiProperties.CachePolicy search = properties.cachePolicy("search");
+
+        // Then
+        assertEquals(DataSize.ofMegabytes(64), airports.maximumWeight());
+        assertEquals(Duration.ofMinutes(45), airports.ttl());
+        assertEquals(Duration.ofMinutes(10), airports.refreshAfterWrite());
+        assertTrue(airports.compact());
+        assertEquals(AviationApiProperties.Expiry.AIRAC_CYCLE, airports.expiry());
+        assertEquals(Duration.ofMinutes(5), search.ttl());
+        assertEquals(DataSize.ofMegabytes(32), search.maximumWeight());
+    }
+}
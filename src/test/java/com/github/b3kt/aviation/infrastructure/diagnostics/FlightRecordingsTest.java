@@ -0,0 +1,130 @@
+package com.github.b3kt.aviation.infrastructure.diagnostics;
+
+import com.github.b3kt.aviation.application.command.CommandHandler;
+import com.github.b3kt.aviation.application.command.GetAirportByIcaoCommand;
+import com.github.b3kt.aviation.application.command.handler.GetAirportByIcaoCommandHandler;
+import com.github.b3kt.aviation.application.executor.CommandExecutor;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.domain.port.AviationDataPort;
+import com.github.b3kt.aviation.infrastructure.config.properties.ProfilingProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FlightRecordings capturing the application's JFR events.
+ */
+class FlightRecordingsTest {
+
+    private final FlightRecordings recordings = new FlightRecordings(
+            new ProfilingProperties("default", Duration.ofSeconds(30), Duration.ofMinutes(1), DataSize.ofMegabytes(16)));
+
+    @AfterEach
+    void tearDown() {
+        recordings.close();
+    }
+
+    @Test
+    void shouldRecordCommandAndCacheLookupEvents_whileRecording() throws Exception {
+        // Given
+        AviationDataPort port = mock(AviationDataPort.class);
+        when(port.getAirportByIcao("KJFK")).thenReturn(Mono.just(new Airport("KJFK", "JFK", "JOHN F KENNEDY INTL",
+                "NEW YORK", "QUEENS", BigDecimal.valueOf(40.64), BigDecimal.valueOf(-73.78), "America/New_York", 13,
+                null)));
+        ApplicationContext context = mock(ApplicationContext.class);
+        when(context.getBeansOfType(CommandHandler.class))
+                .thenReturn(Map.of("handler", new GetAirportByIcaoCommandHandler(port)));
+        CommandExecutor executor = new CommandExecutor(context);
+
+        // When
+        FlightRecordings.Status started = recordings.start(null, null);
+        StepVerifier.create(executor.execute(new GetAirportByIcaoCommand("KJFK"))).expectNextCount(1).verifyComplete();
+        FlightRecordings.Status stopped = recordings.stop();
+        Path dump = recordings.dump().orElseThrow();
+
+        // Then
+        assertEquals("RUNNING", started.state());
+        assertEquals(Duration.ofSeconds(30), started.duration());
+        assertEquals("STOPPED", stopped.state());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Files.delete(dump);
+        RecordedEvent command = only(events, "aviation.CommandExecution");
+        assertEquals("GetAirportByIcaoCommand", command.getString("command"));
+        assertEquals("SUCCESS", command.getString("outcome"));
+        RecordedEvent lookup = only(events, "aviation.CacheLookup");
+        assertEquals("KJFK", lookup.getString("icaoCode"));
+        assertEquals("LOCAL", lookup.getString("tier"));
+        assertTrue(lookup.getBoolean("found"));
+        assertTrue(lookup.getDuration().compareTo(command.getDuration()) <= 0);
+        assertTrue(events.stream().noneMatch(
+                event -> FlightRecordings.SENSITIVE_EVENTS.contains(event.getEventType().getName())));
+    }
+
+    @Test
+    void shouldRefuseToStart_whenRunningOrInvalid() {
+        // Given
+        recordings.start(Duration.ofHours(1), null);
+
+        // Then
+        assertEquals(Duration.ofMinutes(1), recordings.status().duration());
+        assertThrows(IllegalStateException.class, () -> recordings.start(null, null));
+        recordings.stop();
+        assertThrows(IllegalArgumentException.class, () -> recordings.start(null, "no-such-settings"));
+        assertThrows(IllegalArgumentException.class, () -> recordings.start(Duration.ZERO, null));
+        assertThrows(IllegalStateException.class, recordings::stop);
+    }
+
+    @Test
+    void shouldDumpEachDownloadToItsOwnFile_andDeleteItOnceRead() throws Exception {
+        // Given
+        ProfilingEndpoint endpoint = new ProfilingEndpoint(recordings);
+        recordings.start(null, null);
+        recordings.stop();
+
+        // When
+        Resource first = endpoint.download("recording").getBody();
+        Resource second = endpoint.download("recording").getBody();
+
+        // Then
+        assertNotEquals(first.getFilename(), second.getFilename());
+        assertTrue(first.exists() && second.exists());
+        long length = first.contentLength();
+        try (InputStream input = first.getInputStream()) {
+            assertEquals(length, input.readAllBytes().length);
+        }
+        assertFalse(first.exists(), "served dump should be deleted");
+        assertTrue(second.exists(), "other download should be unaffected");
+        second.getInputStream().close();
+        assertFalse(second.exists());
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.getFirst();
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.b3kt.aviation.infrastructure.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.github.b3kt.aviation.application.logging.AccessEvent;
+import com.github.b3kt.aviation.infrastructure.config.properties.AccessLogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for AccessLogWebFilter, capturing the access logger's output.
+ */
+class AccessLogWebFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogWebFilter.ACCESS_LOGGER);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        accessLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    private AccessLogWebFilter filter(double sampleRate) {
+        return new AccessLogWebFilter(
+                new AccessLogProperties(true, sampleRate, Duration.ofMinutes(1), null), meterRegistry);
+    }
+
+    private static WebFilterChain respondingWith(HttpStatus status) {
+        return exchange -> Mono.deferContextual(context -> {
+            AccessEvent.from(context).ifPresent(event -> {
+                event.icaoCode("KJFK");
+                event.cacheTier(AccessEvent.CacheTier.UPSTREAM);
+                event.upstreamAttempt();
+                event.upstreamAttempt();
+                event.answeredBy("aviationApi", 12_500_000);
+            });
+            exchange.getResponse().setStatusCode(status);
+            return Mono.empty();
+        });
+    }
+
+    private static MockServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+
+    @Test
+    void shouldWriteOneLine_withWhatTheLayersRecorded() {
+        // When
+        StepVerifier.create(filter(1.0).filter(get("/api/v1/airports/KJFK"), respondingWith(HttpStatus.OK)))
+                .verifyComplete();
+
+        // Then
+        assertEquals(1, appender.list.size());
+        String line = appender.list.getFirst().getFormattedMessage();
+        assertTrue(line.startsWith("method=GET path=/api/v1/airports/KJFK status=200 icao=KJFK tier=UPSTREAM "
+                + "provider=aviationApi attempts=2 upstream_ms=12.50 enrichment_ms=0.00 total_ms="), line);
+    }
+
+    @Test
+    void shouldSampleOrdinaryRequests_butAlwaysWriteServerErrors() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(filter(0.0).filter(get("/api/v1/airports/KJFK"), respondingWith(HttpStatus.OK)))
+                    .verifyComplete();
+        }
+        StepVerifier.create(filter(0.0).filter(get("/api/v1/airports/KJFK"),
+                        respondingWith(HttpStatus.SERVICE_UNAVAILABLE)))
+                .verifyComplete();
+
+        // Then
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.getFirst().getFormattedMessage().contains("status=503"));
+        assertEquals(10, meterRegistry.get("aviation.access.events").tag("outcome", "sampled_out").counter().count());
+        assertEquals(1, meterRegistry.get("aviation.access.events").tag("outcome", "written").counter().count());
+    }
+
+    @Test
+    void shouldSkipActuatorRequests() {
+        // Given
+        AtomicBoolean eventSeen = new AtomicBoolean();
+        WebFilterChain chain = exchange -> Mono.deferContextual(context -> {
+            eventSeen.set(AccessEvent.from(context).isPresent());
+            return Mono.empty();
+        });
+
+        // When
+        StepVerifier.create(filter(1.0).filter(get("/actuator/health"), chain)).verifyComplete();
+
+        // Then
+        assertFalse(eventSeen.get());
+        assertTrue(appender.list.isEmpty());
+    }
+}
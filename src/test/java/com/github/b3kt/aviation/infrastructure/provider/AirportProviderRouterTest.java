@@ -0,0 +1,207 @@
+package com.github.b3kt.aviation.infrastructure.provider;
+
+import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.config.properties.ProviderProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.ProviderProperties.Routing;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for AirportProviderRouter, using stub providers.
+ */
+class AirportProviderRouterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private static Airport airport(String icaoCode, String name) {
+        return new Airport(icaoCode, null, name, "City", "Country",
+                new BigDecimal("10.0000"), new BigDecimal("20.0000"), "UTC", 100);
+    }
+
+    private static ProviderProperties properties(Routing routing, Duration probeInterval) {
+        return new ProviderProperties(routing, Duration.ofSeconds(5), null, probeInterval, null);
+    }
+
+    private AirportProviderRouter router(Map<String, AirportProvider> providers, ProviderProperties properties) {
+        return new AirportProviderRouter(providers, properties, new SimpleMeterRegistry(), now::get);
+    }
+
+    private static AirportProvider counting(AtomicInteger calls, AirportProvider provider) {
+        return icaoCode -> {
+            calls.incrementAndGet();
+            return provider.fetchAirport(icaoCode);
+        };
+    }
+
+    @Test
+    void shouldRouteToFastestProvider_onceLatenciesAreKnown() {
+        // Given
+        AtomicInteger slowCalls = new AtomicInteger();
+        AtomicInteger fastCalls = new AtomicInteger();
+        Map<String, AirportProvider> providers = new LinkedHashMap<>();
+        providers.put("slow", counting(slowCalls, icao -> Mono.fromSupplier(() -> {
+            now.addAndGet(Duration.ofMillis(300).toNanos());
+            return airport(icao, "slow");
+        })));
+        providers.put("fast", counting(fastCalls, icao -> Mono.just(airport(icao, "fast"))));
+        AirportProviderRouter router = router(providers, properties(Routing.FASTEST, Duration.ofHours(1)));
+
+        // When & Then: the first lookup takes configuration order and probes the other provider
+        StepVerifier.create(router.fetchAirport("KJFK").map(Airport::name))
+                .expectNext("slow")
+                .verifyComplete();
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(router.fetchAirport("KJFK").map(Airport::name))
+                    .expectNext("fast")
+                    .verifyComplete();
+        }
+        assertEquals(1, slowCalls.get());
+        assertEquals(4, fastCalls.get());
+    }
+
+    @Test
+    void shouldFailOver_whenProviderFails() {
+        // Given
+        Map<String, AirportProvider> providers = new LinkedHashMap<>();
+        providers.put("broken", icao -> Mono.error(new IllegalStateException("connection refused")));
+        providers.put("backup", icao -> Mono.just(airport(icao, "backup")));
+        AirportProviderRouter router = router(providers, properties(Routing.FASTEST, Duration.ofHours(1)));
+
+        // When & Then
+        StepVerifier.create(router.fetchAirport("KJFK").map(Airport::name))
+                .expectNext("backup")
+                .verifyComplete();
+        assertTrue(router.snapshot().get("broken").healthScore() < 1.0);
+        assertEquals(1.0, router.snapshot().get("backup").healthScore());
+    }
+
+    @Test
+    void shouldReturnNotFound_onlyWhenEveryProviderSaysSo() {
+        // Given
+        Map<String, AirportProvider> notFound = new LinkedHashMap<>();
+        notFound.put("a", icao -> Mono.error(new AirportNotFoundException(icao)));
+        notFound.put("b", icao -> Mono.empty());
+        Map<String, AirportProvider> mixed = new LinkedHashMap<>();
+        mixed.put("a", icao -> Mono.error(new AirportNotFoundException(icao)));
+        mixed.put("b", icao -> Mono.error(new IllegalStateException("upstream down")));
+
+        // When & Then
+        StepVerifier.create(router(notFound, properties(Routing.FASTEST, Duration.ofHours(1))).fetchAirport("XXXX"))
+                .expectError(AirportNotFoundException.class)
+                .verify();
+        StepVerifier.create(router(mixed, properties(Routing.FASTEST, Duration.ofHours(1))).fetchAirport("XXXX"))
+                .expectErrorMessage("upstream down")
+                .verify();
+    }
+
+    @Test
+    void shouldFindAirport_inProviderCoveringIt() {
+        // Given
+        Map<String, AirportProvider> providers = new LinkedHashMap<>();
+        providers.put("dataset", new DatasetAirportProvider(Map.of("EGLL", airport("EGLL", "dataset"))));
+        providers.put("api", icao -> Mono.just(airport(icao, "api")));
+        AirportProviderRouter router = router(providers, properties(Routing.FASTEST, Duration.ofHours(1)));
+
+        // When & Then
+        StepVerifier.create(router.fetchAirport("KJFK").map(Airport::name))
+                .expectNext("api")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRaceTopTwo_andCancelTheSlowerProvider() {
+        // Given
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Map<String, AirportProvider> providers = new LinkedHashMap<>();
+        providers.put("hanging", icao -> Mono.<Airport>never().doOnCancel(() -> cancelled.set(true)));
+        providers.put("quick", icao -> Mono.just(airport(icao, "quick")));
+        AirportProviderRouter router = router(providers, properties(Routing.FASTEST, Duration.ofHours(1)));
+
+        // When & Then
+        StepVerifier.create(router.raceAirport("KJFK").map(Airport::name))
+                .expectNext("quick")
+                .verifyComplete();
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void shouldDeprioritizeUnhealthyProvider_andProbeItUntilItRecovers() {
+        // Given
+        AtomicBoolean down = new AtomicBoolean(true);
+        AtomicInteger flakyCalls = new AtomicInteger();
+        Map<String, AirportProvider> providers = new LinkedHashMap<>();
+        providers.put("flaky", counting(flakyCalls, icao -> down.get()
+                ? Mono.error(new IllegalStateException("503"))
+                : Mono.just(airport(icao, "flaky"))));
+        providers.put("stable", icao -> Mono.just(airport(icao, "stable")));
+        AirportProviderRouter router = router(providers, properties(Routing.FASTEST, Duration.ofMillis(500)));
+        while (router.snapshot().get("flaky").healthy()) {
+            router.fetchAirport("KJFK").block();
+        }
+        int failures = flakyCalls.get();
+
+        // When: within the probe interval the unhealthy provider is skipped
+        router.fetchAirport("KJFK").block();
+
+        // Then
+        assertEquals(failures, flakyCalls.get());
+
+        // When: after the probe interval it gets a background lookup and recovers
+        down.set(false);
+        now.addAndGet(Duration.ofMillis(600).toNanos());
+        StepVerifier.create(router.fetchAirport("KJFK").map(Airport::name))
+                .expectNext("stable")
+                .verifyComplete();
+
+        // Then
+        assertEquals(failures + 1, flakyCalls.get());
+        assertTrue(router.snapshot().get("flaky").healthy());
+    }
+
+    @Test
+    void shouldListRateLimiterOfEachRoutedProvider_once() {
+        // Given
+        RateLimiter primary = RateLimiter.ofDefaults("aviationApi");
+        RateLimiter mirror = RateLimiter.ofDefaults("mirror");
+        Map<String, AirportProvider> providers = new LinkedHashMap<>();
+        providers.put("aviationApi", limited(primary));
+        providers.put("alias", limited(primary));
+        providers.put("mirror", limited(mirror));
+        providers.put("dataset", icao -> Mono.just(airport(icao, "dataset")));
+        AirportProviderRouter router = router(providers, properties(Routing.FASTEST, Duration.ofHours(1)));
+
+        // When & Then
+        assertEquals(List.of(primary, mirror), router.rateLimiters());
+    }
+
+    private static AirportProvider limited(RateLimiter rateLimiter) {
+        return new AirportProvider() {
+            @Override
+            public Mono<Airport> fetchAirport(String icaoCode) {
+                return Mono.just(airport(icaoCode, rateLimiter.getName()));
+            }
+
+            @Override
+            public Optional<RateLimiter> rateLimiter() {
+                return Optional.of(rateLimiter);
+            }
+        };
+    }
+}
@@ -0,0 +1,266 @@
+package com.github.b3kt.aviation.infrastructure.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.admission.UpstreamQueue;
+import com.github.b3kt.aviation.infrastructure.client.AviationApiClient;
+import com.github.b3kt.aviation.infrastructure.client.EnrichmentScheduler;
+import com.github.b3kt.aviation.infrastructure.client.UpstreamBodyDecoder;
+import com.github.b3kt.aviation.infrastructure.config.ResilienceConfiguration;
+import com.github.b3kt.aviation.infrastructure.config.properties.AviationApiProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.EnrichmentProperties;
+import com.github.b3kt.aviation.infrastructure.config.properties.SimulatorProperties;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for UpstreamSimulator on a free port, with a controllable clock
+ * and fault draws, called directly and through AviationApiClient with the
+ * production circuit breaker and retry settings.
+ */
+class UpstreamSimulatorTest {
+
+    private static final SimulatorProperties.Latency FAST = new SimulatorProperties.Latency(
+            Duration.ofMillis(1), Duration.ofMillis(1));
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong now = new AtomicLong();
+    // Fault draws for the next responses; 0.5 once used up
+    private final Queue<Double> draws = new ConcurrentLinkedQueue<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<UpstreamSimulator> simulators = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        simulators.forEach(UpstreamSimulator::close);
+    }
+
+    private UpstreamSimulator start(String corpus, String recordFrom, Double errorRate,
+            SimulatorProperties.Phase throttling, SimulatorProperties.BrownOut brownOut) throws IOException {
+        UpstreamSimulator simulator = new UpstreamSimulator(
+                new SimulatorProperties(true, 0, corpus, recordFrom, directory.resolve("recorded.json").toString(),
+                        FAST, errorRate, throttling, brownOut),
+                new DefaultResourceLoader(), new ObjectMapper(), WebClient.builder(), meterRegistry,
+                now::get, this::draw);
+        simulators.add(simulator);
+        return simulator;
+    }
+
+    private double draw() {
+        Double draw = draws.poll();
+        return draw == null ? 0.5 : draw;
+    }
+
+    private UpstreamSimulator start(Double errorRate, SimulatorProperties.Phase throttling,
+            SimulatorProperties.BrownOut brownOut) throws IOException {
+        return start(null, null, errorRate, throttling, brownOut);
+    }
+
+    private static ResponseEntity<JsonNode> get(UpstreamSimulator simulator, String codes) {
+        return WebClient.create("http://localhost:" + simulator.port())
+                .get()
+                .uri(uri -> uri.path(UpstreamSimulator.AIRPORTS_PATH).queryParam("apt", codes).build())
+                .exchangeToMono(response -> response.toEntity(JsonNode.class))
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static AviationApiClient client(UpstreamSimulator simulator, CircuitBreakerRegistry circuitBreakerRegistry,
+            RetryRegistry retryRegistry) {
+        String baseUrl = "http://localhost:" + simulator.port();
+        AviationApiProperties properties = new AviationApiProperties(baseUrl, 3, 3, 10L, 60,
+                Map.of("airports", UpstreamSimulator.AIRPORTS_PATH));
+        SimpleMeterRegistry clientMeters = new SimpleMeterRegistry();
+        return new AviationApiClient(WebClient.create(baseUrl), circuitBreakerRegistry, retryRegistry,
+                new ResilienceConfiguration().rateLimiterRegistry(), properties,
+                new UpstreamBodyDecoder(new ObjectMapper(), clientMeters), (latitude, longitude) -> "UTC",
+                new EnrichmentScheduler(new EnrichmentProperties(null, null, null, null), clientMeters),
+                new UpstreamQueue());
+    }
+
+    private double responses(String outcome) {
+        return meterRegistry.counter("aviation.simulator.responses", "outcome", outcome).count();
+    }
+
+    @Test
+    void shouldServeEveryRequestedCode_fromTheCorpus() throws IOException {
+        // Given
+        UpstreamSimulator simulator = start(null, null, null);
+
+        // When
+        ResponseEntity<JsonNode> several = get(simulator, "KJFK,klax,XXXX");
+        ResponseEntity<JsonNode> unknown = get(simulator, "XXXX");
+
+        // Then
+        assertEquals(200, several.getStatusCode().value());
+        assertEquals("JOHN F KENNEDY INTL", several.getBody().get("KJFK").get(0).get("facility_name").asText());
+        assertEquals("146303.7400N", several.getBody().get("KJFK").get(0).get("latitude_sec").asText());
+        assertEquals("KLAX", several.getBody().get("KLAX").get(0).get("icao_ident").asText());
+        assertTrue(several.getBody().get("XXXX").isEmpty());
+        assertEquals(404, unknown.getStatusCode().value());
+    }
+
+    @Test
+    void shouldAnswer429WithRetryAfter_duringThrottling() throws IOException {
+        // Given
+        UpstreamSimulator simulator = start(null,
+                new SimulatorProperties.Phase(Duration.ofSeconds(60), Duration.ofSeconds(5)), null);
+
+        // When
+        ResponseEntity<JsonNode> before = get(simulator, "KJFK");
+        now.addAndGet(Duration.ofSeconds(57).toNanos());
+        ResponseEntity<JsonNode> during = get(simulator, "KJFK");
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        ResponseEntity<JsonNode> after = get(simulator, "KJFK");
+
+        // Then
+        assertEquals(200, before.getStatusCode().value());
+        assertEquals(429, during.getStatusCode().value());
+        assertEquals("3", during.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, after.getStatusCode().value());
+    }
+
+    @Test
+    void shouldFailRequests_atTheConfiguredRates() throws IOException {
+        // Given
+        UpstreamSimulator failing = start(1.0, null, null);
+        UpstreamSimulator brownOut = start(0.0, null, new SimulatorProperties.BrownOut(
+                Duration.ofSeconds(60), Duration.ofSeconds(10), 2.0, 1.0));
+
+        // When
+        ResponseEntity<JsonNode> failed = get(failing, "KJFK");
+        ResponseEntity<JsonNode> beforeBrownOut = get(brownOut, "KJFK");
+        now.addAndGet(Duration.ofSeconds(55).toNanos());
+        ResponseEntity<JsonNode> duringBrownOut = get(brownOut, "KJFK");
+
+        // Then
+        assertEquals(500, failed.getStatusCode().value());
+        assertEquals(200, beforeBrownOut.getStatusCode().value());
+        assertEquals(503, duringBrownOut.getStatusCode().value());
+    }
+
+    @Test
+    void shouldSampleLatency_betweenMedianAndTail() throws IOException {
+        // Given
+        UpstreamSimulator simulator = new UpstreamSimulator(
+                new SimulatorProperties(true, 0, null, null, directory.resolve("recorded.json").toString(),
+                        new SimulatorProperties.Latency(Duration.ofMillis(50), Duration.ofMillis(500)),
+                        null, null, null),
+                new DefaultResourceLoader(), new ObjectMapper(), WebClient.builder(), new SimpleMeterRegistry(),
+                now::get, this::draw);
+        simulators.add(simulator);
+
+        // When
+        long[] samples = new long[10_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = simulator.latency(false).toMillis();
+        }
+        Arrays.sort(samples);
+
+        // Then
+        assertEquals(50, samples[samples.length / 2], 5);
+        assertEquals(500, samples[samples.length * 99 / 100], 100);
+    }
+
+    @Test
+    void shouldRecordMissingAirports_fromTheRealUpstream() throws IOException {
+        // Given
+        UpstreamSimulator upstream = start(null, null, null);
+        Path emptyCorpus = Files.writeString(directory.resolve("empty.json"), "{}");
+        UpstreamSimulator recording = start("file:" + emptyCorpus, "http://localhost:" + upstream.port(),
+                null, null, null);
+
+        // When
+        ResponseEntity<JsonNode> recorded = get(recording, "KSFO");
+
+        // Then
+        assertEquals(200, recorded.getStatusCode().value());
+        assertEquals("KSFO", recorded.getBody().get("KSFO").get(0).get("icao_ident").asText());
+        JsonNode saved = new ObjectMapper().readTree(directory.resolve("recorded.json").toFile());
+        assertEquals("SAN FRANCISCO INTL", saved.get("KSFO").get(0).get("facility_name").asText());
+    }
+
+    @Test
+    void shouldAbsorbTransientErrorsAndThrottling_withClientRetries() throws IOException {
+        // Given: half the responses fail, and the last 5 s of every minute are throttled
+        UpstreamSimulator simulator = start(0.5, new SimulatorProperties.Phase(Duration.ofSeconds(60),
+                Duration.ofSeconds(5)), null);
+        ResilienceConfiguration resilience = new ResilienceConfiguration();
+        RetryRegistry retryRegistry = resilience.retryRegistry(new AviationApiProperties(null, 3, 3, 10L, 60, null));
+        // Time on the simulator passes while the client backs off
+        retryRegistry.retry("aviationApi").getEventPublisher()
+                .onRetry(event -> now.addAndGet(Duration.ofSeconds(5).toNanos()));
+        AviationApiClient client = client(simulator, resilience.circuitBreakerRegistry(), retryRegistry);
+
+        // When: a 500 then a success, and a 429 then a success
+        draws.addAll(List.of(0.1, 0.9));
+        Airport afterError = client.fetchAirport("KJFK").block(Duration.ofSeconds(5));
+        now.set(Duration.ofSeconds(58).toNanos());
+        draws.add(0.9);
+        Airport afterThrottling = client.fetchAirport("KLAX").block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals("KJFK", afterError.icaoCode());
+        assertEquals("KLAX", afterThrottling.icaoCode());
+        assertEquals(1.0, responses("error"));
+        assertEquals(1.0, responses("throttled"));
+        assertEquals(2.0, responses("ok"));
+    }
+
+    @Test
+    void shouldOpenCircuitBreaker_duringBrownOut() throws IOException {
+        // Given: every response fails with 503 during the last 10 s of every minute
+        UpstreamSimulator simulator = start(0.0, null, new SimulatorProperties.BrownOut(
+                Duration.ofSeconds(60), Duration.ofSeconds(10), 1.0, 1.0));
+        ResilienceConfiguration resilience = new ResilienceConfiguration();
+        CircuitBreakerRegistry circuitBreakerRegistry = resilience.circuitBreakerRegistry();
+        AviationApiClient client = client(simulator, circuitBreakerRegistry,
+                resilience.retryRegistry(new AviationApiProperties(null, 3, 3, 10L, 60, null)));
+        now.set(Duration.ofSeconds(55).toNanos());
+
+        // When: the three attempts of the first lookup and two of the second reach the breaker's minimum of five calls
+        List<Throwable> errors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            client.fetchAirport("KJFK").onErrorResume(error -> {
+                errors.add(error);
+                return Mono.empty();
+            }).block(Duration.ofSeconds(5));
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("aviationApi").getState());
+        assertEquals(3, errors.size());
+        assertInstanceOf(CallNotPermittedException.class, errors.getLast());
+        assertEquals(5.0, responses("brown_out"));
+    }
+}
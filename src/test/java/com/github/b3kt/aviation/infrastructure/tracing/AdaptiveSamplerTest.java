@@ -0,0 +1,73 @@
+package com.github.b3kt.aviation.infrastructure.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveSamplerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final AdaptiveSampler sampler = new AdaptiveSampler(10, meterRegistry, now::get);
+
+    @Test
+    void shouldSampleEveryTrace_whenBelowTarget() {
+        // When
+        long sampled = sample(5);
+
+        // Then
+        assertEquals(5, sampled);
+        assertEquals(1.0, sampler.probability());
+    }
+
+    @Test
+    void shouldCapSampledTraces_atTargetPerSecond() {
+        // When
+        long sampled = sample(1_000);
+
+        // Then
+        assertEquals(10, sampled);
+        assertEquals(990, meterRegistry.counter(AdaptiveSampler.DECISIONS_METRIC, "decision", "dropped").count());
+    }
+
+    @Test
+    void shouldLowerProbability_afterBusySecond() {
+        // Given
+        sample(1_000);
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        long sampled = sample(1_000);
+
+        // Then
+        assertEquals(0.01, sampler.probability(), 1e-9);
+        assertTrue(sampled > 0 && sampled <= 10, () -> sampled + " traces sampled");
+    }
+
+    @Test
+    void shouldRestoreFullSampling_afterQuietSecond() {
+        // Given
+        sample(1_000);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        sample(3);
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        long sampled = sample(3);
+
+        // Then
+        assertEquals(1.0, sampler.probability());
+        assertEquals(3, sampled);
+    }
+
+    private long sample(int traces) {
+        return IntStream.range(0, traces).filter(i -> sampler.isSampled(i)).count();
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.b3kt.aviation.infrastructure.tracing;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import brave.propagation.TraceContextOrSamplingFlags;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TailSamplingSpanHandlerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<TraceContext> exported = new ArrayList<>();
+    private final Tracing tracing;
+    private final Tracer tracer;
+
+    TailSamplingSpanHandlerTest() {
+        SpanHandler exporter = new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                exported.add(context);
+                return true;
+            }
+        };
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("exporter", exporter);
+        TailSamplingSpanHandler handler = new TailSamplingSpanHandler(Duration.ofMillis(500), 100,
+                beanFactory.getBeanProvider(SpanHandler.class), meterRegistry);
+        tracing = Tracing.newBuilder()
+                .sampler(Sampler.NEVER_SAMPLE)
+                .alwaysSampleLocal()
+                .addSpanHandler(handler)
+                .addSpanHandler(exporter)
+                .build();
+        tracer = tracing.tracer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    @Test
+    void shouldPassThrough_whenSampledAtHead() {
+        // Given
+        Span root = tracer.nextSpan(TraceContextOrSamplingFlags.SAMPLED).start();
+
+        // When
+        root.finish();
+
+        // Then
+        assertEquals(1, exported.size());
+        assertEquals(0, decisions("dropped"));
+    }
+
+    @Test
+    void shouldDropFastLocalTrace() {
+        // Given
+        Span root = tracer.newTrace().start();
+        tracer.newChild(root.context()).start().finish();
+
+        // When
+        root.finish();
+
+        // Then
+        assertTrue(exported.isEmpty());
+        assertEquals(1, decisions("dropped"));
+    }
+
+    @Test
+    void shouldKeepWholeTrace_whenChildSpanFailed() {
+        // Given
+        Span root = tracer.newTrace().start();
+        tracer.newChild(root.context()).start().error(new IllegalStateException("boom")).finish();
+
+        // When
+        root.finish();
+
+        // Then
+        assertEquals(2, exported.size());
+        assertTrue(exported.stream().allMatch(TraceContext::sampled));
+        assertEquals(1, decisions("error"));
+    }
+
+    @Test
+    void shouldKeepTrace_whenRootIsSlow() {
+        // Given
+        Span root = tracer.newTrace().start(1_000L);
+
+        // When
+        root.finish(601_000L);
+
+        // Then
+        assertEquals(1, exported.size());
+        assertEquals(1, decisions("slow"));
+    }
+
+    @Test
+    void shouldKeepTrace_whenItCalledUpstream() {
+        // Given
+        Span root = tracer.newTrace().start();
+        tracer.newChild(root.context()).kind(Span.Kind.CLIENT).start().finish();
+
+        // When
+        root.finish();
+
+        // Then
+        assertEquals(2, exported.size());
+        assertEquals(1, decisions("upstream"));
+    }
+
+    @Test
+    void shouldKeepOnlyRootAndClientSpans_ofTraceThatCalledUpstream() {
+        // Given
+        Span root = tracer.newTrace().start();
+        Span local = tracer.newChild(root.context()).start();
+        Span client = tracer.newChild(local.context()).kind(Span.Kind.CLIENT).start();
+        client.finish();
+        local.finish();
+
+        // When
+        root.finish();
+
+        // Then
+        assertEquals(List.of(client.context().spanId(), root.context().spanId()),
+                exported.stream().map(TraceContext::spanId).toList());
+        assertEquals(0.0, meterRegistry.get("aviation.tracing.tail.pending").gauge().value());
+    }
+
+    private double decisions(String decision) {
+        return meterRegistry.counter(TailSamplingSpanHandler.DECISIONS_METRIC, "decision", decision).count();
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.b3kt.aviation.infrastructure.tracing;
+
+import com.github.b3kt.aviation.AviationApiApplication;
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import com.github.b3kt.aviation.infrastructure.service.TimeZoneEngineProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of cached REST airport lookups under each trace sampling mode:
+ * every trace sampled (the previous management.tracing.sampling.probability
+ * of 1.0), adaptive head sampling only, and adaptive head sampling with tail
+ * retention. One operation looks up {@link #BATCH_SIZE} airports.
+ * Run with {@code mvn test-compile exec:exec -Pbenchmark -Dbenchmark=TraceSampling}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 20, time = 10)
+@Measurement(iterations = 10, time = 10)
+@Fork(2)
+public class TraceSamplingBenchmark {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int CONCURRENCY = 16;
+
+    @Param({"always", "adaptive", "adaptive-tail"})
+    public String sampling;
+
+    private final List<String> icaos = IntStream.range(0, BATCH_SIZE)
+            .mapToObj(i -> String.format("T%03d", i))
+            .toList();
+
+    private ConfigurableApplicationContext context;
+    private WebClient webClient;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AviationApiApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .run("--server.port=0",
+                        "--spring.rsocket.server.port=0",
+                        "--aviation.api.base-url=http://localhost:1",
+                        "--aviation.warmup.enabled=false",
+                        "--aviation.tracing.sampling.enabled=" + !sampling.equals("always"),
+                        "--aviation.tracing.sampling.tail=" + sampling.equals("adaptive-tail"),
+                        "--logging.level.root=WARN",
+                        "--logging.level.aviation.access=WARN");
+
+        // Wait out the background timezone engine load, which otherwise competes with the first iterations
+        context.getBean(TimeZoneEngineProvider.class).get();
+
+        int httpPort = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        webClient = WebClient.create("http://localhost:" + httpPort);
+
+        // Fill the cache directly so every measured lookup is a healthy local hit
+        Cache airports = context.getBean(CacheManager.class).getCache(CacheConfiguration.AIRPORT_CACHE);
+        icaos.forEach(icao -> airports.put(icao, new Airport(icao, null, icao + " Airport", "City", "Country",
+                new BigDecimal("40.6398"), new BigDecimal("-73.7789"), "America/New_York", 13)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AirportResponse rest() {
+        return Flux.fromIterable(icaos)
+                .flatMap(icao -> webClient.get()
+                        .uri("/api/v1/airports/{icao}", icao)
+                        .retrieve()
+                        .bodyToMono(AirportResponse.class), CONCURRENCY)
+                .blockLast();
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.b3kt.aviation.presentation.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of one airport response per wire format. Setup prints
+ * the encoded size of each format for comparison.
+ * Run with {@code mvn test-compile exec:exec -Pbenchmark -Dbenchmark=AirportEncoding}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AirportEncodingBenchmark {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    private AirportResponse airport;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        airport = new AirportResponse("KJFK", "JFK", "John F Kennedy International Airport", "New York",
+                "United States", new AirportResponse.Coordinates(new BigDecimal("40.6398"), new BigDecimal("-73.7789")),
+                "America/New_York", 13);
+        System.out.printf("Payload bytes: json=%d cbor=%d smile=%d protobuf=%d%n",
+                json().length, cbor().length, smile().length, protobuf().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(airport);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(airport);
+    }
+
+    @Benchmark
+    public byte[] smile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(airport);
+    }
+
+    @Benchmark
+    public byte[] protobuf() {
+        return AirportProtobufEncoder.toByteArray(airport, false);
+    }
+}
@@ -0,0 +1,231 @@
+package com.github.b3kt.aviation.presentation.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import com.github.b3kt.aviation.presentation.dto.ErrorResponse;
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for AirportProtobufEncoder.
+ */
+class AirportProtobufEncoderTest {
+
+    private static final MediaType PROTOBUF = MediaType.valueOf("application/x-protobuf");
+
+    private static final Pattern PACKAGE = Pattern.compile("package\\s+([\\w.]+);");
+    private static final Pattern MESSAGE = Pattern.compile("message\\s+(\\w+)\\s*\\{([^}]*)}");
+    private static final Pattern FIELD = Pattern.compile("(optional\\s+)?(\\w+)\\s+(\\w+)\\s*=\\s*(\\d+);");
+    private static final Map<String, FieldDescriptorProto.Type> SCALARS = Map.of(
+            "string", FieldDescriptorProto.Type.TYPE_STRING,
+            "double", FieldDescriptorProto.Type.TYPE_DOUBLE,
+            "int32", FieldDescriptorProto.Type.TYPE_INT32,
+            "sint32", FieldDescriptorProto.Type.TYPE_SINT32);
+
+    private static Descriptors.FileDescriptor schema;
+
+    private final AirportProtobufEncoder encoder = new AirportProtobufEncoder();
+
+    @BeforeAll
+    static void loadSchema() throws Exception {
+        schema = parseSchema();
+    }
+
+    private static AirportResponse airport(String icaoCode) {
+        return new AirportResponse(icaoCode, "", "London Heathrow Airport", "London", "United Kingdom",
+                new AirportResponse.Coordinates(new BigDecimal("51.4700"), new BigDecimal("-0.4543")),
+                "Europe/London", -12);
+    }
+
+    /**
+     * Builds the message descriptors from the field declarations in
+     * proto/airport.proto, so the schema file rather than this test decides
+     * what the encoder output must parse as.
+     */
+    private static Descriptors.FileDescriptor parseSchema() throws Exception {
+        String proto;
+        try (InputStream input = new ClassPathResource("proto/airport.proto").getInputStream()) {
+            proto = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        FileDescriptorProto.Builder file = FileDescriptorProto.newBuilder()
+                .setName("airport.proto")
+                .setPackage(match(PACKAGE, proto).group(1))
+                .setSyntax("proto3");
+        Matcher message = MESSAGE.matcher(proto);
+        while (message.find()) {
+            DescriptorProto.Builder type = file.addMessageTypeBuilder().setName(message.group(1));
+            Matcher field = FIELD.matcher(message.group(2));
+            while (field.find()) {
+                FieldDescriptorProto.Builder declaration = type.addFieldBuilder()
+                        .setName(field.group(3))
+                        .setNumber(Integer.parseInt(field.group(4)))
+                        .setLabel(FieldDescriptorProto.Label.LABEL_OPTIONAL);
+                String fieldType = field.group(2);
+                if (SCALARS.containsKey(fieldType)) {
+                    declaration.setType(SCALARS.get(fieldType));
+                } else {
+                    declaration.setType(FieldDescriptorProto.Type.TYPE_MESSAGE).setTypeName(fieldType);
+                }
+                if (field.group(1) != null) {
+                    declaration.setProto3Optional(true).setOneofIndex(type.getOneofDeclCount());
+                    type.addOneofDeclBuilder().setName("_" + field.group(3));
+                }
+            }
+        }
+        return Descriptors.FileDescriptor.buildFrom(file.build(), new Descriptors.FileDescriptor[0]);
+    }
+
+    private static Matcher match(Pattern pattern, String input) {
+        Matcher matcher = pattern.matcher(input);
+        assertTrue(matcher.find(), "proto/airport.proto does not declare " + pattern);
+        return matcher;
+    }
+
+    private static DynamicMessage parse(String messageType, byte[] bytes) throws Exception {
+        return DynamicMessage.parseFrom(schema.findMessageTypeByName(messageType), bytes);
+    }
+
+    private static Object field(DynamicMessage message, String name) {
+        Descriptors.FieldDescriptor field = message.getDescriptorForType().findFieldByName(name);
+        return message.hasField(field) ? message.getField(field) : null;
+    }
+
+    private static byte[] bytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    @Test
+    void shouldEncodeAirport_matchingSchemaFields() throws Exception {
+        // When
+        DataBuffer buffer = encoder.encodeValue(airport("EGLL"), DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forClass(AirportResponse.class), PROTOBUF, Map.of());
+
+        // Then
+        DynamicMessage airport = parse("Airport", bytes(buffer));
+        assertTrue(airport.getUnknownFields().asMap().isEmpty(), "fields missing from the schema");
+        assertEquals("EGLL", field(airport, "icao_code"));
+        assertNull(field(airport, "faa_code"), "empty FAA code should be omitted");
+        assertEquals("London Heathrow Airport", field(airport, "name"));
+        assertEquals("London", field(airport, "city"));
+        assertEquals("United Kingdom", field(airport, "country"));
+        DynamicMessage coordinates = (DynamicMessage) field(airport, "coordinates");
+        assertEquals(51.47, field(coordinates, "latitude"));
+        assertEquals(-0.4543, field(coordinates, "longitude"));
+        assertEquals("Europe/London", field(airport, "timezone"));
+        assertEquals(-12, field(airport, "elevation_feet"));
+    }
+
+    @Test
+    void shouldOmitCoordinatesAndElevation_whenUnknown() throws Exception {
+        // Given
+        AirportResponse unknown = new AirportResponse("ZZZZ", null, "Unknown", null, null, null, null, null);
+
+        // When
+        DynamicMessage airport = parse("Airport", bytes(encoder.encodeValue(unknown,
+                DefaultDataBufferFactory.sharedInstance, ResolvableType.forClass(AirportResponse.class),
+                PROTOBUF, Map.of())));
+
+        // Then
+        assertEquals("ZZZZ", field(airport, "icao_code"));
+        assertNull(field(airport, "coordinates"));
+        assertNull(field(airport, "elevation_feet"));
+    }
+
+    @Test
+    void shouldEncodeError_matchingSchemaFields() throws Exception {
+        // Given
+        ErrorResponse error = new ErrorResponse(LocalDateTime.of(2025, 11, 30, 10, 30), 404,
+                "Airport Not Found", "No airport ZZZZ", "/api/v1/airports/ZZZZ");
+
+        // When
+        DynamicMessage message = parse("Error", bytes(encoder.encodeValue(error,
+                DefaultDataBufferFactory.sharedInstance, ResolvableType.forClass(ErrorResponse.class),
+                PROTOBUF, Map.of())));
+
+        // Then
+        assertTrue(message.getUnknownFields().asMap().isEmpty(), "fields missing from the schema");
+        assertEquals("2025-11-30T10:30:00", field(message, "timestamp"));
+        assertEquals(404, field(message, "status"));
+        assertEquals("Airport Not Found", field(message, "error"));
+        assertEquals("No airport ZZZZ", field(message, "message"));
+        assertEquals("/api/v1/airports/ZZZZ", field(message, "path"));
+    }
+
+    @Test
+    void shouldEncodeStream_asLengthDelimitedMessages() throws Exception {
+        // When
+        byte[] bytes = DataBufferUtils.join(encoder.encode(Flux.just(airport("EGLL"), airport("EGKK")),
+                        DefaultDataBufferFactory.sharedInstance, ResolvableType.forClass(AirportResponse.class),
+                        PROTOBUF, Map.of()))
+                .map(AirportProtobufEncoderTest::bytes)
+                .block();
+
+        // Then
+        ByteArrayInputStream input = new ByteArrayInputStream(bytes);
+        Descriptors.Descriptor airport = schema.findMessageTypeByName("Airport");
+        DynamicMessage.Builder first = DynamicMessage.newBuilder(airport);
+        assertTrue(first.mergeDelimitedFrom(input));
+        assertEquals("EGLL", field(first.build(), "icao_code"));
+        DynamicMessage.Builder second = DynamicMessage.newBuilder(airport);
+        assertTrue(second.mergeDelimitedFrom(input));
+        assertEquals("EGKK", field(second.build(), "icao_code"));
+        assertEquals(0, input.available());
+    }
+
+    @Test
+    void shouldEncodeSmallerThanJson() throws IOException {
+        // Given
+        AirportResponse airport = airport("EGLL");
+
+        // When
+        byte[] protobuf = bytes(encoder.encodeValue(airport, DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forClass(AirportResponse.class), PROTOBUF, Map.of()));
+        byte[] json = new ObjectMapper().writeValueAsBytes(airport);
+
+        // Then
+        assertTrue(protobuf.length * 2 < json.length, protobuf.length + " vs " + json.length);
+    }
+
+    @Test
+    void shouldOnlyEncodeAirportAndErrorResponses() {
+        // When & Then
+        assertTrue(encoder.canEncode(ResolvableType.forClass(AirportResponse.class), PROTOBUF));
+        assertTrue(encoder.canEncode(ResolvableType.forClass(ErrorResponse.class), PROTOBUF));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(AirportResponse.class), MediaType.APPLICATION_JSON));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(AirportResponse.Coordinates.class), PROTOBUF));
+        assertEquals(1, encoder.encode(Mono.just(ErrorResponse.of(404, "Airport Not Found", "missing", "/x")),
+                DefaultDataBufferFactory.sharedInstance, ResolvableType.forClass(ErrorResponse.class),
+                PROTOBUF, Map.of()).count().block());
+    }
+}
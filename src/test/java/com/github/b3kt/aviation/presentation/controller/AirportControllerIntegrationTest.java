@@ -17,6 +17,7 @@ import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 /**
@@ -124,4 +125,130 @@ class AirportControllerIntegrationTest {
 
         verify(aviationDataPort).getAirportByIcao("KJFK");
     }
+
+    @Test
+    void shouldReturnCbor_whenRequestedInAcceptHeader() {
+        // Given
+        Airport airport = new Airport(
+                "EGLL",
+                null,
+                "London Heathrow Airport",
+                "London",
+                "United Kingdom",
+                new BigDecimal("51.4700"),
+                new BigDecimal("-0.4543"),
+                "Europe/London",
+                83);
+
+        when(aviationDataPort.getAirportByIcao("EGLL")).thenReturn(Mono.just(airport));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/airports/EGLL")
+                .accept(MediaType.valueOf("application/cbor"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/cbor")
+                .expectBody(AirportResponse.class)
+                .value(response -> {
+                    assert response != null;
+                    assert response.icaoCode().equals("EGLL");
+                    assert response.elevationFeet() == 83;
+                });
+
+        verify(aviationDataPort).getAirportByIcao("EGLL");
+    }
+
+    @Test
+    void shouldDefaultToJson_whenAnyMediaTypeAccepted() {
+        // Given
+        Airport airport = new Airport(
+                "KLAX",
+                "LAX",
+                "Los Angeles International Airport",
+                "Los Angeles",
+                "United States",
+                new BigDecimal("33.9425"),
+                new BigDecimal("-118.4081"),
+                "America/Los_Angeles",
+                125);
+
+        when(aviationDataPort.getAirportByIcao("KLAX")).thenReturn(Mono.just(airport));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/airports/KLAX")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.icaoCode").isEqualTo("KLAX");
+
+        verify(aviationDataPort).getAirportByIcao("KLAX");
+    }
+
+    @Test
+    void shouldReturnProtobufError_whenAirportNotFound() {
+        // Given
+        when(aviationDataPort.getAirportByIcao("ZZZZ"))
+                .thenReturn(Mono.error(new AirportNotFoundException("ZZZZ")));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/airports/ZZZZ")
+                .accept(MediaType.valueOf("application/x-protobuf"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType("application/x-protobuf");
+
+        verify(aviationDataPort).getAirportByIcao("ZZZZ");
+    }
+
+    @Test
+    void shouldReturnDistanceMatrix_withUnresolvedAirportsLeftOut() {
+        // Given
+        when(aviationDataPort.getAirportByIcao("KJFK")).thenReturn(Mono.just(new Airport("KJFK", "JFK",
+                "John F Kennedy International Airport", "New York", "United States",
+                new BigDecimal("40.6398"), new BigDecimal("-73.7789"), "America/New_York", 13)));
+        when(aviationDataPort.getAirportByIcao("EGLL")).thenReturn(Mono.just(new Airport("EGLL", null,
+                "London Heathrow Airport", "London", "United Kingdom",
+                new BigDecimal("51.4706"), new BigDecimal("-0.461941"), "Europe/London", 83)));
+        when(aviationDataPort.getAirportByIcao("XXXX"))
+                .thenReturn(Mono.error(new AirportNotFoundException("XXXX")));
+
+        // When & Then
+        webTestClient.post()
+                .uri("/api/v1/airports/distances")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"from\":[\"kjfk\"],\"to\":[\"EGLL\",\"XXXX\",\"KJFK\"],\"ellipsoid\":true}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.from[0]").isEqualTo("KJFK")
+                .jsonPath("$.to.length()").isEqualTo(2)
+                .jsonPath("$.unresolved[0]").isEqualTo("XXXX")
+                .jsonPath("$.distanceNm[0][0]").value(
+                        distance -> assertEquals(2990, ((Number) distance).doubleValue(), 5))
+                .jsonPath("$.ellipsoidDistanceNm[0][0]").value(
+                        distance -> assertEquals(2999, ((Number) distance).doubleValue(), 5))
+                .jsonPath("$.distanceNm[0][1]").isEqualTo(0.0)
+                .jsonPath("$.initialBearingDeg[0][0]").value(
+                        bearing -> assertEquals(51.4, ((Number) bearing).doubleValue(), 1));
+
+        verify(aviationDataPort).getAirportByIcao("KJFK");
+        verify(aviationDataPort).getAirportByIcao("EGLL");
+        verify(aviationDataPort).getAirportByIcao("XXXX");
+    }
+
+    @Test
+    void shouldReturn400_whenBothMatrixAndPairsProvided() {
+        // When & Then
+        webTestClient.post()
+                .uri("/api/v1/airports/distances")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"from\":[\"KJFK\"],\"to\":[\"EGLL\"],\"pairs\":[{\"from\":\"KJFK\",\"to\":\"EGLL\"}]}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
 }
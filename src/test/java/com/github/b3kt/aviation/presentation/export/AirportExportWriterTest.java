@@ -0,0 +1,74 @@
+package com.github.b3kt.aviation.presentation.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for AirportExportWriter and ExportFormat.
+ */
+class AirportExportWriterTest {
+
+    private final AirportExportWriter writer = new AirportExportWriter(new ObjectMapper());
+
+    private static AirportResponse airport(String icaoCode, String name) {
+        return new AirportResponse(icaoCode, null, name, "London", "GB",
+                new AirportResponse.Coordinates(new BigDecimal("51.4700"), new BigDecimal("-0.4543")),
+                "Europe/London", 83);
+    }
+
+    private static List<String> chunks(Flux<DataBuffer> body) {
+        return body.map(buffer -> buffer.toString(StandardCharsets.UTF_8)).collectList().block();
+    }
+
+    @Test
+    void shouldWriteCsv_withHeaderAndQuotedFields() {
+        // Given
+        Flux<AirportResponse> airports = Flux.just(airport("EGLL", "Heathrow, \"LHR\""));
+
+        // When
+        String csv = String.join("", chunks(writer.write(airports, ExportFormat.CSV, DefaultDataBufferFactory.sharedInstance)));
+
+        // Then
+        assertEquals(AirportExportWriter.CSV_HEADER
+                + "EGLL,,\"Heathrow, \"\"LHR\"\"\",London,GB,51.4700,-0.4543,Europe/London,83\n", csv);
+    }
+
+    @Test
+    void shouldWriteNdjson_inBoundedChunks() {
+        // Given
+        int count = AirportExportWriter.CHUNK_SIZE * 2 + 1;
+        Flux<AirportResponse> airports = Flux.fromStream(IntStream.range(0, count)
+                .mapToObj(i -> airport(String.format("A%03d", i), "Airport " + i)));
+
+        // When
+        List<String> chunks = chunks(writer.write(airports, ExportFormat.NDJSON, DefaultDataBufferFactory.sharedInstance));
+
+        // Then
+        assertEquals(3, chunks.size());
+        String[] lines = String.join("", chunks).split("\n");
+        assertEquals(count, lines.length);
+        assertTrue(lines[0].startsWith("{\"icaoCode\":\"A000\""), lines[0]);
+    }
+
+    @Test
+    void shouldResolveFormat_fromParameterThenAcceptHeader() {
+        // When & Then
+        assertEquals(ExportFormat.CSV, ExportFormat.resolve("CSV", List.of()));
+        assertEquals(ExportFormat.CSV, ExportFormat.resolve(null, MediaType.parseMediaTypes("text/csv, */*")));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.resolve(null, List.of(MediaType.ALL)));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.resolve(" ", List.of()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.b3kt.aviation.presentation.rsocket;
+
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import com.github.b3kt.aviation.domain.exception.AirportNotFoundException;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.domain.port.AviationDataPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for AirportRSocketController over a TCP connection.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class AirportRSocketControllerIntegrationTest {
+
+    @Autowired
+    private RSocketRequester.Builder requesterBuilder;
+
+    @LocalRSocketServerPort
+    private int port;
+
+    @MockitoBean
+    private AviationDataPort aviationDataPort;
+
+    private RSocketRequester requester;
+
+    private static Airport airport(String icaoCode) {
+        return new Airport(icaoCode, null, icaoCode + " Airport", "City", "Country",
+                new BigDecimal("10.0000"), new BigDecimal("20.0000"), "UTC", 100);
+    }
+
+    @BeforeEach
+    void setUp() {
+        requester = requesterBuilder.tcp("localhost", port);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requester.dispose();
+    }
+
+    @Test
+    void shouldReturnAirport_forRequestResponse() {
+        // Given
+        when(aviationDataPort.getAirportByIcao("RSAA")).thenReturn(Mono.just(airport("RSAA")));
+
+        // When & Then
+        StepVerifier.create(requester.route("airports.get").data("rsaa").retrieveMono(AirportResponse.class))
+                .assertNext(response -> {
+                    assert response.icaoCode().equals("RSAA");
+                    assert response.elevationFeet() == 100;
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldStreamAirportsInRequestedOrder_skippingUnknownCodes() {
+        // Given
+        when(aviationDataPort.getAirportByIcao("RSBA")).thenReturn(Mono.just(airport("RSBA")));
+        when(aviationDataPort.getAirportByIcao("RSBB"))
+                .thenReturn(Mono.error(new AirportNotFoundException("RSBB")));
+        when(aviationDataPort.getAirportByIcao("RSBC")).thenReturn(Mono.just(airport("RSBC")));
+
+        // When & Then
+        StepVerifier.create(requester.route("airports.stream")
+                        .data(List.of("RSBA", "RSBB", "invalid!", "RSBC"))
+                        .retrieveFlux(AirportResponse.class)
+                        .map(AirportResponse::icaoCode))
+                .expectNext("RSBA", "RSBC")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldAnswerChannel_withBoundedDemand() {
+        // Given
+        when(aviationDataPort.getAirportByIcao(startsWith("RC"))).thenAnswer(invocation ->
+                Mono.just(airport(invocation.getArgument(0))));
+        Flux<String> icaos = Flux.range(0, 100).map(i -> String.format("RC%02d", i));
+
+        // When & Then
+        StepVerifier.create(requester.route("airports.channel")
+                        .data(icaos, String.class)
+                        .retrieveFlux(AirportResponse.class)
+                        .map(AirportResponse::icaoCode), 5)
+                .expectNext("RC00", "RC01", "RC02", "RC03", "RC04")
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(95)
+                .verifyComplete();
+    }
+}
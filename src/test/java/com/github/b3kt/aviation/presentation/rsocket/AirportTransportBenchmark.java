@@ -0,0 +1,126 @@
+package com.github.b3kt.aviation.presentation.rsocket;
+
+import com.github.b3kt.aviation.AviationApiApplication;
+import com.github.b3kt.aviation.application.dto.AirportResponse;
+import com.github.b3kt.aviation.domain.model.Airport;
+import com.github.b3kt.aviation.infrastructure.config.CacheConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.rsocket.context.RSocketServerInitializedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of batch airport lookups over REST and over each RSocket
+ * interaction, against the running application with every airport cached,
+ * so the transport and request handling dominate. One operation looks up
+ * {@link #BATCH_SIZE} airports.
+ * Run with {@code mvn test-compile exec:exec -Pbenchmark -Dbenchmark=AirportTransport}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 10)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AirportTransportBenchmark {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int CONCURRENCY = 16;
+
+    private final List<String> icaos = IntStream.range(0, BATCH_SIZE)
+            .mapToObj(i -> String.format("B%03d", i))
+            .toList();
+
+    private ConfigurableApplicationContext context;
+    private WebClient webClient;
+    private RSocketRequester requester;
+
+    @Setup
+    public void setUp() {
+        CompletableFuture<Integer> rsocketPort = new CompletableFuture<>();
+        context = new SpringApplicationBuilder(AviationApiApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .listeners(event -> {
+                    if (event instanceof RSocketServerInitializedEvent initialized) {
+                        rsocketPort.complete(initialized.getServer().address().getPort());
+                    }
+                })
+                .run("--server.port=0",
+                        "--spring.rsocket.server.port=0",
+                        "--aviation.api.base-url=http://localhost:1",
+                        "--aviation.warmup.enabled=false",
+                        "--logging.level.root=WARN");
+
+        int httpPort = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        webClient = WebClient.create("http://localhost:" + httpPort);
+        requester = context.getBean(RSocketRequester.Builder.class).tcp("localhost", rsocketPort.join());
+
+        // Fill the cache directly so every measured lookup is served locally, without an upstream
+        Cache airports = context.getBean(CacheManager.class).getCache(CacheConfiguration.AIRPORT_CACHE);
+        icaos.forEach(icao -> airports.put(icao, new Airport(icao, null, icao + " Airport", "City", "Country",
+                new BigDecimal("40.6398"), new BigDecimal("-73.7789"), "America/New_York", 13)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        requester.dispose();
+        context.close();
+    }
+
+    @Benchmark
+    public AirportResponse rest() {
+        return Flux.fromIterable(icaos)
+                .flatMap(icao -> webClient.get()
+                        .uri("/api/v1/airports/{icao}", icao)
+                        .retrieve()
+                        .bodyToMono(AirportResponse.class), CONCURRENCY)
+                .blockLast();
+    }
+
+    @Benchmark
+    public AirportResponse rsocketRequestResponse() {
+        return Flux.fromIterable(icaos)
+                .flatMap(icao -> requester.route("airports.get")
+                        .data(icao)
+                        .retrieveMono(AirportResponse.class), CONCURRENCY)
+                .blockLast();
+    }
+
+    @Benchmark
+    public AirportResponse rsocketStream() {
+        return requester.route("airports.stream")
+                .data(icaos)
+                .retrieveFlux(AirportResponse.class)
+                .blockLast();
+    }
+
+    @Benchmark
+    public AirportResponse rsocketChannel() {
+        return requester.route("airports.channel")
+                .data(Flux.fromIterable(icaos), String.class)
+                .retrieveFlux(AirportResponse.class)
+                .blockLast();
+    }
+}
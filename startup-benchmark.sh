@@ -0,0 +1,86 @@
+#!/bin/bash
+# Measures time-to-first-200 for each startup mode of the Aviation API: the
+# time until an airport lookup is answered, which needs the application
+# context, the upstream client and the timezone engine. Runs against the
+# simulator profile, so the lookup does not depend on the real upstream.
+#
+# Modes:
+#   jvm      plain executable jar
+#   jvm-cds  extracted jar with an AppCDS archive
+#   aot      jar with Spring AOT initializers (-Dspring.aot.enabled=true)
+#   aot-cds  AOT initializers plus an AppCDS archive trained in AOT mode
+#   native   GraalVM native executable, if target/aviation-api exists
+#
+# Usage: ./startup-benchmark.sh [runs] [url]
+# Build first with: mvn -Pnative -DskipTests package -Dspring-boot.aot.jvmArguments=-Dspring.profiles.active=simulator
+#   (and native:compile for native); AOT fixes the simulator beans at build time
+
+RUNS=${1:-5}
+URL=${2:-http://localhost:8080/api/v1/airports/KJFK}
+JAR=$(ls target/aviation-api-*.jar 2>/dev/null | grep -v original | head -1)
+OUT=target/faststart
+JAVA_OPTS=${JAVA_OPTS:-"-Xmx512m -XX:+UseSerialGC"}
+APP_ARGS=${APP_ARGS:-"--spring.profiles.active=simulator"}
+MAX_WAIT_SECONDS=${MAX_WAIT_SECONDS:-120}
+
+if [ -z "$JAR" ] || [ ! -d target/spring-aot ]; then
+    echo "❌ No AOT-processed jar found. Run: mvn -Pnative -DskipTests package"
+    exit 1
+fi
+
+echo "📦 Extracting $JAR and training AppCDS archives..."
+rm -rf "$OUT"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT" > /dev/null || exit 1
+APP="$OUT/$(basename "$JAR")"
+java $JAVA_OPTS -XX:ArchiveClassesAtExit="$OUT/app.jsa" -Dspring.context.exit=onRefresh \
+    -jar "$APP" $APP_ARGS > "$OUT/train-jvm.log" 2>&1
+java $JAVA_OPTS -XX:ArchiveClassesAtExit="$OUT/app-aot.jsa" -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled=true -jar "$APP" $APP_ARGS > "$OUT/train-aot.log" 2>&1
+
+# Starts the given command, polls the URL until it answers 200 and prints the elapsed milliseconds
+time_to_first_200() {
+    local start pid elapsed
+    start=$(date +%s%N)
+    "$@" > "$OUT/run.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 $pid 2>/dev/null; then
+            echo "failed"
+            return
+        fi
+        if [ $(( ($(date +%s%N) - start) / 1000000000 )) -ge "$MAX_WAIT_SECONDS" ]; then
+            kill $pid
+            wait $pid 2>/dev/null
+            echo "timeout"
+            return
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    kill $pid
+    wait $pid 2>/dev/null
+    echo $elapsed
+}
+
+benchmark() {
+    local mode=$1
+    shift
+    local results=()
+    for _ in $(seq 1 "$RUNS"); do
+        results+=("$(time_to_first_200 "$@")")
+    done
+    local median
+    median=$(printf '%s\n' "${results[@]}" | sort -n | sed -n "$(( (RUNS + 1) / 2 ))p")
+    printf '%-8s median %6s ms   runs: %s\n' "$mode" "$median" "${results[*]}"
+}
+
+echo "⏱️  Time to first 200 from $URL over $RUNS runs"
+benchmark jvm     java $JAVA_OPTS -jar "$JAR" $APP_ARGS
+benchmark jvm-cds java $JAVA_OPTS -XX:SharedArchiveFile="$OUT/app.jsa" -jar "$APP" $APP_ARGS
+benchmark aot     java $JAVA_OPTS -Dspring.aot.enabled=true -jar "$JAR" $APP_ARGS
+benchmark aot-cds java $JAVA_OPTS -XX:SharedArchiveFile="$OUT/app-aot.jsa" -Dspring.aot.enabled=true -jar "$APP" $APP_ARGS
+if [ -x target/aviation-api ]; then
+    benchmark native target/aviation-api $APP_ARGS
+else
+    echo "native   skipped: build it with mvn -Pnative native:compile"
+fi